@@ -16,14 +16,13 @@
 package org.appng.api;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.Comparator;
-import java.util.Iterator;
 import java.util.List;
 
-import org.apache.commons.collections.comparators.ComparatorChain;
 import org.apache.commons.lang3.StringUtils;
+import org.appng.api.support.BeanPropertyReader;
 import org.appng.xml.platform.Data;
 import org.appng.xml.platform.FieldDef;
 import org.appng.xml.platform.FieldType;
@@ -58,6 +57,8 @@ import org.springframework.data.domain.Sort.Order;
  */
 public final class DataContainer {
 
+	private static final int PARALLEL_SORT_THRESHOLD = 10000;
+
 	private final FieldProcessor fieldProcessor;
 	private final Data data;
 	private Object item;
@@ -156,9 +157,10 @@ public final class DataContainer {
 	 * a pagesize of 10, the resulting page will contain the (1-based) elements 11 to 15.<br/>
 	 * If the {@link Pageable} has a {@link Sort} property set, the items will be sorted before extracting the page.
 	 * <p>
-	 * <b>Note that sorting the items is done by using Java Reflection-API, thus for performance reasons it is not
-	 * recommended to apply sorting to very large collections.</b> Such collections should be pre-sorted before in a
-	 * non-reflective way (then {@code skipSort} should be set to {@code true}).
+	 * <b>Note that the values of the sort properties are read using Java Reflection-API (once per item and property),
+	 * thus for performance reasons it is not recommended to apply sorting to very large collections.</b> Such
+	 * collections should be pre-sorted before in a non-reflective way (then {@code skipSort} should be set to
+	 * {@code true}).
 	 * </p>
 	 * 
 	 * @param items
@@ -171,16 +173,18 @@ public final class DataContainer {
 	 */
 	@SuppressWarnings({ "rawtypes", "unchecked" })
 	public void setPage(Collection<?> items, Pageable pageable, boolean skipSort) {
-		List<?> sortedItems = new ArrayList(items);
-		if (!skipSort) {
-			doSort(sortedItems, pageable.getSort());
+		List<?> sortedItems;
+		if (skipSort || null == pageable.getSort()) {
+			sortedItems = items instanceof List ? (List<?>) items : new ArrayList<>(items);
+		} else {
+			sortedItems = doSort(items, pageable.getSort());
 		}
 		int size = sortedItems.size();
 		int fromIndex = pageable.getOffset() < size ? pageable.getOffset() : 0;
 		int pageSize = pageable.getPageSize();
 		int toIndex = fromIndex + pageSize;
 		toIndex = toIndex > size ? size : toIndex;
-		List subList = new ArrayList(sortedItems).subList(fromIndex, toIndex);
+		List subList = new ArrayList(sortedItems.subList(fromIndex, toIndex));
 		int currentPage = fromIndex == 0 ? 0 : pageable.getPageNumber();
 		Pageable extractedPageable = new PageRequest(currentPage, pageSize, pageable.getSort());
 		Page extractedPage = new PageImpl(subList, extractedPageable, size);
@@ -188,39 +192,70 @@ public final class DataContainer {
 		setPageable(extractedPageable);
 	}
 
+	/**
+	 * Sorts the items by first extracting the values of the sort properties of each item once, and then sorting the
+	 * items by comparing these values.
+	 */
+	private List<?> doSort(Collection<?> items, Sort sort) {
+		List<Order> orders = new ArrayList<>();
+		sort.forEach(orders::add);
+		SortItem[] sortItems = new SortItem[items.size()];
+		int i = 0;
+		for (Object item : items) {
+			Object[] keys = new Object[orders.size()];
+			for (int k = 0; k < keys.length; k++) {
+				keys[k] = BeanPropertyReader.getPropertyValue(item, orders.get(k).getProperty());
+			}
+			sortItems[i++] = new SortItem(item, keys);
+		}
+
+		Comparator<SortItem> comparator = (s1, s2) -> {
+			for (int k = 0; k < orders.size(); k++) {
+				int result = compare(orders.get(k), s1.keys[k], s2.keys[k]);
+				if (result != 0) {
+					return result;
+				}
+			}
+			return 0;
+		};
+		if (sortItems.length >= PARALLEL_SORT_THRESHOLD) {
+			Arrays.parallelSort(sortItems, comparator);
+		} else {
+			Arrays.sort(sortItems, comparator);
+		}
+
+		List<Object> sortedItems = new ArrayList<>(sortItems.length);
+		for (SortItem sortItem : sortItems) {
+			sortedItems.add(sortItem.item);
+		}
+		return sortedItems;
+	}
+
 	@SuppressWarnings({ "unchecked", "rawtypes" })
-	private void doSort(List items, Sort sort) {
-		if (null != sort && !items.isEmpty()) {
-			ComparatorChain comparatorChain = new ComparatorChain();
-			Iterator<Order> iterator = sort.iterator();
-			while (iterator.hasNext()) {
-				final Order order = iterator.next();
-				final int factor = order.isAscending() ? 1 : -1;
-				comparatorChain.addComparator(new Comparator<Object>() {
-
-					public int compare(Object o1, Object o2) {
-						final String property = order.getProperty();
-						final BeanWrapper bw1 = new BeanWrapperImpl(o1);
-						final BeanWrapper bw2 = new BeanWrapperImpl(o2);
-						final Object p1 = bw1.isReadableProperty(property) ? bw1.getPropertyValue(property) : null;
-						final Object p2 = bw2.isReadableProperty(property) ? bw2.getPropertyValue(property) : null;
-						if (p1 instanceof Comparable && p2 instanceof Comparable) {
-							if (order.isIgnoreCase() && p1 instanceof String && p2 instanceof String) {
-								return ((String) p1).compareToIgnoreCase((String) p2);
-							}
-							return ((Comparable) p1).compareTo(p2) * factor;
-						}
-						if (p1 == null && p2 != null) {
-							return -1 * factor;
-						}
-						if (p1 != null && p2 == null) {
-							return 1 * factor;
-						}
-						return 0;
-					}
-				});
+	private static int compare(Order order, Object p1, Object p2) {
+		final int factor = order.isAscending() ? 1 : -1;
+		if (p1 instanceof Comparable && p2 instanceof Comparable) {
+			if (order.isIgnoreCase() && p1 instanceof String && p2 instanceof String) {
+				return ((String) p1).compareToIgnoreCase((String) p2);
 			}
-			Collections.sort(items, comparatorChain);
+			return ((Comparable) p1).compareTo(p2) * factor;
+		}
+		if (p1 == null && p2 != null) {
+			return -1 * factor;
+		}
+		if (p1 != null && p2 == null) {
+			return 1 * factor;
+		}
+		return 0;
+	}
+
+	private static class SortItem {
+		private final Object item;
+		private final Object[] keys;
+
+		SortItem(Object item, Object[] keys) {
+			this.item = item;
+			this.keys = keys;
 		}
 	}
 
@@ -19,6 +19,7 @@ import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.appng.api.support.BeanPropertyReader;
 import org.appng.xml.platform.Condition;
 import org.appng.xml.platform.FieldDef;
 import org.appng.xml.platform.FieldPermissions;
@@ -66,10 +67,7 @@ public class FieldWrapper extends FieldDef {
 	 * @return the property
 	 */
 	public Object getObject() {
-		if (beanWrapper.isReadableProperty(getBinding())) {
-			return beanWrapper.getPropertyValue(getBinding());
-		}
-		return null;
+		return BeanPropertyReader.getPropertyValue(beanWrapper, getBinding());
 	}
 
 	/**
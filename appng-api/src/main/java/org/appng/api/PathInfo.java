@@ -38,6 +38,8 @@ public class PathInfo implements Path {
 	private static final String DOT = ".";
 	private final String guiPath;
 	private final String servicePath;
+	private final String guiSegment;
+	private final String serviceSegment;
 	private final List<String> blobDirectories;
 	private final List<String> documentDirectories;
 	private String repositoryPath;
@@ -101,6 +103,8 @@ public class PathInfo implements Path {
 		this.servletPath = servletPath;
 		this.guiPath = guiPath;
 		this.servicePath = servicePath;
+		this.guiSegment = null == guiPath ? null : guiPath.substring(1);
+		this.serviceSegment = null == servicePath ? null : servicePath.substring(1);
 		this.blobDirectories = blobDirectories;
 		this.documentDirectories = documentDirectories;
 		this.repositoryPath = repositoryPath;
@@ -132,7 +136,7 @@ public class PathInfo implements Path {
 			this.rootPath = servletPath;
 		}
 		if (isGui()) {
-			int idx = pathElements.indexOf(guiPath.substring(1));
+			int idx = pathElements.indexOf(guiSegment);
 			if (hasElementAt(idx) && hasElementAt(idx + 1)) {
 				siteIdx = idx + 1;
 				if (pathElements.get(siteIdx).startsWith(OUTPUT_PREFIX)) {
@@ -150,7 +154,7 @@ public class PathInfo implements Path {
 				}
 			}
 		} else if (isService()) {
-			int idx = pathElements.indexOf(servicePath.substring(1));
+			int idx = pathElements.indexOf(serviceSegment);
 			if (hasElementAt(idx + 1)) {
 				this.siteIdx = idx + 1;
 			}
@@ -204,11 +208,11 @@ public class PathInfo implements Path {
 	}
 
 	public boolean isGui() {
-		return hasElementAt(1) && pathElements.get(1).equals(guiPath.substring(1));
+		return hasElementAt(1) && pathElements.get(1).equals(guiSegment);
 	}
 
 	public boolean isService() {
-		return hasElementAt(1) && pathElements.get(1).equals(servicePath.substring(1));
+		return hasElementAt(1) && pathElements.get(1).equals(serviceSegment);
 	}
 
 	public boolean isJsp() {
@@ -235,6 +235,8 @@ public final class Platform {
 		 * GUI are written to {@code <platformRootPath>/debug}
 		 */
 		public static final String WRITE_DEBUG_FILES = "writeDebugFiles";
+		/** The maximum number of compiled XSLT stylesheets to cache, {@code 0} disables caching */
+		public static final String XSLT_CACHE_SIZE = "xsltCacheSize";
 		/** The default digest for a published local application repository */
 		public static final String REPOSITORY_DEFAULT_DIGEST = "repositoryDefaultDigest";
 		/** The certificate to use when verifying a signed remote repository (PEM format) */
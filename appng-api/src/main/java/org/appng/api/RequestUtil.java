@@ -15,11 +15,13 @@
  */
 package org.appng.api;
 
+import java.lang.ref.WeakReference;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
 import javax.servlet.ServletRequest;
@@ -27,6 +29,7 @@ import javax.servlet.ServletRequest;
 import org.appng.api.model.Properties;
 import org.appng.api.model.Site;
 import org.appng.api.model.Site.SiteState;
+import org.appng.api.support.SiteMap;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -40,9 +43,12 @@ import lombok.extern.slf4j.Slf4j;
 public class RequestUtil {
 
 	private static final String SERVER_LOCAL_NAME = "SERVER_LOCAL_NAME";
+	private static final String SITE = RequestUtil.class.getName() + ".site";
+	private static final Map<String, PathConfig> PATH_CONFIGS = new ConcurrentHashMap<>();
 
 	/**
-	 * Retrieves a {@link Site} by its host-identifier.
+	 * Retrieves a {@link Site} by its host-identifier. The site is resolved only once per request and then kept as a
+	 * request attribute.
 	 * 
 	 * @param  env
 	 *                        the current {@link Environment}
@@ -57,7 +63,15 @@ public class RequestUtil {
 			return null;
 		}
 		String hostIdentifier = getHostIdentifier(servletRequest, env);
-		return getSiteByHost(env, hostIdentifier);
+		Object resolved = servletRequest.getAttribute(SITE);
+		if (resolved instanceof Site && hostIdentifier.equals(((Site) resolved).getHost())) {
+			return (Site) resolved;
+		}
+		Site site = getSiteByHost(env, hostIdentifier);
+		if (null != site) {
+			servletRequest.setAttribute(SITE, site);
+		}
+		return site;
 	}
 
 	/**
@@ -71,6 +85,10 @@ public class RequestUtil {
 	 * @see         Site#getHost()
 	 */
 	public static Site getSiteByHost(Environment env, String host) {
+		Map<String, Site> siteMap = env.getAttribute(Scope.PLATFORM, Platform.Environment.SITES);
+		if (siteMap instanceof SiteMap) {
+			return ((SiteMap) siteMap).getSiteByHost(host);
+		}
 		return getSiteMap(env).values().stream().filter(s -> host.equals(s.getHost())).findFirst().orElse(null);
 	}
 
@@ -154,29 +172,63 @@ public class RequestUtil {
 	 */
 	public static PathInfo getPathInfo(Environment env, Site site, String servletPath) {
 		Properties platformProperties = env.getAttribute(Scope.PLATFORM, Platform.Environment.PLATFORM_CONFIG);
-		Properties activeSiteProperties = site.getProperties();
-
 		LOGGER.trace("found site '{}' for request '{}'", site.getName(), servletPath);
+		PathConfig pathConfig = PATH_CONFIGS.get(site.getName());
+		if (null == pathConfig || !pathConfig.isFor(site.getProperties(), platformProperties)) {
+			pathConfig = new PathConfig(site.getProperties(), platformProperties);
+			PATH_CONFIGS.put(site.getName(), pathConfig);
+		}
+		return new PathInfo(site.getHost(), site.getDomain(), site.getName(), servletPath, pathConfig.guiPath,
+				pathConfig.servicePath, pathConfig.blobDirectories, pathConfig.documentDirectories,
+				pathConfig.repoPath, pathConfig.monitoringPath, pathConfig.extension);
+	}
 
-		String repoPath = platformProperties.getString(Platform.Property.REPOSITORY_PATH);
-		String monitoringPath = platformProperties.getString(Platform.Property.MONITORING_PATH);
-		String extension = platformProperties.getString(Platform.Property.JSP_FILE_TYPE);
+	/**
+	 * Removes the parts of a {@link PathInfo} cached for the given {@link Site}, which must be done when the
+	 * {@link Site} is shut down.
+	 * 
+	 * @param siteName
+	 *                 the name of the {@link Site}
+	 */
+	public static void clearCache(String siteName) {
+		PATH_CONFIGS.remove(siteName);
+	}
 
-		Properties siteProperties = site.getProperties();
-		String guiPath = siteProperties.getString(SiteProperties.MANAGER_PATH);
-		String servicePath = siteProperties.getString(SiteProperties.SERVICE_PATH);
-		List<String> blobDirectories = activeSiteProperties.getList(SiteProperties.ASSETS_DIR, ";");
-		List<String> documentDirectories = activeSiteProperties.getList(SiteProperties.DOCUMENT_DIR, ";");
+	/**
+	 * The parts of a {@link PathInfo} that only depend on the site's and the platform's properties. Since a site
+	 * reload creates new {@link Properties}, a {@link PathConfig} is valid as long as these are the same instances.
+	 * They are only weakly referenced, so a {@link PathConfig} does not keep them (and the {@link Site}) from being
+	 * garbage collected.
+	 */
+	private static class PathConfig {
+		private final WeakReference<Properties> siteProperties;
+		private final WeakReference<Properties> platformProperties;
+		private final String repoPath;
+		private final String monitoringPath;
+		private final String extension;
+		private final String guiPath;
+		private final String servicePath;
+		private final List<String> blobDirectories;
+		private final List<String> documentDirectories;
 
-		if (blobDirectories.isEmpty()) {
-			blobDirectories = siteProperties.getList(SiteProperties.ASSETS_DIR, ";");
-		}
-		if (documentDirectories.isEmpty()) {
-			documentDirectories = siteProperties.getList(SiteProperties.DOCUMENT_DIR, ";");
+		PathConfig(Properties siteProperties, Properties platformProperties) {
+			this.siteProperties = new WeakReference<>(siteProperties);
+			this.platformProperties = new WeakReference<>(platformProperties);
+			this.repoPath = platformProperties.getString(Platform.Property.REPOSITORY_PATH);
+			this.monitoringPath = platformProperties.getString(Platform.Property.MONITORING_PATH);
+			this.extension = platformProperties.getString(Platform.Property.JSP_FILE_TYPE);
+			this.guiPath = siteProperties.getString(SiteProperties.MANAGER_PATH);
+			this.servicePath = siteProperties.getString(SiteProperties.SERVICE_PATH);
+			this.blobDirectories = Collections
+					.unmodifiableList(siteProperties.getList(SiteProperties.ASSETS_DIR, ";"));
+			this.documentDirectories = Collections
+					.unmodifiableList(siteProperties.getList(SiteProperties.DOCUMENT_DIR, ";"));
 		}
 
-		return new PathInfo(site.getHost(), site.getDomain(), site.getName(), servletPath, guiPath, servicePath,
-				blobDirectories, documentDirectories, repoPath, monitoringPath, extension);
+		boolean isFor(Properties siteProperties, Properties platformProperties) {
+			return this.siteProperties.get() == siteProperties
+					&& this.platformProperties.get() == platformProperties;
+		}
 	}
 
 	/**
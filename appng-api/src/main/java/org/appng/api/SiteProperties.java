@@ -79,6 +79,12 @@ public class SiteProperties {
 	 * {@code org.appng.core.repository.config.TomcatJdbcConfigurer}
 	 */
 	public static final String DATASOURCE_CONFIGURER = "DatasourceConfigurer";
+	/**
+	 * The maximum number of threads used to perform the datasources of a page concurrently. Set to 0 to perform them
+	 * one after another. When enabled, the {@link DataProvider}s of the site must not modify the {@link Request}, the
+	 * {@link Environment} or the expression evaluator of the request, since these are shared by the datasources.
+	 */
+	public static final String DATASOURCE_THREADS = "datasourceThreads";
 	/**
 	 * The name of the default-page (without extension) relative to one of the directories defined in
 	 * {@link #DOCUMENT_DIR}
@@ -108,6 +114,16 @@ public class SiteProperties {
 	public static final String CACHE_TIMEOUTS_ANT_STYLE = "cacheTimeoutsAntStyle";
 	/** The default TTL for a cache entry in seconds, if there's no matching path defined in {@link #CACHE_TIMEOUTS}. */
 	public static final String CACHE_TIME_TO_LIVE = "cacheTimeToLive";
+	/**
+	 * The default soft TTL for a cache entry in seconds, if there's no matching path defined in
+	 * {@link #CACHE_TIMEOUTS}. After the soft TTL, the next request refreshes the cache entry, while concurrent
+	 * requests are still served the existing one. 0 to disable.
+	 */
+	public static final String CACHE_SOFT_TIME_TO_LIVE = "cacheSoftTimeToLive";
+	/**
+	 * The number of hits after which a cache entry is refreshed before it expires, 0 to disable proactive refreshing
+	 */
+	public static final String CACHE_REFRESH_HIT_COUNT = "cacheRefreshHitCount";
 	/** Set to true to enable caching statistics */
 	public static final String CACHE_STATISTICS = "cacheStatistics";
 	/**
@@ -122,6 +138,22 @@ public class SiteProperties {
 	public static final String CACHE_WATCH_REPOSITORY = "cacheWatchRepository";
 	/** Whether or not the cache is cleared on a site shutdown/reload */
 	public static final String CACHE_CLEAR_ON_SHUTDOWN = "cacheClearOnShutdown";
+	/**
+	 * A comma-separated list of content-codings (supported: gzip, deflate) a cache entry is pre-encoded with, in
+	 * order of preference. Leave empty to disable compression.
+	 */
+	public static final String CACHE_COMPRESSION = "cacheCompression";
+	/** The minimum size in bytes for a cache entry to be pre-encoded with the codings from {@link #CACHE_COMPRESSION} */
+	public static final String CACHE_COMPRESSION_MIN_SIZE = "cacheCompressionMinSize";
+	/**
+	 * The maximum time in milliseconds a request for an uncached page waits for a concurrent request that is already
+	 * rendering the same page, 0 to disable request coalescing
+	 */
+	public static final String CACHE_COALESCING_TIMEOUT = "cacheCoalescingTimeout";
+	/** Set to true to coalesce requests for uncached pages across all nodes of a cluster */
+	public static final String CACHE_COALESCING_CLUSTER_WIDE = "cacheCoalescingClusterWide";
+	/** The maximum size in MB of the per-node near cache in front of the page cache, 0 to disable the near cache */
+	public static final String CACHE_NEAR_CACHE_SIZE = "cacheNearCacheSize";
 
 	/** Set to true to enforce the protocol used by the site (http or https) */
 	public static final String ENFORCE_PRIMARY_DOMAIN = "enforcePrimaryDomain";
@@ -157,10 +189,17 @@ public class SiteProperties {
 	public static final String INDEX_TIMEOUT = "indexTimeout";
 	/** the queue size used per directory when indexing the file system **/
 	public static final String INDEX_FILE_SYSTEM_QUEUE_SIZE = "indexFileSystemQueueSize";
+	/** The number of threads used to parse the files when indexing the file system */
+	public static final String INDEX_FILE_SYSTEM_THREADS = "indexFileSystemThreads";
 	/** A list of comma-separated file-extensions (without leading dot) which are being indexed */
 	public static final String INDEX_FILETYPES = "indexFileTypes";
 	/** The queue size used for document indexing */
 	public static final String INDEX_QUEUE_SIZE = "indexQueueSize";
+	/**
+	 * Set to {@code true} to watch the folders defined in {@link #INDEX_CONFIG} for changes and update the index
+	 * accordingly
+	 */
+	public static final String INDEX_WATCH_REPOSITORY = "indexWatchRepository";
 	/** The name of the site. For convenience only, do not change! */
 	public static final String NAME = "name";
 	/**
@@ -185,6 +224,11 @@ public class SiteProperties {
 	public static final String SERVICE_PATH = "service-path";
 	/** The absolute path to the sites root-directory */
 	public static final String SITE_ROOT_DIR = "siteRootDir";
+	/**
+	 * If {@code true}, the results of a datasource called through a service URL (with format {@code xml} or
+	 * {@code json}) are created and written one by one, instead of creating all results before writing the response
+	 */
+	public static final String STREAM_SERVICE_DATASOURCES = "streamServiceDatasources";
 	/**
 	 * If {@code true}, a site reload is performed when a file named {@code .reload} is created in the site's root
 	 * directory
@@ -21,7 +21,9 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.URL;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.Map;
 
 import javax.xml.XMLConstants;
 import javax.xml.namespace.NamespaceContext;
@@ -38,6 +40,7 @@ import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.stream.StreamResult;
 import javax.xml.xpath.XPath;
 import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathExpression;
 import javax.xml.xpath.XPathExpressionException;
 import javax.xml.xpath.XPathFactory;
 
@@ -57,7 +60,9 @@ import lombok.extern.slf4j.Slf4j;
  * 
  * An {@code XPathProcessor} is used the create a {@link Document} from an {@link URL} or {@link InputStream} and then
  * to extract {@link NodeList}s, {@link Node}s, {@link Element}s, {@link Attr}ibutes etc. from this {@link Document}.<br/>
- * It also allows to create new {@link Element}s, {@link Attr}ibutes, {@link CDATASection}s and {@link Text}s.
+ * It also allows to create new {@link Element}s, {@link Attr}ibutes, {@link CDATASection}s and {@link Text}s.<br/>
+ * The compiled {@link XPathExpression}s are cached by the {@code XPathProcessor}, therefore an instance should be
+ * reused when evaluating the same expressions multiple times. Note that an {@code XPathProcessor} is not thread-safe.
  * 
  * @author Matthias Müller
  * 
@@ -67,6 +72,7 @@ public class XPathProcessor {
 
 	private final Document document;
 	private final XPath xpath;
+	private final Map<String, XPathExpression> expressions = new HashMap<>();
 	private Transformer transformer;
 
 	/**
@@ -148,6 +154,7 @@ public class XPathProcessor {
 	 *            the namespace
 	 */
 	public void setNamespace(String prefix, String namespace) {
+		expressions.clear();
 		xpath.setNamespaceContext(new NamespaceContext() {
 
 			public Iterator<String> getPrefixes(String namespaceURI) {
@@ -493,7 +500,12 @@ public class XPathProcessor {
 
 	private Object evaluate(Node node, String xpathExpression, QName returnType) {
 		try {
-			return this.xpath.evaluate(xpathExpression, node, returnType);
+			XPathExpression expression = expressions.get(xpathExpression);
+			if (null == expression) {
+				expression = xpath.compile(xpathExpression);
+				expressions.put(xpathExpression, expression);
+			}
+			return expression.evaluate(node, returnType);
 		} catch (XPathExpressionException e) { // ignore
 		}
 		return null;
@@ -18,7 +18,6 @@ package org.appng.api.support;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.Closeable;
-import java.io.EOFException;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
@@ -27,17 +26,22 @@ import java.io.ObjectOutputStream;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 import javax.xml.bind.JAXBException;
 
-import org.apache.commons.lang3.ArrayUtils;
 import org.appng.api.ApplicationConfigProvider;
 import org.appng.api.InvalidConfigurationException;
 import org.appng.api.model.Resource;
@@ -63,6 +67,11 @@ import lombok.extern.slf4j.Slf4j;
 /**
  * 
  * Default {@link ApplicationConfigProvider}-implementation.
+ * <p>
+ * When not in development mode, an immutable {@link Snapshot} of the configuration is created once after reading the
+ * resources. This snapshot is shared by all the clones created with {@link #cloneConfig(MarshallService)}, and a clone
+ * only copies those pages, datasources, events and actions from the snapshot that are actually accessed.
+ * </p>
  * 
  * @author Matthias Müller
  */
@@ -74,24 +83,23 @@ public class ApplicationConfigProviderImpl implements ApplicationConfigProvider
 	private static final String RESOURCE_MAP_KEY_DATASOURCE = "datasource:";
 	private static final String RESOURCE_MAP_KEY_APPLICATION_ROOT_CONFIG = "applicationRootConfig";
 
-	protected ActionMap actionMap;
-	protected DataSourceMap datasourceMap;
-	protected PageMap pageMap;
-	protected EventMap eventMap;
+	protected Map<String, Map<String, Action>> actionMap;
+	protected Map<String, Datasource> datasourceMap;
+	protected Map<String, PageDefinition> pageMap;
+	protected Map<String, Event> eventMap;
 	protected Map<String, String> resourceMap;
 
 	protected List<Object[]> descendantDatasources = new ArrayList<>();
 
 	protected ConfigValidator validator;
 
-	protected ApplicationRootConfig rootConfig;
+	protected volatile ApplicationRootConfig rootConfig;
 	private Set<String> sessionParams;
 	private Collection<Resource> xmlFiles;
 
 	private String defaultPage;
 	private boolean devMode;
-	private boolean loaded = false;
-	private byte[] data;
+	private Snapshot snapshot;
 
 	private String applicationName;
 
@@ -112,13 +120,19 @@ public class ApplicationConfigProviderImpl implements ApplicationConfigProvider
 		loadConfig(marshallService);
 	}
 
-	private ApplicationConfigProviderImpl(String applicationName, boolean devMode, byte[] data)
-			throws IOException, ClassNotFoundException {
+	private ApplicationConfigProviderImpl(String applicationName, Snapshot snapshot) {
 		this.applicationName = applicationName;
-		this.data = ArrayUtils.clone(data);
-		this.devMode = devMode;
-		this.loaded = true;
-		readData();
+		this.snapshot = snapshot;
+		this.devMode = false;
+		this.pageMap = new SnapshotMap<>(snapshot.pages.keySet(), id -> copy(snapshot.pages.get(id)));
+		this.datasourceMap = new SnapshotMap<>(snapshot.datasources.keySet(),
+				id -> copy(snapshot.datasources.get(id)));
+		this.eventMap = new SnapshotMap<>(snapshot.events.keySet(), id -> copy(snapshot.events.get(id)));
+		// the actions must be the very same instances as those of the (copied) event
+		this.actionMap = new SnapshotMap<>(snapshot.events.keySet(), id -> getActionMap(eventMap.get(id)));
+		this.defaultPage = snapshot.defaultPage;
+		this.sessionParams = new HashSet<>(snapshot.sessionParams);
+		this.resourceMap = snapshot.resourceMap;
 	}
 
 	public ApplicationConfigProviderImpl(MarshallService marshallService, String applicationName,
@@ -145,11 +159,7 @@ public class ApplicationConfigProviderImpl implements ApplicationConfigProvider
 		long start = System.currentTimeMillis();
 		try {
 			clear();
-			if (!loaded || devMode) {
-				readResources(marshallService);
-			} else {
-				readData();
-			}
+			readResources(marshallService);
 		} catch (Exception e) {
 			LOGGER.error("error while reading configuration", e);
 		}
@@ -178,11 +188,12 @@ public class ApplicationConfigProviderImpl implements ApplicationConfigProvider
 			}
 		}
 		processInheritance(marshallService);
-		writeData();
 		if (devMode) {
 			validate();
+		} else {
+			snapshot = new Snapshot(this);
+			LOGGER.debug("created snapshot of {} bytes for application {}", snapshot.size, applicationName);
 		}
-		loaded = true;
 	}
 
 	private void validate() throws MalformedURLException, InvalidConfigurationException, IOException {
@@ -248,63 +259,6 @@ public class ApplicationConfigProviderImpl implements ApplicationConfigProvider
 
 	}
 
-	@SuppressWarnings({ "rawtypes", "unchecked" })
-	private void readData() throws IOException, ClassNotFoundException {
-		Object o = null;
-		try (
-				ByteArrayInputStream bais = new ByteArrayInputStream(data);
-				ObjectInputStream is = new ObjectInputStream(bais)) {
-			while ((o = is.readObject()) != null) {
-				if (o instanceof PageMap) {
-					this.pageMap = (PageMap) o;
-				} else if (o instanceof ActionMap) {
-					this.actionMap = (ActionMap) o;
-				} else if (o instanceof DataSourceMap) {
-					this.datasourceMap = (DataSourceMap) o;
-				} else if (o instanceof EventMap) {
-					this.eventMap = (EventMap) o;
-				} else if (o instanceof ApplicationRootConfig) {
-					this.rootConfig = (ApplicationRootConfig) o;
-				} else if (o instanceof String) {
-					this.defaultPage = (String) o;
-				} else if (o instanceof Set) {
-					this.sessionParams = (Set) o;
-				} else if (o instanceof Map) {
-					this.resourceMap = (Map) o;
-				}
-			}
-		} catch (EOFException e) {
-			// ObjectInputStream seems to work like this...
-		} catch (IOException e) {
-			throw e;
-		}
-	}
-
-	private void writeData() throws IOException {
-		try (
-				ByteArrayOutputStream out = new ByteArrayOutputStream();
-				ObjectOutputStream outputStream = new ObjectOutputStream(out)) {
-			data = null;
-			outputStream.writeObject(pageMap);
-			outputStream.writeObject(actionMap);
-			outputStream.writeObject(datasourceMap);
-			outputStream.writeObject(eventMap);
-			outputStream.writeObject(rootConfig);
-			if (null != defaultPage) {
-				outputStream.writeObject(defaultPage);
-			}
-			if (null != sessionParams) {
-				outputStream.writeObject(sessionParams);
-			}
-			out.close();
-			outputStream.close();
-			data = out.toByteArray();
-			LOGGER.debug("wrote {} bytes of data for application {}", data.length, applicationName);
-		} catch (IOException e) {
-			throw e;
-		}
-	}
-
 	private void addDataSource(Datasource ds, String resourceName) {
 		Datasource oldVal = datasourceMap.put(ds.getId(), ds);
 		resourceMap.put(RESOURCE_MAP_KEY_DATASOURCE + ds.getId(), resourceName);
@@ -322,11 +276,7 @@ public class ApplicationConfigProviderImpl implements ApplicationConfigProvider
 	private void addEvent(Event e, String resourceName) {
 		Event oldVal = eventMap.put(e.getId(), e);
 		resourceMap.put(RESOURCE_MAP_KEY_EVENT + e.getId(), resourceName);
-		Map<String, Action> actions = new HashMap<>();
-		for (Action action : e.getActions()) {
-			actions.put(action.getId(), action);
-		}
-		actionMap.put(e.getId(), actions);
+		actionMap.put(e.getId(), getActionMap(e));
 		if (null != oldVal) {
 			LOGGER.warn("overriding previously defined event '{}'", e.getId());
 		}
@@ -347,12 +297,20 @@ public class ApplicationConfigProviderImpl implements ApplicationConfigProvider
 		}
 	}
 
+	private static Map<String, Action> getActionMap(Event event) {
+		Map<String, Action> actions = new HashMap<>();
+		for (Action action : event.getActions()) {
+			actions.put(action.getId(), action);
+		}
+		return actions;
+	}
+
 	protected synchronized void clear() {
 		this.sessionParams = new HashSet<>();
-		this.pageMap = new PageMap();
-		this.datasourceMap = new DataSourceMap();
-		this.eventMap = new EventMap();
-		this.actionMap = new ActionMap();
+		this.pageMap = new HashMap<>();
+		this.datasourceMap = new HashMap<>();
+		this.eventMap = new HashMap<>();
+		this.actionMap = new HashMap<>();
 		this.defaultPage = null;
 		this.rootConfig = null;
 	}
@@ -422,7 +380,17 @@ public class ApplicationConfigProviderImpl implements ApplicationConfigProvider
 	}
 
 	public ApplicationRootConfig getApplicationRootConfig() {
-		return rootConfig;
+		ApplicationRootConfig config = rootConfig;
+		if (null == config && null != snapshot && null != snapshot.rootConfig) {
+			synchronized (this) {
+				config = rootConfig;
+				if (null == config) {
+					config = copy(snapshot.rootConfig);
+					rootConfig = config;
+				}
+			}
+		}
+		return config;
 	}
 
 	public Set<String> getSessionParams() {
@@ -509,31 +477,160 @@ public class ApplicationConfigProviderImpl implements ApplicationConfigProvider
 		return resourceMap.get(RESOURCE_MAP_KEY_APPLICATION_ROOT_CONFIG);
 	}
 
-	static class PageMap extends HashMap<String, PageDefinition> {
+	public ApplicationConfigProvider cloneConfig(MarshallService marshallService)
+			throws InvalidConfigurationException {
+		try {
+			if (devMode) {
+				return new ApplicationConfigProviderImpl(marshallService, applicationName, xmlFiles, applicationInfo,
+						resources, devMode);
+			}
+			return new ApplicationConfigProviderImpl(applicationName, snapshot);
+		} catch (Exception e) {
+			throw new InvalidConfigurationException(applicationName, "error while reading data", e);
+		}
 	}
 
-	static class ActionMap extends HashMap<String, Map<String, Action>> {
+	private static byte[] serialize(Object object) {
+		try (ByteArrayOutputStream out = new ByteArrayOutputStream();
+				ObjectOutputStream outputStream = new ObjectOutputStream(out)) {
+			outputStream.writeObject(object);
+			outputStream.flush();
+			return out.toByteArray();
+		} catch (IOException e) {
+			throw new IllegalStateException("error while serializing " + object, e);
+		}
 	}
 
-	static class DataSourceMap extends HashMap<String, Datasource> {
+	@SuppressWarnings("unchecked")
+	private static <T> T copy(byte[] data) {
+		try (ObjectInputStream is = new ObjectInputStream(new ByteArrayInputStream(data))) {
+			return (T) is.readObject();
+		} catch (IOException | ClassNotFoundException e) {
+			throw new IllegalStateException("error while deserializing data", e);
+		}
 	}
 
-	static class EventMap extends HashMap<String, Event> {
+	/**
+	 * An immutable snapshot of a configuration, holding the serialized form of each page, datasource and event.
+	 */
+	static class Snapshot {
+		private final Map<String, byte[]> pages = new HashMap<>();
+		private final Map<String, byte[]> datasources = new HashMap<>();
+		private final Map<String, byte[]> events = new HashMap<>();
+		private final byte[] rootConfig;
+		private final String defaultPage;
+		private final Set<String> sessionParams;
+		private final Map<String, String> resourceMap;
+		private long size;
+
+		Snapshot(ApplicationConfigProviderImpl config) {
+			config.pageMap.forEach((id, page) -> pages.put(id, add(serialize(page))));
+			config.datasourceMap.forEach((id, datasource) -> datasources.put(id, add(serialize(datasource))));
+			config.eventMap.forEach((id, event) -> events.put(id, add(serialize(event))));
+			this.rootConfig = null == config.rootConfig ? null : add(serialize(config.rootConfig));
+			this.defaultPage = config.defaultPage;
+			this.sessionParams = Collections.unmodifiableSet(new HashSet<>(config.sessionParams));
+			this.resourceMap = Collections.unmodifiableMap(new HashMap<>(config.resourceMap));
+		}
+
+		private byte[] add(byte[] data) {
+			size += data.length;
+			return data;
+		}
 	}
 
-	public synchronized ApplicationConfigProvider cloneConfig(MarshallService marshallService)
-			throws InvalidConfigurationException {
-		try {
-			ApplicationConfigProvider configProvider = null;
-			if (devMode) {
-				configProvider = new ApplicationConfigProviderImpl(marshallService, applicationName, xmlFiles,
-						applicationInfo, resources, devMode);
-			} else {
-				configProvider = new ApplicationConfigProviderImpl(applicationName, devMode, ArrayUtils.clone(data));
+	/**
+	 * A {@link Map} backed by a {@link Snapshot}, where a value is copied from the snapshot when it is accessed for
+	 * the first time. Values put into this map replace the ones of the snapshot.
+	 *
+	 * @param <V>
+	 *            the type of the values
+	 */
+	static class SnapshotMap<V> extends AbstractMap<String, V> {
+		private final Set<String> keys = ConcurrentHashMap.newKeySet();
+		private final Map<String, V> values = new ConcurrentHashMap<>();
+		private final Function<String, V> loader;
+
+		SnapshotMap(Set<String> keys, Function<String, V> loader) {
+			this.keys.addAll(keys);
+			this.loader = loader;
+		}
+
+		@Override
+		public V get(Object key) {
+			if (!keys.contains(key)) {
+				return null;
 			}
-			return configProvider;
-		} catch (Exception e) {
-			throw new InvalidConfigurationException(applicationName, "error while reading data", e);
+			return values.computeIfAbsent((String) key, loader);
+		}
+
+		@Override
+		public boolean containsKey(Object key) {
+			return keys.contains(key);
+		}
+
+		@Override
+		public V put(String key, V value) {
+			V previous = get(key);
+			values.put(key, value);
+			keys.add(key);
+			return previous;
+		}
+
+		@Override
+		public V remove(Object key) {
+			V previous = get(key);
+			keys.remove(key);
+			values.remove(key);
+			return previous;
+		}
+
+		@Override
+		public void clear() {
+			keys.clear();
+			values.clear();
+		}
+
+		@Override
+		public Set<Entry<String, V>> entrySet() {
+			return new AbstractSet<Entry<String, V>>() {
+
+				public Iterator<Entry<String, V>> iterator() {
+					Iterator<String> keyIterator = keys.iterator();
+					return new Iterator<Entry<String, V>>() {
+						private String current;
+
+						public boolean hasNext() {
+							return keyIterator.hasNext();
+						}
+
+						public Entry<String, V> next() {
+							current = keyIterator.next();
+							String key = current;
+							return new SimpleEntry<String, V>(key, null) {
+								@Override
+								public V getValue() {
+									return get(key);
+								}
+
+								@Override
+								public V setValue(V value) {
+									return put(key, value);
+								}
+							};
+						}
+
+						public void remove() {
+							keyIterator.remove();
+							values.remove(current);
+						}
+					};
+				}
+
+				public int size() {
+					return keys.size();
+				}
+			};
 		}
 	}
 
@@ -559,7 +656,7 @@ public class ApplicationConfigProviderImpl implements ApplicationConfigProvider
 		eventMap = null;
 		datasourceMap = null;
 		pageMap = null;
-		data = null;
+		snapshot = null;
 		resourceMap = null;
 		xmlFiles = null;
 		if (null != resources) {
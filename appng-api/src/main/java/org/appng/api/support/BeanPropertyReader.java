@@ -0,0 +1,170 @@
+/*
+ * Copyright 2011-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.appng.api.support;
+
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.beans.PropertyAccessor;
+import org.springframework.util.ReflectionUtils;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Reads (nested) properties of a bean using {@link MethodHandle}s to the getter methods, without the overhead of
+ * parsing the property path and creating nested {@link BeanWrapper}s on each access.
+ * <p>
+ * The getters are resolved once per property name and runtime class, and are stored with the class itself (see
+ * {@link ClassValue}), so a class (and its classloader) never gets pinned by this cache. Property paths containing
+ * indexed or mapped properties (like {@code list[0]} or {@code map[key]}) as well as {@link Optional} values are
+ * delegated to the {@link BeanWrapper}.
+ * </p>
+ *
+ * @author Matthias Müller
+ * @see    org.appng.api.FieldWrapper#getObject()
+ */
+@Slf4j
+public final class BeanPropertyReader {
+
+	private static final Map<String, BeanPropertyReader> READERS = new ConcurrentHashMap<>();
+	private static final Map<String, ClassValue<Object>> GETTERS = new ConcurrentHashMap<>();
+	private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+	private static final Object NO_GETTER = new Object();
+	private static final Object UNSUPPORTED = new Object();
+	private static final BeanPropertyReader DELEGATING = new BeanPropertyReader(new String[0]);
+
+	private final String[] segments;
+	private final ClassValue<Object>[] getters;
+
+	@SuppressWarnings("unchecked")
+	private BeanPropertyReader(String[] segments) {
+		this.segments = segments;
+		this.getters = new ClassValue[segments.length];
+		for (int i = 0; i < segments.length; i++) {
+			getters[i] = GETTERS.computeIfAbsent(segments[i], BeanPropertyReader::createGetters);
+		}
+	}
+
+	/**
+	 * Returns the value of the given property, or {@code null} if the property is not readable (as defined by
+	 * {@link BeanWrapper#isReadableProperty(String)}).
+	 *
+	 * @param  beanWrapper
+	 *                      the {@link BeanWrapper} wrapping the bean
+	 * @param  propertyPath
+	 *                      the path of the property
+	 * @return              the value of the property, may be {@code null}
+	 */
+	public static Object getPropertyValue(BeanWrapper beanWrapper, String propertyPath) {
+		Object value = read(beanWrapper.getWrappedInstance(), propertyPath);
+		return UNSUPPORTED == value ? getPropertyValueFromWrapper(beanWrapper, propertyPath) : value;
+	}
+
+	/**
+	 * Returns the value of the given property, or {@code null} if the property is not readable. A {@link BeanWrapper}
+	 * is only created if the property can not be read by a {@link BeanPropertyReader}.
+	 *
+	 * @param  bean
+	 *                      the bean
+	 * @param  propertyPath
+	 *                      the path of the property
+	 * @return              the value of the property, may be {@code null}
+	 * @see                 #getPropertyValue(BeanWrapper, String)
+	 */
+	public static Object getPropertyValue(Object bean, String propertyPath) {
+		Object value = read(bean, propertyPath);
+		return UNSUPPORTED == value ? getPropertyValueFromWrapper(new BeanWrapperImpl(bean), propertyPath) : value;
+	}
+
+	private static Object read(Object bean, String propertyPath) {
+		if (null == propertyPath) {
+			return UNSUPPORTED;
+		}
+		return READERS.computeIfAbsent(propertyPath, BeanPropertyReader::createReader).read(bean);
+	}
+
+	private static Object getPropertyValueFromWrapper(BeanWrapper beanWrapper, String propertyPath) {
+		if (beanWrapper.isReadableProperty(propertyPath)) {
+			return beanWrapper.getPropertyValue(propertyPath);
+		}
+		return null;
+	}
+
+	private Object read(Object bean) {
+		if (DELEGATING == this) {
+			return UNSUPPORTED;
+		}
+		Object value = bean;
+		for (int i = 0; i < segments.length; i++) {
+			if (null == value) {
+				return null;
+			}
+			if (value instanceof Optional) {
+				return UNSUPPORTED;
+			}
+			Object getter = getters[i].get(value.getClass());
+			if (NO_GETTER == getter) {
+				return null;
+			}
+			if (UNSUPPORTED == getter) {
+				return UNSUPPORTED;
+			}
+			try {
+				value = ((MethodHandle) getter).invokeExact(value);
+			} catch (Throwable t) {
+				ReflectionUtils.rethrowRuntimeException(t);
+			}
+		}
+		return value;
+	}
+
+	private static BeanPropertyReader createReader(String propertyPath) {
+		if (propertyPath.isEmpty() || propertyPath.indexOf(PropertyAccessor.PROPERTY_KEY_PREFIX_CHAR) > -1) {
+			return DELEGATING;
+		}
+		return new BeanPropertyReader(propertyPath.split("\\."));
+	}
+
+	private static ClassValue<Object> createGetters(String propertyName) {
+		return new ClassValue<Object>() {
+			protected Object computeValue(Class<?> type) {
+				PropertyDescriptor propertyDescriptor = BeanUtils.getPropertyDescriptor(type, propertyName);
+				if (null == propertyDescriptor || null == propertyDescriptor.getReadMethod()) {
+					return NO_GETTER;
+				}
+				Method readMethod = propertyDescriptor.getReadMethod();
+				try {
+					ReflectionUtils.makeAccessible(readMethod);
+					return MethodHandles.lookup().unreflect(readMethod).asType(GETTER_TYPE);
+				} catch (IllegalAccessException | RuntimeException e) {
+					LOGGER.debug("can not create getter for property '{}' of {}: {}", propertyName, type,
+							e.getMessage());
+					return UNSUPPORTED;
+				}
+			}
+		};
+	}
+
+}
@@ -156,7 +156,9 @@ public class CallableDataSource {
 	/**
 	 * Performs the {@link CallableDataSource}.<br/>
 	 * Note that the caller needs to check if the {@link Datasource} should be included by itself (by calling
-	 * {@link #doInclude()}), as this method doesn't check that condition.
+	 * {@link #doInclude()}), as this method doesn't check that condition.<br/>
+	 * The datasources of a page may be performed concurrently, so the redirect, the validation metadata and the
+	 * messages are added while holding the lock of the {@link ApplicationRequest}.
 	 * 
 	 * @param pageId
 	 *            the ID of the current page
@@ -212,14 +214,20 @@ public class CallableDataSource {
 						String servletPath = applicationRequest.getHttpServletRequest().getServletPath();
 						String target = servletPath + "?" + requestKey + "=" + sortString;
 						LOGGER.debug("invalid page for datasource {} requested, redirecting to {}", id, target);
-						site.sendRedirect(applicationRequest.getEnvironment(), target, HttpServletResponse.SC_FOUND);
+						synchronized (applicationRequest) {
+							site.sendRedirect(applicationRequest.getEnvironment(), target, HttpServletResponse.SC_FOUND);
+						}
 					}
 				} else if (addValidation && null != container.getItem()) {
-					applicationRequest.addValidationMetaData(metaData, site.getSiteClassLoader(),
-							elementHelper.getValidationGroups(metaData, container.getItem()));
+					synchronized (applicationRequest) {
+						applicationRequest.addValidationMetaData(metaData, site.getSiteClassLoader(),
+								elementHelper.getValidationGroups(metaData, container.getItem()));
+					}
 				}
 
-				ElementHelper.addMessages(applicationRequest.getEnvironment(), fieldProcessor.getMessages());
+				synchronized (applicationRequest) {
+					ElementHelper.addMessages(applicationRequest.getEnvironment(), fieldProcessor.getMessages());
+				}
 
 				Data data = container.getWrappedData();
 				getDatasource().setData(data);
@@ -485,13 +485,17 @@ public class ElementHelper {
 		} else {
 			Resultset resultset = null;
 			Collection<?> items = null;
+			boolean streaming = Boolean.TRUE.equals(applicationRequest.getEnvironment()
+					.getAttribute(REQUEST, EnvironmentKeys.STREAM_RESULTSET));
 			if (null != container.getPage()) {
 				Page<?> page = container.getPage();
-				resultset = resultService.getResultset(fieldProcessor, page);
+				resultset = streaming ? resultService.getStreamingResultset(fieldProcessor, page)
+						: resultService.getResultset(fieldProcessor, page);
 				items = page.getContent();
 			} else if (null != container.getItems()) {
-				resultset = resultService.getResultset(fieldProcessor, container.getItems());
 				items = container.getItems();
+				resultset = streaming ? resultService.getStreamingResultset(fieldProcessor, items)
+						: resultService.getResultset(fieldProcessor, items);
 			} else {
 				throw new ProcessingException("DataContainer must either have a page or a Collection of items",
 						fieldProcessor);
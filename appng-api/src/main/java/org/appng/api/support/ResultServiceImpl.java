@@ -15,6 +15,7 @@
  */
 package org.appng.api.support;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
@@ -29,6 +30,7 @@ import org.appng.xml.platform.FieldDef;
 import org.appng.xml.platform.Linkpanel;
 import org.appng.xml.platform.Result;
 import org.appng.xml.platform.Resultset;
+import org.springframework.beans.BeanWrapper;
 import org.springframework.beans.BeanWrapperImpl;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -61,9 +63,10 @@ public class ResultServiceImpl extends AdapterBase implements ResultService {
 		final Result r = new Result();
 		setResultSelector(fp, r);
 		DatafieldOwner dataFieldOwner = getDataFieldOwner(r);
+		BeanWrapper beanWrapper = new BeanWrapperImpl(object);
 		for (FieldDef fieldDef : fp.getFields()) {
 			Linkpanel linkpanel = fp.getLinkPanel(fieldDef.getName());
-			FieldWrapper fieldWrapper = new FieldWrapper(fieldDef, new BeanWrapperImpl(object));
+			FieldWrapper fieldWrapper = new FieldWrapper(fieldDef, beanWrapper);
 			fieldWrapper.backupFields();
 			fieldWrapper.setLinkpanel(linkpanel);
 			fieldConverter.addField(dataFieldOwner, fieldWrapper);
@@ -83,13 +86,54 @@ public class ResultServiceImpl extends AdapterBase implements ResultService {
 	}
 
 	public Resultset getResultset(FieldProcessor fp, Collection<?> items) {
+		return getResultset(fp, toPage(items));
+	}
+
+	private Page<Object> toPage(Collection<?> items) {
 		int pageSize = (0 == items.size() ? 10 : items.size());
-		return getResultset(fp,
-				new PageImpl<Object>(new ArrayList<>(items), new PageRequest(0, pageSize), items.size()));
+		return new PageImpl<Object>(new ArrayList<>(items), new PageRequest(0, pageSize), items.size());
 	}
 
 	public final Resultset getResultset(FieldProcessor fp, Page<?> page) {
-		Resultset resultset = new Resultset();
+		Resultset resultset = initResultset(new Resultset(), fp, page);
+		for (Object item : page.getContent()) {
+			addItem(resultset, item, fp);
+		}
+		return resultset;
+	}
+
+	/**
+	 * Returns a {@link Resultset} for the given {@link Page}, where the {@link Result}s are created not until they are
+	 * being accessed. The {@link Result}s are not retained, so a {@link Result} is being created each time it is
+	 * accessed. Therefore, such a {@link Resultset} should only be used when it is written (e.g. marshalled) exactly
+	 * once, like for a datasource called as a service.
+	 * 
+	 * @param  fp
+	 *              the {@link FieldProcessor} to use
+	 * @param  page
+	 *              the {@link Page} containing the items
+	 * @return      the {@link Resultset}
+	 */
+	public final Resultset getStreamingResultset(FieldProcessor fp, Page<?> page) {
+		return initResultset(new StreamingResultset(new ResultList(fp, page.getContent())), fp, page);
+	}
+
+	/**
+	 * Returns a {@link Resultset} for the given items, where the {@link Result}s are created not until they are being
+	 * accessed.
+	 * 
+	 * @param  fp
+	 *               the {@link FieldProcessor} to use
+	 * @param  items
+	 *               the items
+	 * @return       the {@link Resultset}
+	 * @see          #getStreamingResultset(FieldProcessor, Page)
+	 */
+	public final Resultset getStreamingResultset(FieldProcessor fp, Collection<?> items) {
+		return getStreamingResultset(fp, toPage(items));
+	}
+
+	private Resultset initResultset(Resultset resultset, FieldProcessor fp, Page<?> page) {
 		resultset.setChunk(page.getNumber());
 		resultset.setChunkname(fp.getReference());
 		resultset.setChunksize(page.getSize());
@@ -99,11 +143,33 @@ public class ResultServiceImpl extends AdapterBase implements ResultService {
 		resultset.setPreviouschunk(page.hasPrevious() ? page.getNumber() - 1 : 0);
 		resultset.setNextchunk(page.hasNext() ? page.getNumber() + 1 : 0);
 		resultset.setHits((int) page.getTotalElements());
+		return resultset;
+	}
 
-		for (Object item : page.getContent()) {
-			addItem(resultset, item, fp);
+	private class ResultList extends AbstractList<Result> {
+		private final FieldProcessor fp;
+		private final List<?> items;
+
+		ResultList(FieldProcessor fp, List<?> items) {
+			this.fp = fp;
+			this.items = items;
+		}
+
+		@Override
+		public Result get(int index) {
+			return getResult(fp, items.get(index));
+		}
+
+		@Override
+		public int size() {
+			return items.size();
+		}
+	}
+
+	private static class StreamingResultset extends Resultset {
+		StreamingResultset(List<Result> results) {
+			this.results = results;
 		}
-		return resultset;
 	}
 
 	private DatafieldOwner getDataFieldOwner(final Result r) {
@@ -0,0 +1,231 @@
+/*
+ * Copyright 2011-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.appng.api.support;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.appng.api.Platform;
+import org.appng.api.RequestUtil;
+import org.appng.api.model.Site;
+
+/**
+ * A {@link ConcurrentMap} holding the {@link Site}s of the platform by their name, maintaining an additional index of
+ * the {@link Site}s by their host, so a {@link Site} can be retrieved by its host without iterating over all sites.
+ * The index entry of a {@link Site} is rebuilt whenever the site is put into the map, which is what happens when a
+ * site is (re)loaded, even if it is the same instance with a changed host. A lookup that finds a {@link Site} whose
+ * host has been changed in the meantime also rebuilds its entry.
+ * <p>
+ * All modifications, including those performed through the views returned by {@link #keySet()}, {@link #values()}
+ * and {@link #entrySet()}, update the index. They are synchronized on this map, while reading does not block.
+ * </p>
+ *
+ * @author Matthias Müller
+ * @see    Platform.Environment#SITES
+ * @see    RequestUtil#getSiteByHost(org.appng.api.Environment, String)
+ */
+public class SiteMap extends AbstractMap<String, Site> implements ConcurrentMap<String, Site> {
+
+	private final Map<String, Site> sites = new ConcurrentHashMap<>();
+	private final Map<String, Site> sitesByHost = new ConcurrentHashMap<>();
+	// the host and the site that have been indexed, by the name of the site
+	private final Map<String, Entry<String, Site>> indexedHosts = new ConcurrentHashMap<>();
+	private final Set<Entry<String, Site>> entrySet = new EntrySet();
+
+	/**
+	 * Retrieves a {@link Site} by its host.
+	 *
+	 * @param  host
+	 *              the host of the {@link Site}
+	 * @return      the {@link Site}, if any
+	 */
+	public Site getSiteByHost(String host) {
+		Site site = sitesByHost.get(host);
+		if (null != site && !host.equals(site.getHost())) {
+			// the host of the site has been changed in the meantime
+			reindex(site);
+			site = sites.values().stream().filter(s -> host.equals(s.getHost())).findFirst().orElse(null);
+			reindex(site);
+		}
+		return site;
+	}
+
+	@Override
+	public Site get(Object name) {
+		return sites.get(name);
+	}
+
+	@Override
+	public boolean containsKey(Object name) {
+		return sites.containsKey(name);
+	}
+
+	@Override
+	public int size() {
+		return sites.size();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return sites.isEmpty();
+	}
+
+	@Override
+	public synchronized Site put(String name, Site site) {
+		Site previous = sites.put(name, site);
+		index(name, site);
+		return previous;
+	}
+
+	@Override
+	public synchronized Site putIfAbsent(String name, Site site) {
+		Site previous = sites.putIfAbsent(name, site);
+		if (null == previous) {
+			index(name, site);
+		}
+		return previous;
+	}
+
+	@Override
+	public synchronized Site remove(Object name) {
+		Site removed = sites.remove(name);
+		if (null != removed) {
+			unindex((String) name);
+		}
+		return removed;
+	}
+
+	@Override
+	public synchronized boolean remove(Object name, Object site) {
+		boolean removed = sites.remove(name, site);
+		if (removed) {
+			unindex((String) name);
+		}
+		return removed;
+	}
+
+	@Override
+	public synchronized Site replace(String name, Site site) {
+		Site previous = sites.replace(name, site);
+		if (null != previous) {
+			index(name, site);
+		}
+		return previous;
+	}
+
+	@Override
+	public synchronized boolean replace(String name, Site oldSite, Site newSite) {
+		boolean replaced = sites.replace(name, oldSite, newSite);
+		if (replaced) {
+			index(name, newSite);
+		}
+		return replaced;
+	}
+
+	@Override
+	public synchronized void clear() {
+		sites.clear();
+		sitesByHost.clear();
+		indexedHosts.clear();
+	}
+
+	@Override
+	public Set<Entry<String, Site>> entrySet() {
+		return entrySet;
+	}
+
+	private void index(String name, Site site) {
+		unindex(name);
+		if (null != site && null != site.getHost()) {
+			sitesByHost.put(site.getHost(), site);
+			indexedHosts.put(name, new SimpleImmutableEntry<>(site.getHost(), site));
+		}
+	}
+
+	private synchronized void reindex(Site site) {
+		if (null != site && site == sites.get(site.getName())) {
+			index(site.getName(), site);
+		}
+	}
+
+	private void unindex(String name) {
+		Entry<String, Site> indexed = indexedHosts.remove(name);
+		if (null != indexed) {
+			sitesByHost.remove(indexed.getKey(), indexed.getValue());
+		}
+	}
+
+	/**
+	 * A view of the entries, passing removals and new values to the {@link SiteMap}.
+	 */
+	private class EntrySet extends AbstractSet<Entry<String, Site>> {
+
+		@Override
+		public Iterator<Entry<String, Site>> iterator() {
+			Iterator<Entry<String, Site>> entries = sites.entrySet().iterator();
+			return new Iterator<Entry<String, Site>>() {
+				private Entry<String, Site> current;
+
+				public boolean hasNext() {
+					return entries.hasNext();
+				}
+
+				public Entry<String, Site> next() {
+					Entry<String, Site> next = entries.next();
+					current = new SiteEntry(next.getKey(), next.getValue());
+					return current;
+				}
+
+				public void remove() {
+					if (null == current) {
+						throw new IllegalStateException();
+					}
+					SiteMap.this.remove(current.getKey(), current.getValue());
+					current = null;
+				}
+			};
+		}
+
+		@Override
+		public int size() {
+			return sites.size();
+		}
+
+		@Override
+		public void clear() {
+			SiteMap.this.clear();
+		}
+	}
+
+	private class SiteEntry extends SimpleEntry<String, Site> {
+
+		SiteEntry(String name, Site site) {
+			super(name, site);
+		}
+
+		@Override
+		public Site setValue(Site site) {
+			put(getKey(), site);
+			return super.setValue(site);
+		}
+	}
+
+}
@@ -60,6 +60,11 @@ public class EnvironmentKeys {
 	public static final String QUERY_STRING = "queryString";
 	/** A {@link Boolean} defining if the template should render some HTML (scope: {@link Scope#REQUEST}) */
 	public static final String RENDER = "render";
+	/**
+	 * A {@link Boolean} defining if the rows of a {@link org.appng.xml.platform.Resultset} should be created not
+	 * until the response is being written (scope: {@link Scope#REQUEST})
+	 */
+	public static final String STREAM_RESULTSET = "streamResultset";
 
 	private EnvironmentKeys() {
 	}
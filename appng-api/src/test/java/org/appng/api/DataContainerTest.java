@@ -16,6 +16,7 @@
 package org.appng.api;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 
 import org.appng.api.support.FieldProcessorImpl;
@@ -112,4 +113,31 @@ public class DataContainerTest {
 		Assert.assertEquals(anakin, list.get(3));
 		Assert.assertEquals(unknown, list.get(4));
 	}
+
+	@Test
+	public void testSetPageSortLarge() {
+		List<Person> personList = new ArrayList<>();
+		for (int i = 0; i < 20000; i++) {
+			personList.add(new Person(i, null, i % 3 == 0 ? null : "Person " + (i % 10)));
+		}
+		PageRequest newPageable = new PageRequest(2, 1000,
+				new Sort(new Order(Direction.ASC, "name"), new Order(Direction.DESC, "id")));
+		dataContainer.setPage(personList, newPageable);
+
+		List<Person> expected = new ArrayList<>(personList);
+		expected.sort(Comparator.comparing(Person::getName, Comparator.nullsFirst(Comparator.naturalOrder()))
+				.thenComparing(Person::getId, Comparator.reverseOrder()));
+		Assert.assertEquals(20000, dataContainer.getPage().getTotalElements());
+		Assert.assertEquals(expected.subList(2000, 3000), dataContainer.getPage().getContent());
+	}
+
+	@Test
+	public void testSetPageSkipSort() {
+		PageRequest newPageable = new PageRequest(0, 1, new Sort(Direction.ASC, "firstname"));
+		dataContainer.setPage(persons, newPageable, true);
+		Assert.assertEquals(luke, dataContainer.getPage().iterator().next());
+		dataContainer.setPage(persons, new PageRequest(0, 1, new Sort(Direction.DESC, "firstname")), false);
+		Assert.assertEquals(obiWan, dataContainer.getPage().iterator().next());
+		Assert.assertEquals(luke, persons.get(0));
+	}
 }
@@ -55,6 +55,20 @@ public class XPathProcessorTest {
 		Assert.assertEquals("doesNotExist", xpath.getString("//appng:datasource[@id=\"datasource\"]//appng:meta-data/@bindClass"));
 	}
 
+	@Test
+	public void testNamespaceChanged() throws Exception {
+		Document doc = DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
+		MarshallService marshallService = MarshallService.getMarshallService();
+		InputStream resource = getClass().getClassLoader().getResourceAsStream("application/conf/datasource.xml");
+		AppNGSchema.PLATFORM.getContext().createMarshaller().marshal(marshallService.unmarshall(resource), doc);
+		XPathProcessor xpath = new XPathProcessor(doc);
+		xpath.setNamespace("appng", "urn:doesNotExist");
+		Assert.assertEquals("", xpath.getString("//appng:datasource[2]/@id"));
+		xpath.setNamespace("appng", AppNGSchema.PLATFORM.getNamespace());
+		Assert.assertEquals("datasource", xpath.getString("//appng:datasource[2]/@id"));
+		Assert.assertNull(xpath.getString("//appng:datasource["));
+	}
+
 	@Test
 	public void testGetString() throws IOException {
 		Assert.assertEquals("abcd", processor.getString("/root/a/string"));
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2011-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.appng.api.support;
+
+import java.io.File;
+import java.util.Map;
+
+import org.appng.api.ApplicationConfigProvider;
+import org.appng.api.model.Application;
+import org.appng.api.model.Resources;
+import org.appng.xml.MarshallService;
+import org.appng.xml.platform.Action;
+import org.appng.xml.platform.Datasource;
+import org.appng.xml.platform.Event;
+import org.appng.xml.platform.PageDefinition;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class ApplicationConfigProviderImplTest {
+
+	@Test
+	public void testCloneConfig() throws Exception {
+		Application application = Mockito.mock(Application.class);
+		Mockito.when(application.isFileBased()).thenReturn(true);
+		File applicationFolder = new File(getClass().getClassLoader().getResource("application").toURI());
+		Resources applicationResources = new ApplicationResourceHolder(application,
+				MarshallService.getApplicationMarshallService(), applicationFolder, new File("target/temp"));
+		MarshallService marshallService = MarshallService.getMarshallService();
+		ApplicationConfigProviderImpl config = new ApplicationConfigProviderImpl(marshallService, "testClone",
+				applicationResources, false);
+
+		ApplicationConfigProvider clone = config.cloneConfig(marshallService);
+		ApplicationConfigProvider otherClone = config.cloneConfig(marshallService);
+
+		Assert.assertEquals(config.getDataSources().keySet(), clone.getDataSources().keySet());
+		Assert.assertEquals(config.getEventIds(), clone.getEventIds());
+		Assert.assertEquals(config.getPages().keySet(), clone.getPages().keySet());
+		Assert.assertEquals(config.getDefaultPage(), clone.getDefaultPage());
+		Assert.assertEquals(config.getSessionParams(), ((ApplicationConfigProviderImpl) clone).getSessionParams());
+		Assert.assertEquals(config.getResourceNameForPage("page"), clone.getResourceNameForPage("page"));
+
+		Datasource datasource = clone.getDatasource("datasource");
+		Assert.assertNotNull(datasource);
+		Assert.assertSame(datasource, clone.getDatasource("datasource"));
+		Assert.assertNotSame(datasource, config.getDatasource("datasource"));
+		Assert.assertNotSame(datasource, otherClone.getDatasource("datasource"));
+		Assert.assertEquals(config.getDatasource("datasource").getId(), datasource.getId());
+		Assert.assertNull(clone.getDatasource("doesNotExist"));
+
+		PageDefinition page = clone.getPage("page");
+		Assert.assertNotSame(page, config.getPage("page"));
+		page.setType("modified");
+		Assert.assertNotEquals("modified", otherClone.getPage("page").getType());
+
+		Event event = clone.getEvent("event");
+		Map<String, Action> actions = clone.getActions("event");
+		Assert.assertEquals(event.getActions().size(), actions.size());
+		for (Action action : event.getActions()) {
+			Assert.assertSame(action, actions.get(action.getId()));
+		}
+		Assert.assertSame(actions.get("action"), clone.getAction("event", "action"));
+
+		Map<String, Datasource> dataSources = clone.getDataSources();
+		dataSources.remove("datasource");
+		Assert.assertFalse(dataSources.containsKey("datasource"));
+		Assert.assertEquals(config.getDataSources().size() - 1, dataSources.size());
+		Assert.assertTrue(otherClone.getDataSources().containsKey("datasource"));
+		for (Map.Entry<String, Datasource> entry : dataSources.entrySet()) {
+			Assert.assertEquals(entry.getKey(), entry.getValue().getId());
+		}
+	}
+
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2011-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.appng.api.support;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+
+public class BeanPropertyReaderTest {
+
+	@Test
+	public void testGetPropertyValue() {
+		Person child = new Person("Jane", null);
+		Person person = new Person("John", child);
+		person.children = Arrays.asList(child);
+		BeanWrapper beanWrapper = new BeanWrapperImpl(person);
+
+		Assert.assertEquals("John", BeanPropertyReader.getPropertyValue(beanWrapper, "name"));
+		Assert.assertEquals("Jane", BeanPropertyReader.getPropertyValue(beanWrapper, "partner.name"));
+		Assert.assertNull(BeanPropertyReader.getPropertyValue(beanWrapper, "partner.partner.name"));
+		Assert.assertNull(BeanPropertyReader.getPropertyValue(beanWrapper, "doesNotExist"));
+		Assert.assertNull(BeanPropertyReader.getPropertyValue(beanWrapper, "partner.doesNotExist"));
+		Assert.assertEquals("Jane", BeanPropertyReader.getPropertyValue(beanWrapper, "children[0].name"));
+		Assert.assertEquals(Person.class, BeanPropertyReader.getPropertyValue(beanWrapper, "class"));
+		Assert.assertEquals(Optional.of("John"), BeanPropertyReader.getPropertyValue(beanWrapper, "optionalName"));
+
+		// the runtime type is used to find the getter
+		Person subPerson = new SubPerson("Jack", person);
+		BeanWrapper subWrapper = new BeanWrapperImpl(new Person("Joe", subPerson));
+		Assert.assertEquals("Jack", BeanPropertyReader.getPropertyValue(subWrapper, "partner.name"));
+		Assert.assertEquals("JACK", BeanPropertyReader.getPropertyValue(subWrapper, "partner.upperName"));
+		Assert.assertNull(BeanPropertyReader.getPropertyValue(beanWrapper, "partner.upperName"));
+
+		try {
+			BeanPropertyReader.getPropertyValue(beanWrapper, "failing");
+			Assert.fail("IllegalStateException expected");
+		} catch (IllegalStateException e) {
+			Assert.assertEquals("failed", e.getMessage());
+		}
+	}
+
+	public static class Person {
+		private String name;
+		private Person partner;
+		private List<Person> children;
+
+		Person(String name, Person partner) {
+			this.name = name;
+			this.partner = partner;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public Person getPartner() {
+			return partner;
+		}
+
+		public List<Person> getChildren() {
+			return children;
+		}
+
+		public Optional<String> getOptionalName() {
+			return Optional.of(name);
+		}
+
+		public String getFailing() {
+			throw new IllegalStateException("failed");
+		}
+	}
+
+	static class SubPerson extends Person {
+
+		SubPerson(String name, Person partner) {
+			super(name, partner);
+		}
+
+		public String getUpperName() {
+			return getName().toUpperCase();
+		}
+	}
+
+}
@@ -24,6 +24,8 @@ import java.util.List;
 import java.util.Locale;
 import java.util.TimeZone;
 
+import javax.xml.bind.JAXBException;
+
 import org.appng.api.Environment;
 import org.appng.api.FieldProcessor;
 import org.appng.api.MetaDataProvider;
@@ -31,7 +33,10 @@ import org.appng.api.Person;
 import org.appng.api.Request;
 import org.appng.el.ExpressionEvaluator;
 import org.appng.tools.locator.Coordinate;
+import org.appng.xml.MarshallService;
 import org.appng.xml.platform.Condition;
+import org.appng.xml.platform.Data;
+import org.appng.xml.platform.Datasource;
 import org.appng.xml.platform.FieldDef;
 import org.appng.xml.platform.FieldType;
 import org.appng.xml.platform.Label;
@@ -194,6 +199,25 @@ public class ResultServiceTest {
 		XmlValidator.validate(fp.getMetaData(), "-metadata");
 	}
 
+	@Test
+	public void testGetStreamingResultset() throws JAXBException {
+		Person vader = getDarkLord();
+		MarshallService marshallService = MarshallService.getMarshallService();
+		Resultset resultset = rss.getResultset(getFieldProcessor(), vader.getOffsprings());
+		Resultset streamingResultset = rss.getStreamingResultset(getFieldProcessor(), vader.getOffsprings());
+		Assert.assertEquals(resultset.getResults().size(), streamingResultset.getResults().size());
+		Assert.assertEquals(marshallService.marshallNonRoot(getDatasource(resultset)),
+				marshallService.marshallNonRoot(getDatasource(streamingResultset)));
+	}
+
+	private Datasource getDatasource(Resultset resultset) {
+		Datasource datasource = new Datasource();
+		datasource.setId("offsprings");
+		datasource.setData(new Data());
+		datasource.getData().setResultset(resultset);
+		return datasource;
+	}
+
 	@Test
 	public void testGetEmptyResultset() {
 		FieldProcessorImpl fp = new FieldProcessorImpl("action", MetaDataProvider.getMetaData());
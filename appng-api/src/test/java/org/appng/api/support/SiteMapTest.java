@@ -0,0 +1,84 @@
+/*
+ * Copyright 2011-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.appng.api.support;
+
+import java.util.Iterator;
+import java.util.Map.Entry;
+
+import org.appng.api.model.Site;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class SiteMapTest {
+
+	@Test
+	public void testModifyThroughViews() {
+		SiteMap sites = new SiteMap();
+		Site site1 = getSite(1);
+		Site site2 = getSite(2);
+		Site site3 = getSite(3);
+		sites.put("site-1", site1);
+		sites.put("site-2", site2);
+		sites.put("site-3", site3);
+
+		sites.keySet().remove("site-1");
+		Assert.assertNull(sites.getSiteByHost("host-1"));
+		sites.values().remove(site2);
+		Assert.assertNull(sites.getSiteByHost("host-2"));
+
+		Iterator<Entry<String, Site>> entries = sites.entrySet().iterator();
+		Entry<String, Site> entry = entries.next();
+		Site site4 = getSite(4);
+		entry.setValue(site4);
+		Assert.assertSame(site4, sites.get("site-3"));
+		Assert.assertNull(sites.getSiteByHost("host-3"));
+		Assert.assertSame(site4, sites.getSiteByHost("host-4"));
+		entries.remove();
+		Assert.assertTrue(sites.isEmpty());
+		Assert.assertNull(sites.getSiteByHost("host-4"));
+	}
+
+	@Test
+	public void testCompute() {
+		SiteMap sites = new SiteMap();
+		Site site1 = getSite(1);
+		Assert.assertSame(site1, sites.computeIfAbsent("site-1", n -> site1));
+		Assert.assertSame(site1, sites.getSiteByHost("host-1"));
+
+		Site site2 = getSite(2);
+		sites.compute("site-1", (n, s) -> site2);
+		Assert.assertNull(sites.getSiteByHost("host-1"));
+		Assert.assertSame(site2, sites.getSiteByHost("host-2"));
+
+		sites.computeIfPresent("site-1", (n, s) -> null);
+		Assert.assertNull(sites.getSiteByHost("host-2"));
+
+		sites.merge("site-1", site1, (s1, s2) -> s2);
+		Assert.assertSame(site1, sites.getSiteByHost("host-1"));
+		sites.replaceAll((n, s) -> site2);
+		Assert.assertSame(site2, sites.getSiteByHost("host-2"));
+		Assert.assertNull(sites.getSiteByHost("host-1"));
+	}
+
+	private Site getSite(int i) {
+		Site site = Mockito.mock(Site.class);
+		Mockito.when(site.getName()).thenReturn("site-" + i);
+		Mockito.when(site.getHost()).thenReturn("host-" + i);
+		return site;
+	}
+
+}
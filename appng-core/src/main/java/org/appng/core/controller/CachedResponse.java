@@ -17,9 +17,15 @@ package org.appng.core.controller;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.OutputStream;
 import java.io.Serializable;
+import java.util.Collection;
 import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.DeflaterOutputStream;
 import java.util.zip.GZIPOutputStream;
 
 import javax.servlet.http.HttpServletRequest;
@@ -40,6 +46,9 @@ import lombok.Data;
 @Data
 public class CachedResponse implements Serializable {
 
+	// the default serialVersionUID of the initial version, retained for entries that are still in the cache
+	private static final long serialVersionUID = -1947927584134200107L;
+
 	private String id;
 	private String site;
 	private String domain;
@@ -47,6 +56,7 @@ public class CachedResponse implements Serializable {
 	private Date creationTime;
 	private Date lastAccessedTime;
 	private Date expirationTime;
+	private Date softExpirationTime;
 	private HttpStatus status;
 	private int timeToLive;
 	protected String servletPath;
@@ -55,11 +65,75 @@ public class CachedResponse implements Serializable {
 	protected int contentLength;
 	protected HttpHeaders headers;
 	protected byte[] data;
+	protected Map<Encoding, byte[]> encodedData = new LinkedHashMap<>();
+
+	/**
+	 * The content-codings a {@link CachedResponse} can be pre-encoded with.
+	 * 
+	 * @see CachedResponse#encode(Collection, int)
+	 */
+	public enum Encoding {
+		GZIP("gzip") {
+			protected OutputStream wrap(OutputStream out) throws IOException {
+				return new GZIPOutputStream(out);
+			}
+		},
+		DEFLATE("deflate") {
+			protected OutputStream wrap(OutputStream out) throws IOException {
+				return new DeflaterOutputStream(out);
+			}
+		};
+
+		private final String coding;
+
+		private Encoding(String coding) {
+			this.coding = coding;
+		}
+
+		/**
+		 * Returns the content-coding as used in the {@code Accept-Encoding} and {@code Content-Encoding} headers
+		 * 
+		 * @return the content-coding
+		 */
+		public String getCoding() {
+			return coding;
+		}
+
+		protected abstract OutputStream wrap(OutputStream out) throws IOException;
+
+		public byte[] encode(byte[] data) throws IOException {
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream(Math.max(32, data.length / 4));
+			try (OutputStream encoded = wrap(bytes)) {
+				encoded.write(data);
+			}
+			return bytes.toByteArray();
+		}
+
+		/**
+		 * Returns the {@link Encoding} for the given content-coding
+		 * 
+		 * @param  coding
+		 *                the content-coding, case insensitive
+		 * @return        the {@link Encoding}, or {@code null} if the coding is not supported
+		 */
+		public static Encoding forCoding(String coding) {
+			for (Encoding encoding : values()) {
+				if (encoding.coding.equalsIgnoreCase(coding)) {
+					return encoding;
+				}
+			}
+			return null;
+		}
+	}
 
 	public long incrementHit() {
 		return hits.incrementAndGet();
 	}
 
+	public long addHits(long delta) {
+		return hits.addAndGet(delta);
+	}
+
 	public CachedResponse(String id, Site site, HttpServletRequest request, int status, String contentType, byte[] data,
 			HttpHeaders headers, int timeToLive) {
 		this.id = id;
@@ -76,6 +150,14 @@ public class CachedResponse implements Serializable {
 		this.queryString = request.getQueryString();
 	}
 
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+		in.defaultReadObject();
+		// responses serialized before the encoded variants were introduced have none
+		if (null == encodedData) {
+			encodedData = new LinkedHashMap<>();
+		}
+	}
+
 	private void calculateExpire(Date baseline) {
 		this.expirationTime = DateUtils.addSeconds(baseline, timeToLive);
 	}
@@ -84,16 +166,72 @@ public class CachedResponse implements Serializable {
 		return hits.get();
 	}
 
+	/**
+	 * Sets the soft time to live for this response. After the soft TTL has elapsed, the response is considered
+	 * {@link #isStale() stale}, meaning it may still be served but should be refreshed. A soft TTL that is not positive
+	 * or not smaller than the time to live is ignored.
+	 * 
+	 * @param softTimeToLive
+	 *                       the soft time to live, in seconds
+	 */
+	public void setSoftTimeToLive(int softTimeToLive) {
+		this.softExpirationTime = softTimeToLive > 0 && softTimeToLive < timeToLive
+				? DateUtils.addSeconds(creationTime, softTimeToLive)
+				: null;
+	}
+
+	/**
+	 * Checks whether the soft TTL of this response has elapsed.
+	 * 
+	 * @return {@code true} if this response is stale and should be refreshed
+	 * @see    #setSoftTimeToLive(int)
+	 */
+	public boolean isStale() {
+		return null != softExpirationTime && softExpirationTime.getTime() <= System.currentTimeMillis();
+	}
+
 	public boolean isOk() {
 		return status.equals(HttpStatus.OK) && contentLength > 0;
 	}
 
+	/**
+	 * Pre-encodes the data of this response with the given {@link Encoding}s, so the encoded variants can be served
+	 * from the cache without compressing them again on each request. A variant is only kept if it is smaller than the
+	 * original data. The order of the given encodings is retained as order of preference.
+	 * 
+	 * @param  encodings
+	 *                     the {@link Encoding}s to use
+	 * @param  minSize
+	 *                     the minimum content length (in bytes) for a response to be encoded
+	 * @throws IOException
+	 *                     if an error occurs while encoding
+	 */
+	public void encode(Collection<Encoding> encodings, int minSize) throws IOException {
+		if (contentLength > 0 && contentLength >= minSize) {
+			for (Encoding encoding : encodings) {
+				byte[] encoded = encoding.encode(data);
+				if (encoded.length < contentLength) {
+					encodedData.put(encoding, encoded);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the data of this response encoded with the given {@link Encoding}
+	 * 
+	 * @param  encoding
+	 *                  the {@link Encoding}
+	 * @return          the encoded data, or {@code null} if there's no such variant
+	 * @see             #encode(Collection, int)
+	 */
+	public byte[] getEncodedBody(Encoding encoding) {
+		return encodedData.get(encoding);
+	}
+
 	public byte[] getGzippedBody() throws IOException {
-		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
-		final GZIPOutputStream gzipped = new GZIPOutputStream(bytes);
-		gzipped.write(data);
-		gzipped.close();
-		return bytes.toByteArray();
+		byte[] gzipped = getEncodedBody(Encoding.GZIP);
+		return null == gzipped ? Encoding.GZIP.encode(data) : gzipped;
 	}
 
 	@Override
@@ -18,15 +18,27 @@ package org.appng.core.controller;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.FileSystems;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardWatchEventKinds;
 import java.nio.file.WatchEvent;
 import java.nio.file.WatchKey;
 import java.nio.file.WatchService;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Stream;
 
 import javax.cache.Cache;
 
@@ -35,16 +47,23 @@ import org.apache.commons.lang3.StringUtils;
 import org.appng.api.SiteProperties;
 import org.appng.api.XPathProcessor;
 import org.appng.api.model.Site;
+import org.appng.api.search.Consumer;
+import org.appng.api.search.DocumentEvent;
+import org.appng.api.search.DocumentProducer;
 import org.appng.core.controller.filter.RedirectFilter;
 import org.appng.core.service.CacheService;
+import org.appng.search.indexer.FileSystemProvider;
+import org.appng.search.indexer.GlobalIndexer;
 import org.w3c.dom.Document;
 import org.w3c.dom.NodeList;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * <p>
- * A service that watches for modified/deleted files in a {@link Site}'s
+ * A service that watches for created/modified/deleted files in a {@link Site}'s
  * www-directory (see {@link SiteProperties#WWW_DIR}) using a
  * {@link WatchService}.
  * </p>
@@ -53,6 +72,18 @@ import lombok.extern.slf4j.Slf4j;
  * modified/deleted files are removed from the cache. Since there could be some
  * forwarding rules defined in the site's {@code urlrewrite.xml}, it is also
  * necessary to parse these rules and remove the 'aliases' from the cache.
+ * <p>
+ * If an indexer is given (see {@link SiteProperties#INDEX_WATCH_REPOSITORY}),
+ * the folders defined in {@link SiteProperties#INDEX_CONFIG} are watched
+ * recursively, and the changed files are indexed using
+ * {@link FileSystemProvider#indexFiles(java.util.Collection)}. The events are
+ * coalesced per file and indexed once there were no further events for
+ * {@value #INDEX_DELAY} milliseconds, but at the latest after
+ * {@value #INDEX_MAX_DELAY} milliseconds. The files are parsed by a separate
+ * thread, so the cache entries of further changes are removed without waiting
+ * for the parsing. If indexing the files fails, they are indexed again together
+ * with the next changes.
+ * </p>
  * 
  * @author Matthias Müller
  *
@@ -62,6 +93,10 @@ public class RepositoryWatcher implements Runnable {
 
 	private static final String XPATH_FORWARD_RULE = "//rule[not(/to/@type) or /to/@type = 'forward']";
 	public static final String DEFAULT_RULE_SUFFIX = "((\\?\\S+)?)";
+	/** The number of milliseconds without further events after which the changed files are indexed */
+	public static final long INDEX_DELAY = 1000L;
+	/** The maximum number of milliseconds after the first event until the changed files are indexed */
+	public static final long INDEX_MAX_DELAY = 10000L;
 	private String jspExtension = ".jsp";
 
 	private WatchService watcher;
@@ -77,15 +112,50 @@ public class RepositoryWatcher implements Runnable {
 
 	private String ruleSourceSuffix;
 
+	private Consumer<DocumentEvent, DocumentProducer> indexer;
+	private FileSystemProvider fileSystemProvider;
+	private long indexTimeout;
+	private List<Path> indexFolders = new ArrayList<>();
+	private Set<File> changedFiles = new LinkedHashSet<>();
+	private Queue<File> failedFiles = new ConcurrentLinkedQueue<>();
+	private ExecutorService indexExecutor;
+	private long firstChange;
+	private long lastChange;
+
 	public RepositoryWatcher(Site site, String jspExtension, String ruleSourceSuffix) {
+		this(site, jspExtension, ruleSourceSuffix, true, null);
+	}
+
+	/**
+	 * Creates a new {@link RepositoryWatcher}.
+	 * 
+	 * @param site
+	 *            the {@link Site} to watch
+	 * @param jspExtension
+	 *            the extension of JSP files (without leading dot)
+	 * @param ruleSourceSuffix
+	 *            the suffix to be removed from a {@code <from>}-rule of the
+	 *            {@code urlrewrite.xml}
+	 * @param watchCache
+	 *            whether to remove the entries for changed files from the cache
+	 * @param indexer
+	 *            the indexer used to index the changed files, may be
+	 *            {@code null}
+	 */
+	public RepositoryWatcher(Site site, String jspExtension, String ruleSourceSuffix, boolean watchCache,
+			Consumer<DocumentEvent, DocumentProducer> indexer) {
 		try {
 			this.jspExtension = "." + jspExtension;
 			String rootDir = site.getProperties().getString(SiteProperties.SITE_ROOT_DIR);
 			String wwwdir = site.getProperties().getString(SiteProperties.WWW_DIR);
-			Cache<String, CachedResponse> cache = CacheService.getCache(site);
+			Cache<String, CachedResponse> cache = watchCache ? CacheService.getCache(site) : null;
 			String rewriteConfig = site.getProperties().getString(SiteProperties.REWRITE_CONFIG);
 			List<String> documentsDirs = site.getProperties().getList(SiteProperties.DOCUMENT_DIR, ";");
 			init(cache, rootDir + wwwdir, site.readFile(rewriteConfig), ruleSourceSuffix, documentsDirs);
+			if (null != indexer) {
+				Integer timeout = site.getProperties().getInteger(SiteProperties.INDEX_TIMEOUT, 5000);
+				initIndexing(indexer, GlobalIndexer.getFileSystemProvider(site, jspExtension), timeout);
+			}
 		} catch (Exception e) {
 			LOGGER.error(String.format("error starting RepositoryWatcher for site %s", site.getName()), e);
 		}
@@ -111,58 +181,183 @@ public class RepositoryWatcher implements Runnable {
 
 	}
 
+	void initIndexing(Consumer<DocumentEvent, DocumentProducer> indexer, FileSystemProvider fileSystemProvider,
+			long indexTimeout) throws IOException {
+		this.indexer = indexer;
+		this.fileSystemProvider = fileSystemProvider;
+		this.indexTimeout = indexTimeout;
+		for (File contentFolder : fileSystemProvider.getContentFolders()) {
+			indexFolders.add(contentFolder.toPath().toAbsolutePath().normalize());
+			watchRecursive(contentFolder.toPath());
+		}
+	}
+
 	private void watch(File file) throws IOException {
 		if (file.exists() && file.isDirectory()) {
 			LOGGER.info("watching {}", file.toString());
-			file.toPath().register(watcher, StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.ENTRY_MODIFY);
+			file.toPath().register(watcher, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_DELETE,
+					StandardWatchEventKinds.ENTRY_MODIFY);
+		}
+	}
+
+	private void watchRecursive(Path folder) throws IOException {
+		try (Stream<Path> folders = Files.walk(folder)) {
+			for (Path path : (Iterable<Path>) folders.filter(Files::isDirectory)::iterator) {
+				watch(path.toFile());
+			}
 		}
 	}
 
 	public void run() {
 		LOGGER.info("start watching...");
+		if (null != indexer) {
+			ThreadFactory threadFactory = new ThreadFactoryBuilder().setDaemon(true)
+					.setNameFormat(Thread.currentThread().getName() + "-index").build();
+			indexExecutor = Executors.newSingleThreadExecutor(threadFactory);
+		}
+		try {
+			watch();
+		} finally {
+			if (null != indexExecutor) {
+				indexExecutor.shutdownNow();
+			}
+		}
+	}
+
+	private void watch() {
 		while (!Thread.currentThread().isInterrupted()) {
 			WatchKey key;
 			try {
-				key = watcher.take();
+				if (changedFiles.isEmpty()) {
+					key = watcher.take();
+				} else {
+					key = watcher.poll(getIndexDue() - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+				}
 			} catch (InterruptedException x) {
 				Thread.currentThread().interrupt();
 				return;
 			}
-			for (WatchEvent<?> event : key.pollEvents()) {
-				long start = System.currentTimeMillis();
-				if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
-					continue;
+			try {
+				if (null != key) {
+					processEvents(key);
 				}
-				Path eventPath = (Path) key.watchable();
-				File absoluteFile = new File(eventPath.toFile(), ((Path) event.context()).toString());
-				LOGGER.debug("received event {} for {}", event.kind(), absoluteFile);
-				if (absoluteFile.equals(configFile)) {
-					readUrlRewrites(absoluteFile);
-				} else {
+				if (!changedFiles.isEmpty() && System.currentTimeMillis() >= getIndexDue()) {
+					indexChangedFiles();
+				}
+			} catch (RuntimeException e) {
+				// keep on watching, otherwise neither the cache nor the index would be updated anymore
+				LOGGER.error("error while processing changes", e);
+			} finally {
+				if (null != key && !key.reset()) {
+					LOGGER.debug("{} is not watched anymore", key.watchable());
+				}
+			}
+		}
+
+	}
+
+	private void processEvents(WatchKey key) {
+		Path eventPath = (Path) key.watchable();
+		List<String> changedPaths = new ArrayList<>();
+		for (WatchEvent<?> event : key.pollEvents()) {
+			long start = System.currentTimeMillis();
+			if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+				// events have been lost, so check the whole folder for changes
+				addChangedFile(eventPath.toFile(), true);
+				continue;
+			}
+			File absoluteFile = new File(eventPath.toFile(), ((Path) event.context()).toString());
+			LOGGER.debug("received event {} for {}", event.kind(), absoluteFile);
+			if (absoluteFile.equals(configFile)) {
+				readUrlRewrites(absoluteFile);
+			} else {
+				boolean isDirectory = absoluteFile.isDirectory();
+				if (isDirectory && event.kind() == StandardWatchEventKinds.ENTRY_CREATE && isIndexed(absoluteFile)) {
+					try {
+						watchRecursive(absoluteFile.toPath());
+					} catch (IOException e) {
+						LOGGER.warn(String.format("error watching %s", absoluteFile), e);
+					}
+				}
+				// a modified directory only means that its content has changed, which is reported separately
+				addChangedFile(absoluteFile, !isDirectory || event.kind() != StandardWatchEventKinds.ENTRY_MODIFY);
+				if (null != cache) {
 					String absolutePath = FilenameUtils.normalize(absoluteFile.getPath(), true);
 					String relativePathName = absolutePath.substring(wwwDir.length());
 					if (relativePathName.endsWith(jspExtension)) {
 						relativePathName = relativePathName.substring(0,
 								relativePathName.length() - jspExtension.length());
 					}
-					removeFromCache(relativePathName);
+					changedPaths.add(relativePathName);
 					if (forwardMap.containsKey(relativePathName)) {
-						forwardMap.get(relativePathName).forEach(path -> removeFromCache(path));
+						changedPaths.addAll(forwardMap.get(relativePathName));
 					}
-					LOGGER.debug("processed event {} for {} ins {}ms", event.kind(), relativePathName,
-							System.currentTimeMillis() - start);
 				}
+				LOGGER.debug("processed event {} for {} ins {}ms", event.kind(), absoluteFile,
+						System.currentTimeMillis() - start);
+			}
+		}
+		if (!changedPaths.isEmpty()) {
+			removeFromCache(changedPaths);
+		}
+	}
+
+	private void addChangedFile(File file, boolean index) {
+		if (index && isIndexed(file)) {
+			long now = System.currentTimeMillis();
+			if (changedFiles.isEmpty()) {
+				firstChange = now;
 			}
-			boolean valid = key.reset();
-			if (!valid) {
-				break;
+			lastChange = now;
+			changedFiles.add(file);
+		}
+	}
+
+	private boolean isIndexed(File file) {
+		if (null != indexer) {
+			Path path = file.toPath().toAbsolutePath().normalize();
+			for (Path indexFolder : indexFolders) {
+				if (path.startsWith(indexFolder)) {
+					return true;
+				}
 			}
 		}
+		return false;
+	}
+
+	private long getIndexDue() {
+		return Math.min(lastChange + INDEX_DELAY, firstChange + INDEX_MAX_DELAY);
+	}
 
+	private void indexChangedFiles() {
+		Set<File> files = new LinkedHashSet<>(changedFiles);
+		changedFiles.clear();
+		for (File failed = failedFiles.poll(); null != failed; failed = failedFiles.poll()) {
+			files.add(failed);
+		}
+		indexExecutor.execute(() -> indexFiles(files));
+	}
+
+	private void indexFiles(Collection<File> files) {
+		LOGGER.debug("indexing {} changed files", files.size());
+		try {
+			for (DocumentProducer producer : fileSystemProvider.indexFiles(files)) {
+				indexer.putWithTimeout(producer, indexTimeout);
+			}
+		} catch (RuntimeException e) {
+			// a directory must not be re-indexed here, since this would clear the documents of the applications
+			LOGGER.error(String.format("error while indexing %s changed files, retrying with the next changes",
+					files.size()), e);
+			failedFiles.addAll(files);
+		} catch (TimeoutException e) {
+			LOGGER.error("timeout while indexing changed files", e);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
 	}
 
-	private int removeFromCache(String relativePathName) {
-		return CacheService.expireCacheElementsStartingWith(cache, relativePathName);
+	private int removeFromCache(List<String> relativePathNames) {
+		return CacheService.expireCacheElementsStartingWith(cache, relativePathNames);
 	}
 
 	public boolean needsToBeWatched() {
@@ -99,8 +99,7 @@ public class JspExtensionFilter implements Filter {
 			throws IOException, ServletException {
 		ServletContext servletContext = filterConfig.getServletContext();
 		Environment env = DefaultEnvironment.get(servletContext);
-		String hostIdentifier = RequestUtil.getHostIdentifier(request, env);
-		Site site = RequestUtil.getSiteByHost(env, hostIdentifier);
+		Site site = RequestUtil.getSite(env, request);
 		String servletPath = ((HttpServletRequest) request).getServletPath();
 		if (null != site) {
 			Path pathInfo = RequestUtil.getPathInfo(env, site, servletPath);
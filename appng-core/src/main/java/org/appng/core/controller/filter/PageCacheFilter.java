@@ -15,23 +15,31 @@
  */
 package org.appng.core.controller.filter;
 
-import java.io.BufferedOutputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.text.ParseException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import javax.cache.Cache;
 import javax.cache.CacheException;
-import javax.cache.expiry.CreatedExpiryPolicy;
 import javax.cache.expiry.Duration;
 import javax.cache.expiry.ExpiryPolicy;
+import javax.cache.expiry.ModifiedExpiryPolicy;
 import javax.servlet.Filter;
 import javax.servlet.FilterChain;
 import javax.servlet.FilterConfig;
@@ -44,18 +52,18 @@ import javax.servlet.http.HttpServletResponse;
 import org.apache.catalina.connector.ClientAbortException;
 import org.apache.commons.lang3.StringUtils;
 import org.appng.api.Environment;
-import org.appng.api.Path;
 import org.appng.api.RequestUtil;
 import org.appng.api.SiteProperties;
 import org.appng.api.model.Site;
 import org.appng.api.support.HttpHeaderUtils;
 import org.appng.api.support.environment.DefaultEnvironment;
 import org.appng.core.controller.CachedResponse;
+import org.appng.core.controller.CachedResponse.Encoding;
 import org.appng.core.service.CacheService;
+import org.appng.core.service.NearCache;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
-import org.springframework.util.AntPathMatcher;
 import org.tuckey.web.filters.urlrewrite.gzip.GenericResponseWrapper;
 import org.tuckey.web.filters.urlrewrite.gzip.ResponseUtil;
 
@@ -73,7 +81,11 @@ import lombok.extern.slf4j.Slf4j;
 public class PageCacheFilter implements javax.servlet.Filter {
 
 	private static final String GZIP = "gzip";
+	private static final int DEFAULT_COMPRESSION_MIN_SIZE = 256;
+	private static final int DEFAULT_COALESCING_TIMEOUT = 5000;
+	private static final ConcurrentMap<String, CompletableFuture<CachedResponse>> RENDERINGS = new ConcurrentHashMap<>();
 	private FilterConfig filterConfig;
+	private final ConcurrentMap<String, PageCacheRules> cacheRules = new ConcurrentHashMap<>();
 	private static final String CACHE_HIT = PageCacheFilter.class.getSimpleName() + ".cacheHit";
 	private static final Set<String> CACHEABLE_HTTP_METHODS = new HashSet<>(
 			Arrays.asList(HttpMethod.GET.name(), HttpMethod.HEAD.name()));
@@ -102,23 +114,17 @@ public class PageCacheFilter implements javax.servlet.Filter {
 
 		if (isCacheableRequest) {
 			Environment env = DefaultEnvironment.get(filterConfig.getServletContext());
-			String hostIdentifier = RequestUtil.getHostIdentifier(request, env);
-			site = RequestUtil.getSiteByHost(env, hostIdentifier);
+			site = RequestUtil.getSite(env, request);
 			if (null != site) {
-				org.appng.api.model.Properties siteProps = site.getProperties();
-				cacheEnabled = siteProps.getBoolean(SiteProperties.CACHE_ENABLED);
+				cacheEnabled = site.getProperties().getBoolean(SiteProperties.CACHE_ENABLED);
 				if (cacheEnabled) {
-					String exceptions = siteProps.getClob(SiteProperties.CACHE_EXCEPTIONS);
-					isException = isException(exceptions, servletPath);
-					Properties cacheTimeouts = siteProps.getProperties(SiteProperties.CACHE_TIMEOUTS);
-					boolean antStylePathMatching = siteProps.getBoolean(SiteProperties.CACHE_TIMEOUTS_ANT_STYLE);
-					Integer expireAfterSeconds = siteProps.getInteger(SiteProperties.CACHE_TIME_TO_LIVE);
-					expireAfterSeconds = getExpireAfterSeconds(cacheTimeouts, antStylePathMatching, servletPath,
-							expireAfterSeconds);
-					expiryPolicy = new CreatedExpiryPolicy(new Duration(TimeUnit.SECONDS, expireAfterSeconds));
+					PageCacheRules cacheRules = getCacheRules(site);
+					isException = cacheRules.isException(servletPath);
+					expiryPolicy = cacheRules.getExpiryPolicy(servletPath);
 				}
 			} else {
-				LOGGER.info("no site found for path {} and host {}", servletPath, hostIdentifier);
+				LOGGER.info("no site found for path {} and host {}", servletPath,
+						RequestUtil.getHostIdentifier(request, env));
 			}
 		}
 		if (cacheEnabled && isCacheableRequest && !isException) {
@@ -135,6 +141,19 @@ public class PageCacheFilter implements javax.servlet.Filter {
 		}
 	}
 
+	/**
+	 * Returns the {@link PageCacheRules} for the given site, compiling them if the site's properties have changed.
+	 */
+	PageCacheRules getCacheRules(Site site) {
+		org.appng.api.model.Properties siteProps = site.getProperties();
+		PageCacheRules rules = cacheRules.get(site.getName());
+		if (null == rules || !rules.isFor(siteProps)) {
+			rules = new PageCacheRules(siteProps);
+			cacheRules.put(site.getName(), rules);
+		}
+		return rules;
+	}
+
 	protected CachedResponse handleCaching(final HttpServletRequest request, final HttpServletResponse response,
 			Site site, final FilterChain chain, Cache<String, CachedResponse> cache, ExpiryPolicy expiryPolicy)
 			throws ServletException, IOException {
@@ -167,30 +186,39 @@ public class PageCacheFilter implements javax.servlet.Filter {
 
 	protected void writeResponse(HttpServletRequest request, HttpServletResponse response, CachedResponse pageInfo)
 			throws IOException {
-		byte[] body = new byte[0];
+		byte[] body;
+		boolean isEncoded = false;
 
 		HttpStatus status = pageInfo.getStatus();
 		boolean shouldBodyBeZero = ResponseUtil.shouldBodyBeZero(request, status.value());
-		boolean acceptGzip = acceptsGzipEncoding(request);
 		if (shouldBodyBeZero) {
 			body = new byte[0];
-		} else if (acceptGzip) {
-			if (ResponseUtil.shouldGzippedBodyBeZero(body, request)) {
-				body = new byte[0];
-			} else {
-				body = pageInfo.getGzippedBody();
-				response.setHeader(HttpHeaders.CONTENT_ENCODING, GZIP);
-			}
 		} else {
 			body = pageInfo.getData();
+			Map<Encoding, byte[]> encodedData = pageInfo.getEncodedData();
+			if (!encodedData.isEmpty()) {
+				isEncoded = true;
+				String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+				for (Entry<Encoding, byte[]> encoded : encodedData.entrySet()) {
+					if (acceptsEncoding(acceptEncoding, encoded.getKey())) {
+						body = encoded.getValue();
+						response.setHeader(HttpHeaders.CONTENT_ENCODING, encoded.getKey().getCoding());
+						break;
+					}
+				}
+			}
 		}
 		response.setStatus(pageInfo.getStatus().value());
 		response.setContentLength(body.length);
 		response.setContentType(pageInfo.getContentType());
-		if (pageInfo.getHitCount() > 0) {
+		if (Boolean.TRUE.equals(request.getAttribute(CACHE_HIT))) {
 			writeCachedHeaders(response, pageInfo);
 		}
-		OutputStream out = new BufferedOutputStream(response.getOutputStream());
+		if (isEncoded) {
+			addVaryAcceptEncoding(response);
+		}
+		// the body is written as is, there's no need for another buffer
+		OutputStream out = response.getOutputStream();
 		out.write(body);
 		out.flush();
 	}
@@ -199,6 +227,21 @@ public class PageCacheFilter implements javax.servlet.Filter {
 		pageInfo.getHeaders().forEach((n, vs) -> vs.forEach(v -> response.setHeader(n, v)));
 	}
 
+	/**
+	 * Adds {@code Accept-Encoding} to the {@code Vary} header of the response, retaining the existing values.
+	 */
+	static void addVaryAcceptEncoding(HttpServletResponse response) {
+		for (String vary : response.getHeaders(HttpHeaders.VARY)) {
+			for (String value : vary.split(",")) {
+				String header = value.trim();
+				if ("*".equals(header) || HttpHeaders.ACCEPT_ENCODING.equalsIgnoreCase(header)) {
+					return;
+				}
+			}
+		}
+		response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+	}
+
 	private void handleLastModified(final HttpServletRequest request, final HttpServletResponse response,
 			CachedResponse pageInfo, long lastModified) throws IOException {
 		HttpHeaderUtils.handleModifiedHeaders(request, response, new HttpHeaderUtils.HttpResource() {
@@ -232,36 +275,185 @@ public class PageCacheFilter implements javax.servlet.Filter {
 		}
 	}
 
-	@SuppressWarnings("unchecked")
 	protected CachedResponse getCachedResponse(final HttpServletRequest request, final HttpServletResponse response,
 			final FilterChain chain, Site site, Cache<String, CachedResponse> cache, ExpiryPolicy expiryPolicy)
 			throws ServletException, IOException {
 		final String key = calculateKey(request);
-		CachedResponse cachedResponse = cache.get(key);
-		if (cachedResponse == null) {
-			cachedResponse = performRequest(request, response, chain, site, expiryPolicy);
-			int size = cachedResponse.getContentLength();
-			if (cachedResponse.isOk()) {
-				cache.unwrap(ICache.class).put(key, cachedResponse, expiryPolicy);
-				if (LOGGER.isDebugEnabled()) {
-					Duration duration = expiryPolicy == null ? null : expiryPolicy.getExpiryForCreation();
-					LOGGER.debug("Adding to cache {}: {} (type: {}, size: {}, ttl: {}s)", cache.getName(), key,
-							cachedResponse.getContentType(), size,
-							duration == null ? null : duration.getDurationAmount());
+		NearCache nearCache = CacheService.getNearCache(cache.getName());
+		CachedResponse cachedResponse = lookup(cache, nearCache, key);
+		if (null == cachedResponse) {
+			org.appng.api.model.Properties siteProps = site.getProperties();
+			int coalescingTimeout = siteProps.getInteger(SiteProperties.CACHE_COALESCING_TIMEOUT,
+					DEFAULT_COALESCING_TIMEOUT);
+			String renderingKey = cache.getName() + key;
+			CompletableFuture<CachedResponse> rendering = null;
+			if (coalescingTimeout > 0) {
+				rendering = new CompletableFuture<>();
+				CompletableFuture<CachedResponse> concurrentRendering = RENDERINGS.putIfAbsent(renderingKey, rendering);
+				if (null != concurrentRendering) {
+					rendering = null;
+					cachedResponse = awaitRendering(concurrentRendering, coalescingTimeout, key);
 				}
-			} else if (LOGGER.isDebugEnabled()) {
-				LOGGER.debug("Response has status: {}, size: {} for key {}", cachedResponse.getStatus(), size, key);
 			}
-			request.setAttribute(CACHE_HIT, false);
-		} else {
-			// update hit statistic
-			long hits = cachedResponse.incrementHit();
-			cache.unwrap(ICache.class).replace(key, cachedResponse, expiryPolicy);
+			if (null == cachedResponse) {
+				boolean locked = false;
+				try {
+					if (null != rendering && siteProps.getBoolean(SiteProperties.CACHE_COALESCING_CLUSTER_WIDE, false)) {
+						locked = CacheService.tryLock(cache, key, coalescingTimeout);
+						// another node may have rendered the page in the meantime
+						cachedResponse = lookup(cache, nearCache, key);
+					}
+					if (null == cachedResponse) {
+						cachedResponse = render(request, response, chain, site, cache, nearCache, expiryPolicy, key);
+						request.setAttribute(CACHE_HIT, false);
+						return cachedResponse;
+					}
+				} finally {
+					if (locked) {
+						CacheService.unlock(cache, key);
+					}
+					if (null != rendering) {
+						RENDERINGS.remove(renderingKey, rendering);
+						rendering.complete(cachedResponse);
+					}
+				}
+			}
+		}
+		long hits = CacheService.recordHit(cache, cachedResponse);
+		boolean needsRefresh = needsRefresh(cachedResponse, hits, site);
+		if (needsRefresh) {
+			CachedResponse refreshed = refresh(request, response, chain, site, cache, nearCache, expiryPolicy, key);
+			if (null != refreshed) {
+				request.setAttribute(CACHE_HIT, false);
+				return refreshed;
+			}
+		}
+		request.setAttribute(CACHE_HIT, true);
+		if (LOGGER.isDebugEnabled()) {
+			LOGGER.debug("Hit in cache {}: {} (type: {}, size: {}, hits: {}, refresh: {})", cache.getName(), key,
+					cachedResponse.getContentType(), cachedResponse.getContentLength(), hits, needsRefresh);
+		}
+		return cachedResponse;
+	}
+
+	/**
+	 * Checks whether the given {@link CachedResponse} should be refreshed. This is the case if it's
+	 * {@link CachedResponse#isStale() stale} or if it's a hot entry (see {@link SiteProperties#CACHE_REFRESH_HIT_COUNT})
+	 * with less than 10% of its time to live left.
+	 * 
+	 * @param  cachedResponse
+	 *                        the {@link CachedResponse}
+	 * @param  hits
+	 *                        the number of hits for the response
+	 * @param  site
+	 *                        the current {@link Site}
+	 * @return                {@code true} if the response should be refreshed
+	 */
+	static boolean needsRefresh(CachedResponse cachedResponse, long hits, Site site) {
+		if (cachedResponse.isStale()) {
+			return true;
+		}
+		Integer refreshHitCount = site.getProperties().getInteger(SiteProperties.CACHE_REFRESH_HIT_COUNT, 0);
+		if (refreshHitCount > 0 && hits >= refreshHitCount && null != cachedResponse.getExpirationTime()) {
+			long remaining = cachedResponse.getExpirationTime().getTime() - System.currentTimeMillis();
+			return remaining <= TimeUnit.SECONDS.toMillis(cachedResponse.getTimeToLive()) / 10;
+		}
+		return false;
+	}
+
+	/**
+	 * Renders the page again on the current thread and replaces the cache entry. Concurrent requests for the same page
+	 * keep getting the existing entry in the meantime.
+	 * 
+	 * @return the refreshed {@link CachedResponse}, or {@code null} if the page is already being rendered by a
+	 *         concurrent request
+	 */
+	private CachedResponse refresh(final HttpServletRequest request, final HttpServletResponse response,
+			final FilterChain chain, Site site, Cache<String, CachedResponse> cache, NearCache nearCache,
+			ExpiryPolicy expiryPolicy, String key) throws ServletException, IOException {
+		String renderingKey = cache.getName() + key;
+		CompletableFuture<CachedResponse> rendering = new CompletableFuture<>();
+		if (null != RENDERINGS.putIfAbsent(renderingKey, rendering)) {
+			LOGGER.debug("{} is already being rendered, using existing entry", key);
+			return null;
+		}
+		CachedResponse cachedResponse = null;
+		try {
+			cachedResponse = render(request, response, chain, site, cache, nearCache, expiryPolicy, key);
+			LOGGER.debug("Refreshed {} in cache {}", key, cache.getName());
+			return cachedResponse;
+		} finally {
+			RENDERINGS.remove(renderingKey, rendering);
+			rendering.complete(cachedResponse);
+		}
+	}
+
+	private CachedResponse lookup(Cache<String, CachedResponse> cache, NearCache nearCache, String key) {
+		CachedResponse cachedResponse = null == nearCache ? null : nearCache.get(key);
+		if (null == cachedResponse) {
+			long generation = null == nearCache ? -1 : nearCache.getGeneration();
+			cachedResponse = cache.get(key);
+			if (null != cachedResponse && null != nearCache) {
+				nearCache.put(key, cachedResponse, generation);
+			}
+		}
+		return cachedResponse;
+	}
+
+	/**
+	 * Waits for a concurrent request that is rendering the same page.
+	 * 
+	 * @param  rendering
+	 *                   the rendering of the concurrent request
+	 * @param  timeout
+	 *                   the maximum time to wait, in milliseconds
+	 * @param  key
+	 *                   the cache key
+	 * @return           the {@link CachedResponse} rendered by the concurrent request, or {@code null} if the timeout
+	 *                   elapsed or the response is not cacheable
+	 */
+	private CachedResponse awaitRendering(CompletableFuture<CachedResponse> rendering, int timeout, String key) {
+		try {
+			CachedResponse cachedResponse = rendering.get(timeout, TimeUnit.MILLISECONDS);
+			if (null != cachedResponse && cachedResponse.isOk()) {
+				LOGGER.debug("Using response of concurrent request for {}", key);
+				return cachedResponse;
+			}
+		} catch (TimeoutException e) {
+			LOGGER.debug("Timeout after {}ms while waiting for concurrent request for {}", timeout, key);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException e) {
+			// the concurrent request failed, render the page again
+		}
+		return null;
+	}
+
+	@SuppressWarnings("unchecked")
+	private CachedResponse render(final HttpServletRequest request, final HttpServletResponse response,
+			final FilterChain chain, Site site, Cache<String, CachedResponse> cache, NearCache nearCache,
+			ExpiryPolicy expiryPolicy, String key) throws ServletException, IOException {
+		CachedResponse cachedResponse = performRequest(request, response, chain, site, expiryPolicy);
+		cachedResponse.setSoftTimeToLive(getCacheRules(site).getSoftTimeToLive(request.getServletPath()));
+		encode(cachedResponse, site);
+		int size = cachedResponse.getContentLength();
+		if (cachedResponse.isOk()) {
+			// the entry may already exist (e.g. when refreshing), so make sure an update also gets the full TTL
+			ExpiryPolicy putPolicy = cachedResponse.getTimeToLive() > 0
+					? new ModifiedExpiryPolicy(new Duration(TimeUnit.SECONDS, cachedResponse.getTimeToLive()))
+					: expiryPolicy;
+			long generation = null == nearCache ? -1 : nearCache.getGeneration();
+			cache.unwrap(ICache.class).put(key, cachedResponse, putPolicy);
+			if (null != nearCache) {
+				nearCache.put(key, cachedResponse, generation);
+			}
 			if (LOGGER.isDebugEnabled()) {
-				request.setAttribute(CACHE_HIT, true);
-				LOGGER.debug("Hit in cache {}: {} (type: {}, size: {}, hits: {})", cache.getName(), key,
-						cachedResponse.getContentType(), cachedResponse.getContentLength(), hits);
+				Duration duration = putPolicy == null ? null : putPolicy.getExpiryForCreation();
+				LOGGER.debug("Adding to cache {}: {} (type: {}, size: {}, ttl: {}s)", cache.getName(), key,
+						cachedResponse.getContentType(), size, duration == null ? null : duration.getDurationAmount());
 			}
+		} else if (LOGGER.isDebugEnabled()) {
+			LOGGER.debug("Response has status: {}, size: {} for key {}", cachedResponse.getStatus(), size, key);
 		}
 		return cachedResponse;
 	}
@@ -284,49 +476,51 @@ public class PageCacheFilter implements javax.servlet.Filter {
 				outstr.toByteArray(), headers, ttl);
 	}
 
+	/**
+	 * Pre-encodes the given {@link CachedResponse} with the codings defined by {@link SiteProperties#CACHE_COMPRESSION}
+	 * (in this order), if it's larger than {@link SiteProperties#CACHE_COMPRESSION_MIN_SIZE}. This way, a cache hit
+	 * doesn't need to compress the content again.
+	 * 
+	 * @param  cachedResponse
+	 *                        the response to encode
+	 * @param  site
+	 *                        the current {@link Site}
+	 * @throws IOException
+	 *                        if an error occurs while encoding
+	 */
+	protected void encode(CachedResponse cachedResponse, Site site) throws IOException {
+		org.appng.api.model.Properties siteProps = site.getProperties();
+		List<Encoding> encodings = new ArrayList<>();
+		for (String coding : siteProps.getList(SiteProperties.CACHE_COMPRESSION, GZIP, ",")) {
+			Encoding encoding = Encoding.forCoding(coding);
+			if (null == encoding) {
+				LOGGER.warn("unsupported coding '{}' in property {}", coding, SiteProperties.CACHE_COMPRESSION);
+			} else {
+				encodings.add(encoding);
+			}
+		}
+		Integer minSize = siteProps.getInteger(SiteProperties.CACHE_COMPRESSION_MIN_SIZE, DEFAULT_COMPRESSION_MIN_SIZE);
+		cachedResponse.encode(encodings, minSize);
+	}
+
 	private boolean isCacheableRequest(HttpServletRequest httpServletRequest) {
 		return CACHEABLE_HTTP_METHODS.contains(httpServletRequest.getMethod().toUpperCase());
 	}
 
 	static boolean isException(String exceptionsProp, String servletPath) {
-		if (null != exceptionsProp) {
-			Set<String> exceptions = new HashSet<>(Arrays.asList(exceptionsProp.split(StringUtils.LF)));
-			for (String e : exceptions) {
-				if (servletPath.startsWith(e.trim())) {
-					return true;
-				}
-			}
-		}
-		return false;
+		return new PageCacheRules(null, exceptionsProp, null, false, null, 0).isException(servletPath);
 	}
 
 	static Integer getExpireAfterSeconds(Properties cachingTimes, boolean antStylePathMatching, String servletPath,
 			Integer defaultValue) {
-		if (null != cachingTimes && !cachingTimes.isEmpty()) {
-			if (antStylePathMatching) {
-				for (Object path : cachingTimes.keySet()) {
-					AntPathMatcher matcher = new AntPathMatcher();
-					if (matcher.match(path.toString(), servletPath)) {
-						Object entry = cachingTimes.get(path);
-						return Integer.valueOf(entry.toString().trim());
-					}
-
-				}
-			} else {
-				String[] pathSegements = servletPath.split(Path.SEPARATOR);
-				int len = pathSegements.length;
-				while (len > 0) {
-					String segment = StringUtils.join(Arrays.copyOfRange(pathSegements, 0, len--), Path.SEPARATOR);
-					Object entry = cachingTimes.get(segment);
-					if (null != entry) {
-						return Integer.valueOf(entry.toString().trim());
-					}
-				}
-			}
-		}
-
-		return defaultValue;
+		return new PageCacheRules(null, null, cachingTimes, antStylePathMatching, defaultValue, 0)
+				.getTimeToLive(servletPath);
+	}
 
+	static Integer getSoftExpireAfterSeconds(Properties cachingTimes, boolean antStylePathMatching,
+			String servletPath, Integer defaultValue) {
+		return new PageCacheRules(null, null, cachingTimes, antStylePathMatching, null, defaultValue)
+				.getSoftTimeToLive(servletPath);
 	}
 
 	protected String calculateKey(final HttpServletRequest request) {
@@ -340,7 +534,40 @@ public class PageCacheFilter implements javax.servlet.Filter {
 	}
 
 	protected boolean acceptsGzipEncoding(HttpServletRequest request) {
-		return StringUtils.containsIgnoreCase(request.getHeader(HttpHeaders.ACCEPT_ENCODING), GZIP);
+		return acceptsEncoding(request.getHeader(HttpHeaders.ACCEPT_ENCODING), Encoding.GZIP);
+	}
+
+	static boolean acceptsEncoding(String acceptEncoding, Encoding encoding) {
+		if (StringUtils.isNotBlank(acceptEncoding)) {
+			String[] acceptedCodings = acceptEncoding.split(",");
+			// an explicitly listed coding takes precedence over the wildcard
+			String[] wildcard = null;
+			for (String accepted : acceptedCodings) {
+				String[] codingAndParams = accepted.split(";");
+				String coding = codingAndParams[0].trim();
+				if (coding.equalsIgnoreCase(encoding.getCoding())) {
+					return !isZeroQuality(codingAndParams);
+				} else if ("*".equals(coding) && null == wildcard) {
+					wildcard = codingAndParams;
+				}
+			}
+			return null != wildcard && !isZeroQuality(wildcard);
+		}
+		return false;
+	}
+
+	private static boolean isZeroQuality(String[] codingAndParams) {
+		for (int i = 1; i < codingAndParams.length; i++) {
+			String param = codingAndParams[i].trim();
+			if (param.startsWith("q=")) {
+				try {
+					return Float.parseFloat(param.substring(2)) == 0f;
+				} catch (NumberFormatException e) {
+					return false;
+				}
+			}
+		}
+		return false;
 	}
 
 }
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2011-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.appng.core.controller.filter;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Properties;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+import javax.cache.expiry.CreatedExpiryPolicy;
+import javax.cache.expiry.Duration;
+import javax.cache.expiry.ExpiryPolicy;
+
+import org.apache.commons.lang3.StringUtils;
+import org.appng.api.Path;
+import org.appng.api.SiteProperties;
+import org.springframework.util.AntPathMatcher;
+
+/**
+ * The caching rules of a site, compiled from the site's properties:
+ * <ul>
+ * <li>{@link SiteProperties#CACHE_EXCEPTIONS}</li>
+ * <li>{@link SiteProperties#CACHE_TIMEOUTS} and {@link SiteProperties#CACHE_TIMEOUTS_ANT_STYLE}</li>
+ * <li>{@link SiteProperties#CACHE_TIME_TO_LIVE} and {@link SiteProperties#CACHE_SOFT_TIME_TO_LIVE}</li>
+ * </ul>
+ * Instances are immutable and created once per {@link org.appng.api.model.Properties} instance, so a request does
+ * not need to parse the properties again.
+ *
+ * @author Matthias Müller
+ * @see    PageCacheFilter
+ */
+class PageCacheRules {
+
+	private final org.appng.api.model.Properties siteProperties;
+	private final NavigableSet<String> exceptions = new TreeSet<>();
+	private final boolean antStylePathMatching;
+	private final AntPathMatcher matcher = new AntPathMatcher();
+	private final Map<String, Timeout> timeouts;
+	private final Timeout defaultTimeout;
+
+	PageCacheRules(org.appng.api.model.Properties siteProperties) {
+		this(siteProperties, siteProperties.getClob(SiteProperties.CACHE_EXCEPTIONS),
+				siteProperties.getProperties(SiteProperties.CACHE_TIMEOUTS),
+				siteProperties.getBoolean(SiteProperties.CACHE_TIMEOUTS_ANT_STYLE, true),
+				siteProperties.getInteger(SiteProperties.CACHE_TIME_TO_LIVE, null),
+				siteProperties.getInteger(SiteProperties.CACHE_SOFT_TIME_TO_LIVE, 0));
+	}
+
+	PageCacheRules(org.appng.api.model.Properties siteProperties, String exceptions, Properties cacheTimeouts,
+			boolean antStylePathMatching, Integer timeToLive, Integer softTimeToLive) {
+		this.siteProperties = siteProperties;
+		this.antStylePathMatching = antStylePathMatching;
+		this.defaultTimeout = new Timeout(timeToLive, softTimeToLive);
+		if (null != exceptions) {
+			for (String exception : exceptions.split(StringUtils.LF)) {
+				this.exceptions.add(exception.trim());
+			}
+			// a prefix makes all the exceptions starting with it obsolete
+			Iterator<String> iterator = this.exceptions.iterator();
+			String previous = null;
+			while (iterator.hasNext()) {
+				String exception = iterator.next();
+				if (null != previous && exception.startsWith(previous)) {
+					iterator.remove();
+				} else {
+					previous = exception;
+				}
+			}
+		}
+		this.timeouts = new HashMap<>();
+		if (null != cacheTimeouts) {
+			Map<Integer, ExpiryPolicy> expiryPolicies = new HashMap<>();
+			for (Map.Entry<Object, Object> cacheTimeout : cacheTimeouts.entrySet()) {
+				String path = cacheTimeout.getKey().toString();
+				String[] values = cacheTimeout.getValue().toString().split(",");
+				Integer ttl = Integer.valueOf(values[0].trim());
+				Integer softTtl = values.length > 1 ? Integer.valueOf(values[1].trim()) : softTimeToLive;
+				ExpiryPolicy expiryPolicy = expiryPolicies.computeIfAbsent(ttl, PageCacheRules::createExpiryPolicy);
+				timeouts.put(path, new Timeout(ttl, softTtl, expiryPolicy));
+			}
+		}
+	}
+
+	/**
+	 * Checks whether these rules have been compiled from the given properties.
+	 */
+	boolean isFor(org.appng.api.model.Properties siteProperties) {
+		return this.siteProperties == siteProperties;
+	}
+
+	/**
+	 * Checks whether the given path starts with one of the prefixes defined in {@link SiteProperties#CACHE_EXCEPTIONS}.
+	 */
+	boolean isException(String servletPath) {
+		// since no exception is a prefix of another one, the only candidate is the greatest one less or equal the path
+		String candidate = exceptions.floor(servletPath);
+		return null != candidate && servletPath.startsWith(candidate);
+	}
+
+	Integer getTimeToLive(String servletPath) {
+		return getTimeout(servletPath).timeToLive;
+	}
+
+	Integer getSoftTimeToLive(String servletPath) {
+		return getTimeout(servletPath).softTimeToLive;
+	}
+
+	ExpiryPolicy getExpiryPolicy(String servletPath) {
+		return getTimeout(servletPath).expiryPolicy;
+	}
+
+	private Timeout getTimeout(String servletPath) {
+		if (!timeouts.isEmpty()) {
+			if (antStylePathMatching) {
+				for (Map.Entry<String, Timeout> entry : timeouts.entrySet()) {
+					if (matcher.match(entry.getKey(), servletPath)) {
+						return entry.getValue();
+					}
+				}
+			} else {
+				// try the path and each of its parent paths, starting with the longest one
+				String path = StringUtils.stripEnd(servletPath, Path.SEPARATOR);
+				while (true) {
+					Timeout timeout = timeouts.get(path);
+					if (null != timeout) {
+						return timeout;
+					}
+					if (path.isEmpty()) {
+						break;
+					}
+					int idx = path.lastIndexOf(Path.SEPARATOR);
+					path = idx < 0 ? StringUtils.EMPTY : path.substring(0, idx);
+				}
+			}
+		}
+		return defaultTimeout;
+	}
+
+	private static ExpiryPolicy createExpiryPolicy(Integer timeToLive) {
+		return new CreatedExpiryPolicy(new Duration(TimeUnit.SECONDS, timeToLive));
+	}
+
+	private static class Timeout {
+		private final Integer timeToLive;
+		private final Integer softTimeToLive;
+		private final ExpiryPolicy expiryPolicy;
+
+		Timeout(Integer timeToLive, Integer softTimeToLive) {
+			this(timeToLive, softTimeToLive, null == timeToLive ? null : createExpiryPolicy(timeToLive));
+		}
+
+		Timeout(Integer timeToLive, Integer softTimeToLive, ExpiryPolicy expiryPolicy) {
+			this.timeToLive = timeToLive;
+			this.softTimeToLive = softTimeToLive;
+			this.expiryPolicy = expiryPolicy;
+		}
+	}
+
+}
@@ -19,7 +19,6 @@ import static org.appng.api.Scope.PLATFORM;
 
 import java.io.File;
 import java.io.IOException;
-import java.io.PrintWriter;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -186,14 +185,7 @@ public class GuiHandler implements RequestHandler {
 			RequestProcessor processor = ctx.getBean(requestProcessorBeanName, RequestProcessor.class);
 			processor.init(servletRequest, servletResponse, pathInfo, templateDir);
 
-			final String result = processor.processWithTemplate(applicationSite, debugFolder);
-
-			servletResponse.setContentType(processor.getContentType());
-			servletResponse.setContentLength(processor.getContentLength());
-			PrintWriter out = servletResponse.getWriter();
-			out.println(result);
-			out.flush();
-			out.close();
+			processor.processWithTemplate(applicationSite, debugFolder, servletResponse);
 			sw.stop();
 			if (LOGGER.isDebugEnabled()) {
 				LOGGER.debug(sw.prettyPrint());
@@ -17,6 +17,7 @@ package org.appng.core.controller.handler;
 
 import static org.appng.api.support.environment.EnvironmentKeys.JAR_INFO_MAP;
 
+import java.io.File;
 import java.io.IOException;
 import java.time.Duration;
 import java.time.Instant;
@@ -41,6 +42,7 @@ import org.appng.api.Environment;
 import org.appng.api.PathInfo;
 import org.appng.api.Platform;
 import org.appng.api.Scope;
+import org.appng.api.SiteProperties;
 import org.appng.api.model.Application;
 import org.appng.api.model.Properties;
 import org.appng.api.model.Resource;
@@ -49,15 +51,23 @@ import org.appng.api.model.Site;
 import org.appng.api.model.Site.SiteState;
 import org.appng.api.support.SiteClassLoader;
 import org.appng.api.support.environment.EnvironmentKeys;
+import org.appng.core.model.PlatformTransformer;
+import org.appng.core.model.ThymeleafProcessor;
+import org.appng.search.searcher.SearcherRegistry;
+import org.appng.search.searcher.SearcherRegistry.Statistics;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.thymeleaf.cache.ICache;
+import org.thymeleaf.cache.ICacheManager;
+import org.thymeleaf.cache.StandardCache;
 
 import com.fasterxml.jackson.annotation.JsonInclude.Include;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.google.common.cache.CacheStats;
 import com.zaxxer.hikari.HikariDataSource;
 
 import lombok.AllArgsConstructor;
@@ -79,6 +89,12 @@ import lombok.NoArgsConstructor;
  * Shows a list of all JAR files used by the platform.</li>
  * <li>{@code /health/jars}<br/>
  * Shows a list of all JAR files used by {@link Site}s {@link SiteClassLoader}.</li></li>
+ * <li>{@code /health/templates}<br/>
+ * Shows the statistics of the template- and expression-caches used by the {@link ThymeleafProcessor}.</li>
+ * <li>{@code /health/stylesheets}<br/>
+ * Shows the statistics of the cache for compiled XSLT stylesheets used by the {@link PlatformTransformer}.</li>
+ * <li>{@code /health/searchers}<br/>
+ * Shows the statistics of the shared searchers for the {@link Site}'s Lucene index (see {@link SearcherRegistry}).</li>
  * </ul>
  * </p>
  * 
@@ -116,6 +132,12 @@ public class MonitoringHandler implements RequestHandler {
 				result = env.getAttribute(Scope.PLATFORM, site.getName() + "." + EnvironmentKeys.JAR_INFO_MAP);
 			} else if ("platform".equals(pathsegment)) {
 				result = env.getAttribute(Scope.PLATFORM, Platform.Environment.PLATFORM_CONFIG + "." + JAR_INFO_MAP);
+			} else if ("templates".equals(pathsegment)) {
+				result = getTemplateCacheInfos(site);
+			} else if ("stylesheets".equals(pathsegment)) {
+				result = getStyleSheetCacheInfo();
+			} else if ("searchers".equals(pathsegment)) {
+				result = getSearcherInfo(site);
 			}
 			servletResponse.setContentType(MediaType.APPLICATION_JSON_VALUE);
 			writer.writeValue(servletResponse.getOutputStream(), result);
@@ -191,6 +213,52 @@ public class MonitoringHandler implements RequestHandler {
 		return applicationInfos;
 	}
 
+	private Map<String, Map<String, CacheInfo>> getTemplateCacheInfos(Site site) {
+		Map<String, Map<String, CacheInfo>> cacheInfos = new TreeMap<>();
+		ThymeleafProcessor.getTemplateEngines(site.getName()).forEach((name, engine) -> {
+			ICacheManager cacheManager = engine.getCacheManager();
+			Map<String, CacheInfo> engineCaches = new TreeMap<>();
+			addCacheInfo(engineCaches, cacheManager.getTemplateCache());
+			addCacheInfo(engineCaches, cacheManager.getExpressionCache());
+			cacheInfos.put(name, engineCaches);
+		});
+		return cacheInfos;
+	}
+
+	private void addCacheInfo(Map<String, CacheInfo> cacheInfos, ICache<?, ?> cache) {
+		if (cache instanceof StandardCache) {
+			StandardCache<?, ?> standardCache = (StandardCache<?, ?>) cache;
+			long gets = standardCache.getGetCount();
+			double hitRatio = gets == 0 ? 0.0d : (double) standardCache.getHitCount() / gets;
+			cacheInfos.put(standardCache.getName(), new CacheInfo(standardCache.size(), standardCache.getMaxSize(),
+					gets, standardCache.getHitCount(), standardCache.getMissCount(), hitRatio));
+		}
+	}
+
+	private StyleSheetCacheInfo getStyleSheetCacheInfo() {
+		CacheStats stats = PlatformTransformer.getCacheStats();
+		double averageCompileMillis = stats.averageLoadPenalty() / 1_000_000.0d;
+		return new StyleSheetCacheInfo(PlatformTransformer.getCacheSize(), PlatformTransformer.getMaxCacheSize(),
+				stats.requestCount(), stats.hitCount(), stats.missCount(), stats.hitRate(), stats.evictionCount(),
+				stats.loadSuccessCount(), stats.loadExceptionCount(), averageCompileMillis);
+	}
+
+	private SearcherInfo getSearcherInfo(Site site) {
+		Properties siteProps = site.getProperties();
+		String siteRootDir = siteProps.getString(SiteProperties.SITE_ROOT_DIR);
+		String indexDir = siteProps.getString(SiteProperties.INDEX_DIR);
+		if (null == siteRootDir || null == indexDir) {
+			return null;
+		}
+		Statistics stats = SearcherRegistry.getStatistics(new File(siteRootDir + indexDir).toPath());
+		if (null == stats) {
+			return null;
+		}
+		return new SearcherInfo(stats.getPath(), stats.isNearRealTime(), stats.getNumDocs(),
+				stats.getReaderAgeMillis(), stats.getRefreshes(), stats.getLastRefreshMillis(),
+				stats.getAverageRefreshMillis());
+	}
+
 	private boolean isAuthenticated(Environment env, HttpServletRequest servletRequest) {
 		Properties platformCfg = env.getAttribute(Scope.PLATFORM, Platform.Environment.PLATFORM_CONFIG);
 		String sharedSecret = platformCfg.getString(Platform.Property.SHARED_SECRET);
@@ -236,6 +304,47 @@ public class MonitoringHandler implements RequestHandler {
 		Integer maxPoolSize;
 	}
 
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class CacheInfo {
+		int size;
+		int maxSize;
+		long gets;
+		long hits;
+		long misses;
+		double hitRatio;
+	}
+
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class StyleSheetCacheInfo {
+		long size;
+		int maxSize;
+		long gets;
+		long hits;
+		long misses;
+		double hitRatio;
+		long evictions;
+		long compilations;
+		long compileErrors;
+		double averageCompileMillis;
+	}
+
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class SearcherInfo {
+		String path;
+		boolean nearRealTime;
+		int numDocs;
+		long readerAgeMillis;
+		long refreshes;
+		double lastRefreshMillis;
+		double averageRefreshMillis;
+	}
+
 	Jar jarFromResoure(Resource j) {
 		if (null == j.getCachedFile()) {
 			return new Jar(j.getName(), j.getSize(), null);
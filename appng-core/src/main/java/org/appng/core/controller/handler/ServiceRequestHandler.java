@@ -21,16 +21,17 @@ import static org.appng.api.Platform.SERVICE_TYPE_REST;
 import static org.appng.api.Platform.SERVICE_TYPE_SOAP;
 import static org.appng.api.Platform.SERVICE_TYPE_WEBSERVICE;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.StringWriter;
 import java.net.URLClassLoader;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import javax.xml.bind.JAXBException;
-import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.transform.TransformerException;
 
 import org.appng.api.AttachmentWebservice;
@@ -51,6 +52,7 @@ import org.appng.api.model.Site.SiteState;
 import org.appng.api.support.ApplicationRequest;
 import org.appng.api.support.ElementHelper;
 import org.appng.api.support.HttpHeaderUtils;
+import org.appng.api.support.environment.EnvironmentKeys;
 import org.appng.core.domain.SiteImpl;
 import org.appng.core.model.AbstractRequestProcessor;
 import org.appng.core.model.AccessibleApplication;
@@ -80,6 +82,7 @@ import com.fasterxml.jackson.annotation.JsonInclude.Include;
 import com.fasterxml.jackson.core.JsonGenerationException;
 import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -195,15 +198,17 @@ public class ServiceRequestHandler implements RequestHandler {
 				ApplicationRequest applicationRequest = application.getApplicationRequest(servletRequest,
 						servletResponse);
 
-				String result = null;
+				Object element = null;
+				String format = null;
 				String contenttype = null;
+				boolean streaming = false;
 
 				boolean applyPermissionsOnServiceRef = site.getProperties().getBoolean("applyPermissionsOnServiceRef",
 						true);
 
 				if (SERVICE_TYPE_ACTION.equals(serviceType)) {
 					path.checkPathLength(8);
-					String format = path.getElementAt(path.getApplicationIndex() + 2);
+					format = path.getElementAt(path.getApplicationIndex() + 2);
 					String eventId = path.getElementAt(path.getApplicationIndex() + 3);
 					String actionId = path.getElementAt(path.getApplicationIndex() + 4);
 					Action action = application.processAction(servletResponse, applyPermissionsOnServiceRef,
@@ -212,13 +217,13 @@ public class ServiceRequestHandler implements RequestHandler {
 						LOGGER.debug("calling event '{}', action '{}' of application '{}', format: {}", eventId,
 								actionId, applicationName, format);
 						if (FORMAT_XML.equals(format)) {
-							result = marshallService.marshallNonRoot(action);
+							element = action;
 							contenttype = MediaType.TEXT_XML_VALUE;
 						} else if (FORMAT_HTML.equals(format)) {
-							result = processPlatform(environment, path, siteToUse, application, action);
+							element = action;
 							contenttype = MediaType.TEXT_HTML_VALUE;
 						} else if (FORMAT_JSON.equals(format)) {
-							result = writeJson(new JsonWrapper(action));
+							element = new JsonWrapper(action);
 							contenttype = MediaType.APPLICATION_JSON_VALUE;
 						} else {
 							servletResponse.setStatus(HttpStatus.UNSUPPORTED_MEDIA_TYPE.value());
@@ -229,8 +234,14 @@ public class ServiceRequestHandler implements RequestHandler {
 					}
 				} else if (SERVICE_TYPE_DATASOURCE.equals(serviceType)) {
 					path.checkPathLength(7);
-					String format = path.getElementAt(path.getApplicationIndex() + 2);
+					format = path.getElementAt(path.getApplicationIndex() + 2);
 					String dataSourceId = path.getElementAt(path.getApplicationIndex() + 3);
+					streaming = siteToUse.getProperties()
+							.getBoolean(SiteProperties.STREAM_SERVICE_DATASOURCES, false)
+							&& (FORMAT_XML.equals(format) || FORMAT_JSON.equals(format));
+					if (streaming) {
+						environment.setAttribute(Scope.REQUEST, EnvironmentKeys.STREAM_RESULTSET, Boolean.TRUE);
+					}
 					Datasource datasource = application.processDataSource(servletResponse, applyPermissionsOnServiceRef,
 							applicationRequest, dataSourceId, marshallService);
 					if (null != datasource) {
@@ -243,13 +254,13 @@ public class ServiceRequestHandler implements RequestHandler {
 						LOGGER.debug("calling datasource '{}' of application '{}', format: {}", dataSourceId,
 								applicationName, format);
 						if (FORMAT_XML.equals(format)) {
-							result = marshallService.marshallNonRoot(datasource);
+							element = datasource;
 							contenttype = MediaType.TEXT_XML_VALUE;
 						} else if (FORMAT_HTML.equals(format)) {
-							result = processPlatform(environment, path, siteToUse, application, datasource);
+							element = datasource;
 							contenttype = MediaType.TEXT_HTML_VALUE;
 						} else if (FORMAT_JSON.equals(format)) {
-							result = writeJson(new JsonWrapper(datasource));
+							element = new JsonWrapper(datasource);
 							contenttype = MediaType.APPLICATION_JSON_VALUE;
 						} else {
 							servletResponse.setStatus(HttpStatus.UNSUPPORTED_MEDIA_TYPE.value());
@@ -272,16 +283,38 @@ public class ServiceRequestHandler implements RequestHandler {
 				} else {
 					LOGGER.warn("unknown service type: {}", serviceType);
 				}
-				if (null != result) {
+				if (null != element) {
 					servletResponse.setContentType(contenttype);
-					servletResponse.getOutputStream().write(result.getBytes());
-					servletResponse.getOutputStream().close();
+					if (FORMAT_HTML.equals(format)) {
+						OutputStream out = servletResponse.getOutputStream();
+						processPlatform(environment, path, siteToUse, application, element, out);
+						out.close();
+					} else if (streaming) {
+						// write directly to the response, an error while writing can only be logged
+						OutputStream out = servletResponse.getOutputStream();
+						write(format, element, out);
+						out.close();
+					} else {
+						// buffer the result, so an error while writing still results in an error response
+						ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+						write(format, element, buffer);
+						servletResponse.setContentLength(buffer.size());
+						OutputStream out = servletResponse.getOutputStream();
+						buffer.writeTo(out);
+						out.close();
+					}
 				}
 			}
 		} catch (Exception e) {
 			String queryString = servletRequest.getQueryString();
 			String pathWithQuery = servletRequest.getServletPath() + (null == queryString ? "" : "?" + queryString);
 			LOGGER.error(String.format("error while processing service-request %s", pathWithQuery), e);
+			if (servletResponse.isCommitted()) {
+				// parts of the response have already been written
+				return;
+			}
+			// keep the headers that have already been set
+			servletResponse.resetBuffer();
 			servletResponse.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
 			servletResponse.setContentType(MediaType.TEXT_PLAIN_VALUE);
 			servletResponse.getWriter().write("an error occured");
@@ -306,18 +339,19 @@ public class ServiceRequestHandler implements RequestHandler {
 		return false;
 	}
 
-	protected String processPlatform(Environment environment, Path path, Site siteToUse,
-			ApplicationProvider application, Object element) throws InvalidConfigurationException,
-			ParserConfigurationException, JAXBException, TransformerException, FileNotFoundException, IOException {
+	protected void processPlatform(Environment environment, Path path, Site siteToUse,
+			ApplicationProvider application, Object element, OutputStream out)
+			throws InvalidConfigurationException, TransformerException, FileNotFoundException, IOException {
 		Properties platformProperties = environment.getAttribute(Scope.PLATFORM, Platform.Environment.PLATFORM_CONFIG);
 		String charsetName = platformProperties.getString(Platform.Property.ENCODING);
-		String platformXml = retrievePlatform(environment, path, siteToUse, element, platformProperties);
-		return transformer.transform(application, platformProperties, platformXml, charsetName, debugFolder);
+		org.appng.xml.platform.Platform platform = retrievePlatform(environment, path, siteToUse, element,
+				platformProperties);
+		transformer.transform(application, platformProperties, marshallService, platform, charsetName, debugFolder,
+				out);
 	}
 
-	protected String retrievePlatform(Environment environment, Path path, Site siteToUse, Object element,
-			Properties platformProperties)
-			throws InvalidConfigurationException, ParserConfigurationException, JAXBException, TransformerException {
+	protected org.appng.xml.platform.Platform retrievePlatform(Environment environment, Path path, Site siteToUse,
+			Object element, Properties platformProperties) throws InvalidConfigurationException {
 		transformer.setEnvironment(environment);
 		Properties siteProperties = siteToUse.getProperties();
 		File templateRepoFolder = TemplateService.getTemplateRepoFolder(platformProperties, siteProperties);
@@ -362,16 +396,34 @@ public class ServiceRequestHandler implements RequestHandler {
 		} else if (element instanceof Action) {
 			sel.setAction((Action) element);
 		}
-		return marshallService.marshal(platform);
+		return platform;
+	}
+
+	private void write(String format, Object element, OutputStream out)
+			throws IOException, JsonGenerationException, JsonMappingException, JAXBException {
+		if (FORMAT_XML.equals(format)) {
+			marshallService.marshallNonRoot(element, out);
+		} else {
+			writeJson(element, out);
+		}
 	}
 
 	protected String writeJson(Object data) throws IOException, JsonGenerationException, JsonMappingException {
-		ObjectMapper objectMapper = new ObjectMapper().setSerializationInclusion(Include.NON_EMPTY);
 		StringWriter stringWriter = new StringWriter();
-		objectMapper.writer().withDefaultPrettyPrinter().writeValue(stringWriter, data);
+		getJsonWriter().writeValue(stringWriter, data);
 		return stringWriter.toString();
 	}
 
+	protected void writeJson(Object data, OutputStream out)
+			throws IOException, JsonGenerationException, JsonMappingException {
+		getJsonWriter().writeValue(out, data);
+	}
+
+	private ObjectWriter getJsonWriter() {
+		ObjectMapper objectMapper = new ObjectMapper().setSerializationInclusion(Include.NON_EMPTY);
+		return objectMapper.writer().withDefaultPrettyPrinter();
+	}
+
 	protected void handleSoap(Site site, AccessibleApplication application, Environment environment,
 			HttpServletRequest servletRequest, HttpServletResponse servletResponse) throws Exception {
 		new SoapService(site, application, environment).handle(servletRequest, servletResponse);
@@ -483,7 +483,7 @@ public abstract class AbstractRequestProcessor implements RequestProcessor {
 	public Platform getPlatform(MarshallService marshallService, Path path) throws InvalidConfigurationException {
 		File platformXML = new File(templatePath, TemplateService.PLATFORM_XML);
 		try {
-			Platform platform = marshallService.unmarshall(platformXML, Platform.class);
+			Platform platform = TemplatePlatformCache.getPlatform(marshallService, platformXML);
 			determineFormatAndType(platform.getConfig(), path);
 			return platform;
 		} catch (Exception e) {
@@ -30,6 +30,9 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
@@ -105,10 +108,14 @@ import org.appng.xml.platform.UrlParams;
 import org.appng.xml.platform.UrlSchema;
 import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.context.MessageSource;
+import org.springframework.context.i18n.LocaleContext;
+import org.springframework.context.i18n.LocaleContextHolder;
 import org.springframework.core.convert.ConversionService;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.web.csrf.CsrfToken;
 import org.springframework.util.StopWatch;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -138,6 +145,8 @@ public class ApplicationProvider extends SiteApplication implements AccessibleAp
 
 	private boolean monitorPerformance;
 
+	private ExecutorService datasourceExecutor;
+
 	public ApplicationProvider(Site site, Application application, boolean monitorPerformance) {
 		this.application = (AccessibleApplication) application;
 		this.site = site;
@@ -149,6 +158,18 @@ public class ApplicationProvider extends SiteApplication implements AccessibleAp
 		this(site, application, false);
 	}
 
+	/**
+	 * Sets the {@link ExecutorService} used to perform the datasources of a page concurrently. If no executor is set,
+	 * the datasources are performed one after another.
+	 * 
+	 * @param datasourceExecutor
+	 *            the {@link ExecutorService} to use
+	 * @see org.appng.api.SiteProperties#DATASOURCE_THREADS
+	 */
+	public void setDatasourceExecutor(ExecutorService datasourceExecutor) {
+		this.datasourceExecutor = datasourceExecutor;
+	}
+
 	private String getPrefix() {
 		return " [" + site.getName() + ":" + application.getName() + "] ";
 	}
@@ -361,21 +382,14 @@ public class ApplicationProvider extends SiteApplication implements AccessibleAp
 			if (null != messagesFromSession) {
 				pageReference.setMessages(messagesFromSession);
 			}
-			for (final DataSourceElement dataSourceWrapper : dataSourceWrappers) {
-				Callback<Void> dataSourceCallback = new Callback<Void>() {
-
-					public void perform() throws ProcessingException {
-						dataSourceWrapper.perform(pageReference.getId());
+			if (null != datasourceExecutor && dataSourceWrappers.size() > 1) {
+				performDataSourcesConcurrently(dataSourceWrappers, pageReference);
+			} else {
+				for (final DataSourceElement dataSourceWrapper : dataSourceWrappers) {
+					long time = doMonitored(getDataSourceCallback(dataSourceWrapper, pageReference));
+					if (monitorPerformance) {
+						dataSourceWrapper.setExecutionTime(time);
 					}
-
-					public Void getResult() {
-						return null;
-					}
-				};
-
-				long time = doMonitored(dataSourceCallback);
-				if (monitorPerformance) {
-					dataSourceWrapper.setExecutionTime(time);
 				}
 			}
 
@@ -391,6 +405,93 @@ public class ApplicationProvider extends SiteApplication implements AccessibleAp
 		return structure;
 	}
 
+	private Callback<Void> getDataSourceCallback(final DataSourceElement dataSourceWrapper,
+			final PageReference pageReference) {
+		return new Callback<Void>() {
+
+			public void perform() throws ProcessingException {
+				dataSourceWrapper.perform(pageReference.getId());
+			}
+
+			public Void getResult() {
+				return null;
+			}
+		};
+	}
+
+	/**
+	 * Performs the given {@link DataSourceElement}s using the {@link #datasourceExecutor}. The context classloader,
+	 * the {@link RequestAttributes} and the {@link LocaleContext} of the calling thread are passed to the executing
+	 * threads. Waits for all {@link DataSourceElement}s to complete, then throws the first error (in the order of the
+	 * elements), if any.
+	 * <p>
+	 * The datasources share the state of the current request, but only three calls of
+	 * {@link CallableDataSource#perform(String, boolean, boolean)} hold the lock of the {@link ApplicationRequest}:
+	 * sending a redirect, adding validation metadata and adding messages. Everything else is <b>not</b> thread-safe, so
+	 * a {@link org.appng.api.DataProvider} of a site using {@link org.appng.api.SiteProperties#DATASOURCE_THREADS} must
+	 * not modify
+	 * <ul>
+	 * <li>the {@link ApplicationRequest}, e.g. its parameters, its labels or its bean validation</li>
+	 * <li>the {@link Environment}, i.e. the attributes of the underlying request and session</li>
+	 * <li>the {@link org.appng.el.ExpressionEvaluator} of the request, whose variables are shared by all
+	 * datasources</li>
+	 * </ul>
+	 * </p>
+	 */
+	private void performDataSourcesConcurrently(List<DataSourceElement> dataSourceWrappers,
+			final PageReference pageReference) throws ProcessingException {
+		final ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+		final RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+		final LocaleContext localeContext = LocaleContextHolder.getLocaleContext();
+
+		List<Future<Long>> results = new ArrayList<>();
+		for (final DataSourceElement dataSourceWrapper : dataSourceWrappers) {
+			results.add(datasourceExecutor.submit(() -> {
+				Thread thread = Thread.currentThread();
+				ClassLoader previousClassLoader = thread.getContextClassLoader();
+				RequestAttributes previousRequestAttributes = RequestContextHolder.getRequestAttributes();
+				LocaleContext previousLocaleContext = LocaleContextHolder.getLocaleContext();
+				try {
+					thread.setContextClassLoader(classLoader);
+					RequestContextHolder.setRequestAttributes(requestAttributes);
+					LocaleContextHolder.setLocaleContext(localeContext);
+					return doMonitored(getDataSourceCallback(dataSourceWrapper, pageReference));
+				} finally {
+					LocaleContextHolder.setLocaleContext(previousLocaleContext);
+					RequestContextHolder.setRequestAttributes(previousRequestAttributes);
+					thread.setContextClassLoader(previousClassLoader);
+				}
+			}));
+		}
+
+		Throwable error = null;
+		boolean interrupted = false;
+		for (int i = 0; i < results.size(); i++) {
+			try {
+				long time = results.get(i).get();
+				if (monitorPerformance) {
+					dataSourceWrappers.get(i).setExecutionTime(time);
+				}
+			} catch (ExecutionException e) {
+				error = null == error ? e.getCause() : error;
+			} catch (InterruptedException e) {
+				// the datasources are still using the request, so keep on waiting for them
+				interrupted = true;
+				i--;
+			}
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+		if (error instanceof ProcessingException) {
+			throw (ProcessingException) error;
+		} else if (error instanceof RuntimeException) {
+			throw (RuntimeException) error;
+		} else if (error instanceof Error) {
+			throw (Error) error;
+		}
+	}
+
 	private boolean addElements(final ApplicationRequest applicationRequest, final ApplicationConfig applicationConfig,
 			Section section, List<SectionelementDef> elements, final PageReference pageReference,
 			List<DataSourceElement> dataSourceWrappers) throws ProcessingException {
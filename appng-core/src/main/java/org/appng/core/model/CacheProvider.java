@@ -112,7 +112,8 @@ public class CacheProvider {
 	}
 
 	/**
-	 * Clears both the platform cache and the application cache for the given site.
+	 * Clears both the platform cache and the application cache for the given site, as well as the cached template
+	 * engines of its applications.
 	 * 
 	 * @param site
 	 *            The site which caches are cleared.
@@ -121,10 +122,12 @@ public class CacheProvider {
 	public void clearCache(Site site) {
 		clear(getPlatformCache(site));
 		clear(getApplicationCache(site));
+		ThymeleafProcessor.clearCache(site.getName());
 	}
 
 	/**
-	 * Clears both the platform cache and the application cache for the specified application of the specified site.
+	 * Clears both the platform cache and the application cache for the specified application of the specified site, as
+	 * well as the cached template engines of that application.
 	 * 
 	 * @param site
 	 * @param application
@@ -134,6 +137,7 @@ public class CacheProvider {
 	public void clearCache(Site site, String application) {
 		clear(getPlatformCache(site.getName(), application));
 		clear(getApplicationCache(site.getName(), application));
+		ThymeleafProcessor.clearCache(site.getName(), application);
 	}
 
 	private void clear(File folder) {
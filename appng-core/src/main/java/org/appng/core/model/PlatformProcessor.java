@@ -15,8 +15,10 @@
  */
 package org.appng.core.model;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.StringWriter;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
@@ -27,7 +29,7 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
 import org.apache.commons.io.FileUtils;
-import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.output.CountingOutputStream;
 import org.apache.commons.text.StringEscapeUtils;
 import org.appng.api.InvalidConfigurationException;
 import org.appng.api.Path;
@@ -79,45 +81,130 @@ public class PlatformProcessor extends AbstractRequestProcessor {
 	}
 
 	public String processWithTemplate(Site applicationSite, File debugRootFolder) throws InvalidConfigurationException {
-		String result = "";
-		String platformXML = null;
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+		boolean processed = processWithTemplate(applicationSite, debugRootFolder, new ResultTarget() {
+			public OutputStream open(String contentType) {
+				return buffer;
+			}
+
+			public boolean discard() {
+				buffer.reset();
+				return true;
+			}
+		});
+		return processed ? new String(buffer.toByteArray(), getCharset()) : "redirect";
+	}
+
+	/**
+	 * Processes the request and writes the result directly to the {@link HttpServletResponse}, without creating an
+	 * intermediate string. If an error occurs while processing, the error page replaces the content written so far,
+	 * as long as the response has not been committed yet.
+	 */
+	@Override
+	public void processWithTemplate(Site applicationSite, File debugRootFolder, HttpServletResponse servletResponse)
+			throws InvalidConfigurationException, IOException {
+		boolean processed = processWithTemplate(applicationSite, debugRootFolder, new ResultTarget() {
+			public OutputStream open(String contentType) throws IOException {
+				servletResponse.setContentType(contentType);
+				return servletResponse.getOutputStream();
+			}
+
+			public boolean discard() {
+				if (servletResponse.isCommitted()) {
+					return false;
+				}
+				servletResponse.resetBuffer();
+				return true;
+			}
+		});
+		if (processed) {
+			servletResponse.getOutputStream().close();
+		}
+	}
+
+	private boolean processWithTemplate(Site applicationSite, File debugRootFolder, ResultTarget target)
+			throws InvalidConfigurationException {
 		org.appng.xml.platform.Platform platform = null;
 		Properties platformProperties = env.getAttribute(Scope.PLATFORM, Platform.Environment.PLATFORM_CONFIG);
 		String charsetName = platformProperties.getString(Platform.Property.ENCODING);
-		Charset charset = Charset.forName(charsetName);
 		this.contentType = HttpHeaders.getContentType(HttpHeaders.CONTENT_TYPE_TEXT_XML, charsetName);
 		File debugFolder = new File(debugRootFolder, getDebugFilePrefix(new Date()));
+		CountingOutputStream out = null;
 
 		try {
 			platform = processPlatform(applicationSite);
 			if (isRedirect()) {
 				LOGGER.debug("request is beeing redirected");
-				return "redirect";
+				return false;
 			}
 			platform.setVersion(env.getAttributeAsString(Scope.PLATFORM, Platform.Environment.APPNG_VERSION));
-			platformXML = marshallService.marshal(platform);
-
-			if (platformXML != null) {
-				result = platformXML;
-				Boolean render = env.getAttribute(Scope.REQUEST, EnvironmentKeys.RENDER);
-				if (render || !applicationSite.getProperties().getBoolean(SiteProperties.ALLOW_SKIP_RENDER)) {
-					platformTransformer.setEnvironment(env);
-					ApplicationProvider transformerProvider = getApplicationProvider(applicationSite);
-					result = platformTransformer.transform(transformerProvider, platformProperties, platformXML,
-							charsetName, debugFolder);
-					this.contentType = platformTransformer.getContentType();
-				}
+
+			Boolean render = env.getAttribute(Scope.REQUEST, EnvironmentKeys.RENDER);
+			if (render || !applicationSite.getProperties().getBoolean(SiteProperties.ALLOW_SKIP_RENDER)) {
+				platformTransformer.setEnvironment(env);
+				ApplicationProvider transformerProvider = getApplicationProvider(applicationSite);
+				this.contentType = HttpHeaders.getContentType(HttpHeaders.CONTENT_TYPE_TEXT_HTML, charsetName);
+				out = new CountingOutputStream(target.open(contentType));
+				platformTransformer.transform(transformerProvider, platformProperties, marshallService, platform,
+						charsetName, debugFolder, out);
+				this.contentType = platformTransformer.getContentType();
+			} else {
+				out = new CountingOutputStream(target.open(contentType));
+				marshallService.marshal(platform, out);
 			}
 		} catch (InvalidConfigurationException ice) {
 			throw ice;
 		} catch (Exception e) {
+			String platformXML = null == platform ? null : marshal(platform);
 			String templateName = applicationSite.getProperties().getString(SiteProperties.TEMPLATE);
-			result = writeErrorPage(platformProperties, debugFolder, platformXML, templateName, e, platformTransformer);
+			String errorPage = writeErrorPage(platformProperties, debugFolder, platformXML, templateName, e,
+					platformTransformer);
+			out = null;
+			if (target.discard()) {
+				try {
+					out = new CountingOutputStream(target.open(contentType));
+					out.write(errorPage.getBytes(getCharset()));
+				} catch (IOException ioe) {
+					LOGGER.error("error while writing error page", ioe);
+				}
+			} else {
+				LOGGER.warn("response has already been committed, can not write error page");
+			}
 		} finally {
 			platform = null;
 		}
-		this.contentLength = result.getBytes(charset).length;
-		return result;
+		this.contentLength = null == out ? 0 : out.getCount();
+		return true;
+	}
+
+	private String marshal(org.appng.xml.platform.Platform platform) {
+		try {
+			return marshallService.marshal(platform);
+		} catch (Exception e) {
+			LOGGER.error("error while marshalling platform", e);
+			return null;
+		}
+	}
+
+	private Charset getCharset() {
+		Properties platformProperties = env.getAttribute(Scope.PLATFORM, Platform.Environment.PLATFORM_CONFIG);
+		return Charset.forName(platformProperties.getString(Platform.Property.ENCODING));
+	}
+
+	/**
+	 * The target to write the result of processing the request to.
+	 */
+	private interface ResultTarget {
+
+		/**
+		 * Returns the {@link OutputStream} to write the result with the given content-type to.
+		 */
+		OutputStream open(String contentType) throws IOException;
+
+		/**
+		 * Discards the content written so far, returns {@code false} if this is not possible.
+		 */
+		boolean discard();
 	}
 
 	Logger logger() {
@@ -132,8 +219,7 @@ public class PlatformProcessor extends AbstractRequestProcessor {
 		try {
 			if (templateException instanceof PlatformTransformerException) {
 				SourceAwareTemplate template = PlatformTransformerException.class.cast(templateException).getTemplate();
-				template.source.reset();
-				String xsl = IOUtils.toString(template.source, StandardCharsets.UTF_8);
+				String xsl = new String(template.source, StandardCharsets.UTF_8);
 				errorPage.append(StringEscapeUtils.escapeHtml4(xsl));
 			} else {
 				String prefix = getPlatformTransformer().getPrefix();
@@ -16,22 +16,28 @@
 package org.appng.core.model;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.PrintWriter;
+import java.io.StringReader;
 import java.io.StringWriter;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
 
+import javax.xml.bind.JAXBException;
 import javax.xml.transform.ErrorListener;
 import javax.xml.transform.OutputKeys;
 import javax.xml.transform.Source;
@@ -43,8 +49,11 @@ import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.stream.StreamResult;
 import javax.xml.transform.stream.StreamSource;
 
-import org.apache.commons.collections.map.LRUMap;
-import org.apache.commons.io.IOUtils;
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.output.TeeOutputStream;
+import org.apache.commons.lang3.StringUtils;
 import org.appng.api.Environment;
 import org.appng.api.InvalidConfigurationException;
 import org.appng.api.Path;
@@ -62,6 +71,10 @@ import org.appng.xml.platform.Platform;
 import org.appng.xml.platform.Template;
 import org.appng.xml.transformation.StyleSheetProvider;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -87,8 +100,12 @@ public class PlatformTransformer {
 	private OutputType outputType;
 	private String prefix;
 
-	@SuppressWarnings("unchecked")
-	private static final Map<String, SourceAwareTemplate> STYLESHEETS = Collections.synchronizedMap(new LRUMap(20));
+	private static final int DEFAULT_CACHE_SIZE = 20;
+	private static final LongAdder COMPILATIONS = new LongAdder();
+	private static final LongAdder COMPILE_ERRORS = new LongAdder();
+	private static final LongAdder COMPILE_TIME = new LongAdder();
+	private static volatile int cacheSize = DEFAULT_CACHE_SIZE;
+	private static volatile Cache<String, SourceAwareTemplate> STYLESHEETS = createCache(DEFAULT_CACHE_SIZE);
 
 	public PlatformTransformer() {
 		this.templates = new HashSet<>();
@@ -114,25 +131,81 @@ public class PlatformTransformer {
 	 *             if a template XSL-file could not be found
 	 * @throws TransformerException
 	 *             when parsing or applying the XSLT template fails
+	 * @see #transform(ApplicationProvider, Properties, MarshallService, Platform, String, File, OutputStream)
 	 */
 	public String transform(ApplicationProvider applicationProvider, Properties platformProperties, String platformXML,
 			String charSet, File debugFolder) throws IOException, TransformerException {
-		InputStream xmlSourceIn = new ByteArrayInputStream(platformXML.getBytes());
-		StreamSource xmlSource = new StreamSource(xmlSourceIn);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		transform(applicationProvider, platformProperties, new StreamSource(new StringReader(platformXML)),
+				() -> platformXML, charSet, debugFolder, out);
+		return new String(out.toByteArray(), charSet);
+	}
+
+	/**
+	 * Performs the transformation like {@link #transform(ApplicationProvider, Properties, String, String, File)}, but
+	 * reads the {@link Platform}-object directly (without marshalling it into a string first) and writes the result to
+	 * the given {@link OutputStream}, using the given character-set.
+	 * 
+	 * @param applicationProvider
+	 *            the current {@link ApplicationProvider}
+	 * @param platformProperties
+	 *            the platform-{@link Properties}
+	 * @param marshallService
+	 *            the {@link MarshallService} used to read the {@link Platform}-object
+	 * @param platform
+	 *            the {@link Platform}-object to transform
+	 * @param charSet
+	 *            the character-set of the result
+	 * @param debugFolder
+	 *            the folder to write debug files to
+	 * @param out
+	 *            the {@link OutputStream} to write the result to
+	 * @throws FileNotFoundException
+	 *             if a template XSL-file could not be found
+	 * @throws TransformerException
+	 *             when parsing or applying the XSLT template fails
+	 */
+	public void transform(ApplicationProvider applicationProvider, Properties platformProperties,
+			MarshallService marshallService, Platform platform, String charSet, File debugFolder, OutputStream out)
+			throws IOException, TransformerException {
+		Source xmlSource;
+		try {
+			xmlSource = marshallService.getSource(platform);
+		} catch (JAXBException e) {
+			throw new TransformerException(e);
+		}
+		transform(applicationProvider, platformProperties, xmlSource, () -> marshal(marshallService, platform),
+				charSet, debugFolder, out);
+	}
+
+	private String marshal(MarshallService marshallService, Platform platform) {
+		try {
+			return marshallService.marshal(platform);
+		} catch (Exception e) {
+			LOGGER.error("error while marshalling platform", e);
+			return StringUtils.EMPTY;
+		}
+	}
+
+	private void transform(ApplicationProvider applicationProvider, Properties platformProperties, Source xmlSource,
+			Supplier<String> platformXML, String charSet, File debugFolder, OutputStream out)
+			throws IOException, TransformerException {
 		boolean deleteIncludes = false;
+		String xslPath = new File(templatePath, "xsl").getAbsolutePath();
+		String masterReference = null;
+		byte[] masterData = null;
+		Map<String, byte[]> styleSheets = new TreeMap<>();
 		// fails if master is not on first position
 		for (Template template : outputType.getTemplates()) {
 			if (outputTypeMatches(template)) {
 				String reference = template.getPath();
-				String xslPath = new File(templatePath, "xsl").getAbsolutePath();
-				InputStream xslSource = new FileInputStream(new File(xslPath, reference));
+				byte[] xslData = FileUtils.readFileToByteArray(new File(xslPath, reference));
 				if (MASTER_TYPE.equals(template.getType())) {
 					deleteIncludes = Boolean.TRUE.equals(template.isDeleteIncludes());
-					getStyleSheetProvider().setMasterSource(xslSource, xslPath);
-					getStyleSheetProvider().setName(reference);
-					getStyleSheetProvider().setInsertBefore(INSERTION_NODE);
+					masterReference = reference;
+					masterData = xslData;
 				} else {
-					getStyleSheetProvider().addStyleSheet(xslSource, templatePath + ":" + reference);
+					addStyleSheet(styleSheets, templatePath + ":" + reference, xslData);
 				}
 			}
 		}
@@ -148,56 +221,74 @@ public class PlatformTransformer {
 					LOGGER.warn("missing resource: no resource named '{}' is assigned to application '{}'", fileName,
 							applicationProvider.getName());
 				} else {
+					byte[] xslData;
 					if (devMode) {
 						File cachedFile = resource.getCachedFile();
 						LOGGER.debug("devMode is active, reading from cached file {}", cachedFile.getAbsolutePath());
-						styleSheetProvider.addStyleSheet(new FileInputStream(cachedFile),
-								applicationProvider.getName() + ":" + fileName);
+						xslData = FileUtils.readFileToByteArray(cachedFile);
 					} else {
-						styleSheetProvider.addStyleSheet(new ByteArrayInputStream(resource.getBytes()),
-								applicationProvider.getName() + ":" + fileName);
+						xslData = resource.getBytes();
 					}
+					addStyleSheet(styleSheets, applicationProvider.getName() + ":" + fileName, xslData);
 				}
 			}
 		}
+
+		Cache<String, SourceAwareTemplate> styleSheetCache = getStyleSheetCache(platformProperties);
 		SourceAwareTemplate sourceAwareTemplate = null;
-		String styleId = styleSheetProvider.getId();
-		String result = null;
+		String styleId = getStyleId(masterData, styleSheets, deleteIncludes);
 		TransformerException transformerException = null;
 		Boolean writeDebugFiles = platformProperties.getBoolean(org.appng.api.Platform.Property.WRITE_DEBUG_FILES);
 		try {
 			ErrorCollector errorCollector = new ErrorCollector();
-			if (!devMode && STYLESHEETS.containsKey(styleId)) {
-				sourceAwareTemplate = STYLESHEETS.get(styleId);
-				styleSheetProvider.cleanup();
+			if (!devMode) {
+				sourceAwareTemplate = styleSheetCache.getIfPresent(styleId);
+			}
+			if (null != sourceAwareTemplate) {
 				LOGGER.debug("reading templates from cache (id: {})", styleId);
 			} else {
+				getStyleSheetProvider().setMasterSource(new ByteArrayInputStream(masterData), xslPath);
+				getStyleSheetProvider().setName(masterReference);
+				getStyleSheetProvider().setInsertBefore(INSERTION_NODE);
+				styleSheets.forEach((reference, xslData) -> getStyleSheetProvider()
+						.addStyleSheet(new ByteArrayInputStream(xslData), reference));
 				byte[] xslData = styleSheetProvider.getStyleSheet(deleteIncludes, null);
-				ByteArrayInputStream templateInputStream = new ByteArrayInputStream(xslData);
-				Source xslSource = new StreamSource(templateInputStream);
+				styleSheetProvider.cleanup();
+				Source xslSource = new StreamSource(new ByteArrayInputStream(xslData));
 				TransformerFactory transformerFactory = styleSheetProvider.getTransformerFactory();
 				transformerFactory.setErrorListener(errorCollector);
+				long start = System.nanoTime();
 				try {
 					Templates templates = transformerFactory.newTemplates(xslSource);
-					sourceAwareTemplate = new SourceAwareTemplate(templates, templateInputStream);
+					sourceAwareTemplate = new SourceAwareTemplate(templates, xslData);
 				} catch (TransformerConfigurationException tce) {
-					sourceAwareTemplate = new SourceAwareTemplate(null, templateInputStream);
+					sourceAwareTemplate = new SourceAwareTemplate(null, xslData);
 					sourceAwareTemplate.errorCollector = errorCollector;
 					for (TransformerException t : errorCollector.exceptions) {
 						LOGGER.error(t.getMessage(), t);
 					}
+				} finally {
+					COMPILE_TIME.add(System.nanoTime() - start);
+				}
+				if (errorCollector.hasErrors()) {
+					COMPILE_ERRORS.increment();
+				} else {
+					COMPILATIONS.increment();
 					if (!devMode) {
-						STYLESHEETS.put(styleId, sourceAwareTemplate);
+						styleSheetCache.put(styleId, sourceAwareTemplate);
+						LOGGER.debug("writing templates to cache (id: {})", styleId);
 					}
-					LOGGER.debug("writing templates to cache (id: {})", styleId);
 				}
 			}
 			if (!errorCollector.hasErrors()) {
 				Boolean formatOutput = platformProperties.getBoolean(org.appng.api.Platform.Property.FORMAT_OUTPUT);
-				result = transform(xmlSource, sourceAwareTemplate, formatOutput);
+				ByteArrayOutputStream debugOut = writeDebugFiles ? new ByteArrayOutputStream() : null;
+				OutputStream target = writeDebugFiles ? new TeeOutputStream(out, debugOut) : out;
+				transform(xmlSource, sourceAwareTemplate, formatOutput, charSet, target);
 				this.contentType = HttpHeaders.getContentType(HttpHeaders.CONTENT_TYPE_TEXT_HTML, charSet);
 				if (writeDebugFiles) {
-					writeDebugFile(AbstractRequestProcessor.INDEX_HTML, result, debugFolder);
+					writeDebugFile(AbstractRequestProcessor.INDEX_HTML, new String(debugOut.toByteArray(), charSet),
+							debugFolder);
 				}
 			} else {
 				throw errorCollector.exceptions.get(0);
@@ -207,10 +298,51 @@ public class PlatformTransformer {
 			throw transformerException;
 		} finally {
 			if (null != transformerException || writeDebugFiles) {
-				writeDebugFiles(debugFolder, platformXML, sourceAwareTemplate, transformerException);
+				writeDebugFiles(debugFolder, platformXML.get(), sourceAwareTemplate, transformerException);
+			}
+		}
+	}
+
+	private void addStyleSheet(Map<String, byte[]> styleSheets, String reference, byte[] xslData) {
+		if (null != styleSheets.put(reference, xslData)) {
+			LOGGER.warn("stylesheet '{}' is already defined, contents will be overridden!", reference);
+		}
+	}
+
+	/**
+	 * Builds the cache key for the compiled stylesheet, which is the SHA-256 digest of the given stylesheets'
+	 * references and contents. Stylesheets included by the master via {@code <xsl:include>} are not taken into
+	 * account, since they only change when the template is being (re-)installed, which is followed by
+	 * {@link #clearCache()}.
+	 */
+	private String getStyleId(byte[] masterData, Map<String, byte[]> styleSheets, boolean deleteIncludes) {
+		MessageDigest digest = DigestUtils.getSha256Digest();
+		DigestUtils.updateDigest(digest, templatePath + ":" + deleteIncludes);
+		DigestUtils.updateDigest(digest, masterData);
+		for (Entry<String, byte[]> styleSheet : styleSheets.entrySet()) {
+			DigestUtils.updateDigest(digest, styleSheet.getKey());
+			DigestUtils.updateDigest(digest, styleSheet.getValue());
+		}
+		return Hex.encodeHexString(digest.digest());
+	}
+
+	private static Cache<String, SourceAwareTemplate> getStyleSheetCache(Properties platformProperties) {
+		int maxSize = platformProperties.getInteger(org.appng.api.Platform.Property.XSLT_CACHE_SIZE,
+				DEFAULT_CACHE_SIZE);
+		if (maxSize != cacheSize) {
+			synchronized (PlatformTransformer.class) {
+				if (maxSize != cacheSize) {
+					LOGGER.info("setting maximum size of stylesheet cache to {}", maxSize);
+					STYLESHEETS = createCache(maxSize);
+					cacheSize = maxSize;
+				}
 			}
 		}
-		return result;
+		return STYLESHEETS;
+	}
+
+	private static Cache<String, SourceAwareTemplate> createCache(int maxSize) {
+		return CacheBuilder.newBuilder().maximumSize(Math.max(0, maxSize)).recordStats().build();
 	}
 
 	class PlatformTransformerException extends TransformerException {
@@ -238,11 +370,9 @@ public class PlatformTransformer {
 				return;
 			}
 
-			sourceAwareTemplate.source.reset();
 			LOGGER.info("writing debug files to {} ", outFolder);
 
-			writeDebugFile(TEMPLATE_XSL, IOUtils.toString(sourceAwareTemplate.source, StandardCharsets.UTF_8),
-					outFolder);
+			writeDebugFile(TEMPLATE_XSL, new String(sourceAwareTemplate.source, StandardCharsets.UTF_8), outFolder);
 			writeDebugFile(AbstractRequestProcessor.PLATFORM_XML, platformXML, outFolder);
 
 			try (
@@ -269,13 +399,13 @@ public class PlatformTransformer {
 		return AbstractRequestProcessor.getDebugFilePrefix(now);
 	}
 
-	class SourceAwareTemplate implements Templates {
+	static class SourceAwareTemplate implements Templates {
 
 		private final Templates inner;
-		final InputStream source;
+		final byte[] source;
 		ErrorCollector errorCollector;
 
-		SourceAwareTemplate(Templates inner, InputStream source) {
+		SourceAwareTemplate(Templates inner, byte[] source) {
 			this.inner = inner;
 			this.source = source;
 		}
@@ -308,23 +438,22 @@ public class PlatformTransformer {
 		this.templates.addAll(templates);
 	}
 
-	private String transform(Source xmlSource, Templates templates, Boolean formatOutput)
-			throws TransformerException {
-		StringWriter output = new StringWriter();
+	private void transform(Source xmlSource, Templates templates, Boolean formatOutput, String charSet,
+			OutputStream out) throws TransformerException {
 		Transformer transformer = templates.newTransformer();
 		ErrorCollector errorCollector = new ErrorCollector();
 		transformer.setErrorListener(errorCollector);
 		// Override the value configured in the XSL
 		transformer.setOutputProperty(OutputKeys.INDENT, formatOutput ? YES : NO);
+		transformer.setOutputProperty(OutputKeys.ENCODING, charSet);
 		try {
-			transformer.transform(xmlSource, new StreamResult(output));
+			transformer.transform(xmlSource, new StreamResult(out));
 		} catch (TransformerException transformerException) {
 			for (TransformerException te : errorCollector.exceptions) {
 				LOGGER.error(te.getMessage(), te);
 			}
 			throw transformerException;
 		}
-		return output.toString();
 	}
 
 	static class ErrorCollector implements ErrorListener {
@@ -380,7 +509,7 @@ public class PlatformTransformer {
 	public Platform getPlatform(MarshallService marshallService, Path path) throws InvalidConfigurationException {
 		File platformXML = new File(templatePath, TemplateService.PLATFORM_XML);
 		try {
-			return marshallService.unmarshall(platformXML, Platform.class);
+			return TemplatePlatformCache.getPlatform(marshallService, platformXML);
 		} catch (Exception e) {
 			throw new InvalidConfigurationException(path.getApplicationName(), "error while reading " + platformXML, e);
 		}
@@ -409,7 +538,42 @@ public class PlatformTransformer {
 	 * Clears the internal template-cache, which must be done if a {@link Site} is being reloaded.
 	 */
 	public static synchronized void clearCache() {
-		STYLESHEETS.clear();
+		STYLESHEETS.invalidateAll();
+		TemplatePlatformCache.clear();
+	}
+
+	/**
+	 * Returns the statistics of the cache for compiled stylesheets. The load-related values of the returned
+	 * {@link CacheStats} refer to the compilation of stylesheets, including those that are not being cached (e.g.
+	 * because {@link org.appng.api.Platform.Property#DEV_MODE} is active).
+	 * 
+	 * @return the {@link CacheStats}
+	 * @see #getCacheSize()
+	 * @see #getMaxCacheSize()
+	 */
+	public static CacheStats getCacheStats() {
+		CacheStats stats = STYLESHEETS.stats();
+		return new CacheStats(stats.hitCount(), stats.missCount(), COMPILATIONS.sum(), COMPILE_ERRORS.sum(),
+				COMPILE_TIME.sum(), stats.evictionCount());
+	}
+
+	/**
+	 * Returns the number of compiled stylesheets currently being cached.
+	 * 
+	 * @return the size of the cache
+	 */
+	public static long getCacheSize() {
+		return STYLESHEETS.size();
+	}
+
+	/**
+	 * Returns the maximum number of compiled stylesheets being cached.
+	 * 
+	 * @return the maximum size of the cache
+	 * @see org.appng.api.Platform.Property#XSLT_CACHE_SIZE
+	 */
+	public static int getMaxCacheSize() {
+		return cacheSize;
 	}
 
 	/**
@@ -16,6 +16,8 @@
 package org.appng.core.model;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
@@ -70,6 +72,35 @@ public interface RequestProcessor {
 	 */
 	String processWithTemplate(Site site, File debugRootFolder) throws InvalidConfigurationException;
 
+	/**
+	 * Processes the request, including the processing of the template, and writes the result to the given
+	 * {@link HttpServletResponse}. Note that {@link #init(HttpServletRequest, HttpServletResponse, PathInfo, String)}
+	 * must have been called before.<br/>
+	 * The default implementation writes the result of {@link #processWithTemplate(Site, File)}.
+	 * 
+	 * @param site
+	 *            the {@link Site} for which the process the request
+	 * @param debugRootFolder
+	 *            the folder to write debug files to
+	 * @param servletResponse
+	 *            the {@link HttpServletResponse} to write the result to
+	 * @throws InvalidConfigurationException
+	 *             if something goes wrong while processing the request
+	 * @throws IOException
+	 *             if an error occurs while writing the result
+	 * @see #processWithTemplate(Site, File)
+	 */
+	default void processWithTemplate(Site site, File debugRootFolder, HttpServletResponse servletResponse)
+			throws InvalidConfigurationException, IOException {
+		String result = processWithTemplate(site, debugRootFolder);
+		servletResponse.setContentType(getContentType());
+		servletResponse.setContentLength(getContentLength());
+		PrintWriter out = servletResponse.getWriter();
+		out.println(result);
+		out.flush();
+		out.close();
+	}
+
 	/**
 	 * Returns the content-type of the response
 	 */
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2011-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.appng.core.model;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.xml.bind.JAXBException;
+
+import org.appng.core.service.TemplateService;
+import org.appng.xml.MarshallService;
+import org.appng.xml.platform.Platform;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Caches the {@link Platform}-objects unmarshalled from the
+ * {@value org.appng.core.service.TemplateService#PLATFORM_XML}-file of a template. An entry is keyed by the absolute
+ * path of the file and becomes invalid as soon as the file's modification time changes. Since the {@link Platform} is
+ * being modified while processing a request, each caller receives its own copy, which is created from the serialized
+ * form of the cached {@link Platform} instead of reading and unmarshalling the file again.
+ *
+ * @author Matthias Müller
+ * @see    PlatformTransformer#clearCache()
+ */
+@Slf4j
+final class TemplatePlatformCache {
+
+	private static final Map<String, CachedPlatform> PLATFORMS = new ConcurrentHashMap<>();
+
+	private TemplatePlatformCache() {
+	}
+
+	/**
+	 * Returns a copy of the {@link Platform} unmarshalled from the given
+	 * {@value org.appng.core.service.TemplateService#PLATFORM_XML}-file.
+	 *
+	 * @param  marshallService
+	 *                         the {@link MarshallService} to use for unmarshalling
+	 * @param  platformXML
+	 *                         the {@value org.appng.core.service.TemplateService#PLATFORM_XML}-file
+	 * @return                 the {@link Platform}
+	 * @throws JAXBException
+	 *                         if the file could not be unmarshalled
+	 */
+	static Platform getPlatform(MarshallService marshallService, File platformXML) throws JAXBException {
+		String key = platformXML.getAbsolutePath();
+		long lastModified = platformXML.lastModified();
+		CachedPlatform cached = PLATFORMS.get(key);
+		if (null != cached && cached.lastModified == lastModified) {
+			return cached.copy();
+		}
+		Platform platform = marshallService.unmarshall(platformXML, Platform.class);
+		if (lastModified > 0) {
+			LOGGER.debug("caching {} (last modified: {})", key, lastModified);
+			PLATFORMS.put(key, new CachedPlatform(lastModified, serialize(platform)));
+		}
+		return platform;
+	}
+
+	/**
+	 * Removes all cached {@link Platform}s, which must be done when a template has been (re-)installed.
+	 *
+	 * @see TemplateService#PLATFORM_XML
+	 */
+	static void clear() {
+		PLATFORMS.clear();
+	}
+
+	private static byte[] serialize(Platform platform) {
+		try (ByteArrayOutputStream out = new ByteArrayOutputStream();
+				ObjectOutputStream outputStream = new ObjectOutputStream(out)) {
+			outputStream.writeObject(platform);
+			outputStream.flush();
+			return out.toByteArray();
+		} catch (IOException e) {
+			throw new IllegalStateException("error while serializing " + platform, e);
+		}
+	}
+
+	private static class CachedPlatform {
+		private final long lastModified;
+		private final byte[] data;
+
+		CachedPlatform(long lastModified, byte[] data) {
+			this.lastModified = lastModified;
+			this.data = data;
+		}
+
+		Platform copy() {
+			try (ObjectInputStream is = new ObjectInputStream(new ByteArrayInputStream(data))) {
+				return (Platform) is.readObject();
+			} catch (IOException | ClassNotFoundException e) {
+				throw new IllegalStateException("error while deserializing data", e);
+			}
+		}
+	}
+
+}
@@ -31,6 +31,10 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
@@ -118,6 +122,7 @@ import lombok.extern.slf4j.Slf4j;
 public class ThymeleafProcessor extends AbstractRequestProcessor {
 
 	private static final Pattern BLANK_LINES = Pattern.compile("(\\s*\\r?\\n){1,}");
+	private static final Map<String, Map<String, ApplicationEngines>> ENGINES = new ConcurrentHashMap<>();
 	static final String PLATFORM_HTML = "platform.html";
 	private List<Template> templates;
 	private DocumentBuilderFactory dbf;
@@ -148,7 +153,9 @@ public class ThymeleafProcessor extends AbstractRequestProcessor {
 		String platformXML = null;
 		ApplicationProvider applicationProvider = getApplicationProvider(applicationSite);
 		ConfigurableApplicationContext context = applicationProvider.getContext();
-		ThymeleafTemplateEngine templateEngine = prepareEngine(context);
+		ApplicationEngines applicationEngines = getApplicationEngines(applicationSite, applicationProvider, context);
+		templates.addAll(applicationEngines.interceptorTemplates);
+		ThymeleafTemplateEngine templateEngine = null;
 		File debugFolder = new File(debugRootFolder, getDebugFilePrefix(new Date()));
 
 		try {
@@ -160,32 +167,10 @@ public class ThymeleafProcessor extends AbstractRequestProcessor {
 			String templatePrefix = platformProperties.getString(Platform.Property.TEMPLATE_PREFIX);
 			Boolean devMode = platformProperties.getBoolean(Platform.Property.DEV_MODE);
 
-			if (!templates.isEmpty()) {
-				CacheProvider cacheProvider = new CacheProvider(platformProperties);
-				File platformCache = cacheProvider.getPlatformCache(applicationSite, applicationProvider);
-				File tplFolder = new File(platformCache, ResourceType.TPL.getFolder()).getAbsoluteFile();
-
-				Set<String> patterns = templates.parallelStream().map(t -> new File(tplFolder, t.getPath()))
-						.filter(f -> f.exists()).map(f -> f.getName()).collect(Collectors.toSet());
-
-				ITemplateResolver applicationTemplateResolver = getApplicationTemplateResolver(
-						applicationProvider.getName(), charset, devMode, tplFolder, patterns);
-				templateEngine.addTemplateResolver(applicationTemplateResolver);
-
-				ILinkBuilder appLinkBuilder = getLinkBuilder(applicationProvider, templatePrefix, tplFolder);
-				templateEngine.addLinkBuilder(appLinkBuilder);
-			}
-
-			ILinkBuilder globalLinkBuilder = getGlobalLinkBuilder(templatePrefix);
-			templateEngine.addLinkBuilder(globalLinkBuilder);
-
-			ITemplateResolver globalTemplateResolver = getGlobalTemplateResolver(charset, devMode);
-			templateEngine.addTemplateResolver(globalTemplateResolver);
-
-			if (null != context) {
-				MessageSource ms = context.getBean(MessageSource.class);
-				templateEngine.setTemplateEngineMessageSource(ms);
-			}
+			File tplFolder = getTemplateFolder(platformProperties, applicationSite, applicationProvider);
+			Set<String> patterns = getTemplatePatterns(tplFolder);
+			templateEngine = applicationEngines.getEngine(StringUtils.join(patterns, ","), () -> buildEngine(context,
+					applicationProvider, charset, devMode, templatePrefix, tplFolder, patterns));
 
 			if (writeDebugFiles) {
 				sw.stop();
@@ -288,16 +273,22 @@ public class ThymeleafProcessor extends AbstractRequestProcessor {
 			throws InvalidConfigurationException {
 		Context ctx = new Context(Locale.ENGLISH);
 		ctx.setVariable("platform", platform);
+		ctx.setVariable("appNG", new AppNG(platform, () -> getXPathProcessor(platform, applicationProvider)));
+		return ctx;
+	}
+
+	private XPathProcessor getXPathProcessor(org.appng.xml.platform.Platform platform,
+			ApplicationProvider applicationProvider) {
 		try {
 			Document doc = dbf.newDocumentBuilder().newDocument();
 			AppNGSchema.PLATFORM.getContext().createMarshaller().marshal(platform, doc);
 			XPathProcessor xpath = new XPathProcessor(doc);
 			xpath.setNamespace("appng", AppNGSchema.PLATFORM.getNamespace());
-			ctx.setVariable("appNG", new AppNG(platform, xpath));
+			return xpath;
 		} catch (Exception e) {
-			throw new InvalidConfigurationException(applicationProvider.getName(), e.getMessage());
+			throw new IllegalStateException(
+					new InvalidConfigurationException(applicationProvider.getName(), e.getMessage(), e));
 		}
-		return ctx;
 	}
 
 	protected ILinkBuilder getGlobalLinkBuilder(String templatePrefix) {
@@ -328,7 +319,84 @@ public class ThymeleafProcessor extends AbstractRequestProcessor {
 		return appLinkBuilder;
 	}
 
+	private File getTemplateFolder(Properties platformProperties, Site applicationSite,
+			ApplicationProvider applicationProvider) {
+		if (templates.isEmpty()) {
+			return null;
+		}
+		CacheProvider cacheProvider = new CacheProvider(platformProperties);
+		File platformCache = cacheProvider.getPlatformCache(applicationSite, applicationProvider);
+		return new File(platformCache, ResourceType.TPL.getFolder()).getAbsoluteFile();
+	}
+
+	private Set<String> getTemplatePatterns(File tplFolder) {
+		if (null == tplFolder) {
+			return Collections.emptySet();
+		}
+		return templates.parallelStream().map(t -> new File(tplFolder, t.getPath())).filter(f -> f.exists())
+				.map(f -> f.getName()).collect(Collectors.toCollection(TreeSet::new));
+	}
+
+	/**
+	 * Returns the cached {@link ApplicationEngines} of the given application, creating new ones if there are none or if
+	 * they have been created for another {@link ConfigurableApplicationContext}, another template or another version
+	 * of the application. The templates contributed by the application's {@link ThymeleafReplaceInterceptor}s are
+	 * resolved only when the {@link ApplicationEngines} are created.
+	 */
+	private ApplicationEngines getApplicationEngines(Site site, ApplicationProvider applicationProvider,
+			ConfigurableApplicationContext context) {
+		Map<String, ApplicationEngines> siteEngines = ENGINES.computeIfAbsent(site.getName(),
+				s -> new ConcurrentHashMap<>());
+		String applicationName = applicationProvider.getName();
+		String timestamp = applicationProvider.getTimestamp();
+		ApplicationEngines applicationEngines = siteEngines.get(applicationName);
+		if (null == applicationEngines || !applicationEngines.isValid(context, templatePath, timestamp)) {
+			applicationEngines = new ApplicationEngines(context, templatePath, timestamp,
+					getInterceptorTemplates(context));
+			siteEngines.put(applicationName, applicationEngines);
+			LOGGER.debug("created template engines for application {} of site {}", applicationName, site.getName());
+		}
+		return applicationEngines;
+	}
+
+	private ThymeleafTemplateEngine buildEngine(ConfigurableApplicationContext context,
+			ApplicationProvider applicationProvider, Charset charset, Boolean devMode, String templatePrefix,
+			File tplFolder, Set<String> patterns) {
+		ThymeleafTemplateEngine templateEngine = prepareEngine(context);
+		if (null != tplFolder) {
+			ITemplateResolver applicationTemplateResolver = getApplicationTemplateResolver(
+					applicationProvider.getName(), charset, devMode, tplFolder, patterns);
+			templateEngine.addTemplateResolver(applicationTemplateResolver);
+
+			ILinkBuilder appLinkBuilder = getLinkBuilder(applicationProvider, templatePrefix, tplFolder);
+			templateEngine.addLinkBuilder(appLinkBuilder);
+		}
+
+		ILinkBuilder globalLinkBuilder = getGlobalLinkBuilder(templatePrefix);
+		templateEngine.addLinkBuilder(globalLinkBuilder);
+
+		ITemplateResolver globalTemplateResolver = getGlobalTemplateResolver(charset, devMode);
+		templateEngine.addTemplateResolver(globalTemplateResolver);
+
+		if (null != context) {
+			MessageSource ms = context.getBean(MessageSource.class);
+			templateEngine.setTemplateEngineMessageSource(ms);
+		}
+		return templateEngine;
+	}
+
 	protected ThymeleafTemplateEngine prepareEngine(ConfigurableApplicationContext context) {
+		ThymeleafTemplateEngine templateEngine = new ThymeleafTemplateEngine(getInterceptors(context));
+		StandardCacheManager cacheManager = new StandardCacheManager();
+		cacheManager.setExpressionCacheInitialSize(500);
+		cacheManager.setExpressionCacheMaxSize(1000);
+		cacheManager.setExpressionCacheEnableCounters(true);
+		cacheManager.setTemplateCacheEnableCounters(true);
+		templateEngine.setCacheManager(cacheManager);
+		return templateEngine;
+	}
+
+	private List<ThymeleafReplaceInterceptor> getInterceptors(ConfigurableApplicationContext context) {
 		List<ThymeleafReplaceInterceptor> interceptors = null;
 		if (null != context) {
 			interceptors = new ArrayList<>(context.getBeansOfType(ThymeleafReplaceInterceptor.class).values());
@@ -338,12 +406,12 @@ public class ThymeleafProcessor extends AbstractRequestProcessor {
 				}
 			});
 		}
+		return interceptors;
+	}
 
-		ThymeleafTemplateEngine templateEngine = new ThymeleafTemplateEngine(interceptors);
-		StandardCacheManager cacheManager = new StandardCacheManager();
-		cacheManager.setExpressionCacheInitialSize(500);
-		cacheManager.setExpressionCacheMaxSize(1000);
-		templateEngine.setCacheManager(cacheManager);
+	private List<Template> getInterceptorTemplates(ConfigurableApplicationContext context) {
+		List<Template> interceptorTemplates = new ArrayList<>();
+		List<ThymeleafReplaceInterceptor> interceptors = getInterceptors(context);
 		if (null != interceptors) {
 			for (ThymeleafReplaceInterceptor interceptor : interceptors) {
 				// An interceptor can define some template resource to be added to the template
@@ -352,13 +420,86 @@ public class ThymeleafProcessor extends AbstractRequestProcessor {
 					for (String resource : interceptor.getAdditionalTemplateResourceNames()) {
 						Template template = new Template();
 						template.setPath(resource);
-						templates.add(template);
+						interceptorTemplates.add(template);
 					}
 				}
 
 			}
 		}
-		return templateEngine;
+		return interceptorTemplates;
+	}
+
+	/**
+	 * Returns the {@link ThymeleafTemplateEngine}s currently cached for the given {@link Site}, keyed by the name of
+	 * the application and the names of its templates.
+	 * 
+	 * @param  siteName
+	 *                  the name of the {@link Site}
+	 * @return          the cached engines
+	 */
+	public static Map<String, ThymeleafTemplateEngine> getTemplateEngines(String siteName) {
+		Map<String, ApplicationEngines> siteEngines = ENGINES.getOrDefault(siteName, Collections.emptyMap());
+		Map<String, ThymeleafTemplateEngine> templateEngines = new TreeMap<>();
+		siteEngines.forEach((application, applicationEngines) -> applicationEngines.engines
+				.forEach((patterns, engine) -> templateEngines.put(application + ":" + patterns, engine)));
+		return templateEngines;
+	}
+
+	/**
+	 * Clears the cached {@link ThymeleafTemplateEngine}s of a {@link Site}, which must be done if the {@link Site} is
+	 * being reloaded.
+	 * 
+	 * @param siteName
+	 *                 the name of the {@link Site}
+	 */
+	public static void clearCache(String siteName) {
+		ENGINES.remove(siteName);
+	}
+
+	/**
+	 * Clears the cached {@link ThymeleafTemplateEngine}s of an application of a {@link Site}, which must be done if the
+	 * application's resources have changed.
+	 * 
+	 * @param siteName
+	 *                        the name of the {@link Site}
+	 * @param applicationName
+	 *                        the name of the application
+	 */
+	public static void clearCache(String siteName, String applicationName) {
+		Map<String, ApplicationEngines> siteEngines = ENGINES.get(siteName);
+		if (null != siteEngines) {
+			siteEngines.remove(applicationName);
+		}
+	}
+
+	/**
+	 * The {@link ThymeleafTemplateEngine}s of an application, keyed by the names of the templates they have been built
+	 * for. Since an engine (and therefore its template- and expression-cache) is reused across requests, it must not be
+	 * modified after it has been built.
+	 */
+	private static class ApplicationEngines {
+		private final ConfigurableApplicationContext context;
+		private final String templatePath;
+		private final String timestamp;
+		private final List<Template> interceptorTemplates;
+		private final Map<String, ThymeleafTemplateEngine> engines = new ConcurrentHashMap<>();
+
+		ApplicationEngines(ConfigurableApplicationContext context, String templatePath, String timestamp,
+				List<Template> interceptorTemplates) {
+			this.context = context;
+			this.templatePath = templatePath;
+			this.timestamp = timestamp;
+			this.interceptorTemplates = Collections.unmodifiableList(interceptorTemplates);
+		}
+
+		boolean isValid(ConfigurableApplicationContext context, String templatePath, String timestamp) {
+			return this.context == context && StringUtils.equals(this.templatePath, templatePath)
+					&& StringUtils.equals(this.timestamp, timestamp);
+		}
+
+		ThymeleafTemplateEngine getEngine(String patterns, Supplier<ThymeleafTemplateEngine> engineBuilder) {
+			return engines.computeIfAbsent(patterns, p -> engineBuilder.get());
+		}
 	}
 
 	protected ITemplateResolver getGlobalTemplateResolver(Charset charset, Boolean devMode) {
@@ -427,6 +568,11 @@ public class ThymeleafProcessor extends AbstractRequestProcessor {
 	/**
 	 * This is a helper class to make it easier for the thymeleaf template to interact with appNG's
 	 * {@link org.appng.xml.platform.Platform} object.
+	 * <p>
+	 * The XPath delegates ({@link #xNode(String)}, {@link #xElement(String)} etc.) operate on a DOM representation of
+	 * the {@link org.appng.xml.platform.Platform}. Since creating this DOM is expensive, it is only built when one of
+	 * these methods is called for the first time.
+	 * </p>
 	 * 
 	 * @author Matthias Müller
 	 */
@@ -439,13 +585,25 @@ public class ThymeleafProcessor extends AbstractRequestProcessor {
 		private String siteName;
 		private String applicationName;
 		private XPathProcessor xpath;
+		private Supplier<XPathProcessor> xpathSupplier;
 
 		public AppNG(org.appng.xml.platform.Platform platform, XPathProcessor xpath) {
+			this(platform, () -> xpath);
+		}
+
+		private AppNG(org.appng.xml.platform.Platform platform, Supplier<XPathProcessor> xpathSupplier) {
 			this.platform = platform;
-			this.xpath = xpath;
+			this.xpathSupplier = xpathSupplier;
 			parse();
 		}
 
+		private XPathProcessor xpath() {
+			if (null == xpath) {
+				xpath = xpathSupplier.get();
+			}
+			return xpath;
+		}
+
 		private void parse() {
 			List<NavigationItem> siteNavigation = getSiteNavigation();
 			for (NavigationItem site : siteNavigation) {
@@ -814,22 +972,22 @@ public class ThymeleafProcessor extends AbstractRequestProcessor {
 
 		// XPATH delegates
 		public Node xNode(String xpathExpression) {
-			Node n = xpath.getNode(xpathExpression);
+			Node n = xpath().getNode(xpathExpression);
 			return n;
 		}
 
 		public Node xElement(String xpathExpression) {
-			Element e = xpath.getElement(xpathExpression);
+			Element e = xpath().getElement(xpathExpression);
 			return e;
 		}
 
 		public Node xNode(Node node, String xpathExpression) {
-			Node n = xpath.getNode(node, xpathExpression);
+			Node n = xpath().getNode(node, xpathExpression);
 			return n;
 		}
 
 		public Node xElement(Node node, String xpathExpression) {
-			Element e = xpath.getElement(node, xpathExpression);
+			Element e = xpath().getElement(node, xpathExpression);
 			return e;
 		}
 
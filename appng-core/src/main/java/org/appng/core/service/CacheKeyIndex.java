@@ -0,0 +1,146 @@
+/*
+ * Copyright 2011-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.appng.core.service;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+import javax.cache.event.CacheEntryCreatedListener;
+import javax.cache.event.CacheEntryEvent;
+import javax.cache.event.CacheEntryExpiredListener;
+import javax.cache.event.CacheEntryListenerException;
+import javax.cache.event.CacheEntryRemovedListener;
+
+import org.appng.core.controller.CachedResponse;
+
+/**
+ * A per-node index of the keys of a (distributed) page cache, sorted lexicographically, so the keys starting with a
+ * certain prefix can be found without iterating over (and thereby fetching) all entries of the cache. The index is
+ * kept up to date by an {@link Updater} that is notified whenever an entry is created, removed or expires on any node.
+ * <p>
+ * An index created for an already populated cache is <em>incomplete</em> until it has been filled with all existing
+ * keys (see {@link #addAll(Collection)}).
+ * </p>
+ *
+ * @author Matthias Müller
+ * @see    CacheService#getKeyIndex(String)
+ */
+public class CacheKeyIndex {
+
+	private final String name;
+	private final NavigableSet<String> keys = new ConcurrentSkipListSet<>();
+	private volatile boolean complete;
+
+	CacheKeyIndex(String name, boolean complete) {
+		this.name = name;
+		this.complete = complete;
+	}
+
+	public void add(String key) {
+		keys.add(key);
+	}
+
+	public void remove(String key) {
+		keys.remove(key);
+	}
+
+	public void removeAll(Collection<String> keys) {
+		this.keys.removeAll(keys);
+	}
+
+	/**
+	 * Adds all the given keys to this index and marks it as complete.
+	 *
+	 * @param keys
+	 *             all keys of the underlying cache
+	 */
+	public void addAll(Collection<String> keys) {
+		this.keys.addAll(keys);
+		this.complete = true;
+	}
+
+	public void clear() {
+		keys.clear();
+		complete = true;
+	}
+
+	/**
+	 * Returns the keys starting with the given prefix.
+	 *
+	 * @param  prefix
+	 *                the prefix
+	 * @return        the (sorted) keys starting with the prefix
+	 */
+	public Set<String> getKeysStartingWith(String prefix) {
+		return new TreeSet<>(keys.subSet(prefix, true, prefix + Character.MAX_VALUE, false));
+	}
+
+	public boolean isComplete() {
+		return complete;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public int getSize() {
+		return keys.size();
+	}
+
+	/**
+	 * A listener for the underlying cache that keeps the {@link CacheKeyIndex} of the local node up to date. Since this
+	 * listener is part of the cache configuration, it is registered on every node holding the cache. It is registered
+	 * as a synchronous listener, so a key is indexed before the put that created it returns.
+	 */
+	public static class Updater implements CacheEntryCreatedListener<String, CachedResponse>,
+			CacheEntryRemovedListener<String, CachedResponse>, CacheEntryExpiredListener<String, CachedResponse>,
+			Serializable {
+
+		public void onCreated(Iterable<CacheEntryEvent<? extends String, ? extends CachedResponse>> events)
+				throws CacheEntryListenerException {
+			for (CacheEntryEvent<? extends String, ? extends CachedResponse> event : events) {
+				CacheKeyIndex keyIndex = CacheService.getKeyIndex(event.getSource().getName());
+				if (null != keyIndex) {
+					keyIndex.add(event.getKey());
+				}
+			}
+		}
+
+		public void onRemoved(Iterable<CacheEntryEvent<? extends String, ? extends CachedResponse>> events)
+				throws CacheEntryListenerException {
+			remove(events);
+		}
+
+		public void onExpired(Iterable<CacheEntryEvent<? extends String, ? extends CachedResponse>> events)
+				throws CacheEntryListenerException {
+			remove(events);
+		}
+
+		private void remove(Iterable<CacheEntryEvent<? extends String, ? extends CachedResponse>> events) {
+			for (CacheEntryEvent<? extends String, ? extends CachedResponse> event : events) {
+				CacheKeyIndex keyIndex = CacheService.getKeyIndex(event.getSource().getName());
+				if (null != keyIndex) {
+					keyIndex.remove(event.getKey());
+				}
+			}
+		}
+	}
+
+}
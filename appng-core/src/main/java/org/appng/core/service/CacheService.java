@@ -16,17 +16,32 @@
 package org.appng.core.service;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 import javax.cache.Cache;
 import javax.cache.Cache.Entry;
 import javax.cache.CacheManager;
 import javax.cache.Caching;
+import javax.cache.configuration.CacheEntryListenerConfiguration;
 import javax.cache.configuration.Factory;
+import javax.cache.configuration.FactoryBuilder;
+import javax.cache.configuration.MutableCacheEntryListenerConfiguration;
 import javax.cache.configuration.MutableConfiguration;
 import javax.cache.expiry.CreatedExpiryPolicy;
 import javax.cache.expiry.Duration;
@@ -44,7 +59,11 @@ import com.hazelcast.cache.ICache;
 import com.hazelcast.cache.impl.HazelcastServerCachingProvider;
 import com.hazelcast.client.cache.impl.HazelcastClientCachingProvider;
 import com.hazelcast.config.CacheConfig;
+import com.hazelcast.config.MapConfig;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.EntryProcessor;
+import com.hazelcast.map.IMap;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -72,8 +91,27 @@ public class CacheService {
 	public static final String STATS_AVG_PUT_TIME = "avgPutTime";
 	public static final String STATS_AVG_GET_TIME = "avgGetTime";
 	public static final String STATS_AVG_REMOVAL_TIME = "avgRemovalTime";
+	public static final String STATS_NEAR_CACHE_SIZE = "nearCacheSize";
+	public static final String STATS_NEAR_CACHE_BYTES = "nearCacheBytes";
+	public static final String STATS_NEAR_CACHE_HITS = "nearCacheHits";
+	public static final String STATS_NEAR_CACHE_MISSES = "nearCacheMisses";
+
+	/** The interval in seconds in which locally recorded cache hits are written to the cache */
+	public static final int HIT_STATISTICS_FLUSH_INTERVAL = 10;
+	/** The name of the map holding the hit counts of the page cache entries across the cluster */
+	public static final String PAGE_CACHE_HITS = "pageCacheHits";
+	private static final int HIT_STATISTICS_MAX_IDLE = (int) TimeUnit.DAYS.toSeconds(1);
+
+	/** The name of the map used for locking page cache keys across the cluster */
+	public static final String PAGE_CACHE_LOCKS = "pageCacheLocks";
+	private static final int LOCK_LEASE_TIME = 60;
 
 	private static CacheManager cacheManager;
+	private static HazelcastInstance hazelcastInstance;
+	private static final ConcurrentMap<String, ConcurrentMap<String, HitCounter>> PENDING_HITS = new ConcurrentHashMap<>();
+	private static ScheduledExecutorService hitStatisticsFlusher;
+	private static final ConcurrentMap<String, NearCache> NEAR_CACHES = new ConcurrentHashMap<>();
+	private static final ConcurrentMap<String, CacheKeyIndex> KEY_INDEXES = new ConcurrentHashMap<>();
 
 	public static CacheManager createCacheManager(HazelcastInstance instance, boolean isClient) {
 		Properties properties = new Properties();
@@ -82,9 +120,91 @@ public class CacheService {
 		Class<?> cacheProviderClass = isClient ? HazelcastClientCachingProvider.class
 				: HazelcastServerCachingProvider.class;
 		cacheManager = Caching.getCachingProvider(cacheProviderClass.getName()).getCacheManager(null, null, properties);
+		hazelcastInstance = instance;
+		// hit counts of entries that are no longer hit are dropped eventually
+		instance.getConfig().addMapConfig(new MapConfig(PAGE_CACHE_HITS).setMaxIdleSeconds(HIT_STATISTICS_MAX_IDLE));
+		startHitStatisticsFlusher();
 		return cacheManager;
 	}
 
+	private synchronized static void startHitStatisticsFlusher() {
+		if (null == hitStatisticsFlusher) {
+			ThreadFactory threadFactory = new ThreadFactoryBuilder().setDaemon(true)
+					.setNameFormat("appng-cache-statistics").build();
+			hitStatisticsFlusher = Executors.newSingleThreadScheduledExecutor(threadFactory);
+			hitStatisticsFlusher.scheduleWithFixedDelay(CacheService::flushHitStatistics,
+					HIT_STATISTICS_FLUSH_INTERVAL, HIT_STATISTICS_FLUSH_INTERVAL, TimeUnit.SECONDS);
+		}
+	}
+
+	/**
+	 * Records a hit for the given {@link CachedResponse}. The hit is only counted locally and written to the
+	 * {@value #PAGE_CACHE_HITS} map periodically (see {@link #HIT_STATISTICS_FLUSH_INTERVAL}), so a cache hit does not
+	 * cause an additional (cluster-wide) update. The hit counts are kept apart from the cache entries, so flushing them
+	 * does not update the entries themselves.
+	 * 
+	 * @param  cache
+	 *                        the {@link Cache} the response was retrieved from
+	 * @param  cachedResponse
+	 *                        the {@link CachedResponse} that was hit
+	 * @return                the number of hits for the response, as known after the last flush plus the hits that
+	 *                        have not been flushed yet
+	 * @see                   #flushHitStatistics()
+	 */
+	public static long recordHit(Cache<String, CachedResponse> cache, CachedResponse cachedResponse) {
+		ConcurrentMap<String, HitCounter> counters = PENDING_HITS.computeIfAbsent(cache.getName(),
+				c -> new ConcurrentHashMap<>());
+		HitCounter counter = counters.get(cachedResponse.getId());
+		if (null == counter) {
+			HitCounter newCounter = new HitCounter();
+			counter = counters.putIfAbsent(cachedResponse.getId(), newCounter);
+			if (null == counter) {
+				counter = newCounter;
+				if (null != hazelcastInstance) {
+					try {
+						// fetch the hits recorded so far without blocking the request
+						getHits().getAsync(cache.getName() + cachedResponse.getId())
+								.thenAccept(total -> newCounter.setTotal(null == total ? 0 : total));
+					} catch (RuntimeException e) {
+						LOGGER.debug("error while fetching hit statistics for {}: {}", cachedResponse.getId(),
+								e.getMessage());
+					}
+				}
+			}
+		}
+		counter.pending.increment();
+		return counter.total.get() + counter.pending.sum();
+	}
+
+	/**
+	 * Writes the hits recorded with {@link #recordHit(Cache, CachedResponse)} to the {@value #PAGE_CACHE_HITS} map.
+	 * The hits are added atomically using a {@link HitsUpdater}, which only touches the counter.
+	 */
+	public static void flushHitStatistics() {
+		for (Map.Entry<String, ConcurrentMap<String, HitCounter>> cacheHits : PENDING_HITS.entrySet()) {
+			String cacheName = cacheHits.getKey();
+			Cache<String, CachedResponse> cache = null == cacheManager ? null : cacheManager.getCache(cacheName);
+			ConcurrentMap<String, HitCounter> counters = cacheHits.getValue();
+			for (Map.Entry<String, HitCounter> hitEntry : counters.entrySet()) {
+				HitCounter counter = hitEntry.getValue();
+				long hits = counter.pending.sumThenReset();
+				if (hits == 0 || null == cache || cache.isClosed()) {
+					// a hit may have been recorded meanwhile
+					if (counter.pending.sum() == 0) {
+						counters.remove(hitEntry.getKey(), counter);
+					}
+					continue;
+				}
+				try {
+					counter.setTotal(getHits().executeOnKey(cacheName + hitEntry.getKey(), new HitsUpdater(hits)));
+				} catch (Exception e) {
+					counter.pending.add(hits);
+					LOGGER.warn(String.format("error while updating hit statistics for %s", hitEntry.getKey()), e);
+				}
+			}
+		}
+	}
+
 	/**
 	 * Returns the {@link CacheManager} instance.
 	 * 
@@ -106,10 +226,88 @@ public class CacheService {
 		return cacheManager.getCache(getCacheKey(site));
 	}
 
+	/**
+	 * Tries to acquire a cluster-wide lock for the given key of the given cache. The lock is released automatically
+	 * after {@value #LOCK_LEASE_TIME} seconds.
+	 * 
+	 * @param  cache
+	 *                 the {@link Cache}
+	 * @param  key
+	 *                 the key to lock
+	 * @param  timeout
+	 *                 the maximum time to wait for the lock, in milliseconds
+	 * @return         {@code true} if the lock has been acquired
+	 * @see            #unlock(Cache, String)
+	 */
+	public static boolean tryLock(Cache<String, CachedResponse> cache, String key, long timeout) {
+		try {
+			return getLocks().tryLock(cache.getName() + key, timeout, TimeUnit.MILLISECONDS, LOCK_LEASE_TIME,
+					TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		return false;
+	}
+
+	/**
+	 * Releases the lock acquired with {@link #tryLock(Cache, String, long)}.
+	 * 
+	 * @param cache
+	 *              the {@link Cache}
+	 * @param key
+	 *              the key to unlock
+	 */
+	public static void unlock(Cache<String, CachedResponse> cache, String key) {
+		try {
+			getLocks().unlock(cache.getName() + key);
+		} catch (IllegalMonitorStateException e) {
+			LOGGER.warn("lock for {} has already been released", key);
+		}
+	}
+
+	private static IMap<String, Boolean> getLocks() {
+		return hazelcastInstance.getMap(PAGE_CACHE_LOCKS);
+	}
+
+	private static IMap<String, Long> getHits() {
+		return hazelcastInstance.getMap(PAGE_CACHE_HITS);
+	}
+
+	/**
+	 * Returns the {@link NearCache} for the cache with the given name.
+	 * 
+	 * @param  cacheName
+	 *                   the name of the cache
+	 * @return           the {@link NearCache}, or {@code null} if no near cache is configured for this cache
+	 * @see              SiteProperties#CACHE_NEAR_CACHE_SIZE
+	 */
+	public static NearCache getNearCache(String cacheName) {
+		return NEAR_CACHES.get(cacheName);
+	}
+
+	/**
+	 * Returns the {@link CacheKeyIndex} for the cache with the given name.
+	 * 
+	 * @param  cacheName
+	 *                   the name of the cache
+	 * @return           the {@link CacheKeyIndex}, or {@code null} if there is no such cache
+	 */
+	public static CacheKeyIndex getKeyIndex(String cacheName) {
+		return KEY_INDEXES.get(cacheName);
+	}
+
 	public static void clearCache(Site site) {
 		Cache<String, CachedResponse> cache = getCache(site);
 		if (null != cache) {
 			cache.removeAll();
+			CacheKeyIndex keyIndex = getKeyIndex(cache.getName());
+			if (null != keyIndex) {
+				keyIndex.clear();
+			}
+		}
+		NearCache nearCache = getNearCache(getCacheKey(site));
+		if (null != nearCache) {
+			nearCache.clear();
 		}
 	}
 
@@ -129,36 +327,95 @@ public class CacheService {
 		Cache<String, CachedResponse> cache = cacheManager.getCache(cacheKey);
 		Boolean statisticsEnabled = site.getProperties().getBoolean(SiteProperties.CACHE_STATISTICS);
 		Integer ttl = site.getProperties().getInteger(SiteProperties.CACHE_TIME_TO_LIVE);
+		Integer nearCacheSize = site.getProperties().getInteger(SiteProperties.CACHE_NEAR_CACHE_SIZE, 0);
+		boolean nearCacheEnabled = nearCacheSize > 0;
+		if (nearCacheEnabled && HazelcastConfigurer.isClient()) {
+			LOGGER.info("No near cache for '{}' in client mode, configure Hazelcast's client near cache instead.",
+					cacheKey);
+			nearCacheEnabled = false;
+		}
 		if (null != cache) {
 			@SuppressWarnings({ "unchecked", "rawtypes" })
 			CacheConfig configuration = cache.getConfiguration(CacheConfig.class);
 			ExpiryPolicy ep = (ExpiryPolicy) configuration.getExpiryPolicyFactory().create();
 			if ((configuration.isStatisticsEnabled() ^ statisticsEnabled)
-					|| (ep.getExpiryForCreation().getDurationAmount() != ttl)) {
+					|| (ep.getExpiryForCreation().getDurationAmount() != ttl)
+					|| (hasListener(configuration, NearCache.Invalidator.class) ^ nearCacheEnabled)
+					|| !hasSynchronousListener(configuration, CacheKeyIndex.Updater.class)) {
 				cacheManager.destroyCache(cacheKey);
 				cache = null;
-				LOGGER.info("TTL and/or statistics setting has changed, destroyed cache '{}'.", cacheKey);
+				LOGGER.info("TTL, statistics and/or near cache setting has changed, destroyed cache '{}'.", cacheKey);
 			}
 		}
 
 		if (null == cache) {
+			KEY_INDEXES.put(cacheKey, new CacheKeyIndex(cacheKey, true));
 			MutableConfiguration<String, CachedResponse> configuration = new MutableConfiguration<>();
 			Factory<ExpiryPolicy> epf = CreatedExpiryPolicy.factoryOf(new Duration(TimeUnit.SECONDS, ttl));
 			configuration.setExpiryPolicyFactory(epf);
 			configuration.setStatisticsEnabled(statisticsEnabled);
 			configuration.setManagementEnabled(true);
+			// synchronous, so a key can be invalidated right after it has been put
+			configuration.addCacheEntryListenerConfiguration(new MutableCacheEntryListenerConfiguration<>(
+					FactoryBuilder.factoryOf(CacheKeyIndex.Updater.class), null, false, true));
+			if (nearCacheEnabled) {
+				configuration.addCacheEntryListenerConfiguration(new MutableCacheEntryListenerConfiguration<>(
+						FactoryBuilder.factoryOf(NearCache.Invalidator.class), null, false, false));
+			}
 			cache = cacheManager.createCache(cacheKey, configuration);
 			LOGGER.info("Created cache '{}' with TTL of {} seconds (statistics: {}).", cacheKey, ttl,
 					statisticsEnabled);
+		} else {
+			// the cache may already contain entries created by other nodes
+			KEY_INDEXES.putIfAbsent(cacheKey, new CacheKeyIndex(cacheKey, false));
+		}
+
+		if (nearCacheEnabled) {
+			long maxBytes = nearCacheSize * 1024L * 1024L;
+			NEAR_CACHES.put(cacheKey, new NearCache(cacheKey, maxBytes));
+			LOGGER.info("Created near cache for '{}' with a maximum size of {}MB.", cacheKey, nearCacheSize);
+		} else {
+			NEAR_CACHES.remove(cacheKey);
 		}
 		return cache;
 	}
 
+	private static boolean hasListener(CacheConfig<?, ?> configuration, Class<?> listenerType) {
+		return null != getListenerConfiguration(configuration, listenerType);
+	}
+
+	private static boolean hasSynchronousListener(CacheConfig<?, ?> configuration, Class<?> listenerType) {
+		CacheEntryListenerConfiguration<?, ?> listenerConfig = getListenerConfiguration(configuration, listenerType);
+		return null != listenerConfig && listenerConfig.isSynchronous();
+	}
+
+	private static CacheEntryListenerConfiguration<?, ?> getListenerConfiguration(CacheConfig<?, ?> configuration,
+			Class<?> listenerType) {
+		for (CacheEntryListenerConfiguration<?, ?> listenerConfig : configuration
+				.getCacheEntryListenerConfigurations()) {
+			Factory<?> factory = listenerConfig.getCacheEntryListenerFactory();
+			if (factory instanceof FactoryBuilder.ClassFactory
+					&& listenerType.equals(((FactoryBuilder.ClassFactory<?>) factory).create().getClass())) {
+				return listenerConfig;
+			}
+		}
+		return null;
+	}
+
 	private static String getCacheKey(Site site) {
 		return new StringBuilder(PAGE_CACHE).append(DASH).append(site.getHost()).toString();
 	}
 
 	public static void shutdown() {
+		synchronized (CacheService.class) {
+			if (null != hitStatisticsFlusher) {
+				hitStatisticsFlusher.shutdownNow();
+				hitStatisticsFlusher = null;
+			}
+		}
+		flushHitStatistics();
+		NEAR_CACHES.clear();
+		KEY_INDEXES.clear();
 		for (String cacheName : cacheManager.getCacheNames()) {
 			cacheManager.getCache(cacheName).close();
 			LOGGER.info("Shutting down cache: {}", cacheName);
@@ -188,6 +445,13 @@ public class CacheService {
 					stats.put(STATS_AVG_GET_TIME, String.valueOf(cacheStatistics.getAverageGetTime()));
 					stats.put(STATS_REMOVALS, String.valueOf(cacheStatistics.getCacheRemovals()));
 					stats.put(STATS_AVG_REMOVAL_TIME, String.valueOf(cacheStatistics.getAverageRemoveTime()));
+					NearCache nearCache = getNearCache(cache.getName());
+					if (null != nearCache) {
+						stats.put(STATS_NEAR_CACHE_SIZE, String.valueOf(nearCache.getSize()));
+						stats.put(STATS_NEAR_CACHE_BYTES, String.valueOf(nearCache.getBytes()));
+						stats.put(STATS_NEAR_CACHE_HITS, String.valueOf(nearCache.getHits()));
+						stats.put(STATS_NEAR_CACHE_MISSES, String.valueOf(nearCache.getMisses()));
+					}
 				} else {
 					stats.put("Status",
 							String.format("Failed to retrieve caching statistics for site %s", site.getName()));
@@ -205,6 +469,14 @@ public class CacheService {
 	public static void expireCacheElement(Site site, String cacheElement) {
 		boolean hasRemoved;
 		try {
+			CacheKeyIndex keyIndex = getKeyIndex(getCacheKey(site));
+			if (null != keyIndex) {
+				keyIndex.remove(cacheElement);
+			}
+			NearCache nearCache = getNearCache(getCacheKey(site));
+			if (null != nearCache) {
+				nearCache.remove(cacheElement);
+			}
 			hasRemoved = getCache(site).remove(cacheElement);
 			if (!hasRemoved) {
 				throw new BusinessException("No such element: " + cacheElement);
@@ -222,6 +494,10 @@ public class CacheService {
 				for (Entry<String, CachedResponse> entry : cache) {
 					appngCacheEntries.add(entry.getValue());
 				}
+				Set<String> hitKeys = new HashSet<>();
+				appngCacheEntries.forEach(e -> hitKeys.add(cache.getName() + e.getId()));
+				Map<String, Long> hits = getHits().getAll(hitKeys);
+				appngCacheEntries.forEach(e -> e.addHits(hits.getOrDefault(cache.getName() + e.getId(), 0L)));
 			}
 		} catch (Exception e) {
 			LOGGER.error("Error while getting cache entries.", e);
@@ -233,18 +509,131 @@ public class CacheService {
 		return expireCacheElementsStartingWith(CacheService.getCache(site), cacheElementPrefix);
 	}
 
+	/**
+	 * Removes all elements whose key starts with {@code GET} followed by the given prefix from the given cache.
+	 * 
+	 * @param  cache
+	 *                            the {@link Cache}
+	 * @param  cacheElementPrefix
+	 *                            the prefix of the servlet path
+	 * @return                    the number of removed elements
+	 * @see                       #expireCacheElementsStartingWith(Cache, Collection)
+	 */
 	public static int expireCacheElementsStartingWith(Cache<String, CachedResponse> cache, String cacheElementPrefix) {
-		int count = 0;
+		return expireCacheElementsStartingWith(cache, Collections.singletonList(cacheElementPrefix));
+	}
+
+	/**
+	 * Removes all elements whose key starts with {@code GET} followed by one of the given prefixes from the given
+	 * cache. The keys are looked up in the {@link CacheKeyIndex} of the cache, so only the matching elements are
+	 * touched. If the index is not complete yet, the cache is iterated once to complete the index.
+	 * 
+	 * @param  cache
+	 *                              the {@link Cache}
+	 * @param  cacheElementPrefixes
+	 *                              the prefixes of the servlet paths
+	 * @return                      the number of removed elements
+	 */
+	public static int expireCacheElementsStartingWith(Cache<String, CachedResponse> cache,
+			Collection<String> cacheElementPrefixes) {
+		CacheKeyIndex keyIndex = getKeyIndex(cache.getName());
+		if (null == keyIndex) {
+			keyIndex = new CacheKeyIndex(cache.getName(), false);
+			CacheKeyIndex existing = KEY_INDEXES.putIfAbsent(cache.getName(), keyIndex);
+			keyIndex = null == existing ? keyIndex : existing;
+		}
+		if (!keyIndex.isComplete()) {
+			List<String> keys = new ArrayList<>();
+			for (Entry<String, CachedResponse> entry : cache) {
+				keys.add(entry.getKey());
+			}
+			keyIndex.addAll(keys);
+			LOGGER.info("indexed {} keys of cache {}", keys.size(), cache.getName());
+		}
+		Set<String> keys = new HashSet<>();
+		for (String cacheElementPrefix : cacheElementPrefixes) {
+			keys.addAll(keyIndex.getKeysStartingWith(HttpMethod.GET.name() + cacheElementPrefix));
+		}
+		int removed = expireCacheElements(cache, keys);
+		LOGGER.info("removed {} cache elements for {} (index size: {})", removed, cacheElementPrefixes,
+				keyIndex.getSize());
+		return removed;
+	}
+
+	/**
+	 * Removes the elements with the given keys from the given cache. For an {@link ICache}, the elements are removed
+	 * asynchronously in parallel.
+	 * 
+	 * @param  cache
+	 *               the {@link Cache}
+	 * @param  keys
+	 *               the keys of the elements to remove
+	 * @return       the number of elements that actually have been removed
+	 */
+	public static int expireCacheElements(Cache<String, CachedResponse> cache, Collection<String> keys) {
+		if (keys.isEmpty()) {
+			return 0;
+		}
+		Set<String> keySet = keys instanceof Set ? (Set<String>) keys : new HashSet<>(keys);
+		NearCache nearCache = getNearCache(cache.getName());
+		if (null != nearCache) {
+			keySet.forEach(nearCache::remove);
+		}
 		int removed = 0;
-		for (Entry<String, CachedResponse> entry : cache) {
-			count++;
-			if (entry.getKey().startsWith(HttpMethod.GET.name() + cacheElementPrefix) && cache.remove(entry.getKey())) {
-				LOGGER.debug("removed from cache: {}", entry.getKey());
-				removed++;
+		if (cache instanceof ICache) {
+			ICache<String, CachedResponse> iCache = (ICache<String, CachedResponse>) cache;
+			List<CompletableFuture<Boolean>> removals = new ArrayList<>();
+			for (String key : keySet) {
+				removals.add(iCache.removeAsync(key).toCompletableFuture());
 			}
+			for (CompletableFuture<Boolean> removal : removals) {
+				removed += Boolean.TRUE.equals(removal.join()) ? 1 : 0;
+			}
+		} else {
+			for (String key : keySet) {
+				removed += cache.remove(key) ? 1 : 0;
+			}
+		}
+		CacheKeyIndex keyIndex = getKeyIndex(cache.getName());
+		if (null != keyIndex) {
+			keyIndex.removeAll(keySet);
+		}
+		if (LOGGER.isDebugEnabled()) {
+			LOGGER.debug("removed {} elements from cache {}: {}", removed, cache.getName(), keySet);
 		}
-		LOGGER.info("removed {} cache elements for {} (cache size: {})", removed, cacheElementPrefix, count);
 		return removed;
 	}
 
+	/**
+	 * The hits of a {@link CachedResponse} recorded on this node, together with the total number of hits as known
+	 * after the last flush.
+	 */
+	private static class HitCounter {
+		private final LongAdder pending = new LongAdder();
+		private final AtomicLong total = new AtomicLong();
+
+		private void setTotal(long total) {
+			this.total.accumulateAndGet(total, Math::max);
+		}
+	}
+
+	/**
+	 * An {@link EntryProcessor} adding hits to the hit count of a {@link CachedResponse}. Returns the new hit count.
+	 */
+	static class HitsUpdater implements EntryProcessor<String, Long, Long> {
+
+		private final long hits;
+
+		HitsUpdater(long hits) {
+			this.hits = hits;
+		}
+
+		public Long process(Map.Entry<String, Long> entry) {
+			Long current = entry.getValue();
+			long total = (null == current ? 0 : current) + hits;
+			entry.setValue(total);
+			return total;
+		}
+	}
+
 }
@@ -49,6 +49,7 @@ import org.appng.api.InvalidConfigurationException;
 import org.appng.api.Path;
 import org.appng.api.Platform;
 import org.appng.api.Request;
+import org.appng.api.RequestUtil;
 import org.appng.api.Scope;
 import org.appng.api.SiteProperties;
 import org.appng.api.auth.PasswordPolicy;
@@ -1844,6 +1845,7 @@ public class CoreService {
 						CacheService.clearCache(shutdownSite);
 					}
 				}
+				RequestUtil.clearCache(siteName);
 				shutdownSite.setState(shutdownSite.isActive() ? SiteState.STOPPED : SiteState.INACTIVE);
 				auditableListener.createEvent(Type.INFO, "Shut down site " + shutdownSite.getName());
 				if (removeFromSiteMap) {
@@ -43,7 +43,10 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import javax.cache.CacheManager;
@@ -76,6 +79,7 @@ import org.appng.api.support.ApplicationConfigProviderImpl;
 import org.appng.api.support.ConfigValidator;
 import org.appng.api.support.FieldProcessorImpl;
 import org.appng.api.support.SiteClassLoader;
+import org.appng.api.support.SiteMap;
 import org.appng.api.support.environment.DefaultEnvironment;
 import org.appng.api.support.environment.EnvironmentKeys;
 import org.appng.core.controller.RepositoryWatcher;
@@ -96,9 +100,11 @@ import org.appng.core.model.JarInfo;
 import org.appng.core.model.JarInfo.JarInfoBuilder;
 import org.appng.core.model.PlatformTransformer;
 import org.appng.core.model.RepositoryCacheFactory;
+import org.appng.core.model.ThymeleafProcessor;
 import org.appng.core.repository.config.ApplicationPostProcessor;
 import org.appng.core.service.MigrationService.MigrationStatus;
 import org.appng.search.indexer.DocumentIndexer;
+import org.appng.search.searcher.SearcherRegistry;
 import org.appng.tools.ui.StringNormalizer;
 import org.appng.xml.MarshallService;
 import org.appng.xml.platform.Messages;
@@ -126,6 +132,8 @@ import lombok.extern.slf4j.Slf4j;
 public class InitializerService {
 
 	private static final int THREAD_PRIORITY_LOW = 3;
+	// the time to wait for the threads of a site to terminate, so that e.g. the index lock is released
+	private static final int SITE_THREADS_TERMINATION_TIMEOUT = 30;
 
 	private static final String LIB_LOCATION = "/WEB-INF/lib";
 	private static final String EXT_JAR = ".jar";
@@ -134,6 +142,7 @@ public class InitializerService {
 	public static final String APPNG_GROUP = "appng.group";
 
 	private ConcurrentMap<String, List<ExecutorService>> siteThreads;
+	private ConcurrentMap<String, ExecutorService> datasourceExecutors;
 
 	@Autowired
 	private CoreService coreService;
@@ -200,22 +209,46 @@ public class InitializerService {
 
 	public InitializerService() {
 		this.siteThreads = new ConcurrentHashMap<>();
+		this.datasourceExecutors = new ConcurrentHashMap<>();
 	}
 
 	private void startIndexThread(Site site, DocumentIndexer documentIndexer) {
 		startSiteThread(site, "appng-indexthread-" + site.getName(), THREAD_PRIORITY_LOW, documentIndexer);
 	}
 
-	private void startRepositoryWatcher(Site site, boolean cacheEnabled, String jspType) {
-		if (cacheEnabled && site.getProperties().getBoolean(SiteProperties.CACHE_WATCH_REPOSITORY, false)) {
+	private void startRepositoryWatcher(Site site, boolean cacheEnabled, String jspType,
+			DocumentIndexer documentIndexer) {
+		boolean watchCache = cacheEnabled
+				&& site.getProperties().getBoolean(SiteProperties.CACHE_WATCH_REPOSITORY, false);
+		boolean watchIndex = site.getProperties().getBoolean(SiteProperties.INDEX_WATCH_REPOSITORY, false);
+		if (watchCache || watchIndex) {
 			String watcherRuleSourceSuffix = site.getProperties()
 					.getString(SiteProperties.CACHE_WATCHER_RULE_SOURCE_SUFFIX, RepositoryWatcher.DEFAULT_RULE_SUFFIX);
 			String threadName = String.format("appng-repositoryWatcher-%s", site.getName());
-			RepositoryWatcher repositoryWatcher = new RepositoryWatcher(site, jspType, watcherRuleSourceSuffix);
+			RepositoryWatcher repositoryWatcher = new RepositoryWatcher(site, jspType, watcherRuleSourceSuffix,
+					watchCache, watchIndex ? documentIndexer : null);
 			startSiteThread(site, threadName, THREAD_PRIORITY_LOW, repositoryWatcher);
 		}
 	}
 
+	private ExecutorService startDatasourceExecutor(Site site) {
+		Integer datasourceThreads = site.getProperties().getInteger(SiteProperties.DATASOURCE_THREADS, 0);
+		if (datasourceThreads < 1) {
+			return null;
+		}
+		ThreadFactory threadFactory = new ThreadFactoryBuilder().setDaemon(true)
+				.setNameFormat("appng-datasources-" + site.getName() + "-%d").build();
+		// if the queue is full or the executor has already been shut down, the calling thread performs the datasource
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(datasourceThreads, datasourceThreads, 60L,
+				TimeUnit.SECONDS, new LinkedBlockingQueue<>(datasourceThreads * 10), threadFactory,
+				(runnable, pool) -> runnable.run());
+		executor.allowCoreThreadTimeOut(true);
+		siteThreads.computeIfAbsent(site.getName(), n -> new ArrayList<>()).add(executor);
+		datasourceExecutors.put(site.getName(), executor);
+		LOGGER.info("started datasource executor for site {} with {} threads", site.getName(), datasourceThreads);
+		return executor;
+	}
+
 	private void startSiteThread(Site site, String threadName, int priority, Runnable runnable) {
 		if (!siteThreads.containsKey(site.getName())) {
 			siteThreads.put(site.getName(), new ArrayList<>());
@@ -285,7 +318,7 @@ public class InitializerService {
 		ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
 		Map<String, Site> siteMap = env.getAttribute(Scope.PLATFORM, Platform.Environment.SITES);
 		if (null == siteMap) {
-			siteMap = new ConcurrentHashMap<>();
+			siteMap = new SiteMap();
 			env.setAttribute(Scope.PLATFORM, Platform.Environment.SITES, siteMap);
 		}
 		int activeSites = 0;
@@ -543,6 +576,7 @@ public class InitializerService {
 
 		Boolean devMode = platformConfig.getBoolean(Platform.Property.DEV_MODE);
 		Boolean monitorPerformance = platformConfig.getBoolean(Platform.Property.MONITOR_PERFORMANCE);
+		ExecutorService datasourceExecutor = startDatasourceExecutor(site);
 
 		File applicationRootFolder = platformConfig.getApplicationDir();
 		File imageMagickPath = new File(platformConfig.getString(Platform.Property.IMAGEMAGICK_PATH));
@@ -608,6 +642,7 @@ public class InitializerService {
 					}
 					ApplicationProvider applicationProvider = new ApplicationProvider(site, application,
 							monitorPerformance);
+					applicationProvider.setDatasourceExecutor(datasourceExecutor);
 					getCoreService().initApplicationProperties(site, applicationProvider);
 					applicationProvider.setResources(applicationResources);
 					applicationProvider.setDatabaseConnection(siteApplication.getDatabaseConnection());
@@ -674,7 +709,8 @@ public class InitializerService {
 		}
 
 		startIndexThread(site, documentIndexer);
-		startRepositoryWatcher(site, cacheEnabled, platformConfig.getString(Platform.Property.JSP_FILE_TYPE));
+		startRepositoryWatcher(site, cacheEnabled, platformConfig.getString(Platform.Property.JSP_FILE_TYPE),
+				documentIndexer);
 
 		String datasourceConfigurerName = siteProps.getString(SiteProperties.DATASOURCE_CONFIGURER);
 		try {
@@ -788,6 +824,7 @@ public class InitializerService {
 		env.setAttribute(Scope.PLATFORM, site.getName() + "." + EnvironmentKeys.JAR_INFO_MAP, jarInfos);
 
 		PlatformTransformer.clearCache();
+		ThymeleafProcessor.clearCache(site.getName());
 		coreService.setSiteStartUpTime(site, new Date());
 
 		if (site.getProperties().getBoolean(SiteProperties.SUPPORT_RELOAD_FILE)) {
@@ -880,12 +917,14 @@ public class InitializerService {
 			}
 		}
 		CacheService.shutdown();
+		SearcherRegistry.closeAll();
 		env.removeAttribute(Scope.PLATFORM, Platform.Environment.SITES);
 		coreService.createEvent(Type.INFO, "Stopped platform");
 	}
 
 	/**
-	 * Shuts down the given {@link Site}.
+	 * Shuts down the given {@link Site}. Waits for the threads of the site to terminate, so a reloaded site doesn't
+	 * compete with them (e.g. for the lock of the search index).
 	 * 
 	 * @param env
 	 *             the current {@link Environment}.
@@ -893,16 +932,41 @@ public class InitializerService {
 	 *             the {@link Site} to shut down
 	 */
 	public void shutDownSite(Environment env, Site site, boolean removeFromSiteMap) {
-		List<ExecutorService> executors = siteThreads.get(site.getName());
+		List<ExecutorService> executors = siteThreads.remove(site.getName());
+		ExecutorService datasourceExecutor = datasourceExecutors.remove(site.getName());
 		if (null != executors) {
 			LOGGER.info("shutting down site threads for {}", site);
 			for (ExecutorService executorService : executors) {
-				executorService.shutdownNow();
+				if (executorService == datasourceExecutor) {
+					// requests are waiting for the queued datasources, so let them complete
+					executorService.shutdown();
+				} else {
+					executorService.shutdownNow();
+				}
 			}
+			awaitTermination(site, executors);
 		}
+		ThymeleafProcessor.clearCache(site.getName());
 		coreService.shutdownSite(env, site.getName(), removeFromSiteMap);
 	}
 
+	private void awaitTermination(Site site, List<ExecutorService> executors) {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(SITE_THREADS_TERMINATION_TIMEOUT);
+		try {
+			for (ExecutorService executorService : executors) {
+				long remaining = deadline - System.nanoTime();
+				if (!executorService.awaitTermination(Math.max(0, remaining), TimeUnit.NANOSECONDS)) {
+					LOGGER.warn("site threads for {} did not terminate within {}s", site,
+							SITE_THREADS_TERMINATION_TIMEOUT);
+					return;
+				}
+			}
+		} catch (InterruptedException e) {
+			LOGGER.warn("interrupted while waiting for the site threads of {} to terminate", site);
+			Thread.currentThread().interrupt();
+		}
+	}
+
 	public CoreService getCoreService() {
 		return coreService;
 	}
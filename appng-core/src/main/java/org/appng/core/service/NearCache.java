@@ -0,0 +1,256 @@
+/*
+ * Copyright 2011-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.appng.core.service;
+
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.cache.event.CacheEntryEvent;
+import javax.cache.event.CacheEntryExpiredListener;
+import javax.cache.event.CacheEntryListenerException;
+import javax.cache.event.CacheEntryRemovedListener;
+import javax.cache.event.CacheEntryUpdatedListener;
+
+import org.appng.core.controller.CachedResponse;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A per-node cache in front of a (distributed) page cache, bounded by the total size of the cached responses. The
+ * least recently used entries are evicted first. Entries are invalidated when they expire or when they are updated in
+ * or removed from the underlying cache on any node (see {@link Invalidator}).
+ * <p>
+ * Each invalidation increments the {@link #getGeneration() generation} of the near cache. A response read from the
+ * underlying cache should be put with {@link #put(String, CachedResponse, long)}, passing the generation from before
+ * the read. The put is then skipped if an invalidation happened in between, because the response may be outdated.
+ * </p>
+ * <p>
+ * The entries are held in a concurrent, size-weighted Guava {@link Cache}, so reads do not block each other.
+ * </p>
+ *
+ * @author Matthias Müller
+ * @see    CacheService#getNearCache(String)
+ */
+@Slf4j
+public class NearCache {
+
+	private final String name;
+	private final long maxBytes;
+	private final Cache<String, CachedResponse> entries;
+	private final AtomicLong generation = new AtomicLong();
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+
+	NearCache(String name, long maxBytes) {
+		this.name = name;
+		this.maxBytes = maxBytes;
+		// a single segment, so the size limit and the LRU order apply to the whole cache, reads are lock-free anyway
+		this.entries = CacheBuilder.newBuilder().concurrencyLevel(1).maximumWeight(maxBytes)
+				.weigher((String k, CachedResponse v) -> (int) Math.min(sizeOf(v), Integer.MAX_VALUE)).build();
+	}
+
+	/**
+	 * Returns the {@link CachedResponse} for the given key, if present and not expired.
+	 *
+	 * @param  key
+	 *             the key
+	 * @return     the {@link CachedResponse}, or {@code null} if there is no such (valid) entry
+	 */
+	public CachedResponse get(String key) {
+		CachedResponse cachedResponse = entries.getIfPresent(key);
+		if (null != cachedResponse && isExpired(cachedResponse)) {
+			entries.asMap().remove(key, cachedResponse);
+			cachedResponse = null;
+		}
+		(null == cachedResponse ? misses : hits).increment();
+		return cachedResponse;
+	}
+
+	/**
+	 * Puts the given {@link CachedResponse} into this near cache, evicting the least recently used entries if the
+	 * maximum size would be exceeded. Responses larger than the maximum size are not cached.
+	 *
+	 * @param key
+	 *                       the key
+	 * @param cachedResponse
+	 *                       the {@link CachedResponse}
+	 */
+	public void put(String key, CachedResponse cachedResponse) {
+		put(key, cachedResponse, -1);
+	}
+
+	/**
+	 * Puts the given {@link CachedResponse} into this near cache, unless there was an invalidation since the given
+	 * generation.
+	 *
+	 * @param  key
+	 *                        the key
+	 * @param  cachedResponse
+	 *                        the {@link CachedResponse}
+	 * @param  generation
+	 *                        the {@link #getGeneration() generation} before the response was read from (or written
+	 *                        to) the underlying cache, {@code -1} to put the response regardless of the generation
+	 * @return                {@code true} if the response has been put
+	 * @see                   #put(String, CachedResponse)
+	 */
+	public boolean put(String key, CachedResponse cachedResponse, long generation) {
+		if (sizeOf(cachedResponse) > maxBytes || isExpired(cachedResponse)) {
+			return false;
+		}
+		if (generation >= 0 && generation != this.generation.get()) {
+			LOGGER.trace("not putting {} into near cache {}, it has been invalidated meanwhile", key, name);
+			return false;
+		}
+		entries.put(key, cachedResponse);
+		// an invalidation may have happened while putting
+		if (generation >= 0 && generation != this.generation.get()) {
+			entries.asMap().remove(key, cachedResponse);
+			return false;
+		}
+		return true;
+	}
+
+	public void remove(String key) {
+		generation.incrementAndGet();
+		entries.invalidate(key);
+	}
+
+	/**
+	 * Returns the current generation of this near cache, which is incremented on each invalidation.
+	 * 
+	 * @return the generation
+	 * @see    #put(String, CachedResponse, long)
+	 */
+	public long getGeneration() {
+		return generation.get();
+	}
+
+	/**
+	 * Removes the entry with the given key, if it was created before the given {@link CachedResponse}.
+	 * 
+	 * @param  key
+	 *                        the key
+	 * @param  cachedResponse
+	 *                        the current {@link CachedResponse} for the key
+	 * @return                {@code true} if an entry has been removed
+	 */
+	boolean removeOutdated(String key, CachedResponse cachedResponse) {
+		// the entry may not be present yet, but a response read before this update must not be put anymore
+		generation.incrementAndGet();
+		CachedResponse existing = entries.getIfPresent(key);
+		return null != existing
+				&& (null == cachedResponse || existing.getCreationTime().before(cachedResponse.getCreationTime()))
+				&& entries.asMap().remove(key, existing);
+	}
+
+	public void clear() {
+		generation.incrementAndGet();
+		entries.invalidateAll();
+	}
+
+	private boolean isExpired(CachedResponse cachedResponse) {
+		return null != cachedResponse.getExpirationTime()
+				&& cachedResponse.getExpirationTime().getTime() <= System.currentTimeMillis();
+	}
+
+	private static long sizeOf(CachedResponse cachedResponse) {
+		long size = cachedResponse.getContentLength();
+		for (byte[] encoded : cachedResponse.getEncodedData().values()) {
+			size += encoded.length;
+		}
+		return size;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public long getMaxBytes() {
+		return maxBytes;
+	}
+
+	public int getSize() {
+		return (int) entries.size();
+	}
+
+	/**
+	 * Returns the total size of the cached responses. Since the responses are iterated, this is meant for statistics
+	 * only.
+	 * 
+	 * @return the total size, in bytes
+	 */
+	public long getBytes() {
+		long bytes = 0;
+		for (CachedResponse cachedResponse : entries.asMap().values()) {
+			bytes += sizeOf(cachedResponse);
+		}
+		return bytes;
+	}
+
+	public long getHits() {
+		return hits.sum();
+	}
+
+	public long getMisses() {
+		return misses.sum();
+	}
+
+	/**
+	 * A listener for the underlying cache that invalidates the {@link NearCache} of the local node whenever an entry
+	 * is updated, removed or expires on any node. Since this listener is part of the cache configuration, it is
+	 * registered on every node holding the cache.
+	 */
+	public static class Invalidator implements CacheEntryRemovedListener<String, CachedResponse>,
+			CacheEntryExpiredListener<String, CachedResponse>, CacheEntryUpdatedListener<String, CachedResponse>,
+			Serializable {
+
+		public void onUpdated(Iterable<CacheEntryEvent<? extends String, ? extends CachedResponse>> events)
+				throws CacheEntryListenerException {
+			for (CacheEntryEvent<? extends String, ? extends CachedResponse> event : events) {
+				NearCache nearCache = CacheService.getNearCache(event.getSource().getName());
+				// an update with the same response keeps the entry, only a re-rendered page replaces it
+				if (null != nearCache && nearCache.removeOutdated(event.getKey(), event.getValue())) {
+					LOGGER.trace("invalidated updated {} in near cache {}", event.getKey(), nearCache.getName());
+				}
+			}
+		}
+
+		public void onRemoved(Iterable<CacheEntryEvent<? extends String, ? extends CachedResponse>> events)
+				throws CacheEntryListenerException {
+			invalidate(events);
+		}
+
+		public void onExpired(Iterable<CacheEntryEvent<? extends String, ? extends CachedResponse>> events)
+				throws CacheEntryListenerException {
+			invalidate(events);
+		}
+
+		private void invalidate(Iterable<CacheEntryEvent<? extends String, ? extends CachedResponse>> events) {
+			for (CacheEntryEvent<? extends String, ? extends CachedResponse> event : events) {
+				NearCache nearCache = CacheService.getNearCache(event.getSource().getName());
+				if (null != nearCache) {
+					nearCache.remove(event.getKey());
+					LOGGER.trace("invalidated {} in near cache {}", event.getKey(), nearCache.getName());
+				}
+			}
+		}
+	}
+
+}
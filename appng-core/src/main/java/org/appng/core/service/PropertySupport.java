@@ -235,10 +235,18 @@ public class PropertySupport {
 		addSiteProperty(SiteProperties.SERVICE_OUTPUT_FORMAT, "html");
 		addSiteProperty(SiteProperties.SERVICE_OUTPUT_TYPE, "service");
 		addSiteProperty(SiteProperties.SERVICE_PATH, "/service");
+		addSiteProperty(SiteProperties.STREAM_SERVICE_DATASOURCES, false);
 		addSiteProperty(SiteProperties.SUPPORTED_LANGUAGES, "en, de");
 		addSiteProperty(SiteProperties.CACHE_CLEAR_ON_SHUTDOWN, true);
+		addSiteProperty(SiteProperties.CACHE_COALESCING_TIMEOUT, 5000);
+		addSiteProperty(SiteProperties.CACHE_COALESCING_CLUSTER_WIDE, false);
+		addSiteProperty(SiteProperties.CACHE_COMPRESSION, "gzip");
+		addSiteProperty(SiteProperties.CACHE_COMPRESSION_MIN_SIZE, 256);
 		addSiteProperty(SiteProperties.CACHE_ENABLED, false);
 		addSiteProperty(SiteProperties.CACHE_EXCEPTIONS, managerPath + "\r\n/health", Type.MULTILINE);
+		addSiteProperty(SiteProperties.CACHE_NEAR_CACHE_SIZE, 0);
+		addSiteProperty(SiteProperties.CACHE_REFRESH_HIT_COUNT, 0);
+		addSiteProperty(SiteProperties.CACHE_SOFT_TIME_TO_LIVE, 0);
 		addSiteProperty(SiteProperties.CACHE_TIME_TO_LIVE, 1800);
 		addSiteProperty(SiteProperties.CACHE_TIMEOUTS, StringUtils.EMPTY, Type.MULTILINE);
 		addSiteProperty(SiteProperties.CACHE_TIMEOUTS_ANT_STYLE, true);
@@ -260,6 +268,8 @@ public class PropertySupport {
 		addSiteProperty(SiteProperties.INDEX_CONFIG, "/de;de;GermanAnalyzer|/assets;de;GermanAnalyzer");
 		addSiteProperty(SiteProperties.INDEX_FILETYPES, "jsp,pdf,doc");
 		addSiteProperty(SiteProperties.INDEX_FILE_SYSTEM_QUEUE_SIZE, 2500);
+		addSiteProperty(SiteProperties.INDEX_FILE_SYSTEM_THREADS, 2);
+		addSiteProperty(SiteProperties.INDEX_WATCH_REPOSITORY, false);
 		addSiteProperty(SiteProperties.DEFAULT_PAGE, "index");
 		addSiteProperty(SiteProperties.DEFAULT_PAGE_SIZE, 25);
 		addSiteProperty(SiteProperties.APPEND_TAB_ID, false);
@@ -273,6 +283,7 @@ public class PropertySupport {
 		addSiteProperty(Platform.Property.TIME_ZONE, TimeZone.getDefault().getID());
 		addSiteProperty(SiteProperties.TEMPLATE, "appng");
 		addSiteProperty(SiteProperties.DATASOURCE_CONFIGURER, HikariCPConfigurer.class.getName());
+		addSiteProperty(SiteProperties.DATASOURCE_THREADS, 0);
 		addSiteProperty(SiteProperties.TAG_PREFIX, "appNG");
 		addSiteProperty(SiteProperties.REWRITE_CONFIG, "/meta/conf/urlrewrite.xml");
 		addSiteProperty(SiteProperties.SUPPORT_RELOAD_FILE,
@@ -405,6 +416,7 @@ public class PropertySupport {
 		addPlatformProperty(defaultOverrides, Platform.Property.UPLOAD_DIR, "/uploads");
 		addPlatformProperty(defaultOverrides, Platform.Property.VHOST_MODE, VHostMode.NAME_BASED.name());
 		addPlatformProperty(defaultOverrides, Platform.Property.WRITE_DEBUG_FILES, Boolean.FALSE);
+		addPlatformProperty(defaultOverrides, Platform.Property.XSLT_CACHE_SIZE, 20);
 		addPlatformProperty(defaultOverrides, Platform.Property.XSS_PROTECT, Boolean.FALSE);
 		addPlatformProperty(defaultOverrides, Platform.Property.XSS_ALLOWED_TAGS, "a href class style|div align style");
 
@@ -490,15 +490,22 @@ public class ControllerTest extends Controller {
 	}
 
 	public void testApplication(String path) throws InvalidConfigurationException {
-		when(base.requestProcessor.processWithTemplate(isA(Site.class), isA(File.class))).thenReturn("ok");
 		when(base.request.getServletPath()).thenReturn(path);
 		try {
+			Mockito.doAnswer(i -> {
+				PrintWriter writer = i.getArgumentAt(2, HttpServletResponse.class).getWriter();
+				writer.println("ok");
+				writer.flush();
+				return null;
+			}).when(base.requestProcessor).processWithTemplate(isA(Site.class), isA(File.class),
+					isA(HttpServletResponse.class));
 			doGet(base.request, base.response);
 			Mockito.verify(env).setAttribute(Scope.REQUEST, EnvironmentKeys.SERVLETPATH, path);
 			Mockito.verify(env).setAttribute(Scope.REQUEST, EnvironmentKeys.BASE_URL, "/manager");
 			String result = new String(base.out.toByteArray());
 			Assert.assertEquals("ok" + System.getProperty("line.separator"), result);
-			verify(base.requestProcessor).processWithTemplate(isA(Site.class), isA(File.class));
+			verify(base.requestProcessor).processWithTemplate(isA(Site.class), isA(File.class),
+					isA(HttpServletResponse.class));
 		} catch (Exception e) {
 			Assert.fail(e.getMessage());
 		}
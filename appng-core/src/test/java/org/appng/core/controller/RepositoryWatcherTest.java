@@ -17,7 +17,12 @@ package org.appng.core.controller;
 
 import java.io.File;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadFactory;
@@ -28,14 +33,25 @@ import javax.servlet.http.HttpServletRequest;
 
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.FilenameUtils;
+import org.apache.lucene.analysis.en.EnglishAnalyzer;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
 import org.appng.api.SiteProperties;
 import org.appng.api.model.Property;
+import org.appng.api.search.Document;
 import org.appng.api.support.PropertyHolder;
 import org.appng.core.domain.SiteImpl;
 import org.appng.core.service.CacheService;
 import org.appng.core.service.HazelcastConfigurer;
+import org.appng.search.indexer.DocumentIndexer;
+import org.appng.search.indexer.FileSystemProvider;
+import org.appng.search.indexer.IndexConfig;
+import org.appng.search.searcher.SearcherRegistry;
 import org.junit.Assert;
 import org.junit.Test;
+import org.mockito.Mockito;
 import org.springframework.http.HttpHeaders;
 import org.springframework.mock.web.MockHttpServletRequest;
 
@@ -101,6 +117,110 @@ public class RepositoryWatcherTest {
 		Assert.assertTrue(repositoryWatcher.forwardsUpdatedAt > forwardsUpdatedAt);
 	}
 
+	@Test(timeout = 30000)
+	public void testIndexing() throws Exception {
+		File rootDir = new File("target/repository-watcher").getAbsoluteFile();
+		File wwwDir = new File(rootDir, "www");
+		File indexDir = new File(rootDir, "index");
+		FileUtils.deleteDirectory(rootDir);
+		File a = new File(wwwDir, "en/a.txt");
+		FileUtils.writeStringToFile(a, "The Hitchhiker's Guide to the Galaxy", StandardCharsets.UTF_8);
+
+		DocumentIndexer documentIndexer = new DocumentIndexer(indexDir, 100L);
+		Thread indexThread = new Thread(documentIndexer, "documentIndexer");
+		indexThread.start();
+		IndexConfig config = IndexConfig.getInstance("/en;en;" + EnglishAnalyzer.class.getName(), "appNG");
+		FileSystemProvider fileSystemProvider = new FileSystemProvider(config, Arrays.asList("txt"), 5000L, "jsp",
+				wwwDir, new ArrayList<>(), indexDir, 1);
+
+		RepositoryWatcher repositoryWatcher = new RepositoryWatcher();
+		repositoryWatcher.init(null, wwwDir.getPath(), new File(wwwDir, "urlrewrite.xml"),
+				RepositoryWatcher.DEFAULT_RULE_SUFFIX, new ArrayList<>());
+		repositoryWatcher.initIndexing(documentIndexer, fileSystemProvider, 5000L);
+		Thread watcherThread = new Thread(repositoryWatcher, "repositoryWatcher");
+		watcherThread.start();
+		try {
+			FileUtils.writeStringToFile(a, "So Long, and Thanks for All the Fish", StandardCharsets.UTF_8);
+			// a file within a new directory
+			FileUtils.writeStringToFile(new File(wwwDir, "en/sub/b.txt"), "Mostly Harmless",
+					StandardCharsets.UTF_8);
+			waitForContent(documentIndexer, indexDir, "/en/a.txt", "Thanks for All the Fish");
+			waitForContent(documentIndexer, indexDir, "/en/sub/b.txt", "Mostly Harmless");
+		} finally {
+			watcherThread.interrupt();
+			watcherThread.join(5000);
+			indexThread.interrupt();
+			indexThread.join(5000);
+			SearcherRegistry.closeAll();
+		}
+	}
+
+	@Test(timeout = 30000)
+	public void testIndexingError() throws Exception {
+		File wwwDir = new File("target/repository-watcher-error/www").getAbsoluteFile();
+		FileUtils.deleteDirectory(wwwDir.getParentFile());
+		File contentDir = new File(wwwDir, "en");
+		contentDir.mkdirs();
+		File a = new File(contentDir, "a.txt");
+		File b = new File(contentDir, "b.txt");
+
+		FileSystemProvider fileSystemProvider = Mockito.mock(FileSystemProvider.class);
+		Mockito.when(fileSystemProvider.getContentFolders()).thenReturn(Arrays.asList(contentDir));
+		List<Collection<File>> indexedFiles = new CopyOnWriteArrayList<>();
+		List<String> indexThreads = new CopyOnWriteArrayList<>();
+		Mockito.when(fileSystemProvider.indexFiles(Mockito.anyCollectionOf(File.class))).thenAnswer(i -> {
+			indexThreads.add(Thread.currentThread().getName());
+			indexedFiles.add(new ArrayList<>(i.getArgumentAt(0, Collection.class)));
+			if (indexedFiles.size() == 1) {
+				throw new IllegalStateException("error while parsing");
+			}
+			return new ArrayList<>();
+		});
+
+		RepositoryWatcher repositoryWatcher = new RepositoryWatcher();
+		repositoryWatcher.init(null, wwwDir.getPath(), new File(wwwDir, "urlrewrite.xml"),
+				RepositoryWatcher.DEFAULT_RULE_SUFFIX, new ArrayList<>());
+		repositoryWatcher.initIndexing(new DocumentIndexer(wwwDir, 100L), fileSystemProvider, 5000L);
+		Thread watcherThread = new Thread(repositoryWatcher, "repositoryWatcher");
+		watcherThread.start();
+		try {
+			FileUtils.writeStringToFile(a, "a", StandardCharsets.UTF_8);
+			while (indexedFiles.isEmpty()) {
+				Thread.sleep(50);
+			}
+			// the watcher keeps on running and indexes the failed files together with the next changes
+			FileUtils.writeStringToFile(b, "b", StandardCharsets.UTF_8);
+			while (indexedFiles.size() < 2) {
+				Thread.sleep(50);
+			}
+			Assert.assertTrue(watcherThread.isAlive());
+			Assert.assertTrue(indexedFiles.get(1).containsAll(Arrays.asList(a, b)));
+			Mockito.verify(fileSystemProvider, Mockito.never()).indexDirectory(Mockito.anyInt());
+			Assert.assertEquals(Arrays.asList("repositoryWatcher-index", "repositoryWatcher-index"), indexThreads);
+		} finally {
+			watcherThread.interrupt();
+			watcherThread.join(5000);
+		}
+	}
+
+	private void waitForContent(DocumentIndexer documentIndexer, File indexDir, String path, String expected) throws Exception {
+		String content = null;
+		while (null == content || !content.contains(expected)) {
+			Thread.sleep(50);
+			if (null != documentIndexer.getSearcherManager()) {
+				IndexSearcher searcher = SearcherRegistry.acquire(indexDir.toPath());
+				try {
+					TopDocs topDocs = searcher.search(new TermQuery(new Term(Document.FIELD_PATH, path)), 1);
+					if (topDocs.totalHits.value > 0) {
+						content = searcher.doc(topDocs.scoreDocs[0].doc).get(Document.FIELD_CONTENT);
+					}
+				} finally {
+					SearcherRegistry.release(searcher);
+				}
+			}
+		}
+	}
+
 	private int getCacheSize(Cache<String, CachedResponse> cache) {
 		AtomicInteger size = new AtomicInteger(0);
 		cache.iterator().forEachRemaining(e -> size.getAndIncrement());
@@ -20,15 +20,20 @@ import static org.appng.api.Scope.PLATFORM;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import javax.servlet.ServletRequest;
 
 import org.appng.api.Environment;
+import org.appng.api.PathInfo;
 import org.appng.api.Platform;
 import org.appng.api.RequestUtil;
+import org.appng.api.SiteProperties;
+import org.appng.api.model.Property;
 import org.appng.api.model.Site;
 import org.appng.api.support.PropertyHolder;
+import org.appng.api.support.SiteMap;
 import org.appng.core.domain.SiteImpl;
 import org.appng.core.service.PropertySupport;
 import org.junit.Assert;
@@ -36,6 +41,7 @@ import org.junit.Test;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
+import org.springframework.mock.web.MockHttpServletRequest;
 
 public class RequestUtilTest {
 
@@ -72,6 +78,94 @@ public class RequestUtilTest {
 
 	}
 
+	@Test
+	public void testGetSiteWithSiteMap() {
+		MockitoAnnotations.initMocks(this);
+		PropertyHolder propertyHolder = new PropertyHolder(PropertySupport.PREFIX_PLATFORM, new ArrayList<>());
+		new PropertySupport(propertyHolder).initPlatformConfig("target/root", true);
+		Mockito.when(environment.getAttribute(PLATFORM, Platform.Environment.PLATFORM_CONFIG)).thenReturn(
+				propertyHolder);
+
+		SiteMap sites = new SiteMap();
+		SiteImpl site1 = getSite(1);
+		sites.put("site-1", site1);
+		sites.put("site-2", getSite(2));
+		Mockito.when(environment.getAttribute(PLATFORM, Platform.Environment.SITES)).thenReturn(sites);
+		Assert.assertSame(site1, RequestUtil.getSiteByHost(environment, "host-1"));
+		Assert.assertNull(RequestUtil.getSiteByHost(environment, "host-3"));
+
+		// reload with a new host
+		SiteImpl reloaded = getSite(1);
+		reloaded.setHost("host-3");
+		sites.put("site-1", reloaded);
+		Assert.assertNull(RequestUtil.getSiteByHost(environment, "host-1"));
+		Assert.assertSame(reloaded, RequestUtil.getSiteByHost(environment, "host-3"));
+
+		// host changed without reload
+		reloaded.setHost("host-4");
+		Assert.assertNull(RequestUtil.getSiteByHost(environment, "host-3"));
+		Assert.assertSame(reloaded, RequestUtil.getSiteByHost(environment, "host-4"));
+
+		// host changed, then reloaded with the same instance
+		reloaded.setHost("host-5");
+		sites.put("site-1", reloaded);
+		Assert.assertNull(RequestUtil.getSiteByHost(environment, "host-4"));
+		Assert.assertSame(reloaded, RequestUtil.getSiteByHost(environment, "host-5"));
+
+		sites.remove("site-2");
+		Assert.assertNull(RequestUtil.getSiteByHost(environment, "host-2"));
+
+		// the site is resolved once per request
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.setServerName("host-1");
+		sites.put("site-1", site1);
+		Assert.assertSame(site1, RequestUtil.getSite(environment, request));
+		sites.remove("site-1");
+		Assert.assertSame(site1, RequestUtil.getSite(environment, request));
+		Assert.assertNull(RequestUtil.getSite(environment, new MockHttpServletRequest()));
+	}
+
+	@Test
+	public void testGetPathInfo() {
+		MockitoAnnotations.initMocks(this);
+		PropertyHolder platformProperties = new PropertyHolder(PropertySupport.PREFIX_PLATFORM, new ArrayList<>());
+		new PropertySupport(platformProperties).initPlatformConfig("target/root", true);
+		Mockito.when(environment.getAttribute(PLATFORM, Platform.Environment.PLATFORM_CONFIG))
+				.thenReturn(platformProperties);
+		SiteImpl site = getSite(1);
+		site.setProperties(getSiteProperties("/manager"));
+
+		PathInfo pathInfo = RequestUtil.getPathInfo(environment, site, "/manager/site-1/app");
+		Assert.assertTrue(pathInfo.isGui());
+		Assert.assertEquals("app", pathInfo.getApplicationName());
+		pathInfo = RequestUtil.getPathInfo(environment, site, "/service/site-1/app");
+		Assert.assertTrue(pathInfo.isService());
+		Assert.assertSame(pathInfo.getDocumentDirectories(),
+				RequestUtil.getPathInfo(environment, site, "/de/index").getDocumentDirectories());
+		Assert.assertTrue(RequestUtil.getPathInfo(environment, site, "/de/index").isDocument());
+
+		// a site reload comes with new properties
+		SiteImpl reloaded = getSite(1);
+		reloaded.setProperties(getSiteProperties("/admin"));
+		Assert.assertFalse(RequestUtil.getPathInfo(environment, reloaded, "/manager/site-1/app").isGui());
+		Assert.assertTrue(RequestUtil.getPathInfo(environment, reloaded, "/admin/site-1/app").isGui());
+
+		List<String> documentDirectories = RequestUtil.getPathInfo(environment, reloaded, "/de/index")
+				.getDocumentDirectories();
+		RequestUtil.clearCache(reloaded.getName());
+		Assert.assertNotSame(documentDirectories,
+				RequestUtil.getPathInfo(environment, reloaded, "/de/index").getDocumentDirectories());
+	}
+
+	private PropertyHolder getSiteProperties(String managerPath) {
+		PropertyHolder siteProperties = new PropertyHolder();
+		siteProperties.addProperty(SiteProperties.MANAGER_PATH, managerPath, null, Property.Type.TEXT);
+		siteProperties.addProperty(SiteProperties.SERVICE_PATH, "/service", null, Property.Type.TEXT);
+		siteProperties.addProperty(SiteProperties.ASSETS_DIR, "/assets", null, Property.Type.TEXT);
+		siteProperties.addProperty(SiteProperties.DOCUMENT_DIR, "/de;/en", null, Property.Type.TEXT);
+		return siteProperties;
+	}
+
 	private SiteImpl getSite(int i) {
 		SiteImpl site = new SiteImpl();
 		site.setActive(true);
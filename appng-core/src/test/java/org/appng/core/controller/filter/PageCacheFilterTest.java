@@ -16,7 +16,17 @@
 package org.appng.core.controller.filter;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
 import javax.cache.expiry.ExpiryPolicy;
@@ -26,8 +36,14 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
 import org.apache.catalina.connector.ClientAbortException;
+import org.apache.commons.lang3.SerializationUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.appng.api.SiteProperties;
+import org.appng.api.model.Property;
 import org.appng.api.model.Site;
+import org.appng.api.support.PropertyHolder;
 import org.appng.core.controller.CachedResponse;
+import org.appng.core.controller.CachedResponse.Encoding;
 import org.junit.Assert;
 import org.junit.Test;
 import org.mockito.Mockito;
@@ -54,7 +70,7 @@ public class PageCacheFilterTest {
 		Mockito.when(cache.unwrap(ICache.class)).thenReturn(cache);
 		FilterChain chain = Mockito.mock(FilterChain.class);
 		String modifiedDate = "Wed, 28 Mar 2018 09:04:12 GMT";
-		String content = "foobar";
+		String content = StringUtils.repeat("foobar", 100);
 		long lastModifiedSeconds = 1522227852000L;
 		PageCacheFilter pageCacheFilter = new PageCacheFilter() {
 			@Override
@@ -89,18 +105,28 @@ public class PageCacheFilterTest {
 				Mockito.any(ExpiryPolicy.class));
 
 		Site site = Mockito.mock(Site.class);
+		Mockito.when(site.getName()).thenReturn("site");
+		PropertyHolder siteProps = new PropertyHolder();
+		siteProps.addProperty(SiteProperties.CACHE_COMPRESSION, "gzip", null, Property.Type.TEXT);
+		siteProps.addProperty(SiteProperties.CACHE_COMPRESSION_MIN_SIZE, 256, null, Property.Type.INT);
+		Mockito.when(site.getProperties()).thenReturn(siteProps);
 
 		CachedResponse pageInfo = pageCacheFilter.getCachedResponse(req, resp, chain, site, cache, null);
 		Mockito.verify(chain, Mockito.times(1)).doFilter(Mockito.any(), Mockito.eq(resp));
 		Assert.assertEquals(pageInfo, actual.get());
 		Assert.assertEquals(modifiedDate, resp.getHeader(HttpHeaders.LAST_MODIFIED));
 		Assert.assertEquals(lastModifiedSeconds, resp.getDateHeader(HttpHeaders.LAST_MODIFIED));
+		byte[] gzipped = pageInfo.getEncodedBody(Encoding.GZIP);
+		Assert.assertNotNull(gzipped);
+		Assert.assertEquals(32, gzipped.length);
+		Assert.assertArrayEquals(gzipped, pageInfo.getGzippedBody());
 
 		// test gzip
 		req.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip");
 		pageCacheFilter.handleCaching(req, resp, site, chain, cache, null);
 		Assert.assertEquals(HttpStatus.OK.value(), resp.getStatus());
-		Assert.assertEquals(26, resp.getContentLength());
+		Assert.assertEquals(32, resp.getContentLength());
+		Assert.assertEquals("gzip", resp.getHeader(HttpHeaders.CONTENT_ENCODING));
 		Mockito.verify(chain, Mockito.times(2)).doFilter(Mockito.any(), Mockito.eq(resp));
 
 		// test if-modified-since
@@ -115,10 +141,271 @@ public class PageCacheFilterTest {
 		MockHttpServletRequest aborted = new MockHttpServletRequest(new MockServletContext());
 		aborted.setServletPath("/aborted");
 		MockHttpServletResponse abortedResponse = new MockHttpServletResponse();
-		pageCacheFilter.handleCaching(aborted, abortedResponse, Mockito.mock(Site.class), chain, cache, null);
+		pageCacheFilter.handleCaching(aborted, abortedResponse, site, chain, cache, null);
 		Assert.assertEquals(HttpStatus.OK.value(), abortedResponse.getStatus());
 		Assert.assertEquals(0, abortedResponse.getContentLength());
 		Mockito.verify(chain, Mockito.times(1)).doFilter(Mockito.any(), Mockito.eq(abortedResponse));
+
+		// test hit
+		MockHttpServletRequest hitRequest = new MockHttpServletRequest(new MockServletContext());
+		hitRequest.setServletPath("/foo/bar");
+		hitRequest.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip");
+		MockHttpServletResponse hitResponse = new MockHttpServletResponse();
+		Mockito.when(cache.get(pageCacheFilter.calculateKey(hitRequest))).thenReturn(pageInfo);
+		CachedResponse hit = pageCacheFilter.handleCaching(hitRequest, hitResponse, site, chain, cache, null);
+		Assert.assertSame(pageInfo, hit);
+		Assert.assertEquals(Boolean.TRUE, hitRequest.getAttribute(PageCacheFilter.class.getSimpleName() + ".cacheHit"));
+		Assert.assertEquals(modifiedDate, hitResponse.getHeader(HttpHeaders.LAST_MODIFIED));
+		Assert.assertArrayEquals(gzipped, hitResponse.getContentAsByteArray());
+		Mockito.verify(chain, Mockito.never()).doFilter(Mockito.any(), Mockito.eq(hitResponse));
+		Mockito.verify(cache, Mockito.never()).replace(Mockito.anyString(), Mockito.any(CachedResponse.class),
+				Mockito.any(ExpiryPolicy.class));
+	}
+
+	@Test
+	public void testEncode() throws Exception {
+		MockHttpServletRequest req = new MockHttpServletRequest(new MockServletContext());
+		req.setServletPath("/foo/bar");
+		Site site = Mockito.mock(Site.class);
+		PropertyHolder siteProps = new PropertyHolder();
+		siteProps.addProperty(SiteProperties.CACHE_COMPRESSION, "deflate, gzip, br", null, Property.Type.TEXT);
+		siteProps.addProperty(SiteProperties.CACHE_COMPRESSION_MIN_SIZE, 256, null, Property.Type.INT);
+		Mockito.when(site.getProperties()).thenReturn(siteProps);
+		PageCacheFilter pageCacheFilter = new PageCacheFilter();
+
+		CachedResponse small = new CachedResponse("GET/foo/bar", site, req, 200, "text/plain", "foobar".getBytes(),
+				new HttpHeaders(), 1800);
+		pageCacheFilter.encode(small, site);
+		Assert.assertTrue(small.getEncodedData().isEmpty());
+		MockHttpServletResponse resp = new MockHttpServletResponse();
+		req.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate");
+		pageCacheFilter.writeResponse(req, resp, small);
+		Assert.assertNull(resp.getHeader(HttpHeaders.CONTENT_ENCODING));
+		Assert.assertEquals("foobar", resp.getContentAsString());
+
+		CachedResponse large = new CachedResponse("GET/foo/bar", site, req, 200, "text/plain",
+				StringUtils.repeat("foobar", 100).getBytes(), new HttpHeaders(), 1800);
+		pageCacheFilter.encode(large, site);
+		Assert.assertArrayEquals(new Encoding[] { Encoding.DEFLATE, Encoding.GZIP },
+				large.getEncodedData().keySet().toArray());
+		resp = new MockHttpServletResponse();
+		pageCacheFilter.writeResponse(req, resp, large);
+		Assert.assertEquals("deflate", resp.getHeader(HttpHeaders.CONTENT_ENCODING));
+		Assert.assertEquals(HttpHeaders.ACCEPT_ENCODING, resp.getHeader(HttpHeaders.VARY));
+		Assert.assertArrayEquals(large.getEncodedBody(Encoding.DEFLATE), resp.getContentAsByteArray());
+
+		MockHttpServletRequest identity = new MockHttpServletRequest(new MockServletContext());
+		identity.addHeader(HttpHeaders.ACCEPT_ENCODING, "deflate;q=0, identity");
+		resp = new MockHttpServletResponse();
+		pageCacheFilter.writeResponse(identity, resp, large);
+		Assert.assertNull(resp.getHeader(HttpHeaders.CONTENT_ENCODING));
+		Assert.assertArrayEquals(large.getData(), resp.getContentAsByteArray());
+
+		// the cached Vary header is retained
+		large.getHeaders().add(HttpHeaders.VARY, HttpHeaders.COOKIE);
+		identity.setAttribute(PageCacheFilter.class.getSimpleName() + ".cacheHit", true);
+		resp = new MockHttpServletResponse();
+		pageCacheFilter.writeResponse(identity, resp, large);
+		Assert.assertEquals(Arrays.asList(HttpHeaders.COOKIE, HttpHeaders.ACCEPT_ENCODING),
+				resp.getHeaders(HttpHeaders.VARY));
+
+		// responses serialized without encoded variants have none after deserialization
+		large.setEncodedData(null);
+		Assert.assertTrue(SerializationUtils.clone(large).getEncodedData().isEmpty());
+	}
+
+	@Test(timeout = 10000)
+	public void testCoalescing() throws Exception {
+		@SuppressWarnings("unchecked")
+		ICache<String, CachedResponse> cache = Mockito.mock(ICache.class);
+		Mockito.when(cache.getName()).thenReturn("coalescingcache");
+		Mockito.when(cache.unwrap(ICache.class)).thenReturn(cache);
+		Site site = Mockito.mock(Site.class);
+		Mockito.when(site.getName()).thenReturn("site");
+		PropertyHolder siteProps = new PropertyHolder();
+		siteProps.addProperty(SiteProperties.CACHE_COALESCING_TIMEOUT, 5000, null, Property.Type.INT);
+		Mockito.when(site.getProperties()).thenReturn(siteProps);
+
+		CountDownLatch rendering = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger renderings = new AtomicInteger();
+		PageCacheFilter pageCacheFilter = new PageCacheFilter() {
+			@Override
+			protected CachedResponse performRequest(HttpServletRequest request, HttpServletResponse response,
+					FilterChain chain, Site site, ExpiryPolicy expiryPolicy) throws IOException, ServletException {
+				renderings.incrementAndGet();
+				rendering.countDown();
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					throw new ServletException(e);
+				}
+				return new CachedResponse("GET/foo/bar", site, request, 200, "text/plain", "foobar".getBytes(),
+						new HttpHeaders(), 1800);
+			}
+		};
+
+		ExecutorService executor = Executors.newFixedThreadPool(3);
+		List<Future<MockHttpServletResponse>> responses = new ArrayList<>();
+		Callable<MockHttpServletResponse> request = () -> {
+			MockHttpServletRequest req = new MockHttpServletRequest(new MockServletContext());
+			req.setServletPath("/foo/bar");
+			MockHttpServletResponse resp = new MockHttpServletResponse();
+			pageCacheFilter.handleCaching(req, resp, site, Mockito.mock(FilterChain.class), cache, null);
+			return resp;
+		};
+		responses.add(executor.submit(request));
+		rendering.await();
+		responses.add(executor.submit(request));
+		responses.add(executor.submit(request));
+		// give the concurrent requests some time to wait for the rendering one
+		Thread.sleep(200);
+		release.countDown();
+		for (Future<MockHttpServletResponse> response : responses) {
+			Assert.assertEquals("foobar", response.get().getContentAsString());
+		}
+		executor.shutdown();
+		Assert.assertEquals(1, renderings.get());
+		Mockito.verify(cache, Mockito.times(1)).put(Mockito.anyString(), Mockito.any(CachedResponse.class),
+				Mockito.any());
+	}
+
+	@Test(timeout = 10000)
+	public void testRefresh() throws Exception {
+		@SuppressWarnings("unchecked")
+		ICache<String, CachedResponse> cache = Mockito.mock(ICache.class);
+		Mockito.when(cache.getName()).thenReturn("refreshcache");
+		Mockito.when(cache.unwrap(ICache.class)).thenReturn(cache);
+		Site site = Mockito.mock(Site.class);
+		Mockito.when(site.getName()).thenReturn("site");
+		PropertyHolder siteProps = new PropertyHolder();
+		siteProps.addProperty(SiteProperties.CACHE_REFRESH_HIT_COUNT, 10, null, Property.Type.INT);
+		siteProps.addProperty(SiteProperties.CACHE_SOFT_TIME_TO_LIVE, 600, null, Property.Type.INT);
+		Mockito.when(site.getProperties()).thenReturn(siteProps);
+
+		AtomicInteger renderings = new AtomicInteger();
+		AtomicReference<CachedResponse> concurrentHit = new AtomicReference<>();
+		AtomicReference<String> concurrentContent = new AtomicReference<>();
+		PageCacheFilter pageCacheFilter = new PageCacheFilter() {
+			@Override
+			protected CachedResponse performRequest(HttpServletRequest request, HttpServletResponse response,
+					FilterChain chain, Site site, ExpiryPolicy expiryPolicy) throws IOException, ServletException {
+				renderings.incrementAndGet();
+				// a concurrent request while the page is being refreshed
+				Thread concurrent = new Thread(() -> {
+					try {
+						MockHttpServletResponse concurrentResp = new MockHttpServletResponse();
+						concurrentHit.set(handleCaching((HttpServletRequest) request, concurrentResp, site,
+								Mockito.mock(FilterChain.class), cache, null));
+						concurrentContent.set(concurrentResp.getContentAsString());
+					} catch (Exception e) {
+						throw new IllegalStateException(e);
+					}
+				});
+				concurrent.start();
+				try {
+					concurrent.join();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				return new CachedResponse("GET/foo/bar", site, request, 200, "text/plain", "refreshed".getBytes(),
+						new HttpHeaders(), 1800);
+			}
+		};
+
+		MockHttpServletRequest req = new MockHttpServletRequest(new MockServletContext());
+		req.setServletPath("/foo/bar");
+		CachedResponse stale = new CachedResponse("GET/foo/bar", site, req, 200, "text/plain", "stale".getBytes(),
+				new HttpHeaders(), 1800);
+		Assert.assertFalse(stale.isStale());
+		stale.setCreationTime(new Date(System.currentTimeMillis() - 1000));
+		stale.setSoftTimeToLive(1);
+		Assert.assertTrue(stale.isStale());
+		Mockito.when(cache.get(pageCacheFilter.calculateKey(req))).thenReturn(stale);
+
+		AtomicReference<CachedResponse> actual = new AtomicReference<>();
+		AtomicReference<ExpiryPolicy> actualPolicy = new AtomicReference<>();
+		Mockito.doAnswer(i -> {
+			actualPolicy.set(i.getArgumentAt(2, ExpiryPolicy.class));
+			actual.set(i.getArgumentAt(1, CachedResponse.class));
+			return null;
+		}).when(cache).put(Mockito.anyString(), Mockito.any(CachedResponse.class), Mockito.any());
+
+		MockHttpServletResponse resp = new MockHttpServletResponse();
+		CachedResponse hit = pageCacheFilter.handleCaching(req, resp, site, Mockito.mock(FilterChain.class), cache,
+				null);
+		// the first request that sees the stale entry refreshes it
+		Assert.assertEquals(1, renderings.get());
+		Assert.assertSame(actual.get(), hit);
+		Assert.assertEquals("refreshed", resp.getContentAsString());
+		Assert.assertEquals(HttpStatus.OK.value(), resp.getStatus());
+		// the refreshed entry gets the full TTL, although it's an update
+		Assert.assertEquals(1800, actualPolicy.get().getExpiryForUpdate().getDurationAmount());
+		Assert.assertEquals("refreshed", new String(actual.get().getData()));
+		Assert.assertNotNull(actual.get().getSoftExpirationTime());
+		Assert.assertFalse(actual.get().isStale());
+		// the concurrent request has been served the stale entry
+		Assert.assertSame(stale, concurrentHit.get());
+		Assert.assertEquals("stale", concurrentContent.get());
+
+		// hot entries are refreshed when less than 10% of the TTL are left
+		CachedResponse fresh = new CachedResponse("GET/foo/bar", site, req, 200, "text/plain", "fresh".getBytes(),
+				new HttpHeaders(), 1800);
+		Assert.assertFalse(PageCacheFilter.needsRefresh(fresh, 10, site));
+		fresh.setExpirationTime(new Date(System.currentTimeMillis() + 60000));
+		Assert.assertFalse(PageCacheFilter.needsRefresh(fresh, 9, site));
+		Assert.assertTrue(PageCacheFilter.needsRefresh(fresh, 10, site));
+	}
+
+	@Test
+	public void testAcceptsEncoding() {
+		Assert.assertFalse(PageCacheFilter.acceptsEncoding(null, Encoding.GZIP));
+		Assert.assertFalse(PageCacheFilter.acceptsEncoding("deflate", Encoding.GZIP));
+		Assert.assertTrue(PageCacheFilter.acceptsEncoding("gzip, deflate, br", Encoding.GZIP));
+		Assert.assertTrue(PageCacheFilter.acceptsEncoding("GZIP;q=0.8", Encoding.GZIP));
+		Assert.assertFalse(PageCacheFilter.acceptsEncoding("gzip;q=0, deflate", Encoding.GZIP));
+		Assert.assertTrue(PageCacheFilter.acceptsEncoding("*", Encoding.DEFLATE));
+		Assert.assertFalse(PageCacheFilter.acceptsEncoding("*;q=0", Encoding.DEFLATE));
+		Assert.assertFalse(PageCacheFilter.acceptsEncoding("gzip;q=0, *", Encoding.GZIP));
+		Assert.assertTrue(PageCacheFilter.acceptsEncoding("*;q=0, gzip", Encoding.GZIP));
+	}
+
+	@Test
+	public void testCacheRules() {
+		Site site = Mockito.mock(Site.class);
+		Mockito.when(site.getName()).thenReturn("rules");
+		PropertyHolder siteProps = new PropertyHolder();
+		siteProps.addProperty(SiteProperties.CACHE_EXCEPTIONS, "/manager\r\n/health\r\n/manager/foo", null,
+				Property.Type.MULTILINE);
+		siteProps.addProperty(SiteProperties.CACHE_TIMEOUTS, "/foo/** = 60, 30\n/bar/** = 60", null,
+				Property.Type.MULTILINE);
+		siteProps.addProperty(SiteProperties.CACHE_TIMEOUTS_ANT_STYLE, true, null, Property.Type.BOOLEAN);
+		siteProps.addProperty(SiteProperties.CACHE_TIME_TO_LIVE, 1800, null, Property.Type.INT);
+		siteProps.addProperty(SiteProperties.CACHE_SOFT_TIME_TO_LIVE, 600, null, Property.Type.INT);
+		Mockito.when(site.getProperties()).thenReturn(siteProps);
+
+		PageCacheFilter pageCacheFilter = new PageCacheFilter();
+		PageCacheRules rules = pageCacheFilter.getCacheRules(site);
+		Assert.assertSame(rules, pageCacheFilter.getCacheRules(site));
+		Assert.assertTrue(rules.isException("/manager/site"));
+		Assert.assertTrue(rules.isException("/health"));
+		Assert.assertFalse(rules.isException("/man"));
+		Assert.assertFalse(rules.isException("/de/index"));
+		Assert.assertEquals(Integer.valueOf(60), rules.getTimeToLive("/foo/index"));
+		Assert.assertEquals(Integer.valueOf(30), rules.getSoftTimeToLive("/foo/index"));
+		Assert.assertEquals(Integer.valueOf(600), rules.getSoftTimeToLive("/bar/index"));
+		Assert.assertSame(rules.getExpiryPolicy("/foo/index"), rules.getExpiryPolicy("/bar/index"));
+		Assert.assertEquals(Integer.valueOf(1800), rules.getTimeToLive("/de/index"));
+		Assert.assertEquals(1800, rules.getExpiryPolicy("/de/index").getExpiryForCreation().getDurationAmount());
+
+		// new properties after a site reload
+		PropertyHolder reloadedProps = new PropertyHolder();
+		reloadedProps.addProperty(SiteProperties.CACHE_TIME_TO_LIVE, 3600, null, Property.Type.INT);
+		Mockito.when(site.getProperties()).thenReturn(reloadedProps);
+		PageCacheRules reloaded = pageCacheFilter.getCacheRules(site);
+		Assert.assertNotSame(rules, reloaded);
+		Assert.assertFalse(reloaded.isException("/manager"));
+		Assert.assertEquals(Integer.valueOf(3600), reloaded.getTimeToLive("/foo/index"));
 	}
 
 	@Test
@@ -164,6 +451,24 @@ public class PageCacheFilterTest {
 		Assert.assertEquals(oneHour, expireAfterSeconds);
 	}
 
+	@Test
+	public void testGetSoftExpireAfterSeconds() {
+		Integer defaultSoftTtl = Integer.valueOf(0);
+		Properties cachingTimes = new Properties();
+		String servletPath = "/foo/bar/lore/ipsum";
+		cachingTimes.put("/foo/bar", "3600, 600");
+		cachingTimes.put("/foo", "1800");
+
+		Assert.assertEquals(Integer.valueOf(3600),
+				PageCacheFilter.getExpireAfterSeconds(cachingTimes, false, servletPath, 1800));
+		Assert.assertEquals(Integer.valueOf(600),
+				PageCacheFilter.getSoftExpireAfterSeconds(cachingTimes, false, servletPath, defaultSoftTtl));
+		Assert.assertEquals(defaultSoftTtl,
+				PageCacheFilter.getSoftExpireAfterSeconds(cachingTimes, false, "/foo/lore", defaultSoftTtl));
+		Assert.assertEquals(Integer.valueOf(600),
+				PageCacheFilter.getSoftExpireAfterSeconds(cachingTimes, true, "/foo/bar", defaultSoftTtl));
+	}
+
 	@Test
 	public void testGetExpireAfterSecondsAntStyle() {
 		Integer defaultCacheTime = Integer.valueOf(1800);
@@ -15,16 +15,24 @@
  */
 package org.appng.core.controller.handler;
 
+import java.io.File;
 import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Set;
 
+import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.time.FastDateFormat;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
 import org.appng.api.PathInfo;
 import org.appng.api.Platform;
 import org.appng.api.Scope;
+import org.appng.api.SiteProperties;
 import org.appng.api.model.Resource;
 import org.appng.api.model.ResourceType;
 import org.appng.api.model.Resources;
@@ -36,6 +44,7 @@ import org.appng.core.controller.HttpHeaders;
 import org.appng.core.domain.ApplicationImpl;
 import org.appng.core.domain.SiteApplication;
 import org.appng.core.domain.SiteImpl;
+import org.appng.search.searcher.SearcherRegistry;
 import org.appng.testsupport.validation.WritingJsonValidator;
 import org.junit.Assert;
 import org.junit.Test;
@@ -78,6 +87,53 @@ public class MonitoringHandlerTest {
 		Assert.assertTrue(content.contains("JAVA_HOME"));
 	}
 
+	@Test
+	public void testStyleSheets() throws Exception {
+		SiteImpl site = getSite();
+		PathInfo path = getPath(site, "/health/stylesheets");
+		DefaultEnvironment env = getEnv();
+
+		MockHttpServletResponse resp = new MockHttpServletResponse();
+		monitoringHandler.handle(getRequest(ctx), resp, env, site, path);
+		String content = resp.getContentAsString();
+
+		Assert.assertTrue(content.contains("\"maxSize\""));
+		Assert.assertTrue(content.contains("\"compilations\""));
+		Assert.assertTrue(content.contains("\"averageCompileMillis\""));
+	}
+
+	@Test
+	public void testSearchers() throws Exception {
+		SiteImpl site = getSite();
+		File indexDir = new File("target/monitoring/index");
+		FileUtils.deleteDirectory(indexDir);
+		site.setProperties(new PropertyHolder("", Arrays.asList(new SimpleProperty(SiteProperties.SITE_ROOT_DIR,
+				"target/monitoring"), new SimpleProperty(SiteProperties.INDEX_DIR, "/index"))));
+		PathInfo path = getPath(site, "/health/searchers");
+		DefaultEnvironment env = getEnv();
+
+		MockHttpServletResponse resp = new MockHttpServletResponse();
+		monitoringHandler.handle(getRequest(ctx), resp, env, site, path);
+		Assert.assertEquals("null", resp.getContentAsString());
+
+		try (Directory directory = FSDirectory.open(indexDir.toPath());
+				IndexWriter writer = new IndexWriter(directory, new IndexWriterConfig())) {
+			writer.addDocument(new Document());
+			writer.commit();
+		}
+		SearcherRegistry.release(SearcherRegistry.acquire(indexDir.toPath()));
+
+		resp = new MockHttpServletResponse();
+		monitoringHandler.handle(getRequest(ctx), resp, env, site, path);
+		String content = resp.getContentAsString();
+		SearcherRegistry.closeAll();
+
+		Assert.assertTrue(content.contains("\"numDocs\" : 1"));
+		Assert.assertTrue(content.contains("\"nearRealTime\" : false"));
+		Assert.assertTrue(content.contains("\"readerAgeMillis\""));
+		Assert.assertTrue(content.contains("\"averageRefreshMillis\""));
+	}
+
 	@Test
 	public void test() throws Exception {
 		SiteImpl site = getSite();
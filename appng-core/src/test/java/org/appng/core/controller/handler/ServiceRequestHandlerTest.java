@@ -16,6 +16,7 @@
 package org.appng.core.controller.handler;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.UnsupportedEncodingException;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -38,6 +39,7 @@ import org.appng.api.ProcessingException;
 import org.appng.api.Request;
 import org.appng.api.Scope;
 import org.appng.api.Session;
+import org.appng.api.SiteProperties;
 import org.appng.api.SoapService;
 import org.appng.api.VHostMode;
 import org.appng.api.Webservice;
@@ -109,6 +111,7 @@ public class ServiceRequestHandlerTest extends ServiceRequestHandler {
 	private MockHttpServletResponse servletResponse = new MockHttpServletResponse();
 
 	private Messages messages = null;
+	private boolean failWriting = false;
 
 	public ServiceRequestHandlerTest() throws JAXBException {
 		super(MarshallService.getMarshallService(), new PlatformTransformer(), null);
@@ -288,6 +291,30 @@ public class ServiceRequestHandlerTest extends ServiceRequestHandler {
 		Assert.assertEquals(HttpHeaders.CONTENT_TYPE_APPLICATION_JSON, servletResponse.getContentType());
 	}
 
+	@Test
+	public void testDataSourceStreaming() throws Exception {
+		String servletPath = "/services/localhost/appng-demoapplication/datasource/json/sites";
+		PathInfo pathInfo = setupPath(servletPath);
+		site.setProperties(new PropertyHolder("",
+				Arrays.asList(new SimpleProperty(SiteProperties.STREAM_SERVICE_DATASOURCES, "true"))));
+		handle(servletRequest, servletResponse, environment, site, pathInfo);
+		Mockito.verify(environment).setAttribute(Scope.REQUEST, EnvironmentKeys.STREAM_RESULTSET, Boolean.TRUE);
+		String trimmed = servletResponse.getContentAsString().replaceAll("\r", "").replaceAll("\n", "");
+		Assert.assertEquals("{  \"datasource\" : {    \"id\" : \"sites\"  }}", trimmed);
+		Assert.assertEquals(HttpHeaders.CONTENT_TYPE_APPLICATION_JSON, servletResponse.getContentType());
+	}
+
+	@Test
+	public void testDataSourceJsonError() throws Exception {
+		servletResponse.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+		failWriting = true;
+		String trimmed = getDatasource(FORMAT_JSON);
+		failWriting = false;
+		Assert.assertEquals("an error occured", trimmed);
+		Assert.assertEquals(HttpStatus.INTERNAL_SERVER_ERROR.value(), servletResponse.getStatus());
+		Assert.assertEquals("no-cache", servletResponse.getHeader(HttpHeaders.CACHE_CONTROL));
+	}
+
 	@Test
 	public void testDataSourceUnsupportedMediaType() throws Exception {
 		String trimmed = getDatasource("undefined");
@@ -521,6 +548,15 @@ public class ServiceRequestHandlerTest extends ServiceRequestHandler {
 		};
 	}
 
+	@Override
+	protected void writeJson(Object data, OutputStream out) throws IOException {
+		if (failWriting) {
+			out.write("{".getBytes());
+			throw new IOException("error while writing");
+		}
+		super.writeJson(data, out);
+	}
+
 	@Override
 	protected void handleSoap(Site site, AccessibleApplication application, Environment environment,
 			HttpServletRequest servletRequest, HttpServletResponse servletResponse) throws Exception {
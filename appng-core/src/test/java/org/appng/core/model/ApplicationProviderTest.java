@@ -20,10 +20,14 @@ import java.io.IOException;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import javax.xml.bind.JAXBException;
 
+import org.appng.api.ApplicationConfigProvider;
 import org.appng.api.Path;
 import org.appng.api.PathInfo;
 import org.appng.api.Scope;
@@ -40,7 +44,10 @@ import org.appng.xml.application.ApplicationInfo;
 import org.appng.xml.platform.Action;
 import org.appng.xml.platform.ApplicationReference;
 import org.appng.xml.platform.Datasource;
+import org.appng.xml.platform.DatasourceRef;
 import org.appng.xml.platform.PlatformConfig;
+import org.appng.xml.platform.Sectionelement;
+import org.appng.xml.platform.SectionelementDef;
 import org.custommonkey.xmlunit.DifferenceListener;
 import org.junit.Assert;
 import org.junit.Before;
@@ -145,6 +152,45 @@ public class ApplicationProviderTest extends TestBase {
 		runMonitoredTest(getPathInfo(TESTAPPLICATION + "/" + PAGE_ID));
 	}
 
+	@Test
+	public void testEntitiesConcurrent() throws Exception {
+		addParameter("sortEntities", "name:asc;doubleValue:desc;pageSize:2");
+		initParameters();
+		ApplicationConfigProvider configProvider = Mockito.mock(ApplicationConfigProvider.class);
+		Mockito.when(configProvider.cloneConfig(marshallService)).then(i -> {
+			ApplicationConfigProvider clone = request.getApplicationConfig().cloneConfig(marshallService);
+			DatasourceRef datasourceRef = new DatasourceRef();
+			datasourceRef.setId("new-entity");
+			SectionelementDef element = new SectionelementDef();
+			element.setDatasource(datasourceRef);
+			clone.getPage(PAGE_ID).getStructure().getSection().get(0).getElement().add(element);
+			return clone;
+		});
+		monitoredApplicationProvider.setApplicationConfig(configProvider);
+
+		Path pathInfo = getPathInfo(TESTAPPLICATION + "/" + PAGE_ID);
+		ApplicationReference sequential = monitoredApplicationProvider.process(request, marshallService, pathInfo,
+				platformConfig);
+
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			monitoredApplicationProvider.setDatasourceExecutor(executor);
+			ApplicationReference concurrent = monitoredApplicationProvider.process(request, marshallService,
+					pathInfo, platformConfig);
+			List<Sectionelement> elements = concurrent.getPages().getPage().get(0).getStructure().getSection().get(0)
+					.getElement();
+			Assert.assertEquals(2, elements.size());
+			for (Sectionelement sectionelement : elements) {
+				Assert.assertNotNull(sectionelement.getExecutionTime());
+			}
+			String executionTime = " executionTime=\"\\d+\"";
+			Assert.assertEquals(marshallService.marshallNonRoot(sequential).replaceAll(executionTime, ""),
+					marshallService.marshallNonRoot(concurrent).replaceAll(executionTime, ""));
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
 	@Test
 	public void testUpdateInclude() throws JAXBException, IOException {
 		addParameter("action", "update");
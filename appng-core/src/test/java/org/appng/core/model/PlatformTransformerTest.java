@@ -17,6 +17,7 @@ package org.appng.core.model;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
@@ -26,6 +27,7 @@ import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.transform.TransformerConfigurationException;
 import javax.xml.transform.TransformerException;
 
+import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.appng.api.Environment;
 import org.appng.api.InvalidConfigurationException;
@@ -53,6 +55,8 @@ import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 
+import com.google.common.cache.CacheStats;
+
 @ContextConfiguration(classes = PlatformTestConfig.class, initializers = TestInitializer.class)
 @RunWith(SpringJUnit4ClassRunner.class)
 @DirtiesContext
@@ -122,6 +126,53 @@ public class PlatformTransformerTest {
 		transform();
 	}
 
+	@Test
+	public void testPlatformCached() throws Exception {
+		File templateFolder = new File("target/temp/platform-cache");
+		File platformXml = new File(templateFolder, "conf/platform.xml");
+		FileUtils.copyFile(new File(TEMPLATE_PATH, "conf/platform.xml"), platformXml);
+		platformTransformer.setTemplatePath(templateFolder.getAbsolutePath());
+
+		Platform platform = platformTransformer.getPlatform(marshallService, path);
+		Platform copy = platformTransformer.getPlatform(marshallService, path);
+		Assert.assertNotSame(platform, copy);
+		Assert.assertEquals(marshallService.marshal(platform), marshallService.marshal(copy));
+
+		copy.getConfig().getOutputFormat().clear();
+		Assert.assertEquals(2, platformTransformer.getPlatform(marshallService, path).getConfig().getOutputFormat().size());
+
+		Platform modified = platformTransformer.getPlatform(marshallService, path);
+		modified.getConfig().getOutputFormat().remove(1);
+		FileUtils.writeStringToFile(platformXml, marshallService.marshal(modified), StandardCharsets.UTF_8);
+		platformXml.setLastModified(platformXml.lastModified() + 1000);
+		Assert.assertEquals(1, platformTransformer.getPlatform(marshallService, path).getConfig().getOutputFormat().size());
+	}
+
+	@Test
+	public void testStyleSheetCached() throws Exception {
+		PlatformTransformer.clearCache();
+		Mockito.when(platformProperties.getInteger(org.appng.api.Platform.Property.XSLT_CACHE_SIZE, 20))
+				.thenReturn(20);
+		init(platformTransformer, TEMPLATE_PATH);
+		transform();
+		Assert.assertEquals(1, PlatformTransformer.getCacheSize());
+		Assert.assertEquals(20, PlatformTransformer.getMaxCacheSize());
+
+		CacheStats before = PlatformTransformer.getCacheStats();
+		transform();
+		CacheStats stats = PlatformTransformer.getCacheStats().minus(before);
+		Assert.assertEquals(1, stats.hitCount());
+		Assert.assertEquals(0, stats.missCount());
+		Assert.assertEquals(0, stats.loadCount());
+
+		PlatformTransformer.clearCache();
+		Assert.assertEquals(0, PlatformTransformer.getCacheSize());
+		transform();
+		stats = PlatformTransformer.getCacheStats().minus(before);
+		Assert.assertEquals(1, stats.missCount());
+		Assert.assertEquals(1, stats.loadSuccessCount());
+	}
+
 	@Test
 	public void testCompileError() throws Exception {
 		runErrornousTest("src/test/resources/template/error-compile", PlatformTransformerException.class);
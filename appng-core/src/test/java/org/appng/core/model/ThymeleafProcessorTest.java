@@ -38,6 +38,7 @@ import org.appng.api.model.Site;
 import org.appng.api.support.environment.DefaultEnvironment;
 import org.appng.api.support.environment.EnvironmentKeys;
 import org.appng.core.domain.SiteImpl;
+import org.appng.core.templating.ThymeleafTemplateEngine;
 import org.appng.xml.MarshallService;
 import org.appng.xml.platform.Action;
 import org.appng.xml.platform.Datafield;
@@ -61,6 +62,8 @@ import org.springframework.core.io.ClassPathResource;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.mock.web.MockServletContext;
+import org.thymeleaf.cache.StandardCache;
+import org.w3c.dom.Node;
 
 import com.google.common.io.Files;
 
@@ -68,6 +71,7 @@ public class ThymeleafProcessorTest {
 
 	private static ThymeleafProcessor.AppNG appNG;
 	private static org.appng.xml.platform.Platform platform;
+	private String applicationTimestamp;
 
 	@BeforeClass
 	public static void setup() throws Exception {
@@ -104,6 +108,33 @@ public class ThymeleafProcessorTest {
 		Assert.assertTrue(result.contains("<platform xmlns=\"http://www.appng.org/schema/platform\">"));
 	}
 
+	@Test
+	public void testTemplateEngineCache() throws Exception {
+		ThymeleafProcessor.clearCache("localhost");
+		doProcess(true, false);
+		Map<String, ThymeleafTemplateEngine> templateEngines = ThymeleafProcessor.getTemplateEngines("localhost");
+		Assert.assertEquals(1, templateEngines.size());
+		ThymeleafTemplateEngine templateEngine = templateEngines.get("application:");
+		StandardCache<?, ?> templateCache = (StandardCache<?, ?>) templateEngine.getCacheManager().getTemplateCache();
+		long hits = templateCache.getHitCount();
+
+		String result = doProcess(true, false);
+		Assert.assertTrue(result.contains("<span>Hello John Doe!</span>"));
+		Assert.assertSame(templateEngine, ThymeleafProcessor.getTemplateEngines("localhost").get("application:"));
+		Assert.assertTrue(templateCache.getHitCount() > hits);
+
+		applicationTimestamp = "20201231-1200";
+		doProcess(true, false);
+		applicationTimestamp = null;
+		Assert.assertNotSame(templateEngine, ThymeleafProcessor.getTemplateEngines("localhost").get("application:"));
+
+		ThymeleafProcessor.clearCache("localhost", "application");
+		Assert.assertTrue(ThymeleafProcessor.getTemplateEngines("localhost").isEmpty());
+		doProcess(true, false);
+		ThymeleafProcessor.clearCache("localhost");
+		Assert.assertTrue(ThymeleafProcessor.getTemplateEngines("localhost").isEmpty());
+	}
+
 	protected String doProcess(boolean render, boolean withCustomTemplate) throws Exception {
 		MockServletContext servletContext = new MockServletContext();
 		MockHttpServletRequest request = new MockHttpServletRequest(servletContext);
@@ -165,6 +196,7 @@ public class ThymeleafProcessorTest {
 			protected ApplicationProvider getApplicationProvider(Site site) throws InvalidConfigurationException {
 				ApplicationProvider applicationProvider = Mockito.mock(ApplicationProvider.class);
 				Mockito.when(applicationProvider.getName()).thenReturn("application");
+				Mockito.when(applicationProvider.getTimestamp()).thenReturn(applicationTimestamp);
 				return applicationProvider;
 			}
 		};
@@ -187,6 +219,21 @@ public class ThymeleafProcessorTest {
 		return thymlfPrcssr.processWithTemplate(site, PlatformTransformerTest.DEBUG_FOLDER);
 	}
 
+	@Test
+	public void testXPathCreatedLazily() throws Exception {
+		DocumentBuilderFactory dbf = Mockito.spy(DocumentBuilderFactory.newInstance());
+		ThymeleafProcessor processor = new ThymeleafProcessor(dbf);
+		ThymeleafProcessor.AppNG lazyAppNG = (ThymeleafProcessor.AppNG) processor.getContext(platform, null)
+				.getVariable("appNG");
+		Assert.assertNotNull(lazyAppNG.page("sites"));
+		Mockito.verify(dbf, Mockito.never()).newDocumentBuilder();
+
+		Node sites = lazyAppNG.xNode("//appng:page[@id='sites']");
+		Assert.assertEquals("sites", sites.getAttributes().getNamedItem("id").getNodeValue());
+		Assert.assertNotNull(lazyAppNG.xElement(sites, "appng:structure"));
+		Mockito.verify(dbf, Mockito.times(1)).newDocumentBuilder();
+	}
+
 	@Test
 	public void testSectionTitle() {
 		PageReference page = appNG.page("sites");
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2011-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.appng.core.service;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.cache.Cache;
+
+import org.appng.api.SiteProperties;
+import org.appng.api.model.Property;
+import org.appng.api.support.PropertyHolder;
+import org.appng.core.controller.CachedResponse;
+import org.appng.core.domain.SiteImpl;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+public class CacheServiceTest {
+
+	private static SiteImpl site;
+
+	@BeforeClass
+	public static void setup() {
+		site = new SiteImpl();
+		site.setName("cacheServiceTest");
+		site.setHost("cacheServiceTest");
+		PropertyHolder siteProps = new PropertyHolder();
+		siteProps.addProperty(SiteProperties.CACHE_ENABLED, true, null, Property.Type.BOOLEAN);
+		siteProps.addProperty(SiteProperties.CACHE_TIME_TO_LIVE, 1800, null, Property.Type.INT);
+		siteProps.addProperty(SiteProperties.CACHE_STATISTICS, true, null, Property.Type.BOOLEAN);
+		site.setProperties(siteProps);
+		CacheService.createCacheManager(HazelcastConfigurer.getInstance(null), false);
+	}
+
+	@Test
+	public void testHitStatistics() {
+		Cache<String, CachedResponse> cache = CacheService.createCache(site);
+		String key = "GET/de/index";
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.setServletPath("/de/index");
+		cache.put(key, new CachedResponse(key, site, request, 200, "text/plain", "a value".getBytes(),
+				new HttpHeaders(), 1800));
+
+		CachedResponse cachedResponse = cache.get(key);
+		Assert.assertEquals(1, CacheService.recordHit(cache, cachedResponse));
+		Assert.assertEquals(2, CacheService.recordHit(cache, cachedResponse));
+		Assert.assertEquals(3, CacheService.recordHit(cache, cachedResponse));
+		Assert.assertEquals(0, cache.get(key).getHitCount());
+
+		CacheService.flushHitStatistics();
+		// the hits are kept apart from the entry
+		Assert.assertEquals(0, cache.get(key).getHitCount());
+		Assert.assertEquals(3, CacheService.getCacheEntries(site).get(0).getHitCount());
+		CacheService.flushHitStatistics();
+		Assert.assertEquals(3, CacheService.getCacheEntries(site).get(0).getHitCount());
+		// no hits since the last flush, the local counter has been dropped
+		CacheService.recordHit(cache, cachedResponse);
+		CacheService.flushHitStatistics();
+		Assert.assertEquals(4, CacheService.getCacheEntries(site).get(0).getHitCount());
+	}
+
+	@Test(timeout = 20000)
+	public void testExpireCacheElementsStartingWith() {
+		Cache<String, CachedResponse> cache = CacheService.createCache(site);
+		CacheService.clearCache(site);
+		CacheKeyIndex keyIndex = CacheService.getKeyIndex(cache.getName());
+		Assert.assertNotNull(keyIndex);
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		List<String> keys = Arrays.asList("GET/de/index", "GET/de/foo", "GET/de/foo/bar", "GET/en/foo",
+				"GET/de/fool");
+		for (String key : keys) {
+			request.setServletPath(key.substring(3));
+			cache.put(key, new CachedResponse(key, site, request, 200, "text/plain", "a value".getBytes(),
+					new HttpHeaders(), 1800));
+		}
+		// the listener is synchronous, so the keys have already been indexed
+		Assert.assertEquals(keys.size(), keyIndex.getSize());
+		Assert.assertEquals(new HashSet<>(Arrays.asList("GET/de/foo", "GET/de/foo/bar", "GET/de/fool")),
+				keyIndex.getKeysStartingWith("GET/de/foo"));
+
+		Assert.assertEquals(2, CacheService.expireCacheElementsStartingWith(cache, Arrays.asList("/de/foo/", "/en")));
+		Assert.assertNull(cache.get("GET/de/foo/bar"));
+		Assert.assertNull(cache.get("GET/en/foo"));
+		Assert.assertNotNull(cache.get("GET/de/foo"));
+		Assert.assertEquals(2, CacheService.expireCacheElementsStartingWith(cache, "/de/foo"));
+		Assert.assertEquals(0, CacheService.expireCacheElementsStartingWith(cache, "/de/foo"));
+		Assert.assertEquals(1, CacheService.expireCacheElements(cache, Arrays.asList("GET/de/index", "GET/de/none")));
+		Assert.assertFalse(cache.iterator().hasNext());
+		Assert.assertEquals(0, keyIndex.getSize());
+	}
+
+	@Test(timeout = 20000)
+	public void testLock() throws Exception {
+		Cache<String, CachedResponse> cache = CacheService.createCache(site);
+		String key = "GET/de/locked";
+		Assert.assertTrue(CacheService.tryLock(cache, key, 100));
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		Assert.assertFalse(executor.submit(() -> CacheService.tryLock(cache, key, 100)).get());
+		CacheService.unlock(cache, key);
+		Assert.assertTrue(executor.submit(() -> CacheService.tryLock(cache, key, 100)).get());
+		executor.submit(() -> CacheService.unlock(cache, key)).get();
+		executor.shutdown();
+	}
+
+	@Test(timeout = 20000)
+	public void testNearCache() throws InterruptedException {
+		SiteImpl nearCacheSite = new SiteImpl();
+		nearCacheSite.setName("nearCacheTest");
+		nearCacheSite.setHost("nearCacheTest");
+		PropertyHolder siteProps = new PropertyHolder();
+		siteProps.addProperty(SiteProperties.CACHE_ENABLED, true, null, Property.Type.BOOLEAN);
+		siteProps.addProperty(SiteProperties.CACHE_TIME_TO_LIVE, 1800, null, Property.Type.INT);
+		siteProps.addProperty(SiteProperties.CACHE_STATISTICS, true, null, Property.Type.BOOLEAN);
+		siteProps.addProperty(SiteProperties.CACHE_NEAR_CACHE_SIZE, 1, null, Property.Type.INT);
+		nearCacheSite.setProperties(siteProps);
+
+		Cache<String, CachedResponse> cache = CacheService.createCache(nearCacheSite);
+		NearCache nearCache = CacheService.getNearCache(cache.getName());
+		Assert.assertNotNull(nearCache);
+		Assert.assertEquals(1024 * 1024, nearCache.getMaxBytes());
+
+		String key = "GET/de/index";
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.setServletPath("/de/index");
+		CachedResponse cachedResponse = new CachedResponse(key, nearCacheSite, request, 200, "text/plain",
+				"a value".getBytes(), new HttpHeaders(), 1800);
+		cache.put(key, cachedResponse);
+		nearCache.put(key, cachedResponse);
+		Assert.assertNotNull(nearCache.get(key));
+
+		Map<String, String> stats = CacheService.getCacheStatistics(nearCacheSite);
+		Assert.assertEquals("1", stats.get(CacheService.STATS_NEAR_CACHE_SIZE));
+		Assert.assertEquals("1", stats.get(CacheService.STATS_NEAR_CACHE_HITS));
+		Assert.assertEquals("0", stats.get(CacheService.STATS_NEAR_CACHE_MISSES));
+
+		// removal from the underlying cache invalidates the near cache
+		cache.remove(key);
+		while (nearCache.getSize() > 0) {
+			Thread.sleep(50);
+		}
+		Assert.assertNull(nearCache.get(key));
+
+		// disabling the near cache recreates the cache without near cache
+		siteProps = new PropertyHolder();
+		siteProps.addProperty(SiteProperties.CACHE_TIME_TO_LIVE, 1800, null, Property.Type.INT);
+		siteProps.addProperty(SiteProperties.CACHE_STATISTICS, true, null, Property.Type.BOOLEAN);
+		siteProps.addProperty(SiteProperties.CACHE_NEAR_CACHE_SIZE, 0, null, Property.Type.INT);
+		nearCacheSite.setProperties(siteProps);
+		cache = CacheService.createCache(nearCacheSite);
+		Assert.assertNull(CacheService.getNearCache(cache.getName()));
+	}
+
+}
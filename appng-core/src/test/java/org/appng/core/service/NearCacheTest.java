@@ -0,0 +1,115 @@
+/*
+ * Copyright 2011-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.appng.core.service;
+
+import java.util.Date;
+
+import org.appng.api.model.Site;
+import org.appng.core.controller.CachedResponse;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+public class NearCacheTest {
+
+	@Test
+	public void testEviction() {
+		NearCache nearCache = new NearCache("test", 30);
+		nearCache.put("a", response("a", 10));
+		nearCache.put("b", response("b", 10));
+		nearCache.put("c", response("c", 10));
+		Assert.assertEquals(3, nearCache.getSize());
+		Assert.assertEquals(30, nearCache.getBytes());
+
+		// access a, so b is the least recently used entry
+		Assert.assertNotNull(nearCache.get("a"));
+		nearCache.put("d", response("d", 10));
+		Assert.assertEquals(3, nearCache.getSize());
+		Assert.assertNull(nearCache.get("b"));
+		Assert.assertNotNull(nearCache.get("a"));
+		Assert.assertNotNull(nearCache.get("c"));
+		Assert.assertNotNull(nearCache.get("d"));
+
+		// too large
+		nearCache.put("e", response("e", 31));
+		Assert.assertNull(nearCache.get("e"));
+		Assert.assertEquals(3, nearCache.getSize());
+
+		nearCache.put("f", response("f", 25));
+		Assert.assertEquals(1, nearCache.getSize());
+		Assert.assertEquals(25, nearCache.getBytes());
+
+		nearCache.remove("f");
+		Assert.assertEquals(0, nearCache.getSize());
+		Assert.assertEquals(0, nearCache.getBytes());
+		Assert.assertEquals(4, nearCache.getHits());
+		Assert.assertEquals(2, nearCache.getMisses());
+	}
+
+	@Test
+	public void testExpiry() {
+		NearCache nearCache = new NearCache("test", 100);
+		CachedResponse response = response("a", 10);
+		nearCache.put("a", response);
+		Assert.assertNotNull(nearCache.get("a"));
+		response.setExpirationTime(new Date(System.currentTimeMillis() - 1));
+		Assert.assertNull(nearCache.get("a"));
+		Assert.assertEquals(0, nearCache.getBytes());
+	}
+
+	@Test
+	public void testRemoveOutdated() {
+		NearCache nearCache = new NearCache("test", 100);
+		CachedResponse response = response("a", 10);
+		nearCache.put("a", response);
+		// same entry, e.g. put again
+		Assert.assertFalse(nearCache.removeOutdated("a", response));
+		Assert.assertNotNull(nearCache.get("a"));
+
+		CachedResponse refreshed = response("a", 10);
+		refreshed.setCreationTime(new Date(response.getCreationTime().getTime() + 1000));
+		Assert.assertTrue(nearCache.removeOutdated("a", refreshed));
+		Assert.assertNull(nearCache.get("a"));
+		Assert.assertEquals(0, nearCache.getBytes());
+	}
+
+	@Test
+	public void testInvalidatedWhileReading() {
+		NearCache nearCache = new NearCache("test", 100);
+		long generation = nearCache.getGeneration();
+		// the entry is invalidated after it has been read from the underlying cache
+		nearCache.remove("a");
+		Assert.assertFalse(nearCache.put("a", response("a", 10), generation));
+		Assert.assertNull(nearCache.get("a"));
+
+		generation = nearCache.getGeneration();
+		nearCache.removeOutdated("a", response("a", 10));
+		Assert.assertFalse(nearCache.put("a", response("a", 10), generation));
+
+		generation = nearCache.getGeneration();
+		Assert.assertTrue(nearCache.put("a", response("a", 10), generation));
+		Assert.assertNotNull(nearCache.get("a"));
+	}
+
+	private CachedResponse response(String key, int size) {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.setServletPath("/" + key);
+		return new CachedResponse(key, Mockito.mock(Site.class), request, 200, "text/plain", new byte[size],
+				new HttpHeaders(), 1800);
+	}
+}
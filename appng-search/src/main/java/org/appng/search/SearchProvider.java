@@ -19,12 +19,14 @@ import java.io.IOException;
 import java.util.Map;
 
 import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.search.IndexSearcher;
 import org.apache.lucene.store.Directory;
 import org.appng.api.Environment;
 import org.appng.api.model.Application;
 import org.appng.api.model.FeatureProvider;
 import org.appng.api.model.Site;
 import org.appng.api.search.Document;
+import org.appng.search.searcher.SearcherRegistry;
 
 /**
  * When performing a global search within a {@link Site}, every {@link Application} of the site is checked for
@@ -40,6 +42,20 @@ public interface SearchProvider {
 
 	static final int MAX_HITS = 10000;
 
+	/**
+	 * The name of the parameter containing the (inclusive) index of the first hit that will be rendered. Set by the
+	 * search tag when the results are paginated, so a {@link SearchProvider} may skip loading and highlighting the
+	 * {@link Document}s before this index. Those {@link Document}s only need to provide a score.
+	 */
+	static final String PARAM_HITS_FROM = "hitsFrom";
+
+	/**
+	 * The name of the parameter containing the (exclusive) index of the last hit that will be rendered. Set by the
+	 * search tag when the results are paginated, so a {@link SearchProvider} may skip loading and highlighting the
+	 * {@link Document}s from this index on. Those {@link Document}s only need to provide a score.
+	 */
+	static final String PARAM_HITS_TO = "hitsTo";
+
 	/**
 	 * Performs the actual search
 	 * 
@@ -55,7 +71,13 @@ public interface SearchProvider {
 	 *            contributes some {@link Document}s to the {@link Site}'s global index by using
 	 *            {@link FeatureProvider#getIndexer()} or implementing {@link DocumentProvider}. Otherwise, the
 	 *            {@link Application} might have it's own Lucene index or even get the {@link Document}s from somewhere
-	 *            else (for example from the database or filesystem).
+	 *            else (for example from the database or filesystem).<br>
+	 *            Use {@link SearcherRegistry#acquire(Directory)} to obtain a shared {@link IndexSearcher} for this
+	 *            directory.<br>
+	 *            The directory is owned by the {@link SearcherRegistry} and shared by all searches on this index, so
+	 *            it <b>must not</b> be closed by the {@link SearchProvider}. Closing it breaks all following searches
+	 *            on this index. Likewise, a searcher obtained from the registry must be given back with
+	 *            {@link SearcherRegistry#release(IndexSearcher)} instead of closing its reader.
 	 * @param term
 	 *            the search term
 	 * @param language
@@ -67,7 +89,8 @@ public interface SearchProvider {
 	 * @param highlightWith
 	 *            a tagname to highlight fragments with, e.g {@code span} or {@code div}
 	 * @param parameters
-	 *            some custom parameters for this search
+	 *            some custom parameters for this search, including {@link #PARAM_HITS_FROM} and
+	 *            {@link #PARAM_HITS_TO} if only a page of the results will be rendered
 	 * @return an {@link Iterable}&lt;{@link Document}&gt; containing the found {@link Document}s
 	 * @throws IOException
 	 *             if an error occurs while searching
@@ -18,16 +18,19 @@ package org.appng.search.indexer;
 import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
-import java.lang.reflect.Constructor;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
 
 import org.apache.commons.lang3.time.FastDateFormat;
 import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.DelegatingAnalyzerWrapper;
 import org.apache.lucene.document.Field;
 import org.apache.lucene.document.Field.Store;
 import org.apache.lucene.document.StringField;
 import org.apache.lucene.document.TextField;
-import org.apache.lucene.index.DirectoryReader;
 import org.apache.lucene.index.IndexReader;
 import org.apache.lucene.index.IndexWriter;
 import org.apache.lucene.index.IndexWriterConfig;
@@ -35,16 +38,18 @@ import org.apache.lucene.index.IndexableField;
 import org.apache.lucene.index.Term;
 import org.apache.lucene.search.BooleanClause.Occur;
 import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.DocValuesFieldExistsQuery;
 import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.SearcherManager;
 import org.apache.lucene.search.TermQuery;
-import org.apache.lucene.search.TopDocs;
-import org.apache.lucene.store.Directory;
 import org.apache.lucene.store.FSDirectory;
 import org.appng.api.observe.Observable.Event;
 import org.appng.api.search.Consumer;
 import org.appng.api.search.Document;
 import org.appng.api.search.DocumentEvent;
 import org.appng.api.search.DocumentProducer;
+import org.appng.search.searcher.SearcherRegistry;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -53,6 +58,16 @@ import lombok.extern.slf4j.Slf4j;
  * {@link DocumentProducer}s, whose {@link DocumentEvent}s are being consumed with a timeout calling
  * {@link DocumentProducer#get(long)}. This means if a {@link DocumentProducer} doesn't produce a new {@link Document}
  * within the given timeout, the producer is being discarded and the next one is taken.
+ * <p>
+ * The {@link IndexWriter} is opened once and kept open while this {@code DocumentIndexer} is running. A
+ * {@link Document} is identified by the term {@value #FIELD_UID}, which combines its type and id, so it can be
+ * replaced using {@link IndexWriter#updateDocument(Term, Iterable)} without searching for it first. Changes are
+ * committed after {@value #DEFAULT_COMMIT_BATCH_SIZE} events, after {@value #DEFAULT_COMMIT_INTERVAL} milliseconds
+ * (checked for each event), or when there are no more {@link DocumentProducer}s waiting. If a
+ * {@link DocumentProducer} fails, the uncommitted changes are rolled back. In between, they are made visible through the
+ * near-real-time readers of the {@link SearcherManager} returned by {@link #getSearcherManager()}, which is also
+ * registered with the {@link SearcherRegistry}.
+ * </p>
  * 
  * @author Matthias Müller
  * 
@@ -62,14 +77,41 @@ public class DocumentIndexer extends Consumer<DocumentEvent, DocumentProducer> i
 
 	private static final String YYYY_MM_DD_HH_MM_SS = "yyyy-MM-dd HH:mm:ss";
 	public static final Event CLEAR_INDEX = new Event("clear-index");
+	/** Deletes all documents except those of the files indexed by a {@link FileSystemProvider} */
+	public static final Event CLEAR_INDEX_KEEP_FILES = new Event("clear-index-keep-files");
+	/**
+	 * Only updates the {@link FileSystemProvider#FIELD_FILE_MODIFIED modification time} of an indexed file, which has
+	 * been touched but not changed
+	 */
+	public static final Event UPDATE_FILE_MODIFIED = new Event("update-file-modified");
+	/** The (not stored) field containing the unique id of a document, built from its type and id */
+	public static final String FIELD_UID = "uid";
+	/** The number of events after which the changes are being committed */
+	public static final int DEFAULT_COMMIT_BATCH_SIZE = 1000;
+	/** The number of milliseconds after which the changes are being committed */
+	public static final long DEFAULT_COMMIT_INTERVAL = 10000L;
+	private static final char UID_SEPARATOR = '\u001F';
 
 	private static final FastDateFormat DATEFORMAT = FastDateFormat.getInstance(YYYY_MM_DD_HH_MM_SS);
 	private File indexDir;
 	private Long timeout;
+	private int commitBatchSize = DEFAULT_COMMIT_BATCH_SIZE;
+	private long commitInterval = DEFAULT_COMMIT_INTERVAL;
+
+	private final Map<Class<? extends Analyzer>, Analyzer> analyzers = new HashMap<>();
+	private final SwitchingAnalyzer analyzer = new SwitchingAnalyzer();
+	private IndexWriter indexWriter;
+	private volatile SearcherManager searcherManager;
+	private boolean legacyIndex;
+	private int uncommitted;
+	private final Set<String> uncommittedProducers = new LinkedHashSet<>();
+	private long lastCommit;
 
 	/**
 	 * Creates a new {@code DocumentIndexer}.
 	 * 
+	 * @param queueSize
+	 *            the size of the queue holding the {@link DocumentProducer}s
 	 * @param indexDir
 	 *            the directory to read/save the Lucene index from/to
 	 * @param timeout
@@ -91,104 +133,232 @@ public class DocumentIndexer extends Consumer<DocumentEvent, DocumentProducer> i
 	 * Starts this {@code DocumentIndexer}, running forever (until interrupted).
 	 */
 	public void run() {
-		Directory directory = null;
-		IndexWriter indexWriter = null;
-		IndexReader reader = null;
-		IndexSearcher searcher = null;
-		Analyzer analyzer = null;
-		boolean needsRollback = false;
 		try {
 			while (!Thread.currentThread().isInterrupted()) {
 				DocumentProducer producer = get();
-				Constructor<? extends Analyzer> constructor = producer.getAnalyzerClass().getConstructor();
-				analyzer = constructor.newInstance();
-				IndexWriterConfig config = new IndexWriterConfig(analyzer);
-				directory = FSDirectory.open(indexDir.toPath());
-				indexWriter = new IndexWriter(directory, config);
-				needsRollback = true;
-				LOGGER.debug("opened IndexWriter#{} with Analyzer {}", indexWriter.hashCode(), analyzer.getClass());
-				reader = DirectoryReader.open(indexWriter);
-				searcher = new IndexSearcher(reader);
-				int before = indexWriter.getDocStats().numDocs;
-				DocumentEvent documentEvent = null;
-				int created = 0;
-				int updated = 0;
-				int deleted = 0;
-				while (null != (documentEvent = producer.get(timeout))) {
-					Event event = documentEvent.getEvent();
-					if (CLEAR_INDEX.equals(event)) {
-						indexWriter.deleteAll();
-						LOGGER.info("clearing index at {}", indexDir.getAbsolutePath());
-					} else {
-
-						long start = System.currentTimeMillis();
-
-						Document document = documentEvent.getDocument();
-						org.apache.lucene.document.Document luceneDocument = getDocument(document);
-
-						TermQuery idQuery = new TermQuery(new Term(Document.FIELD_ID, document.getId()));
-						TermQuery typeQuery = new TermQuery(new Term(Document.FIELD_TYPE, document.getType()));
-
-						BooleanQuery.Builder queryBuilder = new BooleanQuery.Builder();
-						queryBuilder.add(idQuery, Occur.MUST);
-						queryBuilder.add(typeQuery, Occur.MUST);
-						BooleanQuery query = queryBuilder.build();
-						String queryString = query.toString();
-						TopDocs search = searcher.search(query, 10);
-						long found = search.totalHits.value;
-						if (found > 0) {
-							indexWriter.deleteDocuments(query);
-							LOGGER.debug("deleting {} existing document(s) for query {}", found, queryString);
-						}
-
-						if (Document.CREATE.equals(event)) {
-							indexWriter.addDocument(luceneDocument);
-							LOGGER.debug("creating document {}", queryString);
-							created++;
-						} else if (Document.UPDATE.equals(event)) {
-							indexWriter.addDocument(luceneDocument);
-							LOGGER.debug("updating document {}", queryString);
-							updated++;
-						} else if (Document.DELETE.equals(event)) {
-							deleted++;
-						}
-
-						long duration = System.currentTimeMillis() - start;
-						LOGGER.debug("[{}ms] {}, query: {}", duration, event, queryString);
-					}
+				try {
+					process(producer);
+				} catch (InterruptedException ie) {
+					rollback();
+					throw ie;
+				} catch (Exception e) {
+					LOGGER.error(String.format("error while processing DocumentProducer '%s'", producer.getName()), e);
+					rollback();
 				}
-				indexWriter.commit();
-				needsRollback = false;
-				LOGGER.info("comitted IndexWriter#{}", indexWriter.hashCode());
-				int after = indexWriter.getDocStats().numDocs;
-				int overall = created + updated + deleted;
-				String mssg = "done with DocumentProducer '{}' which offered {} events (CREATE: {}, UPDATE: {}, DELETE: {}). The index now contains {} documents (was {} before)";
-				LOGGER.info(mssg, producer.getName(), overall, created, updated, deleted, after, before);
-				LOGGER.debug("comitted IndexWriter#{}, containing {} documents (before: {}) directory: {}",
-						indexWriter.hashCode(), after, before, indexDir.getAbsolutePath());
-				close(indexWriter, reader, directory);
 			}
-		} catch (IOException ioe) {
-			LOGGER.error("an I/O error occured", ioe);
 		} catch (InterruptedException ie) {
 			LOGGER.error("thread was interrupted", ie);
 			Thread.currentThread().interrupt();
-		} catch (Exception e) {
-			LOGGER.error("unexpected error", e);
 		} finally {
-			if (null != indexWriter && needsRollback) {
+			closeIndexWriter();
+			close(analyzers.values().toArray(new Analyzer[analyzers.size()]));
+			analyzers.clear();
+		}
+	}
+
+	private void process(DocumentProducer producer) throws IOException, ReflectiveOperationException,
+			InterruptedException {
+		IndexWriter writer = getIndexWriter();
+		analyzer.setAnalyzer(getAnalyzer(producer.getAnalyzerClass()));
+		LOGGER.debug("using IndexWriter#{} with Analyzer {}", writer.hashCode(), producer.getAnalyzerClass());
+		int before = writer.getDocStats().numDocs;
+		DocumentEvent documentEvent = null;
+		int created = 0;
+		int updated = 0;
+		int deleted = 0;
+		while (null != (documentEvent = producer.get(timeout))) {
+			Event event = documentEvent.getEvent();
+			if (CLEAR_INDEX.equals(event)) {
+				writer.deleteAll();
+				legacyIndex = false;
+				LOGGER.info("clearing index at {}", indexDir.getAbsolutePath());
+			} else if (CLEAR_INDEX_KEEP_FILES.equals(event)) {
+				BooleanQuery.Builder nonFiles = new BooleanQuery.Builder();
+				nonFiles.add(new MatchAllDocsQuery(), Occur.MUST);
+				nonFiles.add(new DocValuesFieldExistsQuery(FileSystemProvider.FIELD_FILE_MODIFIED), Occur.MUST_NOT);
+				writer.deleteDocuments(nonFiles.build());
+				LOGGER.info("clearing index at {}, keeping the documents of indexed files", indexDir.getAbsolutePath());
+			} else if (UPDATE_FILE_MODIFIED.equals(event)) {
+				Document document = documentEvent.getDocument();
+				Term uid = getUid(document);
+				long modified = document.getField(FileSystemProvider.FIELD_FILE_MODIFIED).numericValue().longValue();
+				writer.updateNumericDocValue(uid, FileSystemProvider.FIELD_FILE_MODIFIED, modified);
+				LOGGER.debug("updating modification time of document {}", uid.text());
+			} else {
+
+				long start = System.currentTimeMillis();
+
+				Document document = documentEvent.getDocument();
+				Term uid = getUid(document);
+				if (legacyIndex) {
+					writer.deleteDocuments(getIdAndTypeQuery(document));
+				}
+
+				if (Document.CREATE.equals(event)) {
+					writer.updateDocument(uid, getDocument(document, uid));
+					LOGGER.debug("creating document {}", uid.text());
+					created++;
+				} else if (Document.UPDATE.equals(event)) {
+					writer.updateDocument(uid, getDocument(document, uid));
+					LOGGER.debug("updating document {}", uid.text());
+					updated++;
+				} else if (Document.DELETE.equals(event)) {
+					writer.deleteDocuments(uid);
+					LOGGER.debug("deleting document {}", uid.text());
+					deleted++;
+				}
+
+				long duration = System.currentTimeMillis() - start;
+				LOGGER.debug("[{}ms] {}, uid: {}", duration, event, uid.text());
+			}
+			uncommitted++;
+			uncommittedProducers.add(producer.getName());
+			if (uncommitted >= commitBatchSize || System.currentTimeMillis() - lastCommit >= commitInterval) {
+				commit();
+			}
+		}
+		if (uncommitted > 0 && (getBlockingQueue().isEmpty()
+				|| System.currentTimeMillis() - lastCommit >= commitInterval)) {
+			commit();
+		} else {
+			searcherManager.maybeRefresh();
+		}
+		int after = writer.getDocStats().numDocs;
+		int overall = created + updated + deleted;
+		String mssg = "done with DocumentProducer '{}' which offered {} events (CREATE: {}, UPDATE: {}, DELETE: {}). The index now contains {} documents (was {} before)";
+		LOGGER.info(mssg, producer.getName(), overall, created, updated, deleted, after, before);
+	}
+
+	private IndexWriter getIndexWriter() throws IOException {
+		if (null == indexWriter || !indexWriter.isOpen()) {
+			IndexWriterConfig config = new IndexWriterConfig(analyzer);
+			indexWriter = new IndexWriter(FSDirectory.open(indexDir.toPath()), config);
+			SearcherManager manager = new SearcherManager(indexWriter, null);
+			// register first, so whoever sees the manager also gets it from the registry
+			SearcherRegistry.register(indexDir.toPath(), manager);
+			searcherManager = manager;
+			legacyIndex = isLegacyIndex();
+			uncommitted = 0;
+			lastCommit = System.currentTimeMillis();
+			LOGGER.debug("opened IndexWriter#{} for directory {}", indexWriter.hashCode(),
+					indexDir.getAbsolutePath());
+		}
+		return indexWriter;
+	}
+
+	// an index written before the uid field was introduced
+	private boolean isLegacyIndex() throws IOException {
+		IndexSearcher searcher = searcherManager.acquire();
+		try {
+			IndexReader reader = searcher.getIndexReader();
+			boolean isLegacyIndex = reader.getDocCount(FIELD_UID) < reader.maxDoc();
+			if (isLegacyIndex) {
+				LOGGER.info("index at {} contains documents without field '{}', these will be replaced",
+						indexDir.getAbsolutePath(), FIELD_UID);
+			}
+			return isLegacyIndex;
+		} finally {
+			searcherManager.release(searcher);
+		}
+	}
+
+	private Analyzer getAnalyzer(Class<? extends Analyzer> analyzerClass) throws ReflectiveOperationException {
+		Analyzer analyzer = analyzers.get(analyzerClass);
+		if (null == analyzer) {
+			analyzer = analyzerClass.getConstructor().newInstance();
+			analyzers.put(analyzerClass, analyzer);
+		}
+		return analyzer;
+	}
+
+	private void commit() throws IOException {
+		long start = System.currentTimeMillis();
+		indexWriter.commit();
+		searcherManager.maybeRefresh();
+		LOGGER.info("comitted {} events on IndexWriter#{} in {}ms, the index now contains {} documents",
+				uncommitted, indexWriter.hashCode(), System.currentTimeMillis() - start,
+				indexWriter.getDocStats().numDocs);
+		uncommitted = 0;
+		uncommittedProducers.clear();
+		lastCommit = System.currentTimeMillis();
+	}
+
+	private void rollback() {
+		if (null != indexWriter && indexWriter.isOpen()) {
+			try {
+				LOGGER.warn("rolling back {} events of DocumentProducer(s) {} on IndexWriter#{}, last commit was at {}",
+						uncommitted, uncommittedProducers, indexWriter.hashCode(), DATEFORMAT.format(lastCommit));
+				indexWriter.rollback();
+				LOGGER.info("rolling back on IndexWriter#{} successfull", indexWriter.hashCode());
+			} catch (IOException e) {
+				LOGGER.info("error rolling back changes on IndexWriter#{}", indexWriter.hashCode());
+			}
+			closeIndexWriter();
+		}
+	}
+
+	private void closeIndexWriter() {
+		if (null != indexWriter) {
+			if (indexWriter.isOpen() && uncommitted > 0) {
 				try {
-					LOGGER.info("rolling back changes on IndexWriter#{}", indexWriter.hashCode());
-					indexWriter.rollback();
-					LOGGER.info("rolling back on IndexWriter#{} successfull", indexWriter.hashCode());
+					commit();
 				} catch (IOException e) {
-					LOGGER.info("error rolling back changes on IndexWriter#{}", +indexWriter.hashCode());
+					LOGGER.error(String.format("error committing IndexWriter#%s", indexWriter.hashCode()), e);
 				}
 			}
-			close(indexWriter, reader, directory);
+			SearcherRegistry.unregister(indexDir.toPath(), searcherManager);
+			close(searcherManager, indexWriter, indexWriter.getDirectory());
+			searcherManager = null;
+			indexWriter = null;
+			uncommitted = 0;
+			uncommittedProducers.clear();
 		}
 	}
 
+	/**
+	 * Returns the {@link SearcherManager} providing near-real-time {@link IndexSearcher}s for the index written by
+	 * this {@code DocumentIndexer}.
+	 * 
+	 * @return the {@link SearcherManager}, or {@code null} if the {@link IndexWriter} has not been opened yet (or has
+	 *         been closed after an error)
+	 */
+	public SearcherManager getSearcherManager() {
+		return searcherManager;
+	}
+
+	/**
+	 * Sets the number of events after which the changes are being committed, defaults to
+	 * {@value #DEFAULT_COMMIT_BATCH_SIZE}.
+	 * 
+	 * @param commitBatchSize
+	 *            the batch size
+	 */
+	public void setCommitBatchSize(int commitBatchSize) {
+		this.commitBatchSize = commitBatchSize;
+	}
+
+	/**
+	 * Sets the number of milliseconds after which the changes are being committed, defaults to
+	 * {@value #DEFAULT_COMMIT_INTERVAL}.
+	 * 
+	 * @param commitInterval
+	 *            the interval in milliseconds
+	 */
+	public void setCommitInterval(long commitInterval) {
+		this.commitInterval = commitInterval;
+	}
+
+	private Term getUid(Document document) {
+		return new Term(FIELD_UID, document.getType() + UID_SEPARATOR + document.getId());
+	}
+
+	private BooleanQuery getIdAndTypeQuery(Document document) {
+		BooleanQuery.Builder queryBuilder = new BooleanQuery.Builder();
+		queryBuilder.add(new TermQuery(new Term(Document.FIELD_ID, document.getId())), Occur.MUST);
+		queryBuilder.add(new TermQuery(new Term(Document.FIELD_TYPE, document.getType())), Occur.MUST);
+		return queryBuilder.build();
+	}
+
 	private void close(Closeable... closeables) {
 		for (Closeable closeable : closeables) {
 			if (null != closeable) {
@@ -204,8 +374,9 @@ public class DocumentIndexer extends Consumer<DocumentEvent, DocumentProducer> i
 		}
 	}
 
-	private org.apache.lucene.document.Document getDocument(Document document) {
+	private org.apache.lucene.document.Document getDocument(Document document, Term uid) {
 		org.apache.lucene.document.Document indexDoc = new org.apache.lucene.document.Document();
+		addStringField(indexDoc, FIELD_UID, uid.text(), Field.Store.NO);
 		addStringField(indexDoc, Document.FIELD_ID, document.getId(), Field.Store.YES);
 		addTextField(indexDoc, Document.FIELD_TITLE, document.getName(), Field.Store.YES);
 		addStringField(indexDoc, Document.FIELD_PATH, document.getPath(), Field.Store.YES);
@@ -238,4 +409,22 @@ public class DocumentIndexer extends Consumer<DocumentEvent, DocumentProducer> i
 		}
 	}
 
+	private static class SwitchingAnalyzer extends DelegatingAnalyzerWrapper {
+
+		private Analyzer analyzer;
+
+		SwitchingAnalyzer() {
+			super(PER_FIELD_REUSE_STRATEGY);
+		}
+
+		void setAnalyzer(Analyzer analyzer) {
+			this.analyzer = analyzer;
+		}
+
+		@Override
+		protected Analyzer getWrappedAnalyzer(String fieldName) {
+			return analyzer;
+		}
+	}
+
 }
@@ -17,21 +17,61 @@ package org.appng.search.indexer;
 
 import java.io.File;
 import java.io.FileFilter;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.Reader;
 import java.nio.charset.Charset;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Date;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.lucene.document.BinaryDocValuesField;
 import org.apache.lucene.document.Field.Store;
+import org.apache.lucene.document.NumericDocValuesField;
 import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.BinaryDocValues;
+import org.apache.lucene.index.DocValues;
+import org.apache.lucene.index.IndexNotFoundException;
+import org.apache.lucene.index.LeafReader;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.NumericDocValues;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause.Occur;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.DocValuesFieldExistsQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreMode;
+import org.apache.lucene.search.SimpleCollector;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.util.BytesRef;
 import org.apache.tika.parser.ParsingReader;
 import org.appng.api.SiteProperties;
 import org.appng.api.model.Application;
@@ -39,34 +79,96 @@ import org.appng.api.model.Site;
 import org.appng.api.search.Document;
 import org.appng.api.search.DocumentEvent;
 import org.appng.api.search.DocumentProducer;
-import org.appng.api.search.Producer;
 import org.appng.search.DocumentProvider;
 import org.appng.search.Search;
 import org.appng.search.indexer.IndexConfig.ConfigEntry;
+import org.appng.search.searcher.SearcherRegistry;
 
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * A {@link DocumentProvider} for the files of a {@link Site}'s www-directory.
+ * <p>
+ * The last modification time and the SHA-256 hash of each indexed file are stored as (not stored) doc values within
+ * the index. If the index location is known, only new and changed files are parsed and files that do not exist
+ * anymore are deleted from the index. A file is considered to be unchanged if its modification time did not change,
+ * or if it has the same hash as before. In the latter case, only the stored modification time is updated (see
+ * {@link DocumentIndexer#UPDATE_FILE_MODIFIED}). Instead of clearing the whole index, only the documents that do not
+ * originate from the file system are deleted (see {@link DocumentIndexer#CLEAR_INDEX_KEEP_FILES}), because those are
+ * provided again by the applications. If there is no index yet, the index is cleared and all files are parsed.
+ * </p>
+ * The files are parsed by a bounded pool of threads, while the calling thread puts the resulting
+ * {@link DocumentEvent}s into the {@link DocumentProducer} in the order the files have been found.
+ * <p>
+ * Besides indexing the whole directory, single files and directories that have been created, modified or deleted can
+ * be indexed using {@link #indexFiles(Collection)}.
+ * </p>
+ * 
+ * @author Matthias Müller
+ * 
+ * @see Statistics
+ */
 @Slf4j
 public class FileSystemProvider implements DocumentProvider {
 
+	/** The doc values field containing the last modification time of an indexed file */
+	public static final String FIELD_FILE_MODIFIED = "fileModified";
+	/** The doc values field containing the SHA-256 hash of an indexed file */
+	public static final String FIELD_FILE_HASH = "fileHash";
+	/** The default number of threads used to parse the files */
+	public static final int DEFAULT_THREADS = 2;
+	private static final int MAX_QUERIED_PATHS = 1000;
+	private static final Set<String> STATE_FIELDS = new HashSet<>(
+			Arrays.asList(Document.FIELD_PATH, Document.FIELD_TYPE, Document.FIELD_LANGUAGE));
+
 	private IndexConfig config;
 	private List<String> extensions;
 	private long timeout;
 	private String jspExtension;
 	private File dataDir;
 	private Collection<? extends File> protectedFolders;
+	private File indexDir;
+	private int threads;
+	private Statistics statistics = new Statistics();
 	/* if this field is present and has value 'false', the whole page is skipped while indexing */
 	private static final String INDEX_PAGE = "indexPage";
 
 	public FileSystemProvider(IndexConfig config, List<String> extensions, long timeout, String jspExtension,
 			File dataDir, Collection<? extends File> protectedFolders) {
+		this(config, extensions, timeout, jspExtension, dataDir, protectedFolders, null, DEFAULT_THREADS);
+	}
+
+	/**
+	 * Creates a new {@link FileSystemProvider}.
+	 * 
+	 * @param config
+	 *            the {@link IndexConfig}
+	 * @param extensions
+	 *            the extensions of the files to index
+	 * @param timeout
+	 *            the timeout in milliseconds when adding a {@link DocumentEvent} to a {@link DocumentProducer}
+	 * @param jspExtension
+	 *            the extension of the JSP files, which are parsed with {@link ParseTags}
+	 * @param dataDir
+	 *            the directory containing the files
+	 * @param protectedFolders
+	 *            the folders to skip
+	 * @param indexDir
+	 *            the directory of the Lucene index, used to find unchanged files. If {@code null}, the index is
+	 *            cleared and all files are parsed.
+	 * @param threads
+	 *            the number of threads used to parse the files
+	 */
+	public FileSystemProvider(IndexConfig config, List<String> extensions, long timeout, String jspExtension,
+			File dataDir, Collection<? extends File> protectedFolders, File indexDir, int threads) {
 		this.config = config;
 		this.extensions = extensions;
 		this.timeout = timeout;
 		this.jspExtension = jspExtension;
 		this.dataDir = dataDir;
 		this.protectedFolders = protectedFolders;
-
+		this.indexDir = indexDir;
+		this.threads = Math.max(1, threads);
 	}
 
 	public Iterable<DocumentProducer> getDocumentProducers(Site site, Application application)
@@ -87,11 +189,17 @@ public class FileSystemProvider implements DocumentProvider {
 	 */
 	public Iterable<DocumentProducer> indexDirectory(int documentQueueSize)
 			throws InterruptedException, TimeoutException {
+		statistics = new Statistics();
 		List<DocumentProducer> producers = new ArrayList<>();
 		LOGGER.info("dataDir: {}", dataDir.getPath());
 
+		Map<String, FileState> indexedFiles = getIndexedFiles();
 		DocumentProducer clearer = new DocumentProducer(1, Search.getDefaultAnalyzerClass(), "clear index");
-		clearer.put(new DocumentEvent(null, DocumentIndexer.CLEAR_INDEX), timeout);
+		if (indexedFiles.isEmpty()) {
+			clearer.put(new DocumentEvent(null, DocumentIndexer.CLEAR_INDEX), timeout);
+		} else {
+			clearer.put(new DocumentEvent(null, DocumentIndexer.CLEAR_INDEX_KEEP_FILES), timeout);
+		}
 
 		producers.add(clearer);
 
@@ -100,41 +208,188 @@ public class FileSystemProvider implements DocumentProvider {
 		if (!dataDir.exists() || !dataDir.isDirectory()) {
 			LOGGER.error("{} does not exist or is not a directory", dataDir);
 		} else {
+			ExecutorService executor = threads > 1 ? Executors.newFixedThreadPool(threads, getThreadFactory()) : null;
+			try {
+				Set<String> folders = config.getFolders();
+				for (String folder : folders) {
+					List<File> skippedFolders = getSkippedFolders(folder);
+					ConfigEntry entry = config.getEntry(folder);
+					File contentFolder = new File(dataDir, folder);
+
+					if (contentFolder.exists()) {
+						DocumentProducer documentProducer = new DocumentProducer(documentQueueSize,
+								entry.getAnalyzer().getClass(), "index " + contentFolder.getAbsolutePath());
 
-			Set<String> folders = config.getFolders();
-			for (String folder : folders) {
-				List<File> skippedFolders = new ArrayList<>(protectedFolders);
-				List<String> skipList = new ArrayList<>(folders);
-				skipList.remove(folder);
-				for (String skipfolder : skipList) {
-					skippedFolders.add(new File(dataDir, skipfolder));
+						String language = entry.getLanguage();
+						List<IndexTask> tasks = new ArrayList<>();
+						scanDirectory(tasks, language, contentFolder, extensions, skippedFolders, indexedFiles);
+						numIndexed += indexFiles(documentProducer, tasks, executor);
+						producers.add(documentProducer);
+					} else {
+						LOGGER.warn("The folder {} does not exist, probably the site property {} is misconfigured!",
+								contentFolder.getAbsolutePath(), SiteProperties.INDEX_CONFIG);
+					}
+
+				}
+			} finally {
+				if (null != executor) {
+					executor.shutdownNow();
 				}
-				ConfigEntry entry = config.getEntry(folder);
-				File contentFolder = new File(dataDir, folder);
+			}
+		}
 
-				if (contentFolder.exists()) {
-					DocumentProducer documentProducer = new DocumentProducer(documentQueueSize,
-							entry.getAnalyzer().getClass(), "index " + contentFolder.getAbsolutePath());
+		addDeleter(producers, indexedFiles);
+		long end = System.currentTimeMillis();
+		LOGGER.info("Indexing {} files took {} milliseconds ({})", numIndexed, end - start, statistics);
+		return producers;
+	}
 
-					String language = entry.getLanguage();
-					numIndexed += indexDirectory(documentProducer, language, contentFolder, dataDir, extensions,
-							skippedFolders);
-					producers.add(documentProducer);
-				} else {
-					LOGGER.warn("The folder {} does not exist, probably the site property {} is misconfigured!",
-							contentFolder.getAbsolutePath(), SiteProperties.INDEX_CONFIG);
+	/**
+	 * Indexes the given files and directories, which have been created, modified or deleted. Existing files are
+	 * parsed unless they are unchanged, existing directories are scanned recursively. The documents of files that do
+	 * not exist anymore (including the files of a deleted directory) are deleted from the index.
+	 * 
+	 * @param files
+	 *            the changed files and directories, located within the data directory
+	 * @return an {@link Iterable} of {@link DocumentProducer}s
+	 * @throws InterruptedException
+	 *             if such an exception occurs while adding a {@link DocumentEvent} to the indexer
+	 * @throws TimeoutException
+	 *             if such an exception occurs while adding a {@link DocumentEvent} to the indexer
+	 */
+	public Iterable<DocumentProducer> indexFiles(Collection<File> files)
+			throws InterruptedException, TimeoutException {
+		statistics = new Statistics();
+		long start = System.currentTimeMillis();
+		Map<String, File> changedFiles = new LinkedHashMap<>();
+		for (File file : files) {
+			String serverPath = getServerPath(file.getAbsoluteFile());
+			if (null != serverPath) {
+				changedFiles.put(serverPath, file.getAbsoluteFile());
+			}
+		}
+		// a directory is scanned completely, so the files within can be omitted
+		changedFiles.keySet().removeIf(serverPath -> {
+			for (int idx = serverPath.lastIndexOf('/'); idx > 0; idx = serverPath.lastIndexOf('/', idx - 1)) {
+				if (changedFiles.containsKey(serverPath.substring(0, idx))) {
+					return true;
 				}
+			}
+			return false;
+		});
 
+		Map<String, FileState> indexedFiles = getIndexedFiles(changedFiles.keySet());
+		Map<String, List<IndexTask>> tasks = new LinkedHashMap<>();
+		for (Map.Entry<String, File> changedFile : changedFiles.entrySet()) {
+			File file = changedFile.getValue();
+			String folder = getFolder(changedFile.getKey());
+			if (null != folder && file.exists() && !isSkipped(file, getSkippedFolders(folder))) {
+				List<IndexTask> folderTasks = tasks.computeIfAbsent(folder, f -> new ArrayList<>());
+				String language = config.getEntry(folder).getLanguage();
+				if (file.isDirectory()) {
+					scanDirectory(folderTasks, language, file, extensions, getSkippedFolders(folder), indexedFiles);
+				} else if (FilenameUtils.isExtension(file.getName(), extensions)) {
+					scanFile(folderTasks, language, file, changedFile.getKey(), 1, 1, indexedFiles);
+				}
 			}
 		}
-		long end = System.currentTimeMillis();
-		LOGGER.info("Indexing {} files took {} milliseconds", numIndexed, end - start);
+
+		List<DocumentProducer> producers = new ArrayList<>();
+		int numIndexed = 0;
+		ExecutorService executor = threads > 1 ? Executors.newFixedThreadPool(threads, getThreadFactory()) : null;
+		try {
+			for (Map.Entry<String, List<IndexTask>> folderTasks : tasks.entrySet()) {
+				if (!folderTasks.getValue().isEmpty()) {
+					ConfigEntry entry = config.getEntry(folderTasks.getKey());
+					DocumentProducer documentProducer = new DocumentProducer(folderTasks.getValue().size(),
+							entry.getAnalyzer().getClass(), "index changes in " + folderTasks.getKey());
+					numIndexed += indexFiles(documentProducer, folderTasks.getValue(), executor);
+					producers.add(documentProducer);
+				}
+			}
+		} finally {
+			if (null != executor) {
+				executor.shutdownNow();
+			}
+		}
+		addDeleter(producers, indexedFiles);
+		LOGGER.info("Indexing {} changed files took {} milliseconds ({})", numIndexed,
+				System.currentTimeMillis() - start, statistics);
 		return producers;
 	}
 
-	private int indexDirectory(Producer<DocumentEvent> producer, String language, File currentDirectory, File dataDir,
-			final List<String> fileTypes, List<File> protectedFolders) throws InterruptedException, TimeoutException {
-		int count = 0;
+	// the remaining files have been deleted or are not to be indexed anymore
+	private void addDeleter(List<DocumentProducer> producers, Map<String, FileState> indexedFiles)
+			throws InterruptedException, TimeoutException {
+		if (!indexedFiles.isEmpty()) {
+			DocumentProducer deleter = new DocumentProducer(indexedFiles.size(), Search.getDefaultAnalyzerClass(),
+					"delete removed files");
+			for (Map.Entry<String, FileState> indexedFile : indexedFiles.entrySet()) {
+				deleter.put(getDeleteEvent(indexedFile.getKey(), indexedFile.getValue()), timeout);
+				statistics.deleted.incrementAndGet();
+			}
+			producers.add(deleter);
+		}
+	}
+
+	private DocumentEvent getDeleteEvent(String serverPath, FileState indexed) {
+		SimpleDocument document = new SimpleDocument();
+		document.setId(serverPath);
+		document.setType(indexed.type);
+		return new DocumentEvent(document, Document.DELETE);
+	}
+
+	private DocumentEvent getFileModifiedEvent(String serverPath, FileState indexed, long modified) {
+		SimpleDocument document = new SimpleDocument();
+		document.setId(serverPath);
+		document.setType(indexed.type);
+		document.addField(new NumericDocValuesField(FIELD_FILE_MODIFIED, modified));
+		return new DocumentEvent(document, DocumentIndexer.UPDATE_FILE_MODIFIED);
+	}
+
+	private List<File> getSkippedFolders(String folder) {
+		List<File> skippedFolders = new ArrayList<>(protectedFolders);
+		for (String skipfolder : config.getFolders()) {
+			if (!skipfolder.equals(folder)) {
+				skippedFolders.add(new File(dataDir, skipfolder));
+			}
+		}
+		return skippedFolders;
+	}
+
+	private boolean isSkipped(File file, List<File> skippedFolders) {
+		for (File current = file; null != current && !current.equals(dataDir); current = current.getParentFile()) {
+			if (skippedFolders.contains(current)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	// the most specific folder of the IndexConfig containing the given path
+	private String getFolder(String serverPath) {
+		String folder = null;
+		for (String candidate : config.getFolders()) {
+			String prefix = StringUtils.removeEnd(candidate, "/");
+			if ((serverPath.equals(prefix) || serverPath.startsWith(prefix + "/"))
+					&& (null == folder || candidate.length() > folder.length())) {
+				folder = candidate;
+			}
+		}
+		return folder;
+	}
+
+	private String getServerPath(File file) {
+		String dataPath = dataDir.getAbsolutePath();
+		String absolutePath = file.getAbsolutePath();
+		if (absolutePath.startsWith(dataPath + File.separator)) {
+			return absolutePath.substring(dataPath.length()).replace("\\", "/");
+		}
+		return null;
+	}
+
+	private void scanDirectory(List<IndexTask> tasks, String language, File currentDirectory,
+			final List<String> fileTypes, List<File> protectedFolders, Map<String, FileState> indexedFiles) {
 		File[] fileArr = currentDirectory.listFiles(new FileFilter() {
 			public boolean accept(File pathname) {
 				boolean accept = pathname.isDirectory()
@@ -148,31 +403,196 @@ public class FileSystemProvider implements DocumentProvider {
 				File file = fileArr[i];
 				if (file.isDirectory()) {
 					if (!protectedFolders.contains(file)) {
-						count += indexDirectory(producer, language, file, dataDir, fileTypes, protectedFolders);
+						scanDirectory(tasks, language, file, fileTypes, protectedFolders, indexedFiles);
 					}
 				} else {
 					String filePath = file.getAbsolutePath().substring(pathOffset);
 					filePath = filePath.replace("\\", "/");
-					DocumentEvent documentEvent = indexFile(i + 1, fileArr.length, language, file, filePath);
-					if (null != documentEvent) {
-						producer.putWithTimeout(documentEvent, timeout);
-						count++;
-					}
+					scanFile(tasks, language, file, filePath, i + 1, fileArr.length, indexedFiles);
 				}
 			}
 		}
+	}
+
+	private void scanFile(List<IndexTask> tasks, String language, File file, String filePath, int fileNo, int total,
+			Map<String, FileState> indexedFiles) {
+		statistics.scanned.incrementAndGet();
+		FileState indexed = indexedFiles.remove(filePath);
+		if (null != indexed && indexed.isUnchanged(file.lastModified(), language)) {
+			statistics.skipped.incrementAndGet();
+			LOGGER.trace("skipping unmodified file {}", file.getAbsolutePath());
+		} else {
+			tasks.add(new IndexTask(fileNo, total, language, file, filePath, indexed));
+		}
+	}
+
+	private int indexFiles(DocumentProducer producer, List<IndexTask> tasks, ExecutorService executor)
+			throws InterruptedException, TimeoutException {
+		int count = 0;
+		// keeps the order of the files while limiting the number of parsed documents waiting to be added
+		Deque<Future<DocumentEvent>> pending = new ArrayDeque<>();
+		for (IndexTask task : tasks) {
+			if (null == executor) {
+				FutureTask<DocumentEvent> future = new FutureTask<>(task);
+				future.run();
+				pending.add(future);
+			} else {
+				pending.add(executor.submit(task));
+			}
+			if (pending.size() > threads) {
+				count += putWithTimeout(producer, pending.poll());
+			}
+		}
+		while (!pending.isEmpty()) {
+			count += putWithTimeout(producer, pending.poll());
+		}
 		return count;
 	}
 
+	private int putWithTimeout(DocumentProducer producer, Future<DocumentEvent> future)
+			throws InterruptedException, TimeoutException {
+		try {
+			DocumentEvent documentEvent = future.get();
+			if (null != documentEvent) {
+				producer.putWithTimeout(documentEvent, timeout);
+				return DocumentIndexer.UPDATE_FILE_MODIFIED.equals(documentEvent.getEvent()) ? 0 : 1;
+			}
+		} catch (ExecutionException e) {
+			statistics.failed.incrementAndGet();
+			LOGGER.error("error while indexing", e.getCause());
+		}
+		return 0;
+	}
+
+	private ThreadFactory getThreadFactory() {
+		ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+		AtomicInteger threadCount = new AtomicInteger(0);
+		return r -> {
+			Thread thread = new Thread(r, "appng-file-indexer-" + threadCount.incrementAndGet());
+			thread.setDaemon(true);
+			thread.setContextClassLoader(classLoader);
+			return thread;
+		};
+	}
+
+	// reads the state of all indexed files from the doc values of the index
+	private Map<String, FileState> getIndexedFiles() {
+		return getIndexedFiles(new DocValuesFieldExistsQuery(FIELD_FILE_MODIFIED));
+	}
+
+	// reads the state of the indexed files with the given paths, or located within the given paths
+	private Map<String, FileState> getIndexedFiles(Collection<String> serverPaths) {
+		if (serverPaths.size() > MAX_QUERIED_PATHS) {
+			// reading the state of all files is cheaper than querying that many paths
+			Set<String> pathSet = new HashSet<>(serverPaths);
+			Map<String, FileState> indexedFiles = getIndexedFiles();
+			indexedFiles.keySet().removeIf(path -> !isWithin(path, pathSet));
+			return indexedFiles;
+		}
+		Map<String, FileState> indexedFiles = new HashMap<>();
+		// each path needs two clauses, which must not exceed the maximum clause count of a BooleanQuery
+		int batchSize = Math.max(1, BooleanQuery.getMaxClauseCount() / 2);
+		List<String> pathList = new ArrayList<>(serverPaths);
+		for (int i = 0; i < pathList.size(); i += batchSize) {
+			BooleanQuery.Builder paths = new BooleanQuery.Builder();
+			for (String serverPath : pathList.subList(i, Math.min(i + batchSize, pathList.size()))) {
+				paths.add(new TermQuery(new Term(Document.FIELD_PATH, serverPath)), Occur.SHOULD);
+				paths.add(new PrefixQuery(new Term(Document.FIELD_PATH, serverPath + "/")), Occur.SHOULD);
+			}
+			BooleanQuery.Builder query = new BooleanQuery.Builder();
+			query.add(paths.build(), Occur.MUST);
+			query.add(new DocValuesFieldExistsQuery(FIELD_FILE_MODIFIED), Occur.FILTER);
+			indexedFiles.putAll(getIndexedFiles(query.build()));
+		}
+		return indexedFiles;
+	}
+
+	// checks whether the path is one of the given paths, or located within one of them
+	private boolean isWithin(String serverPath, Set<String> serverPaths) {
+		for (String path = serverPath; !path.isEmpty(); path = path.substring(0, Math.max(0, path.lastIndexOf('/')))) {
+			if (serverPaths.contains(path)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private Map<String, FileState> getIndexedFiles(Query query) {
+		Map<String, FileState> indexedFiles = new HashMap<>();
+		if (null != indexDir) {
+			IndexSearcher searcher = null;
+			try {
+				searcher = SearcherRegistry.acquire(indexDir.toPath());
+				searcher.search(query, new FileStateCollector(indexedFiles));
+				LOGGER.debug("found {} indexed files in {}", indexedFiles.size(), indexDir.getAbsolutePath());
+			} catch (IndexNotFoundException e) {
+				LOGGER.debug("no index found at {}", indexDir.getAbsolutePath());
+			} catch (IOException e) {
+				LOGGER.warn(String.format("error reading indexed files from %s, indexing all files",
+						indexDir.getAbsolutePath()), e);
+				indexedFiles.clear();
+			} finally {
+				try {
+					SearcherRegistry.release(searcher);
+				} catch (IOException e) {
+					LOGGER.debug("error releasing searcher", e);
+				}
+			}
+		}
+		return indexedFiles;
+	}
+
+	private String getHash(File file) throws IOException {
+		try (InputStream in = new FileInputStream(file)) {
+			return DigestUtils.sha256Hex(in);
+		}
+	}
+
+	/**
+	 * Returns the existing folders of the {@link IndexConfig}, which contain the files to index.
+	 * 
+	 * @return the folders
+	 */
+	public List<File> getContentFolders() {
+		List<File> contentFolders = new ArrayList<>();
+		for (String folder : config.getFolders()) {
+			File contentFolder = new File(dataDir, folder);
+			if (contentFolder.isDirectory()) {
+				contentFolders.add(contentFolder);
+			}
+		}
+		return contentFolders;
+	}
+
+	/**
+	 * Returns the {@link Statistics} of the last run of {@link #indexDirectory(int)} or
+	 * {@link #indexFiles(Collection)}.
+	 * 
+	 * @return the {@link Statistics}
+	 */
+	public Statistics getStatistics() {
+		return statistics;
+	}
+
 	DocumentEvent indexFile(int fileNo, int total, String language, File file, String serverPath)
 			throws InterruptedException, TimeoutException {
+		return indexFile(fileNo, total, language, file, serverPath, null);
+	}
+
+	DocumentEvent indexFile(int fileNo, int total, String language, File file, String serverPath, String hash)
+			throws InterruptedException, TimeoutException {
 		long start = System.currentTimeMillis();
 		SimpleDocument document = new SimpleDocument();
 		document.setPath(serverPath);
 		String extension = FilenameUtils.getExtension(file.getName());
 		document.setType(extension);
-		document.setDate(new Date(file.lastModified()));
+		long lastModified = file.lastModified();
+		document.setDate(new Date(lastModified));
 		document.setLanguage(language);
+		if (null != hash) {
+			document.addField(new NumericDocValuesField(FIELD_FILE_MODIFIED, lastModified));
+			document.addField(new BinaryDocValuesField(FIELD_FILE_HASH, new BytesRef(hash)));
+		}
 		String content = null;
 		try {
 			if (jspExtension.equals(extension)) {
@@ -217,4 +637,155 @@ public class FileSystemProvider implements DocumentProvider {
 		return new DocumentEvent(document, Document.CREATE);
 	}
 
+	private class IndexTask implements Callable<DocumentEvent> {
+		private final int fileNo;
+		private final int total;
+		private final String language;
+		private final File file;
+		private final String serverPath;
+		private final FileState indexed;
+
+		IndexTask(int fileNo, int total, String language, File file, String serverPath, FileState indexed) {
+			this.fileNo = fileNo;
+			this.total = total;
+			this.language = language;
+			this.file = file;
+			this.serverPath = serverPath;
+			this.indexed = indexed;
+		}
+
+		public DocumentEvent call() throws InterruptedException, TimeoutException {
+			long start = System.nanoTime();
+			try {
+				// read before hashing, so a modification while hashing is detected on the next run
+				long modified = file.lastModified();
+				String hash = getHash(file);
+				if (null != indexed && indexed.isUnchanged(hash, language)) {
+					// touched, but not changed, so only the modification time needs to be updated
+					statistics.skipped.incrementAndGet();
+					LOGGER.trace("skipping unchanged file {}", file.getAbsolutePath());
+					return getFileModifiedEvent(serverPath, indexed, modified);
+				}
+				DocumentEvent documentEvent = indexFile(fileNo, total, language, file, serverPath, hash);
+				if (null != documentEvent) {
+					statistics.parsed.incrementAndGet();
+					if (null != indexed) {
+						return new DocumentEvent(documentEvent.getDocument(), Document.UPDATE);
+					}
+					return documentEvent;
+				}
+			} catch (IOException | RuntimeException e) {
+				LOGGER.error(String.format("error while indexing %s", file.getAbsolutePath()), e);
+			} finally {
+				statistics.parseNanos.add(System.nanoTime() - start);
+			}
+			statistics.failed.incrementAndGet();
+			// the content of the file is unknown now, so the outdated document must not be found anymore
+			return null == indexed ? null : getDeleteEvent(serverPath, indexed);
+		}
+	}
+
+	private static class FileStateCollector extends SimpleCollector {
+		private final Map<String, FileState> indexedFiles;
+		private LeafReader reader;
+		private NumericDocValues modified;
+		private BinaryDocValues hashes;
+
+		FileStateCollector(Map<String, FileState> indexedFiles) {
+			this.indexedFiles = indexedFiles;
+		}
+
+		@Override
+		protected void doSetNextReader(LeafReaderContext context) throws IOException {
+			reader = context.reader();
+			modified = DocValues.getNumeric(reader, FIELD_FILE_MODIFIED);
+			hashes = DocValues.getBinary(reader, FIELD_FILE_HASH);
+		}
+
+		@Override
+		public void collect(int doc) throws IOException {
+			if (modified.advanceExact(doc) && hashes.advanceExact(doc)) {
+				org.apache.lucene.document.Document document = reader.document(doc, STATE_FIELDS);
+				FileState state = new FileState(modified.longValue(), hashes.binaryValue().utf8ToString(),
+						document.get(Document.FIELD_TYPE), document.get(Document.FIELD_LANGUAGE));
+				indexedFiles.put(document.get(Document.FIELD_PATH), state);
+			}
+		}
+
+		public ScoreMode scoreMode() {
+			return ScoreMode.COMPLETE_NO_SCORES;
+		}
+	}
+
+	private static class FileState {
+		private final long modified;
+		private final String hash;
+		private final String type;
+		private final String language;
+
+		FileState(long modified, String hash, String type, String language) {
+			this.modified = modified;
+			this.hash = hash;
+			this.type = type;
+			this.language = language;
+		}
+
+		boolean isUnchanged(long modified, String language) {
+			return this.modified == modified && Objects.equals(this.language, language);
+		}
+
+		boolean isUnchanged(String hash, String language) {
+			return this.hash.equals(hash) && Objects.equals(this.language, language);
+		}
+	}
+
+	/**
+	 * Statistics about a run of {@link FileSystemProvider#indexDirectory(int)} or
+	 * {@link FileSystemProvider#indexFiles(Collection)}.
+	 */
+	public static class Statistics {
+		private final AtomicInteger scanned = new AtomicInteger();
+		private final AtomicInteger skipped = new AtomicInteger();
+		private final AtomicInteger parsed = new AtomicInteger();
+		private final AtomicInteger failed = new AtomicInteger();
+		private final AtomicInteger deleted = new AtomicInteger();
+		private final LongAdder parseNanos = new LongAdder();
+
+		/** the number of files found */
+		public int getScanned() {
+			return scanned.get();
+		}
+
+		/** the number of files that have not been parsed because they did not change */
+		public int getSkipped() {
+			return skipped.get();
+		}
+
+		/** the number of files that have been parsed */
+		public int getParsed() {
+			return parsed.get();
+		}
+
+		/** the number of files that could not be parsed */
+		public int getFailed() {
+			return failed.get();
+		}
+
+		/** the number of files that have been deleted from the index */
+		public int getDeleted() {
+			return deleted.get();
+		}
+
+		/** the overall time in milliseconds spent on parsing files, summed up over all threads */
+		public long getParseTime() {
+			return TimeUnit.NANOSECONDS.toMillis(parseNanos.sum());
+		}
+
+		@Override
+		public String toString() {
+			return String.format("scanned: %d, skipped: %d, parsed: %d, failed: %d, deleted: %d, parse time: %dms",
+					getScanned(), getSkipped(), getParsed(), getFailed(), getDeleted(), getParseTime());
+		}
+	}
+
 }
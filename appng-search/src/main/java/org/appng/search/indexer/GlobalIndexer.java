@@ -52,19 +52,8 @@ public class GlobalIndexer {
 	public void doIndex(Site site, String jspType) {
 		LOGGER.debug("start indexing for site {}", site.getName());
 
-		Properties properties = site.getProperties();
-		String sitePath = properties.getString(SiteProperties.SITE_ROOT_DIR);
-		String seData = sitePath + properties.getString(SiteProperties.WWW_DIR);
-		File dataDir = new File(seData).getAbsoluteFile();
-
-		String indexConfig = properties.getString(SiteProperties.INDEX_CONFIG);
-		String tagPrefix = properties.getString(SiteProperties.TAG_PREFIX);
-		IndexConfig config = IndexConfig.getInstance(indexConfig, tagPrefix);
-		Integer timeout = properties.getInteger(SiteProperties.INDEX_TIMEOUT, 5000);
-		List<String> extensions = site.getProperties().getList(SiteProperties.INDEX_FILETYPES, ",");
-
-		FileSystemProvider fileSystemProvider = new FileSystemProvider(config, extensions, timeout, jspType, dataDir,
-				new ArrayList<>());
+		Integer timeout = site.getProperties().getInteger(SiteProperties.INDEX_TIMEOUT, 5000);
+		FileSystemProvider fileSystemProvider = getFileSystemProvider(site, jspType);
 		processProducer(site, null, fileSystemProvider, timeout);
 
 		for (Application application : site.getApplications()) {
@@ -78,6 +67,35 @@ public class GlobalIndexer {
 		}
 	}
 
+	/**
+	 * Creates a {@link FileSystemProvider} for the www-directory of the given {@link Site}, as used by
+	 * {@link #doIndex(Site, String)}.
+	 * 
+	 * @param site
+	 *            the {@link Site}
+	 * @param jspType
+	 *            the extension of JSP files
+	 * @return the {@link FileSystemProvider}
+	 */
+	public static FileSystemProvider getFileSystemProvider(Site site, String jspType) {
+		Properties properties = site.getProperties();
+		String sitePath = properties.getString(SiteProperties.SITE_ROOT_DIR);
+		String seData = sitePath + properties.getString(SiteProperties.WWW_DIR);
+		File dataDir = new File(seData).getAbsoluteFile();
+
+		String indexConfig = properties.getString(SiteProperties.INDEX_CONFIG);
+		String tagPrefix = properties.getString(SiteProperties.TAG_PREFIX);
+		IndexConfig config = IndexConfig.getInstance(indexConfig, tagPrefix);
+		Integer timeout = properties.getInteger(SiteProperties.INDEX_TIMEOUT, 5000);
+		List<String> extensions = properties.getList(SiteProperties.INDEX_FILETYPES, ",");
+		File indexDir = new File(sitePath + properties.getString(SiteProperties.INDEX_DIR)).getAbsoluteFile();
+		Integer threads = properties.getInteger(SiteProperties.INDEX_FILE_SYSTEM_THREADS,
+				FileSystemProvider.DEFAULT_THREADS);
+
+		return new FileSystemProvider(config, extensions, timeout, jspType, dataDir, new ArrayList<>(), indexDir,
+				null == threads ? FileSystemProvider.DEFAULT_THREADS : threads);
+	}
+
 	private int processProducer(Site site, Application application, DocumentProvider documentProvider,
 			Integer timeout) {
 		try {
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2011-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.appng.search.json;
+
+import javax.xml.bind.annotation.XmlType;
+
+/**
+ * The time it took to search a {@link Part}.
+ * 
+ * @author Matthias Müller
+ *
+ */
+@XmlType(propOrder = { "part", "time", "hits", "complete" })
+public class PartTime {
+
+	private String part;
+	private long time;
+	private int hits;
+	private boolean complete;
+
+	public PartTime() {
+
+	}
+
+	public PartTime(String part, long time, int hits, boolean complete) {
+		this.part = part;
+		this.time = time;
+		this.hits = hits;
+		this.complete = complete;
+	}
+
+	/** the name of the {@link Part} */
+	public String getPart() {
+		return part;
+	}
+
+	public void setPart(String part) {
+		this.part = part;
+	}
+
+	/** the time in milliseconds */
+	public long getTime() {
+		return time;
+	}
+
+	public void setTime(long time) {
+		this.time = time;
+	}
+
+	/** the number of results */
+	public int getHits() {
+		return hits;
+	}
+
+	public void setHits(int hits) {
+		this.hits = hits;
+	}
+
+	/** {@code false} if the search exceeded its time budget and only contains the results found until then */
+	public boolean isComplete() {
+		return complete;
+	}
+
+	public void setComplete(boolean complete) {
+		this.complete = complete;
+	}
+
+}
@@ -20,10 +20,11 @@ import java.util.List;
 
 import javax.xml.bind.annotation.XmlType;
 
-@XmlType(propOrder = { "time", "layout", "pagination", "data" })
+@XmlType(propOrder = { "time", "partTimes", "layout", "pagination", "data" })
 public class Results {
 
 	private long time;
+	private List<PartTime> partTimes;
 	private Page pagination;
 	private FilterItem layout;
 	private List<Result> data;
@@ -55,6 +56,14 @@ public class Results {
 		this.time = time;
 	}
 
+	public List<PartTime> getPartTimes() {
+		return partTimes;
+	}
+
+	public void setPartTimes(List<PartTime> partTimes) {
+		this.partTimes = partTimes;
+	}
+
 	public FilterItem getLayout() {
 		return layout;
 	}
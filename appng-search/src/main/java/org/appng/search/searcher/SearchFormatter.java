@@ -45,6 +45,7 @@ import org.appng.search.json.FilterItem;
 import org.appng.search.json.Json;
 import org.appng.search.json.Page;
 import org.appng.search.json.Part;
+import org.appng.search.json.PartTime;
 import org.appng.search.json.Result;
 import org.appng.search.json.Results;
 import org.appng.search.json.Search;
@@ -83,6 +84,7 @@ public class SearchFormatter {
 	private boolean useParts = true;
 	private boolean doXsl = true;
 	private long time = 0L;
+	private List<PartTime> partTimes;
 	private String dateFormat = DEFAULT_DATE_PATTERN;
 	private File xslStylesheet = null;
 	private static final String XML_COMMENT_OPEN = "<!-- ";
@@ -177,6 +179,7 @@ public class SearchFormatter {
 		Search<SearchFilter> searchResult = new Search<SearchFilter>();
 		Results results = new Results();
 		results.setTime(time);
+		results.setPartTimes(partTimes);
 		searchResult.setResults(results);
 		int startIdx = page * pageSize;
 		int numberOfItems = sortedDocs.size();
@@ -321,6 +324,20 @@ public class SearchFormatter {
 		this.time = time;
 	}
 
+	public List<PartTime> getPartTimes() {
+		return partTimes;
+	}
+
+	/**
+	 * Sets the time it took to search each {@link Part}, which is written next to the overall time.
+	 * 
+	 * @param partTimes
+	 *            the {@link PartTime}s
+	 */
+	public void setPartTimes(List<PartTime> partTimes) {
+		this.partTimes = partTimes;
+	}
+
 	public boolean isDoXsl() {
 		return doXsl;
 	}
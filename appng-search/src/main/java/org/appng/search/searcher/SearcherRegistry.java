@@ -0,0 +1,367 @@
+/*
+ * Copyright 2011-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.appng.search.searcher;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.ReferenceManager.RefreshListener;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.store.AlreadyClosedException;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.appng.search.SearchProvider;
+import org.appng.search.indexer.DocumentIndexer;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A registry for the {@link SearcherManager}s of the Lucene indexes used by the sites, keyed by the path of the
+ * index.
+ * <p>
+ * While a {@link DocumentIndexer} is writing to an index, it registers the {@link SearcherManager} of its
+ * {@link org.apache.lucene.index.IndexWriter}, which provides near-real-time readers and is refreshed after each
+ * commit. Otherwise, a {@link SearcherManager} reading the {@link Directory} is opened and checked for changes at
+ * most every {@value #REFRESH_INTERVAL} milliseconds. This way, the segment readers and their caches are shared by
+ * all searches instead of being opened and closed for each query.
+ * </p>
+ * A {@link SearchProvider} should use it like this:
+ *
+ * <pre>
+ * IndexSearcher searcher = SearcherRegistry.acquire(directory);
+ * try {
+ * 	// perform search
+ * } finally {
+ * 	SearcherRegistry.release(searcher);
+ * }
+ * </pre>
+ * <p>
+ * The {@link Directory}s returned by {@link #getDirectory(Path)} are owned by this registry and shared by all
+ * searches, so neither a {@link SearchProvider} nor any other caller must close them. They are closed by
+ * {@link #closeAll()}.
+ * </p>
+ *
+ * @author Matthias Müller
+ */
+@Slf4j
+public final class SearcherRegistry {
+
+	/** The minimum interval in milliseconds between two checks for changes of an index that is not being written */
+	public static final long REFRESH_INTERVAL = 1000L;
+	private static final Map<Path, Searchers> SEARCHERS = new ConcurrentHashMap<>();
+	private static final Map<Path, Directory> DIRECTORIES = new ConcurrentHashMap<>();
+
+	private SearcherRegistry() {
+	}
+
+	/**
+	 * Returns the shared {@link FSDirectory} for the given path, which must not be closed by the caller.
+	 *
+	 * @param  indexPath
+	 *                     the path of the index
+	 * @return             the {@link Directory}
+	 * @throws IOException
+	 *                     if the {@link Directory} can not be opened
+	 */
+	public static Directory getDirectory(Path indexPath) throws IOException {
+		try {
+			return DIRECTORIES.computeIfAbsent(getKey(indexPath), p -> {
+				try {
+					return FSDirectory.open(p);
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			});
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+	}
+
+	/**
+	 * Acquires an {@link IndexSearcher} for the given {@link Directory}, which must be released using
+	 * {@link #release(IndexSearcher)}. For a {@link FSDirectory}, the searcher is provided by the shared
+	 * {@link SearcherManager} for this index, for other directories a new reader is being opened.
+	 *
+	 * @param  directory
+	 *                     the {@link Directory} of the index
+	 * @return             the {@link IndexSearcher}
+	 * @throws IOException
+	 *                     if the index can not be read
+	 */
+	public static IndexSearcher acquire(Directory directory) throws IOException {
+		if (directory instanceof FSDirectory) {
+			return acquire(((FSDirectory) directory).getDirectory());
+		}
+		return new IndexSearcher(DirectoryReader.open(directory));
+	}
+
+	/**
+	 * Acquires an {@link IndexSearcher} for the index at the given path, which must be released using
+	 * {@link #release(IndexSearcher)}.
+	 *
+	 * @param  indexPath
+	 *                     the path of the index
+	 * @return             the {@link IndexSearcher}
+	 * @throws IOException
+	 *                     if the index can not be read
+	 */
+	public static IndexSearcher acquire(Path indexPath) throws IOException {
+		Path key = getKey(indexPath);
+		while (true) {
+			Searchers searchers = getSearchers(key);
+			try {
+				searchers.maybeRefresh();
+				return searchers.manager.acquire();
+			} catch (AlreadyClosedException e) {
+				// has been replaced or closed in the meantime
+				SEARCHERS.remove(key, searchers);
+			}
+		}
+	}
+
+	/**
+	 * Releases an {@link IndexSearcher} previously obtained by {@link #acquire(Directory)} or {@link #acquire(Path)}.
+	 *
+	 * @param  searcher
+	 *                     the {@link IndexSearcher}, may be {@code null}
+	 * @throws IOException
+	 *                     if the underlying reader can not be closed
+	 */
+	public static void release(IndexSearcher searcher) throws IOException {
+		if (null != searcher) {
+			searcher.getIndexReader().decRef();
+		}
+	}
+
+	/**
+	 * Registers the near-real-time {@link SearcherManager} of an {@link org.apache.lucene.index.IndexWriter}, which
+	 * is then used for all searches on this index. The {@link SearcherManager} must be refreshed and closed by the
+	 * caller.
+	 *
+	 * @param indexPath
+	 *                  the path of the index
+	 * @param manager
+	 *                  the {@link SearcherManager}
+	 */
+	public static void register(Path indexPath, SearcherManager manager) {
+		Path key = getKey(indexPath);
+		Searchers previous = SEARCHERS.put(key, new Searchers(key, manager, true));
+		if (null != previous && !previous.nearRealTime) {
+			previous.close();
+		}
+		LOGGER.debug("registered near-real-time SearcherManager for {}", key);
+	}
+
+	/**
+	 * Unregisters a {@link SearcherManager} previously registered with {@link #register(Path, SearcherManager)}.
+	 *
+	 * @param indexPath
+	 *                  the path of the index
+	 * @param manager
+	 *                  the {@link SearcherManager}
+	 */
+	public static void unregister(Path indexPath, SearcherManager manager) {
+		Path key = getKey(indexPath);
+		SEARCHERS.computeIfPresent(key, (k, s) -> s.manager == manager ? null : s);
+		LOGGER.debug("unregistered near-real-time SearcherManager for {}", key);
+	}
+
+	/**
+	 * Returns some statistics about the searchers for the index at the given path.
+	 *
+	 * @param  indexPath
+	 *                   the path of the index
+	 * @return           the {@link Statistics}, or {@code null} if no searcher has been acquired for this index yet
+	 */
+	public static Statistics getStatistics(Path indexPath) {
+		Searchers searchers = SEARCHERS.get(getKey(indexPath));
+		return null == searchers ? null : searchers.getStatistics();
+	}
+
+	/**
+	 * Closes all {@link SearcherManager}s and {@link Directory}s opened by this registry.
+	 */
+	public static void closeAll() {
+		SEARCHERS.values().stream().filter(s -> !s.nearRealTime).forEach(Searchers::close);
+		SEARCHERS.clear();
+		DIRECTORIES.values().forEach(SearcherRegistry::close);
+		DIRECTORIES.clear();
+	}
+
+	private static Searchers getSearchers(Path key) throws IOException {
+		Searchers searchers = SEARCHERS.get(key);
+		if (null == searchers) {
+			// the index may not exist yet, so do not keep the lock of the map while opening it
+			SearcherManager manager = new SearcherManager(getDirectory(key), null);
+			Searchers created = new Searchers(key, manager, false);
+			searchers = SEARCHERS.putIfAbsent(key, created);
+			if (null == searchers) {
+				LOGGER.debug("opened SearcherManager for {}", key);
+				searchers = created;
+			} else {
+				created.close();
+			}
+		}
+		return searchers;
+	}
+
+	private static Path getKey(Path indexPath) {
+		try {
+			// same as FSDirectory#getDirectory()
+			return indexPath.toRealPath();
+		} catch (IOException e) {
+			return indexPath.toAbsolutePath().normalize();
+		}
+	}
+
+	private static void close(Closeable closeable) {
+		try {
+			closeable.close();
+		} catch (IOException e) {
+			LOGGER.warn(String.format("error closing %s", closeable), e);
+		}
+	}
+
+	private static class Searchers implements RefreshListener {
+		private final Path path;
+		private final SearcherManager manager;
+		private final boolean nearRealTime;
+		private final LongAdder refreshes = new LongAdder();
+		private final LongAdder refreshNanos = new LongAdder();
+		private volatile long readerOpened = System.currentTimeMillis();
+		private volatile long lastRefreshNanos;
+		private volatile long lastRefreshCheck = System.currentTimeMillis();
+		private long refreshStart;
+
+		Searchers(Path path, SearcherManager manager, boolean nearRealTime) {
+			this.path = path;
+			this.manager = manager;
+			this.nearRealTime = nearRealTime;
+			manager.addListener(this);
+		}
+
+		void maybeRefresh() throws IOException {
+			long now = System.currentTimeMillis();
+			if (!nearRealTime && now - lastRefreshCheck >= REFRESH_INTERVAL) {
+				lastRefreshCheck = now;
+				manager.maybeRefresh();
+			}
+		}
+
+		public void beforeRefresh() {
+			refreshStart = System.nanoTime();
+		}
+
+		public void afterRefresh(boolean didRefresh) {
+			lastRefreshNanos = System.nanoTime() - refreshStart;
+			refreshes.increment();
+			refreshNanos.add(lastRefreshNanos);
+			if (didRefresh) {
+				readerOpened = System.currentTimeMillis();
+			}
+		}
+
+		Statistics getStatistics() {
+			int numDocs = -1;
+			try {
+				IndexSearcher searcher = manager.acquire();
+				try {
+					numDocs = searcher.getIndexReader().numDocs();
+				} finally {
+					manager.release(searcher);
+				}
+			} catch (IOException | AlreadyClosedException e) {
+				LOGGER.debug("error reading number of documents for {}: {}", path, e.getMessage());
+			}
+			long refreshCount = refreshes.sum();
+			double averageRefreshMillis = refreshCount == 0 ? 0.0d : refreshNanos.sum() / 1_000_000.0d / refreshCount;
+			return new Statistics(path.toString(), nearRealTime, numDocs,
+					System.currentTimeMillis() - readerOpened, refreshCount, lastRefreshNanos / 1_000_000.0d,
+					averageRefreshMillis);
+		}
+
+		void close() {
+			SearcherRegistry.close(manager);
+		}
+	}
+
+	/**
+	 * Statistics about the searchers of an index.
+	 */
+	public static class Statistics {
+		private final String path;
+		private final boolean nearRealTime;
+		private final int numDocs;
+		private final long readerAgeMillis;
+		private final long refreshes;
+		private final double lastRefreshMillis;
+		private final double averageRefreshMillis;
+
+		Statistics(String path, boolean nearRealTime, int numDocs, long readerAgeMillis, long refreshes,
+				double lastRefreshMillis, double averageRefreshMillis) {
+			this.path = path;
+			this.nearRealTime = nearRealTime;
+			this.numDocs = numDocs;
+			this.readerAgeMillis = readerAgeMillis;
+			this.refreshes = refreshes;
+			this.lastRefreshMillis = lastRefreshMillis;
+			this.averageRefreshMillis = averageRefreshMillis;
+		}
+
+		/** the path of the index */
+		public String getPath() {
+			return path;
+		}
+
+		/** whether the searchers are provided by the near-real-time readers of a {@link DocumentIndexer} */
+		public boolean isNearRealTime() {
+			return nearRealTime;
+		}
+
+		/** the number of documents visible to the current reader */
+		public int getNumDocs() {
+			return numDocs;
+		}
+
+		/** the number of milliseconds since the current reader has been opened */
+		public long getReaderAgeMillis() {
+			return readerAgeMillis;
+		}
+
+		/** the number of refreshes (including those that found no changes) */
+		public long getRefreshes() {
+			return refreshes;
+		}
+
+		/** the duration of the last refresh in milliseconds */
+		public double getLastRefreshMillis() {
+			return lastRefreshMillis;
+		}
+
+		/** the average duration of a refresh in milliseconds */
+		public double getAverageRefreshMillis() {
+			return averageRefreshMillis;
+		}
+	}
+
+}
@@ -22,8 +22,6 @@ import java.util.Map;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.lucene.analysis.Analyzer;
-import org.apache.lucene.index.DirectoryReader;
-import org.apache.lucene.index.IndexReader;
 import org.apache.lucene.index.Term;
 import org.apache.lucene.queryparser.classic.MultiFieldQueryParser;
 import org.apache.lucene.queryparser.classic.ParseException;
@@ -34,6 +32,7 @@ import org.apache.lucene.search.IndexSearcher;
 import org.apache.lucene.search.Query;
 import org.apache.lucene.search.ScoreDoc;
 import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
 import org.apache.lucene.search.TopScoreDocCollector;
 import org.apache.lucene.store.Directory;
 import org.appng.api.Environment;
@@ -45,22 +44,49 @@ import org.appng.search.indexer.SimpleDocument;
 
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * The {@link SearchProvider} for the global index of a {@link Site}. Supports the following parameters (defaults in
+ * brackets):
+ * <ul>
+ * <li>excludeTypes<br/>
+ * a comma-separated list of document types to exclude</li>
+ * <li>termTransform ({@value #DEFAULT_TERM_TRANSFORM})<br/>
+ * how to transform the search term, {@code term} being replaced with the escaped term</li>
+ * <li>maxHits ({@value #DEFAULT_MAX_HITS})<br/>
+ * the maximum number of hits to return, at least {@link SearchProvider#PARAM_HITS_TO} hits are returned</li>
+ * <li>totalHitsThreshold ({@value #DEFAULT_TOTAL_HITS_THRESHOLD})<br/>
+ * up to how many hits the total number of hits is counted accurately, matching documents beyond this threshold may be
+ * skipped without being scored</li>
+ * <li>searchAfter<br/>
+ * a cursor of the form {@code <score>:<docId>} (see {@link #getCursor(SimpleDocument)}) pointing to the last hit of a
+ * previous search, only hits following this one are returned</li>
+ * </ul>
+ * If {@link SearchProvider#PARAM_HITS_FROM} and {@link SearchProvider#PARAM_HITS_TO} are given, the stored fields are
+ * only loaded and highlighted for the hits within this range, the other hits are returned as {@link SimpleDocument}s
+ * only providing their score and document number.
+ * 
+ * @author Matthias Müller
+ */
 @Slf4j
 public class StandardSearcher implements SearchProvider {
 
 	private static final String PARAM_EXCLUDE_TYPES = "excludeTypes";
 	private static final String PARAM_TERM_TRANSFORM = "termTransform";
+	private static final String PARAM_MAX_HITS = "maxHits";
+	private static final String PARAM_TOTAL_HITS_THRESHOLD = "totalHitsThreshold";
+	private static final String PARAM_SEARCH_AFTER = "searchAfter";
 	private static final String DEFAULT_TERM_TRANSFORM = "term term*";
+	public static final int DEFAULT_MAX_HITS = 100;
+	public static final int DEFAULT_TOTAL_HITS_THRESHOLD = 1000;
 
 	public Iterable<Document> doSearch(Environment env, Site site, Application application, Directory directory,
 			String term, String language, String[] parseFields, Analyzer analyzer, String highlightWith,
 			Map<String, String> parameters) throws IOException {
 		List<Document> docs = new ArrayList<>();
 
-		IndexReader reader = null;
+		IndexSearcher searcher = null;
 		try {
-			reader = DirectoryReader.open(directory);
-			IndexSearcher searcher = new IndexSearcher(reader);
+			searcher = SearcherRegistry.acquire(directory);
 			String[] excludeTypes = StringUtils.split(parameters.get(PARAM_EXCLUDE_TYPES), ',');
 			String searchTermTransform = parameters.get(PARAM_TERM_TRANSFORM);
 			if (StringUtils.isBlank(searchTermTransform)) {
@@ -70,27 +96,89 @@ public class StandardSearcher implements SearchProvider {
 			String transformedTerm = getSearchTerm(term, searchTermTransform);
 			Query query = getQuery(parseFields, transformedTerm, analyzer, language, excludeTypes);
 
-			TopScoreDocCollector collector = TopScoreDocCollector.create(100, Integer.MAX_VALUE);
+			int hitsFrom = getInt(parameters, PARAM_HITS_FROM, 0);
+			int hitsTo = getInt(parameters, PARAM_HITS_TO, -1);
+			int maxHits = Math.min(MAX_HITS, Math.max(getInt(parameters, PARAM_MAX_HITS, DEFAULT_MAX_HITS), hitsTo));
+			if (hitsTo < 0) {
+				hitsTo = maxHits;
+			}
+			int totalHitsThreshold = getInt(parameters, PARAM_TOTAL_HITS_THRESHOLD, DEFAULT_TOTAL_HITS_THRESHOLD);
+			ScoreDoc after = getScoreDoc(parameters.get(PARAM_SEARCH_AFTER));
+
+			TopScoreDocCollector collector = TopScoreDocCollector.create(maxHits, after,
+					Math.max(maxHits, totalHitsThreshold));
 			searcher.search(query, collector);
-			ScoreDoc[] hits = collector.topDocs().scoreDocs;
-			for (ScoreDoc scoreDoc : hits) {
-				org.apache.lucene.document.Document doc = searcher.doc(scoreDoc.doc);
-				SimpleDocument simpleDoc = SimpleDocument.extract(doc, scoreDoc.doc, scoreDoc.score);
-				simpleDoc.setFragment(Document.FIELD_CONTENT, analyzer, query, highlightWith);
+			TopDocs topDocs = collector.topDocs();
+			ScoreDoc[] hits = topDocs.scoreDocs;
+			if (hitsFrom > hits.length) {
+				// for a page beyond the last hit, SearchFormatter shows the first page
+				hitsTo -= hitsFrom;
+				hitsFrom = 0;
+			}
+			for (int i = 0; i < hits.length; i++) {
+				ScoreDoc scoreDoc = hits[i];
+				SimpleDocument simpleDoc;
+				if (i >= hitsFrom && i < hitsTo) {
+					org.apache.lucene.document.Document doc = searcher.doc(scoreDoc.doc);
+					simpleDoc = SimpleDocument.extract(doc, scoreDoc.doc, scoreDoc.score);
+					simpleDoc.setFragment(Document.FIELD_CONTENT, analyzer, query, highlightWith);
+				} else {
+					simpleDoc = new SimpleDocument(scoreDoc.score);
+					simpleDoc.setDocId(scoreDoc.doc);
+				}
 				docs.add(simpleDoc);
 			}
-			LOGGER.info("{} results returned from query: {}", docs.size(), query);
+			LOGGER.info("{} results returned from query: {} (total hits: {})", docs.size(), query, topDocs.totalHits);
 		} catch (ParseException e) {
 			LOGGER.error("error performing search", e);
 		} finally {
-			if (null != reader) {
-				reader.close();
-			}
+			SearcherRegistry.release(searcher);
 		}
 
 		return docs;
 	}
 
+	/**
+	 * Returns the cursor for the given {@link SimpleDocument} returned by
+	 * {@link #doSearch(Environment, Site, Application, Directory, String, String, String[], Analyzer, String, Map)},
+	 * to be used as the {@code searchAfter} parameter for retrieving the next hits. Note that document numbers are
+	 * only valid as long as the index has not been changed.
+	 * 
+	 * @param  document
+	 *                  the {@link SimpleDocument}
+	 * @return          the cursor
+	 */
+	public static String getCursor(SimpleDocument document) {
+		return document.getScore() + ":" + document.getDocId();
+	}
+
+	private ScoreDoc getScoreDoc(String cursor) {
+		if (StringUtils.isNotBlank(cursor)) {
+			String[] parts = cursor.trim().split(":");
+			if (parts.length == 2) {
+				try {
+					return new ScoreDoc(Integer.parseInt(parts[1]), Float.parseFloat(parts[0]));
+				} catch (NumberFormatException e) {
+					// handled below
+				}
+			}
+			LOGGER.warn("invalid cursor for {}: {}", PARAM_SEARCH_AFTER, cursor);
+		}
+		return null;
+	}
+
+	private int getInt(Map<String, String> parameters, String name, int defaultValue) {
+		String value = parameters.get(name);
+		if (StringUtils.isNotBlank(value)) {
+			try {
+				return Math.max(0, Integer.parseInt(value.trim()));
+			} catch (NumberFormatException e) {
+				LOGGER.warn("invalid value for {}: {}", name, value);
+			}
+		}
+		return defaultValue;
+	}
+
 	protected Query getQuery(String[] parseFields, String searchTerm, Analyzer analyzer, String language,
 			String[] excludeTypes) throws ParseException {
 		BooleanQuery.Builder booleanQuery = new BooleanQuery.Builder();
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2011-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.appng.search.indexer;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.lucene.analysis.en.EnglishAnalyzer;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.appng.api.observe.Observable.Event;
+import org.appng.api.search.Document;
+import org.appng.api.search.DocumentEvent;
+import org.appng.api.search.DocumentProducer;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class DocumentIndexerTest {
+
+	private File indexDir = new File("target/index-writer");
+	private DocumentIndexer documentIndexer;
+	private Thread indexThread;
+
+	@Before
+	public void setup() throws IOException {
+		FileUtils.deleteDirectory(indexDir);
+		documentIndexer = new DocumentIndexer(indexDir, 100L);
+		indexThread = new Thread(documentIndexer, "documentIndexer");
+		indexThread.start();
+	}
+
+	@After
+	public void tearDown() throws InterruptedException {
+		indexThread.interrupt();
+		indexThread.join(5000);
+	}
+
+	@Test(timeout = 20000)
+	public void testUpdateAndDelete() throws Exception {
+		index(event("1", "foo", Document.CREATE), event("2", "bar", Document.CREATE));
+		Assert.assertEquals(2, waitForCommittedDocs(2));
+
+		index(event("1", "foobar", Document.UPDATE), event("2", "bar", Document.DELETE));
+		Assert.assertEquals(1, waitForCommittedDocs(1));
+
+		SearcherManager searcherManager = documentIndexer.getSearcherManager();
+		IndexSearcher searcher = searcherManager.acquire();
+		try {
+			Assert.assertEquals(1, searcher.getIndexReader().numDocs());
+			TopDocs topDocs = searcher.search(new TermQuery(new Term(Document.FIELD_ID, "1")), 10);
+			Assert.assertEquals(1, topDocs.totalHits.value);
+			Assert.assertEquals("foobar", searcher.doc(topDocs.scoreDocs[0].doc).get(Document.FIELD_TITLE));
+		} finally {
+			searcherManager.release(searcher);
+		}
+	}
+
+	@Test(timeout = 20000)
+	public void testSameIdDifferentType() throws Exception {
+		DocumentEvent page = event("1", "page", Document.CREATE);
+		DocumentEvent other = event("1", "other", Document.CREATE);
+		((SimpleDocument) other.getDocument()).setType("other");
+		index(page, other, event("1", "page2", Document.UPDATE));
+		Assert.assertEquals(2, waitForCommittedDocs(2));
+	}
+
+	@Test(timeout = 20000)
+	public void testCommitIntervalWhileProducing() throws Exception {
+		documentIndexer.setCommitInterval(200);
+		DocumentProducer producer = new DocumentProducer(EnglishAnalyzer.class, "slow");
+		producer.put(event("1", "foo", Document.CREATE));
+		documentIndexer.put(producer);
+		// the producer keeps on offering events, so the changes must be committed while it is still running
+		boolean committed = false;
+		int events = 1;
+		try (Directory directory = FSDirectory.open(indexDir.toPath())) {
+			while (events < 40 && !committed) {
+				Thread.sleep(50);
+				producer.put(event(String.valueOf(++events), "foo", Document.CREATE));
+				if (DirectoryReader.indexExists(directory)) {
+					try (DirectoryReader reader = DirectoryReader.open(directory)) {
+						committed = reader.numDocs() > 0;
+					}
+				}
+			}
+		}
+		Assert.assertTrue(committed);
+		Assert.assertEquals(events, waitForCommittedDocs(events));
+	}
+
+	private void index(DocumentEvent... events) throws InterruptedException {
+		DocumentProducer producer = new DocumentProducer(EnglishAnalyzer.class, "test");
+		for (DocumentEvent event : events) {
+			producer.put(event);
+		}
+		documentIndexer.put(producer);
+	}
+
+	private int waitForCommittedDocs(int expected) throws IOException, InterruptedException {
+		try (Directory directory = FSDirectory.open(indexDir.toPath())) {
+			int numDocs = -1;
+			while (numDocs != expected) {
+				Thread.sleep(50);
+				if (DirectoryReader.indexExists(directory)) {
+					try (DirectoryReader reader = DirectoryReader.open(directory)) {
+						numDocs = reader.numDocs();
+					}
+				}
+			}
+			return numDocs;
+		}
+	}
+
+	private DocumentEvent event(String id, String title, Event event) {
+		SimpleDocument document = new SimpleDocument();
+		document.setId(id);
+		document.setType("page");
+		document.setName(title);
+		document.setContent(title);
+		return new DocumentEvent(document, event);
+	}
+}
@@ -0,0 +1,228 @@
+/*
+ * Copyright 2011-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.appng.search.indexer;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.lucene.analysis.en.EnglishAnalyzer;
+import org.apache.lucene.index.DocValues;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.NumericDocValues;
+import org.apache.lucene.index.ReaderUtil;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.appng.api.search.Document;
+import org.appng.api.search.DocumentEvent;
+import org.appng.api.search.DocumentProducer;
+import org.appng.search.indexer.FileSystemProvider.Statistics;
+import org.appng.search.searcher.SearcherRegistry;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class FileSystemProviderTest {
+
+	private File rootDir = new File("target/file-system-provider");
+	private File dataDir = new File(rootDir, "www");
+	private File indexDir = new File(rootDir, "index");
+	private DocumentIndexer documentIndexer;
+	private Thread indexThread;
+
+	@Before
+	public void setup() throws IOException {
+		FileUtils.deleteDirectory(rootDir);
+		documentIndexer = new DocumentIndexer(indexDir, 100L);
+		indexThread = new Thread(documentIndexer, "documentIndexer");
+		indexThread.start();
+	}
+
+	@After
+	public void tearDown() throws InterruptedException {
+		indexThread.interrupt();
+		indexThread.join(5000);
+		SearcherRegistry.closeAll();
+	}
+
+	@Test(timeout = 30000)
+	public void testIncrementalIndexing() throws Exception {
+		File a = write("a.txt", "The Hitchhiker's Guide to the Galaxy");
+		File b = write("b.txt", "The Restaurant at the End of the Universe");
+		File c = write("c.txt", "Life, the Universe and Everything");
+
+		Statistics statistics = index();
+		assertStatistics(statistics, 3, 0, 3, 0);
+		waitForDocs(3);
+
+		SimpleDocument applicationDocument = new SimpleDocument();
+		applicationDocument.setId("42");
+		applicationDocument.setType("application");
+		DocumentProducer producer = new DocumentProducer(EnglishAnalyzer.class, "application");
+		producer.put(new DocumentEvent(applicationDocument, Document.CREATE));
+		documentIndexer.put(producer);
+		waitForDocs(4);
+
+		// nothing changed, but the documents of the applications are removed
+		statistics = index();
+		assertStatistics(statistics, 3, 3, 0, 0);
+		waitForDocs(3);
+
+		FileUtils.writeStringToFile(a, "So Long, and Thanks for All the Fish", StandardCharsets.UTF_8);
+		a.setLastModified(a.lastModified() + 2000);
+		b.setLastModified(b.lastModified() + 2000);
+		c.delete();
+		statistics = index();
+		assertStatistics(statistics, 2, 1, 1, 1);
+		waitForDocs(2);
+
+		waitForContent("/en/a.txt", "Thanks for All the Fish");
+		// b has only been touched, so just its modification time has been updated
+		waitForModified("/en/b.txt", b.lastModified());
+	}
+
+	@Test(timeout = 30000)
+	public void testIndexChanges() throws Exception {
+		File a = write("a.txt", "The Hitchhiker's Guide to the Galaxy");
+		File b = write("b.txt", "The Restaurant at the End of the Universe");
+		write("sub/c.txt", "Life, the Universe and Everything");
+		assertStatistics(index(), 3, 0, 3, 0);
+		waitForDocs(3);
+
+		FileUtils.writeStringToFile(a, "So Long, and Thanks for All the Fish", StandardCharsets.UTF_8);
+		a.setLastModified(a.lastModified() + 2000);
+		b.setLastModified(b.lastModified() + 2000);
+		File d = write("d.txt", "Mostly Harmless");
+		File sub = new File(dataDir, "en/sub");
+		FileUtils.deleteDirectory(sub);
+
+		FileSystemProvider fileSystemProvider = getFileSystemProvider();
+		for (DocumentProducer producer : fileSystemProvider.indexFiles(Arrays.asList(a, b, d, sub))) {
+			documentIndexer.put(producer);
+		}
+		assertStatistics(fileSystemProvider.getStatistics(), 3, 1, 2, 1);
+		waitForContent("/en/d.txt", "Mostly Harmless");
+		waitForContent("/en/a.txt", "Thanks for All the Fish");
+		waitForDocs(3);
+	}
+
+	@Test(timeout = 60000)
+	public void testIndexManyChanges() throws Exception {
+		List<File> files = new ArrayList<>();
+		for (int i = 0; i < 600; i++) {
+			files.add(write("many/" + i + ".txt", "file " + i));
+		}
+		assertStatistics(index(), 600, 0, 600, 0);
+		waitForDocs(600);
+
+		// more paths than clauses allowed in a single BooleanQuery
+		for (File file : files) {
+			file.setLastModified(file.lastModified() + 2000);
+		}
+		FileSystemProvider fileSystemProvider = getFileSystemProvider();
+		fileSystemProvider.indexFiles(files);
+		assertStatistics(fileSystemProvider.getStatistics(), 600, 600, 0, 0);
+	}
+
+	private Statistics index() throws Exception {
+		FileSystemProvider fileSystemProvider = getFileSystemProvider();
+		for (DocumentProducer producer : fileSystemProvider.indexDirectory(1000)) {
+			documentIndexer.put(producer);
+		}
+		return fileSystemProvider.getStatistics();
+	}
+
+	private FileSystemProvider getFileSystemProvider() {
+		IndexConfig config = IndexConfig.getInstance("/en;en;" + EnglishAnalyzer.class.getName(), "appNG");
+		return new FileSystemProvider(config, Arrays.asList("txt"), 5000L, "jsp", dataDir.getAbsoluteFile(),
+				new ArrayList<>(), indexDir, 2);
+	}
+
+	private void waitForContent(String path, String expected) throws IOException, InterruptedException {
+		String content = null;
+		while (null == content || !content.contains(expected)) {
+			Thread.sleep(50);
+			IndexSearcher searcher = SearcherRegistry.acquire(indexDir.toPath());
+			try {
+				TopDocs topDocs = searcher.search(new TermQuery(new Term(Document.FIELD_PATH, path)), 10);
+				if (topDocs.totalHits.value > 0) {
+					content = searcher.doc(topDocs.scoreDocs[0].doc).get(Document.FIELD_CONTENT);
+				}
+			} finally {
+				SearcherRegistry.release(searcher);
+			}
+		}
+	}
+
+	private void waitForModified(String path, long expected) throws IOException, InterruptedException {
+		long modified = -1;
+		while (modified != expected) {
+			Thread.sleep(50);
+			IndexSearcher searcher = SearcherRegistry.acquire(indexDir.toPath());
+			try {
+				TopDocs topDocs = searcher.search(new TermQuery(new Term(Document.FIELD_PATH, path)), 10);
+				if (topDocs.totalHits.value > 0) {
+					int doc = topDocs.scoreDocs[0].doc;
+					List<LeafReaderContext> leaves = searcher.getIndexReader().leaves();
+					LeafReaderContext leaf = leaves.get(ReaderUtil.subIndex(doc, leaves));
+					NumericDocValues values = DocValues.getNumeric(leaf.reader(),
+							FileSystemProvider.FIELD_FILE_MODIFIED);
+					if (values.advanceExact(doc - leaf.docBase)) {
+						modified = values.longValue();
+					}
+				}
+			} finally {
+				SearcherRegistry.release(searcher);
+			}
+		}
+	}
+
+	private void assertStatistics(Statistics statistics, int scanned, int skipped, int parsed, int deleted) {
+		Assert.assertEquals(scanned, statistics.getScanned());
+		Assert.assertEquals(skipped, statistics.getSkipped());
+		Assert.assertEquals(parsed, statistics.getParsed());
+		Assert.assertEquals(deleted, statistics.getDeleted());
+		Assert.assertEquals(0, statistics.getFailed());
+	}
+
+	private File write(String name, String content) throws IOException {
+		File file = new File(dataDir, "en/" + name);
+		FileUtils.writeStringToFile(file, content, StandardCharsets.UTF_8);
+		return file;
+	}
+
+	private void waitForDocs(int expected) throws IOException, InterruptedException {
+		int numDocs = -1;
+		while (numDocs != expected) {
+			Thread.sleep(50);
+			if (null != documentIndexer.getSearcherManager()) {
+				IndexSearcher searcher = SearcherRegistry.acquire(indexDir.toPath());
+				try {
+					numDocs = searcher.getIndexReader().numDocs();
+				} finally {
+					SearcherRegistry.release(searcher);
+				}
+			}
+		}
+	}
+}
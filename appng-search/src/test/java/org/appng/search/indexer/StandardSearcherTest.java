@@ -21,11 +21,13 @@ import java.io.IOException;
 import java.io.StringWriter;
 import java.net.URISyntaxException;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeoutException;
-import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.xml.parsers.DocumentBuilderFactory;
@@ -47,6 +49,7 @@ import org.appng.api.search.Consumer;
 import org.appng.api.search.Document;
 import org.appng.api.search.DocumentEvent;
 import org.appng.api.search.DocumentProducer;
+import org.appng.search.SearchProvider;
 import org.appng.search.json.Part;
 import org.appng.search.json.Result;
 import org.appng.search.searcher.SearchFormatter;
@@ -101,7 +104,6 @@ public class StandardSearcherTest {
 	@Test
 	public void testIndex() throws InterruptedException, TimeoutException, IOException {
 		final AtomicInteger count = new AtomicInteger(0);
-		final AtomicBoolean done = new AtomicBoolean(false);
 		Consumer<DocumentEvent, DocumentProducer> documentIndexer = new DocumentIndexer(indexDir, 2000L) {
 
 			@Override
@@ -114,7 +116,7 @@ public class StandardSearcherTest {
 			@Override
 			public DocumentProducer get() throws InterruptedException {
 				DocumentProducer documentProducer = super.get();
-				done.set(0 == count.decrementAndGet());
+				count.decrementAndGet();
 				return documentProducer;
 			}
 		};
@@ -122,7 +124,8 @@ public class StandardSearcherTest {
 		Thread indexThread = new Thread((Runnable) documentIndexer, "documentIndexer");
 		indexThread.start();
 		new GlobalIndexer(documentIndexer).doIndex(site, "jsp");
-		while (!done.get()) {
+		// all producers have been put, wait until the indexer has taken the last one
+		while (count.get() > 0) {
 			Thread.sleep(250);
 		}
 
@@ -186,6 +189,44 @@ public class StandardSearcherTest {
 		searchFormatter.setDoXsl(true);
 	}
 
+	@Test
+	public void testSearchPaging() throws IOException {
+		List<Document> all = search("Hitchhiker", new HashMap<>());
+		Assert.assertEquals(2, all.size());
+		all.forEach(d -> Assert.assertNotNull(d.getPath()));
+
+		Map<String, String> parameters = new HashMap<>();
+		parameters.put(SearchProvider.PARAM_HITS_FROM, "1");
+		parameters.put(SearchProvider.PARAM_HITS_TO, "2");
+		List<Document> page = search("Hitchhiker", parameters);
+		Assert.assertEquals(all.size(), page.size());
+		for (int i = 0; i < page.size(); i++) {
+			Document document = page.get(i);
+			Assert.assertEquals(all.get(i).getScore(), document.getScore(), 0.0f);
+			if (i == 1) {
+				Assert.assertEquals(all.get(i).getPath(), document.getPath());
+				Assert.assertEquals(all.get(i).getFragment(), document.getFragment());
+			} else {
+				Assert.assertNull(document.getPath());
+				Assert.assertNull(document.getFragment());
+			}
+		}
+
+		parameters.clear();
+		parameters.put("searchAfter", StandardSearcher.getCursor((SimpleDocument) all.get(0)));
+		parameters.put("maxHits", "1");
+		List<Document> next = search("Hitchhiker", parameters);
+		Assert.assertEquals(1, next.size());
+		Assert.assertEquals(all.get(1).getPath(), next.get(0).getPath());
+	}
+
+	private List<Document> search(String term, Map<String, String> parameters) throws IOException {
+		List<Document> documents = new ArrayList<>();
+		standardSearcher.doSearch(env, site, application, directory, term, "en", PARSE_FIELDS, new EnglishAnalyzer(),
+				"span", parameters).forEach(documents::add);
+		return documents;
+	}
+
 	protected SearchFormatter validate(String query, Iterable<Document> doSearch, String controlPath, String partName)
 			throws IOException, URISyntaxException {
 		Part part = new Part(partName);
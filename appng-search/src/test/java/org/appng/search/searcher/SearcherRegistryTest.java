@@ -0,0 +1,106 @@
+/*
+ * Copyright 2011-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.appng.search.searcher;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field.Store;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.appng.search.searcher.SearcherRegistry.Statistics;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SearcherRegistryTest {
+
+	private Path indexPath = new File("target/index-registry").toPath();
+
+	@After
+	public void tearDown() {
+		SearcherRegistry.closeAll();
+	}
+
+	@Test
+	public void testAcquire() throws IOException, InterruptedException {
+		FileUtils.deleteDirectory(indexPath.toFile());
+		try (Directory directory = FSDirectory.open(indexPath);
+				IndexWriter writer = new IndexWriter(directory, new IndexWriterConfig(new StandardAnalyzer()))) {
+			addDocument(writer, "1");
+			writer.commit();
+
+			Assert.assertNull(SearcherRegistry.getStatistics(indexPath));
+			IndexSearcher searcher = SearcherRegistry.acquire(SearcherRegistry.getDirectory(indexPath));
+			IndexSearcher other = SearcherRegistry.acquire(indexPath);
+			try {
+				Assert.assertSame(searcher, other);
+				Assert.assertEquals(1, searcher.getIndexReader().numDocs());
+			} finally {
+				SearcherRegistry.release(searcher);
+				SearcherRegistry.release(other);
+			}
+			Statistics statistics = SearcherRegistry.getStatistics(indexPath);
+			Assert.assertFalse(statistics.isNearRealTime());
+			Assert.assertEquals(1, statistics.getNumDocs());
+
+			// committed changes become visible after the refresh interval
+			addDocument(writer, "2");
+			writer.commit();
+			Thread.sleep(SearcherRegistry.REFRESH_INTERVAL + 100);
+			assertNumDocs(2);
+			Assert.assertEquals(1, SearcherRegistry.getStatistics(indexPath).getRefreshes());
+
+			// a near-real-time manager sees uncommitted changes
+			SearcherManager manager = new SearcherManager(writer, null);
+			SearcherRegistry.register(indexPath, manager);
+			addDocument(writer, "3");
+			manager.maybeRefresh();
+			assertNumDocs(3);
+			Assert.assertTrue(SearcherRegistry.getStatistics(indexPath).isNearRealTime());
+
+			SearcherRegistry.unregister(indexPath, manager);
+			manager.close();
+			assertNumDocs(2);
+			Assert.assertFalse(SearcherRegistry.getStatistics(indexPath).isNearRealTime());
+		}
+	}
+
+	private void assertNumDocs(int expected) throws IOException {
+		IndexSearcher searcher = SearcherRegistry.acquire(indexPath);
+		try {
+			Assert.assertEquals(expected, searcher.getIndexReader().numDocs());
+		} finally {
+			SearcherRegistry.release(searcher);
+		}
+	}
+
+	private void addDocument(IndexWriter writer, String id) throws IOException {
+		Document document = new Document();
+		document.add(new StringField(org.appng.api.search.Document.FIELD_ID, id, Store.YES));
+		writer.addDocument(document);
+	}
+
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2011-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.appng.taglib.search;
+
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.servlet.ServletContext;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpSession;
+
+import org.appng.api.Environment;
+import org.appng.api.Scope;
+import org.appng.api.model.Subject;
+
+/**
+ * An {@link Environment} that can be used after the request it has been created for is done, and the container may
+ * have recycled that request. The {@link Scope#REQUEST}-attributes, the {@link Subject}, the {@link Locale} and the
+ * {@link TimeZone} are copied on creation. The other scopes are not bound to the request and therefore are delegated to
+ * the original {@link Environment}.
+ *
+ * @author Matthias Müller
+ */
+class DetachedEnvironment implements Environment {
+
+	private final Environment env;
+	private final Map<String, Object> requestAttributes = new ConcurrentHashMap<>();
+	private final Subject subject;
+	private final boolean subjectAuthenticated;
+	private final Locale locale;
+	private final TimeZone timeZone;
+
+	DetachedEnvironment(Environment env) {
+		this.env = env;
+		Set<String> requestKeys = env.keySet(Scope.REQUEST);
+		if (null != requestKeys) {
+			for (String name : requestKeys) {
+				Object value = env.getAttribute(Scope.REQUEST, name);
+				if (null != value) {
+					requestAttributes.put(name, value);
+				}
+			}
+		}
+		this.subject = env.getSubject();
+		this.subjectAuthenticated = env.isSubjectAuthenticated();
+		this.locale = env.getLocale();
+		this.timeZone = env.getTimeZone();
+	}
+
+	public void setAttribute(Scope scope, String name, Object value) {
+		if (Scope.REQUEST.equals(scope)) {
+			if (null == value) {
+				requestAttributes.remove(name);
+			} else {
+				requestAttributes.put(name, value);
+			}
+		} else {
+			env.setAttribute(scope, name, value);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	public <T> T getAttribute(Scope scope, String name) {
+		return Scope.REQUEST.equals(scope) ? (T) requestAttributes.get(name) : env.getAttribute(scope, name);
+	}
+
+	@SuppressWarnings("unchecked")
+	public <T> T removeAttribute(Scope scope, String name) {
+		return Scope.REQUEST.equals(scope) ? (T) requestAttributes.remove(name) : env.removeAttribute(scope, name);
+	}
+
+	public String getAttributeAsString(Scope scope, String name) {
+		if (Scope.REQUEST.equals(scope)) {
+			Object value = requestAttributes.get(name);
+			return null == value ? null : value.toString();
+		}
+		return env.getAttributeAsString(scope, name);
+	}
+
+	public Set<String> keySet(Scope scope) {
+		return Scope.REQUEST.equals(scope) ? new HashSet<>(requestAttributes.keySet()) : env.keySet(scope);
+	}
+
+	public Subject getSubject() {
+		return subject;
+	}
+
+	public Locale getLocale() {
+		return locale;
+	}
+
+	public TimeZone getTimeZone() {
+		return timeZone;
+	}
+
+	public boolean isSubjectAuthenticated() {
+		return subjectAuthenticated;
+	}
+
+	public void init(ServletContext context, HttpSession session, ServletRequest request, ServletResponse response,
+			String host) {
+		throw new IllegalStateException("environment already has been initialized");
+	}
+
+}
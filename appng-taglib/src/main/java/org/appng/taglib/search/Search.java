@@ -21,6 +21,14 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import javax.servlet.ServletRequest;
 import javax.servlet.http.HttpServletRequest;
@@ -32,7 +40,6 @@ import javax.xml.transform.TransformerFactory;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.text.StringEscapeUtils;
 import org.apache.lucene.store.Directory;
-import org.apache.lucene.store.FSDirectory;
 import org.appng.api.Environment;
 import org.appng.api.Platform;
 import org.appng.api.RequestUtil;
@@ -45,8 +52,10 @@ import org.appng.api.search.Document;
 import org.appng.api.support.environment.DefaultEnvironment;
 import org.appng.search.SearchProvider;
 import org.appng.search.json.Part;
+import org.appng.search.json.PartTime;
 import org.appng.search.json.Result;
 import org.appng.search.searcher.SearchFormatter;
+import org.appng.search.searcher.SearcherRegistry;
 import org.appng.search.searcher.StandardSearcher;
 import org.appng.taglib.MultiSiteSupport;
 import org.appng.taglib.ParameterOwner;
@@ -55,6 +64,8 @@ import org.jsoup.safety.Whitelist;
 import org.springframework.context.ApplicationContext;
 import org.springframework.util.StopWatch;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -88,6 +99,10 @@ import lombok.extern.slf4j.Slf4j;
  * the path to the XSLT stylesheet to use when format is XML</li>
  * <li>pretty (false)<br/>
  * if the XML/JSON output should be formatted prettily</li>
+ * <li>timeout ({@value #DEFAULT_TIMEOUT})<br/>
+ * the time budget in milliseconds for each {@link SearchPart}, which can be overridden by a parameter with the same
+ * name of the {@link SearchPart}. If there are several {@link SearchPart}s, they are processed concurrently. A
+ * {@link SearchPart} exceeding its budget only returns the results found until then.</li>
  * </ul>
  * <p/>
  * <b>Usage:</b>
@@ -115,6 +130,10 @@ public class Search extends BodyTagSupport implements ParameterOwner {
 	private static final String PARAM_MAX_TEXT_LENGTH = "maxTextLength";
 	private static final String PARAM_QUERY_PARAM = "queryParam";
 	private static final String PARAM_PRETTY = "pretty";
+	private static final String PARAM_TIMEOUT = "timeout";
+	public static final long DEFAULT_TIMEOUT = 5000L;
+	private static final int MAX_THREADS = 32;
+	private static final ExecutorService EXECUTOR = createExecutor();
 
 	private String format;
 	private boolean useParts;
@@ -136,44 +155,72 @@ public class Search extends BodyTagSupport implements ParameterOwner {
 			String siteRootDir = siteProperties.getString(SiteProperties.SITE_ROOT_DIR);
 			String seIndex = siteRootDir + siteProperties.getString(SiteProperties.INDEX_DIR);
 			File indexDir = new File(seIndex);
-			try (Directory directory = FSDirectory.open(indexDir.toPath())) {
+			try {
+				Directory directory = SearcherRegistry.getDirectory(indexDir.toPath());
 				StopWatch sw = new StopWatch();
 				sw.start();
 
 				ApplicationContext ctx = env.getAttribute(Scope.PLATFORM, Platform.Environment.CORE_PLATFORM_CONTEXT);
 
 				List<Part> results = new ArrayList<>();
+				List<PartTime> partTimes = new ArrayList<>();
 
 				Integer maxTextLength = Integer.parseInt(getParam(PARAM_MAX_TEXT_LENGTH, "150"));
 				String fillWith = getParam(PARAM_FILL_WITH, "...");
-				for (SearchPart part : parts) {
-					Part result = processPart(env, (HttpServletRequest) servletRequest, site, part, queryParam,
-							directory, maxTextLength, fillWith);
-					if (null != result) {
-						results.add(result);
-					}
-				}
-				DocumentBuilderFactory dbf = ctx.getBean(DocumentBuilderFactory.class);
-				TransformerFactory tf = ctx.getBean(TransformerFactory.class);
-				SearchFormatter searchFormatter = new SearchFormatter(dbf, tf);
-
-				boolean pretty = "true".equalsIgnoreCase(servletRequest.getParameter(PARAM_PRETTY))
-						|| "true".equalsIgnoreCase(getParam(PARAM_PRETTY, null));
-				String dateFormat = getParam(PARAM_DATE_FORMAT, SearchFormatter.DEFAULT_DATE_PATTERN);
 				String pageParamName = getParam(PARAM_PAGE_PARAM, SearchFormatter.DEFAULT_PAGE_PARAM);
 				String pageParam = servletRequest.getParameter(pageParamName);
+				int page = SearchFormatter.DEFAULT_PAGE;
 				if (StringUtils.isNotBlank(pageParam)) {
-					searchFormatter.setPage(Integer.valueOf(pageParam));
+					page = Integer.valueOf(pageParam);
 				}
 				String pageSizeParamName = getParam(PARAM_PAGE_SIZE_PARAM, SearchFormatter.DEFAULT_PAGE_SIZE_PARAM);
 				String pageSizeParam = servletRequest.getParameter(pageSizeParamName);
 				if (StringUtils.isBlank(pageSizeParam)) {
 					pageSizeParam = getParam(PARAM_PAGE_SIZE, null);
 				}
+				int pageSize = SearchFormatter.DEFAULT_PAGESIZE;
 				if (StringUtils.isNotBlank(pageSizeParam)) {
-					searchFormatter.setPageSize(Integer.valueOf(pageSizeParam));
+					pageSize = Integer.valueOf(pageSizeParam);
+				}
+
+				List<PartSearch> partSearches = new ArrayList<>();
+				for (SearchPart part : parts) {
+					Map<String, String> partParameters = new HashMap<>(part.getParameters());
+					if (!useParts) {
+						// only the hits of the current page are rendered, but when merging several parts, each
+						// part may contribute all of the hits up to the end of the page
+						int hitsTo = (page + 1) * pageSize;
+						int hitsFrom = parts.size() == 1 ? page * pageSize : 0;
+						partParameters.put(SearchProvider.PARAM_HITS_FROM, String.valueOf(hitsFrom));
+						partParameters.put(SearchProvider.PARAM_HITS_TO, String.valueOf(hitsTo));
+					}
+					PartSearch partSearch = getPartSearch(env, (HttpServletRequest) servletRequest, site, part,
+							partParameters, queryParam, directory, maxTextLength, fillWith);
+					if (null != partSearch) {
+						partSearches.add(partSearch);
+					}
+				}
+				if (partSearches.size() == 1) {
+					partSearches.get(0).run();
+				} else {
+					partSearches.forEach(partSearch -> partSearch.submit(EXECUTOR));
+				}
+				for (PartSearch partSearch : partSearches) {
+					Part result = partSearch.getResult();
+					if (null != result) {
+						results.add(result);
+						partTimes.add(partSearch.getPartTime());
+					}
 				}
+				DocumentBuilderFactory dbf = ctx.getBean(DocumentBuilderFactory.class);
+				TransformerFactory tf = ctx.getBean(TransformerFactory.class);
+				SearchFormatter searchFormatter = new SearchFormatter(dbf, tf);
 
+				boolean pretty = "true".equalsIgnoreCase(servletRequest.getParameter(PARAM_PRETTY))
+						|| "true".equalsIgnoreCase(getParam(PARAM_PRETTY, null));
+				String dateFormat = getParam(PARAM_DATE_FORMAT, SearchFormatter.DEFAULT_DATE_PATTERN);
+				searchFormatter.setPage(page);
+				searchFormatter.setPageSize(pageSize);
 				searchFormatter.setPretty(pretty);
 				searchFormatter.setDateFormat(dateFormat);
 				searchFormatter.setFormat(format);
@@ -183,6 +230,7 @@ public class Search extends BodyTagSupport implements ParameterOwner {
 				searchFormatter.setQueryParamName(queryParamName);
 				searchFormatter.setUseParts(useParts);
 				searchFormatter.setParts(results);
+				searchFormatter.setPartTimes(partTimes);
 				searchFormatter.setDoXsl(!"false".equalsIgnoreCase(servletRequest.getParameter(PARAM_XSL)));
 				String xsl = getParam(PARAM_XSL, null);
 				if (StringUtils.isNotEmpty(xsl)) {
@@ -204,13 +252,25 @@ public class Search extends BodyTagSupport implements ParameterOwner {
 
 	protected Part processPart(Environment env, HttpServletRequest servletRequest, Site site, SearchPart part,
 			String term, Directory directory, Integer maxTextLength, String fillWith) throws JspException {
+		PartSearch partSearch = getPartSearch(env, servletRequest, site, part, part.getParameters(), term, directory,
+				maxTextLength, fillWith);
+		if (null == partSearch) {
+			return null;
+		}
+		partSearch.run();
+		return partSearch.getResult();
+	}
+
+	private PartSearch getPartSearch(Environment env, HttpServletRequest servletRequest, Site site, SearchPart part,
+			Map<String, String> parameters, String term, Directory directory, Integer maxTextLength, String fillWith)
+			throws JspException {
 
 		String applicationName = part.getApplication();
 		SearchProvider searchProvider = null;
 		Application application = null;
 		Site executingSite = null;
 		if ("global".equals(applicationName)) {
-			searchProvider = new StandardSearcher();
+			searchProvider = getGlobalSearchProvider();
 			executingSite = site;
 		} else {
 			MultiSiteSupport multiSiteSupport = new MultiSiteSupport();
@@ -225,35 +285,175 @@ public class Search extends BodyTagSupport implements ParameterOwner {
 		}
 
 		if (null != searchProvider) {
+			String timeout = parameters.get(PARAM_TIMEOUT);
+			if (StringUtils.isBlank(timeout)) {
+				timeout = getParam(PARAM_TIMEOUT, String.valueOf(DEFAULT_TIMEOUT));
+			}
+			return new PartSearch(env, executingSite, application, searchProvider, part, parameters, term, directory,
+					maxTextLength, fillWith, Long.parseLong(timeout.trim()));
+		}
+		LOGGER.warn("no SearchProvider named {} found for application {}", part.getMethod(), applicationName);
+		return null;
+	}
+
+	/**
+	 * Returns the {@link SearchProvider} for the site's global index.
+	 * 
+	 * @return a {@link StandardSearcher}
+	 */
+	protected SearchProvider getGlobalSearchProvider() {
+		return new StandardSearcher();
+	}
+
+	/**
+	 * Performs the search of a {@link SearchPart}, either in the current thread or in a separate one. Cancellation is
+	 * cooperative: the search is not interrupted (which would close the channels of a {@link Directory}), but stops
+	 * collecting results as soon as its time budget is exceeded. Since a separate thread may outlive the request, it
+	 * uses a {@link DetachedEnvironment} instead of the request-bound one.
+	 */
+	private class PartSearch implements Runnable {
+
+		private Environment env;
+		private final Site site;
+		private final Application application;
+		private final SearchProvider searchProvider;
+		private final SearchPart part;
+		private final Map<String, String> parameters;
+		private final String term;
+		private final Directory directory;
+		private final Integer maxTextLength;
+		private final String fillWith;
+		private final long timeout;
+		private final String highlight;
+		private final ClassLoader classLoader;
+		private final List<Result> results = new ArrayList<>();
+		private final long start = System.nanoTime();
+		private volatile boolean cancelled;
+		private volatile boolean complete;
+		private volatile boolean failed;
+		private volatile long duration = -1;
+		private Future<?> future;
+
+		PartSearch(Environment env, Site site, Application application, SearchProvider searchProvider,
+				SearchPart part, Map<String, String> parameters, String term, Directory directory,
+				Integer maxTextLength, String fillWith, long timeout) {
+			this.env = env;
+			this.site = site;
+			this.application = application;
+			this.searchProvider = searchProvider;
+			this.part = part;
+			this.parameters = parameters;
+			this.term = term;
+			this.directory = directory;
+			this.maxTextLength = maxTextLength;
+			this.fillWith = fillWith;
+			this.timeout = timeout;
+			this.highlight = getHighlight();
+			this.classLoader = Thread.currentThread().getContextClassLoader();
+		}
+
+		void submit(ExecutorService executor) {
+			this.env = new DetachedEnvironment(env);
+			this.future = executor.submit(this);
+		}
+
+		public void run() {
+			if (cancelled) {
+				return;
+			}
+			Thread currentThread = Thread.currentThread();
+			ClassLoader contextClassLoader = currentThread.getContextClassLoader();
+			currentThread.setContextClassLoader(classLoader);
 			try {
 				String[] parseFields = StringUtils.split(part.getFields(), ',');
 				String language = part.getLanguage();
 
-				Map<String, String> parameters = part.getParameters();
-
 				LOGGER.info("processing {} with term '{}' and parameters {}", searchProvider.getClass().getName(), term,
 						parameters);
-				Iterable<Document> doSearch = searchProvider.doSearch(env, executingSite, application, directory, term,
-						language, parseFields, part.getAnalyzer(), getHighlight(), parameters);
-				Part resultPart = new Part(part.getTitle());
+				Iterable<Document> doSearch = searchProvider.doSearch(env, site, application, directory, term,
+						language, parseFields, part.getAnalyzer(), highlight, parameters);
 
+				long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeout);
 				for (Document d : doSearch) {
+					if (cancelled || System.nanoTime() - start > timeoutNanos) {
+						return;
+					}
 					Result r = Result.fromDocument(d);
 					r.setText(cleanText(r.getText(), maxTextLength, fillWith));
-					resultPart.getData().add(r);
+					synchronized (results) {
+						results.add(r);
+					}
 				}
-				return resultPart;
+				complete = true;
 			} catch (IOException e) {
+				failed = true;
 				LOGGER.error(String.format("error performing doSearch() for %s", searchProvider.getClass().getName()),
 						e);
 			} catch (ReflectiveOperationException e) {
+				failed = true;
 				LOGGER.error(String.format("error creating analyzer %s for %s", part.getAnalyzerClass(),
 						searchProvider.getClass().getName()), e);
+			} finally {
+				duration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+				currentThread.setContextClassLoader(contextClassLoader);
 			}
-		} else {
-			LOGGER.warn("no SearchProvider named {} found for application {}", part.getMethod(), applicationName);
 		}
-		return null;
+
+		/**
+		 * Waits until the search is done or its time budget is exceeded, and returns the results found so far.
+		 * 
+		 * @return the {@link Part}, or {@code null} if the search failed
+		 */
+		Part getResult() {
+			if (null != future) {
+				long remaining = TimeUnit.MILLISECONDS.toNanos(timeout) - (System.nanoTime() - start);
+				try {
+					future.get(Math.max(0, remaining), TimeUnit.NANOSECONDS);
+				} catch (TimeoutException e) {
+					cancel();
+					LOGGER.warn("{} exceeded its time budget of {}ms, returning {} results found so far",
+							searchProvider.getClass().getName(), timeout, results.size());
+				} catch (InterruptedException e) {
+					cancel();
+					Thread.currentThread().interrupt();
+				} catch (ExecutionException e) {
+					failed = true;
+					LOGGER.error(String.format("error performing doSearch() for %s",
+							searchProvider.getClass().getName()), e.getCause());
+				}
+			}
+			if (failed) {
+				return null;
+			}
+			Part resultPart = new Part(part.getTitle());
+			synchronized (results) {
+				resultPart.getData().addAll(results);
+			}
+			return resultPart;
+		}
+
+		private void cancel() {
+			cancelled = true;
+			future.cancel(false);
+		}
+
+		PartTime getPartTime() {
+			long time = complete ? duration : TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+			int hits;
+			synchronized (results) {
+				hits = results.size();
+			}
+			return new PartTime(part.getTitle(), time, hits, complete);
+		}
+	}
+
+	private static ExecutorService createExecutor() {
+		ThreadFactory threadFactory = new ThreadFactoryBuilder().setDaemon(true).setNameFormat("appng-search-%d")
+				.build();
+		// a slow SearchProvider keeps its thread after exceeding its budget, so threads are not shared between parts
+		// of a search; if all threads are busy, the calling thread performs the search
+		return new ThreadPoolExecutor(0, MAX_THREADS, 60L, TimeUnit.SECONDS, new SynchronousQueue<>(), threadFactory,
+				new ThreadPoolExecutor.CallerRunsPolicy());
 	}
 
 	private String getParam(String name, String defaultValue) {
@@ -19,6 +19,7 @@ import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -28,6 +29,7 @@ import javax.servlet.ServletContext;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import javax.servlet.http.HttpSession;
+import javax.servlet.jsp.JspException;
 import javax.servlet.jsp.JspWriter;
 import javax.servlet.jsp.PageContext;
 import javax.xml.parsers.DocumentBuilderFactory;
@@ -44,6 +46,7 @@ import org.apache.lucene.index.IndexableField;
 import org.apache.lucene.search.MatchAllDocsQuery;
 import org.apache.lucene.store.Directory;
 import org.apache.lucene.store.FSDirectory;
+import org.appng.api.Environment;
 import org.appng.api.Platform;
 import org.appng.api.Scope;
 import org.appng.api.SiteProperties;
@@ -51,7 +54,9 @@ import org.appng.api.VHostMode;
 import org.appng.api.model.Properties;
 import org.appng.api.model.Site;
 import org.appng.api.search.Document;
+import org.appng.search.SearchProvider;
 import org.junit.Assert;
+import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 import org.mockito.Mockito;
@@ -60,6 +65,9 @@ import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
 import org.springframework.context.ApplicationContext;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 public class SearchTest extends Search {
 
 	private static final String LOCALHOST = "localhost";
@@ -91,15 +99,18 @@ public class SearchTest extends Search {
 	@Mock
 	private JspWriter jspWriter;
 
-	@Test
-	public void testSearch() throws Exception {
+	private final List<String> result = new ArrayList<>();
+
+	private final List<Environment> environments = new ArrayList<>();
+
+	@Before
+	public void setup() throws Exception {
 		MockitoAnnotations.initMocks(this);
 		Mockito.when(pageContext.getRequest()).thenReturn(servletRequest);
 		Mockito.when(pageContext.getResponse()).thenReturn(servletResponse);
 		Mockito.when(pageContext.getServletContext()).thenReturn(servletContext);
 		Mockito.when(pageContext.getSession()).thenReturn(session);
 		Mockito.when(pageContext.getOut()).thenReturn(jspWriter);
-		final List<String> result = new ArrayList<>();
 		Answer<Void> mockWriter = new Answer<Void>() {
 			public Void answer(InvocationOnMock invocation) throws Throwable {
 				result.add((String) invocation.getArguments()[0]);
@@ -129,23 +140,6 @@ public class SearchTest extends Search {
 				.thenReturn(VHostMode.NAME_BASED.name());
 		Mockito.when(servletRequest.getServletPath()).thenReturn("/repository/site/www/de/index.jsp");
 		setPageContext(pageContext);
-		setFormat("json");
-		setParts(true);
-		SearchPart globalPart = new SearchPart();
-		globalPart.setApplication("global");
-		globalPart.setLanguage("en");
-		globalPart.setFields(Document.FIELD_TITLE);
-		globalPart.setAnalyzerClass(EnglishAnalyzer.class.getName());
-		globalPart.addParameter("excludeTypes", "com.foo.Bar");
-		globalPart.setParent(this);
-		globalPart.doEndTag();
-		Assert.assertNull(globalPart.getAnalyzerClass());
-		Assert.assertNull(globalPart.getApplication());
-		Assert.assertNull(globalPart.getFields());
-		Assert.assertNull(globalPart.getLanguage());
-		Assert.assertNull(globalPart.getMethod());
-		Assert.assertNull(globalPart.getTitle());
-		Assert.assertTrue(globalPart.getParameters().isEmpty());
 
 		String siteRootDir = siteProperties.getString(SiteProperties.SITE_ROOT_DIR);
 		String seIndex = siteRootDir + siteProperties.getString(SiteProperties.INDEX_DIR);
@@ -174,6 +168,27 @@ public class SearchTest extends Search {
 		Mockito.when(ctx.getBean(DocumentBuilderFactory.class)).thenReturn(DocumentBuilderFactory.newInstance());
 		Mockito.when(ctx.getBean(TransformerFactory.class)).thenReturn(TransformerFactory.newInstance());
 		platformEnv.put(Platform.Environment.CORE_PLATFORM_CONTEXT, ctx);
+	}
+
+	@Test
+	public void testSearch() throws Exception {
+		setFormat("json");
+		setParts(true);
+		SearchPart globalPart = new SearchPart();
+		globalPart.setApplication("global");
+		globalPart.setLanguage("en");
+		globalPart.setFields(Document.FIELD_TITLE);
+		globalPart.setAnalyzerClass(EnglishAnalyzer.class.getName());
+		globalPart.addParameter("excludeTypes", "com.foo.Bar");
+		globalPart.setParent(this);
+		globalPart.doEndTag();
+		Assert.assertNull(globalPart.getAnalyzerClass());
+		Assert.assertNull(globalPart.getApplication());
+		Assert.assertNull(globalPart.getFields());
+		Assert.assertNull(globalPart.getLanguage());
+		Assert.assertNull(globalPart.getMethod());
+		Assert.assertNull(globalPart.getTitle());
+		Assert.assertTrue(globalPart.getParameters().isEmpty());
 
 		doEndTag();
 		Assert.assertEquals("[{\"data\":[{\"title\":\"A Hitchhiker\",\"language\":\"en\",\"score\":0.31782177,\"fields\":[]}]}]",
@@ -182,4 +197,88 @@ public class SearchTest extends Search {
 		Assert.assertNull(getHighlight());
 		Assert.assertTrue(getParts().isEmpty());
 	}
+
+	@Test
+	public void testSearchConcurrent() throws Exception {
+		setFormat("json");
+		setParts(false);
+		addParameter("timeout", "10000");
+		addPart("de", "1000");
+		addPart("en", null);
+
+		long start = System.currentTimeMillis();
+		doEndTag();
+		Assert.assertTrue(System.currentTimeMillis() - start < 3000);
+		JsonNode results = new ObjectMapper().readTree(result.get(0)).get("results");
+		Assert.assertEquals(2, results.get("data").size());
+		JsonNode partTimes = results.get("partTimes");
+		Assert.assertEquals(2, partTimes.size());
+		// exceeds its budget after the first result
+		JsonNode de = partTimes.get(0);
+		Assert.assertEquals("de", de.get("part").asText());
+		Assert.assertEquals(1, de.get("hits").asInt());
+		Assert.assertFalse(de.get("complete").asBoolean());
+		Assert.assertTrue(de.get("time").asLong() >= 1000);
+		JsonNode en = partTimes.get(1);
+		Assert.assertEquals("en", en.get("part").asText());
+		Assert.assertEquals(1, en.get("hits").asInt());
+		Assert.assertTrue(en.get("complete").asBoolean());
+		// the parts may outlive the request, so they don't use the request-bound environment
+		Assert.assertEquals(2, environments.size());
+		environments.forEach(env -> Assert.assertTrue(env instanceof DetachedEnvironment));
+	}
+
+	private void addPart(String language, String timeout) throws JspException {
+		SearchPart part = new SearchPart();
+		part.setApplication("global");
+		part.setLanguage(language);
+		part.setTitle(language);
+		part.setFields(Document.FIELD_TITLE);
+		part.setAnalyzerClass(EnglishAnalyzer.class.getName());
+		if (null != timeout) {
+			part.addParameter("timeout", timeout);
+		}
+		part.setParent(this);
+		part.doEndTag();
+	}
+
+	@Override
+	protected SearchProvider getGlobalSearchProvider() {
+		SearchProvider searchProvider = super.getGlobalSearchProvider();
+		// for language 'de', the search takes 3 seconds after returning the first document
+		return (env, site, application, directory, term, language, parseFields, analyzer, highlightWith,
+				parameters) -> {
+			synchronized (environments) {
+				environments.add(env);
+			}
+			List<Document> documents = new ArrayList<>();
+			searchProvider.doSearch(env, site, application, directory, term, language, parseFields, analyzer,
+					highlightWith, parameters).forEach(documents::add);
+			return () -> new Iterator<Document>() {
+				private Iterator<Document> delegate = documents.iterator();
+				private int returned = 0;
+
+				public boolean hasNext() {
+					if ("de".equals(language) && returned == 1) {
+						returned++;
+						sleep(3000);
+					}
+					return delegate.hasNext();
+				}
+
+				public Document next() {
+					returned++;
+					return delegate.next();
+				}
+			};
+		};
+	}
+
+	private void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
 }
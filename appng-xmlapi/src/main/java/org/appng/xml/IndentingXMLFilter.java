@@ -0,0 +1,87 @@
+/*
+ * Copyright 2011-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.appng.xml;
+
+import java.util.Arrays;
+
+import org.xml.sax.Attributes;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.XMLFilterImpl;
+
+/**
+ * An {@link XMLFilterImpl} that adds the same whitespace to the stream of SAX events as an indenting serializer would
+ * do, i.e. a line break followed by three spaces per level before start-tags and before end-tags of elements with
+ * element-only content. Mixed content is left untouched.
+ * <p>
+ * This way, a transformation reading the SAX events sees the same text nodes as when reading the pretty-printed
+ * result of {@link MarshallService#marshal(Object)}.
+ * </p>
+ *
+ * @author Matthias Müller
+ */
+class IndentingXMLFilter extends XMLFilterImpl {
+
+	private static final int INDENT = 3;
+	private char[] whitespace = new char[0];
+	private int level = 0;
+	private boolean afterStartTag = false;
+	private boolean afterEndTag = false;
+
+	IndentingXMLFilter(XMLReader parent) {
+		super(parent);
+	}
+
+	@Override
+	public void startElement(String uri, String localName, String qName, Attributes atts) throws SAXException {
+		if (afterStartTag || afterEndTag) {
+			indent();
+		}
+		level++;
+		afterStartTag = true;
+		afterEndTag = false;
+		super.startElement(uri, localName, qName, atts);
+	}
+
+	@Override
+	public void endElement(String uri, String localName, String qName) throws SAXException {
+		level--;
+		if (afterEndTag) {
+			indent();
+		}
+		afterStartTag = false;
+		afterEndTag = true;
+		super.endElement(uri, localName, qName);
+	}
+
+	@Override
+	public void characters(char[] ch, int start, int length) throws SAXException {
+		afterStartTag = false;
+		afterEndTag = false;
+		super.characters(ch, start, length);
+	}
+
+	private void indent() throws SAXException {
+		int length = 1 + level * INDENT;
+		if (whitespace.length < length) {
+			whitespace = new char[length * 2];
+			Arrays.fill(whitespace, ' ');
+			whitespace[0] = '\n';
+		}
+		super.characters(whitespace, 0, length);
+	}
+
+}
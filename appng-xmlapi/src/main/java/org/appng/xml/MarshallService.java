@@ -39,6 +39,7 @@ import javax.xml.bind.Unmarshaller;
 import javax.xml.bind.ValidationEvent;
 import javax.xml.bind.ValidationEventHandler;
 import javax.xml.bind.ValidationEventLocator;
+import javax.xml.bind.util.JAXBSource;
 import javax.xml.namespace.QName;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
@@ -49,6 +50,7 @@ import javax.xml.transform.TransformerConfigurationException;
 import javax.xml.transform.TransformerException;
 import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.sax.SAXSource;
 import javax.xml.transform.stream.StreamResult;
 import javax.xml.transform.stream.StreamSource;
 import javax.xml.validation.Schema;
@@ -202,6 +204,25 @@ public class MarshallService {
 		return writer.toString();
 	}
 
+	/**
+	 * Returns a {@link Source} that emits the given object as SAX events while being read, so it can be used as the
+	 * input of a transformation without marshalling it into a string or a DOM first. If {@link #isPrettyPrint()} is
+	 * {@code true}, the events contain the same whitespace as the result of {@link #marshal(Object)}.
+	 * 
+	 * @param  data
+	 *                       the object to marshal
+	 * @return               the {@link Source}
+	 * @throws JAXBException
+	 *                       if the {@link Source} can not be created
+	 */
+	public Source getSource(Object data) throws JAXBException {
+		JAXBSource source = new JAXBSource(marshaller, data);
+		if (prettyPrint) {
+			return new SAXSource(new IndentingXMLFilter(source.getXMLReader()), source.getInputSource());
+		}
+		return source;
+	}
+
 	private void logValidationMessages(MarshallEventHandler eventHandler) {
 		if (null != eventHandler) {
 			Collection<ErrorItem> errorItems = eventHandler.getErrorItems().values();
@@ -17,12 +17,18 @@ package org.appng.xml;
 
 import java.io.File;
 import java.io.InputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
 import java.util.Arrays;
 
 import javax.xml.bind.JAXBException;
 import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
 import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.TransformerFactoryConfigurationError;
+import javax.xml.transform.stream.StreamResult;
+import javax.xml.transform.stream.StreamSource;
 
 import org.apache.commons.io.FileUtils;
 import org.appng.xml.MarshallService.AppNGSchema;
@@ -49,6 +55,26 @@ public class MarshallServiceTest {
 		Assert.assertEquals(controllXml, resultXml);
 	}
 
+	@Test
+	public void testGetSource() throws Exception {
+		MarshallService marshallService = init(true, false, false);
+		InputStream isControl = MarshallServiceTest.class.getClassLoader().getResourceAsStream("xml/platform.xml");
+		Object master = marshallService.unmarshall(isControl);
+		Object copy = marshallService.unmarshall(marshallService.getSource(master), Platform.class);
+		Assert.assertEquals(marshallService.marshal(master), marshallService.marshal(copy));
+
+		// the whitespace must be the same as in the pretty-printed XML
+		Transformer identity = TransformerFactory.newInstance().newTransformer();
+		identity.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "yes");
+		StringWriter fromSource = new StringWriter();
+		identity.transform(marshallService.getSource(master), new StreamResult(fromSource));
+		StringWriter fromString = new StringWriter();
+		identity.transform(new StreamSource(new StringReader(marshallService.marshal(master))),
+				new StreamResult(fromString));
+		String tag = "<[^>]+>";
+		Assert.assertEquals(fromString.toString().replaceAll(tag, "<>"), fromSource.toString().replaceAll(tag, "<>"));
+	}
+
 	@Test(expected = JAXBException.class)
 	public void testMarshallException() throws Exception {
 		MarshallService marshallService = init(true, true, true);